@@ -1,13 +1,49 @@
 package com.onedoorway.project;
 
+import com.onedoorway.project.model.AccessSnapshot;
+import com.onedoorway.project.model.AuthorizedPrincipal;
+import com.onedoorway.project.model.JwtPrincipal;
+import com.onedoorway.project.model.ODWUserDetails;
+import com.onedoorway.project.model.User;
+import com.onedoorway.project.repository.UserRepository;
+import com.onedoorway.project.services.HouseDirectory;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.function.Supplier;
+import javax.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
 public class Context {
+    /** The request attribute the authentication step puts the user it loaded in. */
+    public static final String USER_ATTRIBUTE = Context.class.getName() + ".user";
+
+    private static final String USER_ID_ATTRIBUTE = Context.class.getName() + ".userId:";
+
+    private HouseDirectory houseDirectory;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+
+    @Autowired
+    public void setHouseDirectory(HouseDirectory houseDirectory) {
+        this.houseDirectory = houseDirectory;
+    }
+
+    @Autowired
+    public void setUserRepository(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Autowired
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
     public Instant now() {
         return Instant.now();
     }
@@ -17,13 +53,100 @@ public class Context {
         return Objects.isNull(authentication) ? null : authentication.getName();
     }
 
+    /**
+     * The signed-in user as the authentication step loaded it for this request, or null when the
+     * token was verified without loading the user.
+     */
+    public User currentUserEntity() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null
+                ? null
+                : (User) attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * The id of the signed-in user. The principal carries it, so this is usually free; tokens
+     * issued before the id claim was added fall back to an id-only query once per request.
+     */
+    public Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof JwtPrincipal) {
+            Long userId = ((JwtPrincipal) auth.getPrincipal()).getUserId();
+            if (userId != null) {
+                return userId;
+            }
+        }
+        if (auth != null && auth.getPrincipal() instanceof ODWUserDetails) {
+            return ((ODWUserDetails) auth.getPrincipal()).getId();
+        }
+        String email = currentUser();
+        if (email == null) {
+            return null;
+        }
+        return perRequest(USER_ID_ATTRIBUTE + email, () -> userRepository.findIdByEmail(email));
+    }
+
+    /** An unloaded reference to the signed-in user, for setting a foreign key to them. */
+    public User currentUserReference() {
+        Long userId = currentUserId();
+        return userId == null ? null : entityManager.getReference(User.class, userId);
+    }
+
     public boolean isAdmin() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        return (auth != null
-                && auth.getAuthorities().stream()
-                        .anyMatch(
-                                a ->
-                                        a.getAuthority().equals("ADMIN")
-                                                || a.getAuthority().equals("HOUSE ADMIN")));
+        if (auth == null) {
+            return false;
+        }
+        if (auth.getPrincipal() instanceof AuthorizedPrincipal) {
+            return ((AuthorizedPrincipal) auth.getPrincipal()).getAccess().isAdmin();
+        }
+        return auth.getAuthorities().stream()
+                .anyMatch(
+                        a ->
+                                a.getAuthority().equals("ADMIN")
+                                        || a.getAuthority().equals("HOUSE ADMIN"));
+    }
+
+    public boolean canAccessHouse(String houseCode) {
+        if (isAdmin()) {
+            return true;
+        }
+        AccessSnapshot access = currentAccess();
+        Long houseId = access == null ? null : houseDirectory.houseIdOf(houseCode);
+        return houseId != null && access.hasHouse(houseId);
+    }
+
+    public boolean canAccessClient(Long clientId) {
+        if (isAdmin()) {
+            return true;
+        }
+        AccessSnapshot access = currentAccess();
+        Long houseId = access == null ? null : houseDirectory.houseIdOfClient(clientId);
+        return houseId != null && access.hasHouse(houseId);
+    }
+
+    private AccessSnapshot currentAccess() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthorizedPrincipal) {
+            return ((AuthorizedPrincipal) auth.getPrincipal()).getAccess();
+        }
+        return null;
+    }
+
+    // outside a request, e.g. in a scheduled job, every call loads again
+    @SuppressWarnings("unchecked")
+    private static <T> T perRequest(String name, Supplier<T> load) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return load.get();
+        }
+        T value = (T) attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        if (value == null) {
+            value = load.get();
+            if (value != null) {
+                attributes.setAttribute(name, value, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        return value;
     }
 }
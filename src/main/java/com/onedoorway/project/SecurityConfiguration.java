@@ -3,6 +3,7 @@ package com.onedoorway.project;
 import com.onedoorway.project.filters.JwtRequestFilter;
 import com.onedoorway.project.services.ODWUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -20,12 +21,15 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     private final ODWUserDetailsService userDetailsService;
     private final JwtRequestFilter jwtRequestFilter;
+    private final int bcryptStrength;
 
     public SecurityConfiguration(
             @Autowired ODWUserDetailsService userDetailsService,
-            @Autowired JwtRequestFilter jwtRequestFilter) {
+            @Autowired JwtRequestFilter jwtRequestFilter,
+            @Value("${odw.security.bcrypt-strength:10}") int bcryptStrength) {
         this.userDetailsService = userDetailsService;
         this.jwtRequestFilter = jwtRequestFilter;
+        this.bcryptStrength = bcryptStrength;
     }
 
     @Bean
@@ -52,6 +56,8 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
                 .authorizeRequests()
                 .antMatchers("/login")
                 .permitAll()
+                .antMatchers("/logout")
+                .permitAll()
                 .antMatchers("/actuator/info")
                 .permitAll()
                 .antMatchers("/user/forgot-password")
@@ -62,13 +68,16 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
                 .authenticated()
                 .and()
                 .sessionManagement()
-                .sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                .and()
+                .logout()
+                .disable();
         httpSecurity.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Override
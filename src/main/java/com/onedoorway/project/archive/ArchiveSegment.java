@@ -0,0 +1,36 @@
+package com.onedoorway.project.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A segment being put together. Each record is a gzip member of its own, so the segment as a whole
+ * is a valid gzip file while any one record can be read back and inflated on its own.
+ */
+public class ArchiveSegment {
+    private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+    public void append(byte[] record) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(data);
+        gzip.write(record);
+        gzip.finish();
+    }
+
+    public long size() {
+        return data.size();
+    }
+
+    public byte[] toByteArray() {
+        return data.toByteArray();
+    }
+
+    /** The record held by a member of a segment. */
+    public static byte[] unpack(byte[] member) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(member))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.onedoorway.project.archive;
+
+import java.io.IOException;
+
+/**
+ * Where archive segments are kept. Segments are written once, whole, and never rewritten; records
+ * are read back by their range within a segment.
+ */
+public interface ArchiveStore {
+    /** Fails rather than replace a segment that is already there. */
+    void write(String segment, byte[] data) throws IOException;
+
+    byte[] read(String segment, long offset, int length) throws IOException;
+}
@@ -0,0 +1,60 @@
+package com.onedoorway.project.archive;
+
+import com.azure.core.util.Context;
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobRange;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Segments as blobs under {@code archive/} in the application's container. */
+@Component
+@ConditionalOnProperty(name = "odw.archive.store", havingValue = "blob")
+public class BlobArchiveStore implements ArchiveStore {
+    private final BlobServiceClientBuilder blobServiceClientBuilder;
+    private final String connectionString;
+    private final String containerName;
+
+    @Autowired
+    public BlobArchiveStore(
+            BlobServiceClientBuilder blobServiceClientBuilder,
+            @Value("${azure.blob.connection-string}") String connectionString,
+            @Value("${azure.blob.container.name}") String containerName) {
+        this.blobServiceClientBuilder = blobServiceClientBuilder;
+        this.connectionString = connectionString;
+        this.containerName = containerName;
+    }
+
+    @Override
+    public void write(String segment, byte[] data) {
+        // upload does not overwrite an existing blob
+        blobClient(segment).upload(new ByteArrayInputStream(data), data.length);
+    }
+
+    @Override
+    public byte[] read(String segment, long offset, int length) {
+        ByteArrayOutputStream data = new ByteArrayOutputStream(length);
+        blobClient(segment)
+                .downloadWithResponse(
+                        data,
+                        new BlobRange(offset, (long) length),
+                        null,
+                        null,
+                        false,
+                        null,
+                        Context.NONE);
+        return data.toByteArray();
+    }
+
+    private BlobClient blobClient(String segment) {
+        return blobServiceClientBuilder
+                .connectionString(connectionString)
+                .buildClient()
+                .getBlobContainerClient(containerName)
+                .getBlobClient("archive/" + segment);
+    }
+}
@@ -0,0 +1,45 @@
+package com.onedoorway.project.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Segments as files under a local directory, for a single instance or a shared mount. */
+@Component
+@ConditionalOnProperty(name = "odw.archive.store", havingValue = "local", matchIfMissing = true)
+public class LocalArchiveStore implements ArchiveStore {
+    private final Path dir;
+
+    @Autowired
+    public LocalArchiveStore(@Value("${odw.archive.dir:archive}") String dir) {
+        this.dir = Paths.get(dir);
+    }
+
+    @Override
+    public void write(String segment, byte[] data) throws IOException {
+        Path file = dir.resolve(segment);
+        Files.createDirectories(file.getParent());
+        Files.write(file, data, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public byte[] read(String segment, long offset, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(dir.resolve(segment))) {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Archive segment " + segment + " is truncated");
+                }
+            }
+            return buffer.array();
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.onedoorway.project.controller;
 import com.onedoorway.project.dto.*;
 import com.onedoorway.project.exception.CaseNoteServiceException;
 import com.onedoorway.project.services.CaseNoteService;
-import java.util.List;
 import javax.validation.Valid;
 import lombok.SneakyThrows;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,11 +46,16 @@ public class CaseNoteController {
         }
     }
 
-    @SneakyThrows
     @PostMapping("/list")
-    public ResponseEntity<List<CaseNoteDTO>> listCaseNotes(
-            @RequestBody ListCaseNoteRequest request) {
-        return new ResponseEntity<>(caseNoteService.listCaseNotes(request), HttpStatus.OK);
+    public ResponseEntity<?> listCaseNotes(@RequestBody ListCaseNoteRequest request) {
+        try {
+            CursorPage<CaseNoteDTO> page = caseNoteService.listCaseNotes(request);
+            return new ResponseEntity<>(page.getItems(), page.headers(), HttpStatus.OK);
+        } catch (CaseNoteServiceException e) {
+            return new ResponseEntity<>(
+                    Response.builder().success(false).message(e.getMessage()).build(),
+                    HttpStatus.BAD_REQUEST);
+        }
     }
 
     @PutMapping("/update/{id}")
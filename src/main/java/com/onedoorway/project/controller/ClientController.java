@@ -58,12 +58,7 @@ public class ClientController {
     @SneakyThrows
     @PostMapping(value = "/list")
     public ResponseEntity<ListClientResponse> listClient(@RequestBody ListClientRequest request) {
-        ListClientResponse listClientResponse =
-                ListClientResponse.builder()
-                        .clients(clientService.listAllClients(request))
-                        .totalClients(clientService.clientsCount(request))
-                        .build();
-        return new ResponseEntity<>(listClientResponse, HttpStatus.OK);
+        return new ResponseEntity<>(clientService.listClientPage(request), HttpStatus.OK);
     }
 
     @PostMapping("/create-contact")
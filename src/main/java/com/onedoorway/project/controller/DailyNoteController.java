@@ -43,9 +43,15 @@ public class DailyNoteController {
     }
 
     @PostMapping("/search")
-    public ResponseEntity<List<DailyNoteDTO>> searchDailyNotes(
-            @RequestBody SearchDailyNoteRequest request) {
-        return new ResponseEntity<>(dailyNoteService.search(request), HttpStatus.OK);
+    public ResponseEntity<?> searchDailyNotes(@RequestBody SearchDailyNoteRequest request) {
+        try {
+            CursorPage<DailyNoteDTO> page = dailyNoteService.search(request);
+            return new ResponseEntity<>(page.getItems(), page.headers(), HttpStatus.OK);
+        } catch (DailyNoteServiceException e) {
+            return new ResponseEntity<>(
+                    Response.builder().success(false).message(e.getMessage()).build(),
+                    HttpStatus.BAD_REQUEST);
+        }
     }
 
     @DeleteMapping("/delete/{id}")
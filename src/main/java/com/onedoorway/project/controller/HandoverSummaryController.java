@@ -3,7 +3,6 @@ package com.onedoorway.project.controller;
 import com.onedoorway.project.dto.*;
 import com.onedoorway.project.exception.HandoverSummaryServiceException;
 import com.onedoorway.project.services.HandoverSummaryService;
-import java.util.List;
 import javax.validation.Valid;
 import lombok.SneakyThrows;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,12 +36,17 @@ public class HandoverSummaryController {
         }
     }
 
-    @SneakyThrows
     @PostMapping("/list")
-    public ResponseEntity<List<HandoverSummaryDTO>> listHandoverSummary(
-            @RequestBody ListHandoverSummaryRequest request) {
-        return new ResponseEntity<>(
-                handoverSummaryService.listHandoverSummary(request), HttpStatus.OK);
+    public ResponseEntity<?> listHandoverSummary(@RequestBody ListHandoverSummaryRequest request) {
+        try {
+            CursorPage<HandoverSummaryDTO> page =
+                    handoverSummaryService.listHandoverSummary(request);
+            return new ResponseEntity<>(page.getItems(), page.headers(), HttpStatus.OK);
+        } catch (HandoverSummaryServiceException e) {
+            return new ResponseEntity<>(
+                    Response.builder().success(false).message(e.getMessage()).build(),
+                    HttpStatus.BAD_REQUEST);
+        }
     }
 
     @PutMapping("/update/{id}")
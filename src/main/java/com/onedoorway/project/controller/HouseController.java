@@ -87,6 +87,11 @@ public class HouseController {
         return new ResponseEntity<>(houseService.listAllHouses(), HttpStatus.OK);
     }
 
+    @GetMapping(value = "/search/{houseCode}")
+    public ResponseEntity<List<HouseDTO>> searchHouses(@PathVariable String houseCode) {
+        return new ResponseEntity<>(houseService.searchHouses(houseCode), HttpStatus.OK);
+    }
+
     @PutMapping("/update/{houseId}")
     public ResponseEntity<Response> updateHouses(
             @Valid @RequestBody AddHouseRequest request, @PathVariable long houseId) {
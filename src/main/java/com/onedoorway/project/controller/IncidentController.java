@@ -33,11 +33,16 @@ public class IncidentController {
         return new ResponseEntity<>(incidentService.getIncidentById(id), HttpStatus.OK);
     }
 
-    @SneakyThrows
     @PostMapping("/list")
-    public ResponseEntity<List<IncidentDTO>> listIncidents(
-            @RequestBody ListIncidentRequest request) {
-        return new ResponseEntity<>(incidentService.listIncident(request), HttpStatus.OK);
+    public ResponseEntity<?> listIncidents(@RequestBody ListIncidentRequest request) {
+        try {
+            CursorPage<IncidentDTO> page = incidentService.listIncident(request);
+            return new ResponseEntity<>(page.getItems(), page.headers(), HttpStatus.OK);
+        } catch (IncidentServiceException e) {
+            return new ResponseEntity<>(
+                    Response.builder().success(false).message(e.getMessage()).build(),
+                    HttpStatus.BAD_REQUEST);
+        }
     }
 
     @PatchMapping("/close/{id}/{closedBy}")
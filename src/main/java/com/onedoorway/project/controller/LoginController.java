@@ -3,73 +3,85 @@ package com.onedoorway.project.controller;
 import com.onedoorway.project.dto.LoginRequest;
 import com.onedoorway.project.dto.LoginResponse;
 import com.onedoorway.project.dto.Response;
-import com.onedoorway.project.exception.UserServiceException;
+import com.onedoorway.project.exception.LoginServiceException;
 import com.onedoorway.project.model.House;
 import com.onedoorway.project.model.ODWUserDetails;
-import com.onedoorway.project.services.ODWUserDetailsService;
-import com.onedoorway.project.services.UserService;
+import com.onedoorway.project.services.LoginService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 @Log4j2
 @RestController
 public class LoginController {
-    private final AuthenticationManager authenticationManager;
-    private final ODWUserDetailsService userDetailsService;
-    private final UserService userService;
+    private final LoginService loginService;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     @Autowired
     public LoginController(
-            AuthenticationManager authenticationManager,
-            ODWUserDetailsService userDetailsService,
-            UserService userService,
-            JwtUtil jwtUtil) {
-        this.authenticationManager = authenticationManager;
-        this.userDetailsService = userDetailsService;
-        this.userService = userService;
+            LoginService loginService,
+            JwtUtil jwtUtil,
+            TokenRevocationService tokenRevocationService) {
+        this.loginService = loginService;
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @PostMapping(value = "/login", produces = "application/json")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest)
-            throws UserServiceException {
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
         try {
-            if (userService.isUserDeleted(loginRequest.getEmail())) {
-                return loginFailure();
-            }
-
-            if (!userService.isUserDeleted(loginRequest.getEmail())) {
-                authenticationManager.authenticate(
-                        new UsernamePasswordAuthenticationToken(
-                                loginRequest.getEmail(), loginRequest.getPassword()));
-                final ODWUserDetails userDetails =
-                        (ODWUserDetails)
-                                userDetailsService.loadUserByUsername(loginRequest.getEmail());
-                log.info("Successfully authenticated the user {}", loginRequest.getEmail());
-                return loginSuccess(loginRequest, userDetails);
-            } else {
-                throw new BadCredentialsException("User is deleted");
-            }
+            final ODWUserDetails userDetails =
+                    loginService.login(loginRequest.getEmail(), loginRequest.getPassword());
+            log.info("Successfully authenticated the user {}", loginRequest.getEmail());
+            return loginSuccess(loginRequest, userDetails);
         } catch (BadCredentialsException e) {
             log.error(
                     "Incorrect username or password for username {} or User deleted {}",
                     loginRequest.getEmail(),
                     e.getMessage());
-            log.info(e.getMessage());
             return loginFailure();
+        } catch (LoginServiceException e) {
+            log.error(
+                    "Login for username {} not processed {}",
+                    loginRequest.getEmail(),
+                    e.getMessage());
+            return new ResponseEntity<>(
+                    Response.builder().success(false).message(e.getMessage()).build(),
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    @PostMapping(value = "/logout", produces = "application/json")
+    public ResponseEntity<Response> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            String jwt = authorizationHeader.substring(7);
+            try {
+                Claims claims = jwtUtil.extractAllClaims(jwt);
+                if (claims != null) {
+                    tokenRevocationService.revokeToken(
+                            jwt, claims.getSubject(), claims.getExpiration());
+                    log.info("Logged out the user {}", claims.getSubject());
+                }
+            } catch (JwtException e) {
+                // an expired or forged token cannot be used anyway
+                log.info("Logout with an unusable token {}", e.getMessage());
+            }
         }
+        return ResponseEntity.ok(Response.builder().success(true).build());
     }
 
     private ResponseEntity<?> loginFailure() {
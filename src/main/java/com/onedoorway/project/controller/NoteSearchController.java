@@ -0,0 +1,43 @@
+package com.onedoorway.project.controller;
+
+import com.onedoorway.project.dto.CursorPage;
+import com.onedoorway.project.dto.NoteSearchHit;
+import com.onedoorway.project.dto.NoteSearchRequest;
+import com.onedoorway.project.dto.Response;
+import com.onedoorway.project.exception.NoteSearchServiceException;
+import com.onedoorway.project.services.NoteSearchService;
+import javax.validation.Valid;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Log4j2
+@RestController
+@RequestMapping(path = "/search", produces = "application/json")
+public class NoteSearchController {
+    private final NoteSearchService noteSearchService;
+
+    public NoteSearchController(@Autowired NoteSearchService noteSearchService) {
+        this.noteSearchService = noteSearchService;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> search(@Valid @RequestBody NoteSearchRequest request) {
+        try {
+            CursorPage<NoteSearchHit> page = noteSearchService.search(request);
+            return new ResponseEntity<>(page.getItems(), page.headers(), HttpStatus.OK);
+        } catch (NoteSearchServiceException e) {
+            return new ResponseEntity<>(
+                    Response.builder().success(false).message(e.getMessage()).build(),
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Response> rebuild() {
+        noteSearchService.rebuild();
+        return new ResponseEntity<>(Response.builder().success(true).build(), HttpStatus.OK);
+    }
+}
@@ -29,12 +29,7 @@ public class UserController {
     @PostMapping("/list-page")
     public ResponseEntity<ListUsersByPageResponse> listAllUsersByPage(
             @RequestBody ListUsersByPageRequest request) {
-        ListUsersByPageResponse listUsersByPageResponse =
-                ListUsersByPageResponse.builder()
-                        .users(userService.listAllUsersByPage(request))
-                        .totalUsers(userService.usersCount(request))
-                        .build();
-        return new ResponseEntity<>(listUsersByPageResponse, HttpStatus.OK);
+        return new ResponseEntity<>(userService.listUsersPage(request), HttpStatus.OK);
     }
 
     @SneakyThrows
@@ -129,6 +124,20 @@ public class UserController {
         }
     }
 
+    @PostMapping("/revoke-tokens/{userId}")
+    public ResponseEntity<Response> revokeTokens(@PathVariable long userId) {
+        try {
+            userService.revokeAllTokens(userId);
+            return new ResponseEntity<>(
+                    Response.builder().success(true).message("revoked the user tokens").build(),
+                    HttpStatus.OK);
+        } catch (UserServiceException e) {
+            return new ResponseEntity<>(
+                    Response.builder().success(false).message(e.getMessage()).build(),
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @SneakyThrows
     @GetMapping("/get/{userId}")
     public ResponseEntity<?> getUsers(@PathVariable long userId) {
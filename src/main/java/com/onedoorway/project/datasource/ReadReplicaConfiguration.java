@@ -0,0 +1,61 @@
+package com.onedoorway.project.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Splits the pool in two when {@code odw.datasource.replica.url} is set: the primary from {@code
+ * spring.datasource.*} and a replica that serves the read-only transactions. The replica gets the
+ * primary's credentials unless it has its own, and its pool is tuned under {@code
+ * odw.datasource.replica.hikari.*}. Flyway and everything outside a read-only transaction keep
+ * using the primary.
+ */
+@Configuration
+@ConditionalOnProperty("odw.datasource.replica.url")
+public class ReadReplicaConfiguration {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("odw.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${odw.datasource.replica.url}") String url,
+            @Value("${odw.datasource.replica.username:}") String username,
+            @Value("${odw.datasource.replica.password:}") String password) {
+        HikariDataSource replica =
+                properties
+                        .initializeDataSourceBuilder()
+                        .type(HikariDataSource.class)
+                        .url(url)
+                        .build();
+        if (!username.isEmpty()) {
+            replica.setUsername(username);
+            replica.setPassword(password);
+        }
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primary, replica));
+    }
+}
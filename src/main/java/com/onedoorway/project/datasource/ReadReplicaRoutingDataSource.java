@@ -0,0 +1,32 @@
+package com.onedoorway.project.datasource;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections everywhere
+ * else, including work done outside a transaction. The read-only flag is only set once the
+ * transaction has begun, so this has to sit behind a lazy connection proxy that waits for the first
+ * statement before asking for a connection.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Target.REPLICA
+                : Target.PRIMARY;
+    }
+}
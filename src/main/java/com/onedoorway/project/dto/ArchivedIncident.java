@@ -0,0 +1,17 @@
+package com.onedoorway.project.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** An incident as archived, together with its reviews, which leave the live tables with it. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedIncident {
+    private IncidentDTO incident;
+    private List<IncidentReviewDTO> reviews;
+}
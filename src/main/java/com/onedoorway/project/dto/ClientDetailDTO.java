@@ -14,6 +14,7 @@ import lombok.NoArgsConstructor;
 public class ClientDetailDTO {
 
     private long id;
+    private long version;
     private String email;
     private String name;
     private String gender;
@@ -27,4 +27,6 @@ public class ClientRequest {
     private final String postCode;
     private final Boolean deleted;
     private final String ndisNumber;
+    // the version the caller read; when given, the update goes straight to the row
+    private final Long version;
 }
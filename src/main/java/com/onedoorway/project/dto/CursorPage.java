@@ -0,0 +1,34 @@
+package com.onedoorway.project.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.Data;
+import org.springframework.http.HttpHeaders;
+
+/** One page of a list endpoint and the cursor for the page after it. */
+@Data
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> items;
+
+    // null once a page comes back short, i.e. there is nothing after it
+    private final String nextCursor;
+
+    public static <T> CursorPage<T> of(
+            List<T> items, int pageSize, Function<T, String> cursorOf) {
+        String next =
+                items.isEmpty() || items.size() < pageSize
+                        ? null
+                        : cursorOf.apply(items.get(items.size() - 1));
+        return new CursorPage<>(items, next);
+    }
+
+    public HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            headers.set(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,25 @@
+package com.onedoorway.project.dto;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EndpointDbStatsDTO {
+    private String endpoint;
+    private long requests;
+    private long statements;
+    private double meanStatements;
+    private long maxStatements;
+    private long rows;
+    private double meanTimeMs;
+    private double maxTimeMs;
+    // upper bound ("le") -> number of requests, not cumulative
+    private Map<String, Long> statementHistogram;
+    private Map<String, Long> timeHistogramMs;
+}
@@ -8,6 +8,7 @@ import lombok.Data;
 @Data
 public class IncidentDTO {
     private long id;
+    private Long version;
     private LookupDTO category;
     private LookupDTO type;
     private LookupDTO classification;
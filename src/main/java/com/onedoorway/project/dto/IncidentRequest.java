@@ -38,4 +38,6 @@ public class IncidentRequest {
     private final String immediateAction;
     private final String reportableToNDIS;
     private final String reportableToWorksafe;
+    // the version the caller read; when given, the update goes straight to the row
+    private final Long version;
 }
@@ -16,6 +16,10 @@ public class ListCaseNoteRequest {
     private final String end;
     private final Integer pageSize;
     private final Integer pageNumber;
+
+    // X-Next-Cursor of the previous page; when set, pageNumber is ignored
+    private final String after;
+
     private final Long clientId;
     private final String category;
 }
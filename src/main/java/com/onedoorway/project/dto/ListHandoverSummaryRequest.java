@@ -16,5 +16,9 @@ public class ListHandoverSummaryRequest {
     private final String end;
     private final Integer pageSize;
     private final Integer pageNumber;
+
+    // X-Next-Cursor of the previous page; when set, pageNumber is ignored
+    private final String after;
+
     private final String houseCode;
 }
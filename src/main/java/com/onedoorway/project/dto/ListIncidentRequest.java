@@ -14,6 +14,10 @@ public class ListIncidentRequest {
 
     private final Integer pageSize;
     private final Integer pageNumber;
+
+    // X-Next-Cursor of the previous page; when set, pageNumber is ignored
+    private final String after;
+
     private final String houseCode;
     private final String clientName;
     private final Boolean reportedBy;
@@ -0,0 +1,27 @@
+package com.onedoorway.project.dto;
+
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class NoteSearchHit {
+    public enum Type {
+        DAILY_NOTE,
+        CASE_NOTE,
+        MISCELLANEOUS_NOTE,
+        HANDOVER_SUMMARY,
+        INCIDENT,
+        INCIDENT_REVIEW
+    }
+
+    private final Type type;
+    private final long id;
+    private final String houseCode;
+    private final Long clientId;
+    private final Instant date;
+
+    // the best matching passage, with the matched terms in <b></b>
+    private final String snippet;
+}
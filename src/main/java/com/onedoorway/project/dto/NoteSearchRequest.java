@@ -0,0 +1,34 @@
+package com.onedoorway.project.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import java.time.Instant;
+import javax.validation.constraints.NotBlank;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+@Data
+@Builder
+@JsonDeserialize(builder = NoteSearchRequest.NoteSearchRequestBuilder.class)
+public class NoteSearchRequest {
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class NoteSearchRequestBuilder {}
+
+    @NotBlank private final String query;
+
+    // all houses when null, which only an admin may ask for
+    private final String houseCode;
+    private final Long clientId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private final Instant start;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private final Instant end;
+
+    private final Integer pageSize;
+
+    // X-Next-Cursor of the previous page
+    private final String after;
+}
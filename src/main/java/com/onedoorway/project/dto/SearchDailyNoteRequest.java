@@ -22,6 +22,10 @@ public class SearchDailyNoteRequest {
 
     private final Integer pageSize;
     private final Integer pageNumber;
+
+    // X-Next-Cursor of the previous page; when set, pageNumber is ignored
+    private final String after;
+
     private final String houseCode;
     private final Long clientId;
 }
@@ -19,6 +19,8 @@ public class UpdateClientRequest {
     private final String expiryDate;
     private final String individualReferenceNumber;
     private final String medicareCardName;
+    // the version the caller read; when given, the update goes straight to the row
+    private final Long version;
 
     private String identity;
     private String culture;
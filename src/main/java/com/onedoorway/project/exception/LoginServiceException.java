@@ -0,0 +1,7 @@
+package com.onedoorway.project.exception;
+
+public class LoginServiceException extends Exception {
+    public LoginServiceException(String message) {
+        super(message);
+    }
+}
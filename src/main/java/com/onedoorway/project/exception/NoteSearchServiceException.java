@@ -0,0 +1,7 @@
+package com.onedoorway.project.exception;
+
+public class NoteSearchServiceException extends Exception {
+    public NoteSearchServiceException(String message) {
+        super(message);
+    }
+}
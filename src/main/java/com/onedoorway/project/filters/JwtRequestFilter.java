@@ -1,29 +1,50 @@
 package com.onedoorway.project.filters;
 
+import com.onedoorway.project.Context;
+import com.onedoorway.project.model.JwtPrincipal;
+import com.onedoorway.project.model.ODWUserDetails;
 import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import java.io.IOException;
+import java.util.Date;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+@Slf4j
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
     private final ODWUserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final TokenCache tokenCache;
+    private final SecurityStampService securityStampService;
+    private final TokenRevocationService tokenRevocationService;
 
+    @Autowired
     public JwtRequestFilter(
-            @Autowired ODWUserDetailsService userDetailsService, @Autowired JwtUtil jwtUtil) {
+            ODWUserDetailsService userDetailsService,
+            JwtUtil jwtUtil,
+            TokenCache tokenCache,
+            SecurityStampService securityStampService,
+            TokenRevocationService tokenRevocationService) {
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
+        this.securityStampService = securityStampService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -32,26 +53,100 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        if (authorizationHeader != null
+                && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
+            TokenCache.Entry cached = tokenCache.get(jwt);
+            if (cached != null) {
+                // revoking evicts the token, but only on the instance that has applied it, so a
+                // user's cut-off is checked on every hit as well
+                UsernamePasswordAuthenticationToken verified = cached.getAuthentication();
+                if (isCurrent(verified.getPrincipal())
+                        && !tokenRevocationService.isRevoked(
+                                jwt, cached.getUsername(), cached.getIssuedAt())) {
+                    authenticate(request, verified);
+                }
+            } else {
+                Claims claims = jwtUtil.extractAllClaims(jwt);
+                Date issuedAt = claims.getIssuedAt();
+                if (tokenRevocationService.isRevoked(jwt, claims.getSubject(), issuedAt)) {
+                    log.info("Rejected a revoked token");
+                } else if (jwtUtil.isSelfContained(claims)) {
+                    authenticateFromClaims(request, jwt, claims);
+                } else {
+                    authenticateFromUser(request, jwt, issuedAt);
+                }
+            }
+        }
+        chain.doFilter(request, response);
+    }
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+    private void authenticateFromClaims(HttpServletRequest request, String jwt, Claims claims) {
+        JwtPrincipal principal = jwtUtil.extractPrincipal(claims);
+        if (!isCurrent(principal)) {
+            log.info("Rejected a token with a stale security stamp for {}", principal.getName());
+            return;
         }
+        UsernamePasswordAuthenticationToken verified =
+                new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.getAuthorities());
+        tokenCache.put(
+                jwt,
+                principal.getName(),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                verified);
+        authenticate(request, verified);
+    }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext()
-                        .setAuthentication(usernamePasswordAuthenticationToken);
+    // tokens issued before the claims were added still carry only the subject
+    private void authenticateFromUser(HttpServletRequest request, String jwt, Date issuedAt) {
+        String username = jwtUtil.extractUsername(jwt);
+        if (username == null) {
+            return;
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (jwtUtil.validateToken(jwt, userDetails)) {
+            UsernamePasswordAuthenticationToken verified =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+            tokenCache.put(jwt, username, issuedAt, jwtUtil.extractExpiration(jwt), verified);
+            // loaded for this request, so the services can use it without loading it again
+            request.setAttribute(
+                    Context.USER_ATTRIBUTE, ((ODWUserDetails) userDetails).getUser());
+            authenticate(request, verified);
+        }
+    }
+
+    private boolean isCurrent(Object principal) {
+        if (!(principal instanceof JwtPrincipal)) {
+            return true;
+        }
+        JwtPrincipal jwtPrincipal = (JwtPrincipal) principal;
+        if (securityStampService.getStamp(jwtPrincipal.getName()) == null) {
+            // not in the stamp table yet, e.g. the user was created after the last refresh
+            try {
+                ODWUserDetails userDetails =
+                        (ODWUserDetails)
+                                userDetailsService.loadUserByUsername(jwtPrincipal.getName());
+                securityStampService.record(
+                        userDetails.getUsername(), userDetails.getSecurityStamp());
+            } catch (UsernameNotFoundException e) {
+                return false;
             }
         }
-        chain.doFilter(request, response);
+        return securityStampService.isCurrent(jwtPrincipal);
+    }
+
+    private void authenticate(
+            HttpServletRequest request, UsernamePasswordAuthenticationToken verified) {
+        // the cached token is shared between requests, so the per-request details go on a copy
+        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                new UsernamePasswordAuthenticationToken(
+                        verified.getPrincipal(), null, verified.getAuthorities());
+        usernamePasswordAuthenticationToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
     }
 }
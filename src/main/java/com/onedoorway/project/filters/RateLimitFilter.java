@@ -0,0 +1,214 @@
+package com.onedoorway.project.filters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onedoorway.project.dto.Response;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Per-IP and per-account token buckets in front of the unauthenticated endpoints, which are the
+ * expensive ones (BCrypt, reset token inserts and the SendGrid call). Over the limit the request
+ * is answered with 429 and a Retry-After before it reaches security or the controllers, and a
+ * body over {@code odw.rate-limit.max-body-bytes} with 413.
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+    // limited path -> body field that names the account
+    static final Map<String, String> ACCOUNT_FIELDS =
+            Map.of(
+                    "/login", "email",
+                    "/user/forgot-password", "email",
+                    "/user/reset-password", "token");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final RateLimiter ipLimiter;
+    private final RateLimiter accountLimiter;
+    private final int maxBodyBytes;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public RateLimitFilter(
+            @Value("${odw.rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${odw.rate-limit.ip.refill-per-minute:20}") int ipRefillPerMinute,
+            @Value("${odw.rate-limit.account.capacity:5}") int accountCapacity,
+            @Value("${odw.rate-limit.account.refill-per-minute:5}") int accountRefillPerMinute,
+            @Value("${odw.rate-limit.max-keys:50000}") int maxKeys,
+            @Value("${odw.rate-limit.max-body-bytes:4096}") int maxBodyBytes,
+            MeterRegistry meterRegistry) {
+        this(
+                new RateLimiter(ipCapacity, ipRefillPerMinute, maxKeys),
+                new RateLimiter(accountCapacity, accountRefillPerMinute, maxKeys),
+                maxBodyBytes,
+                meterRegistry);
+    }
+
+    RateLimitFilter(
+            RateLimiter ipLimiter,
+            RateLimiter accountLimiter,
+            int maxBodyBytes,
+            MeterRegistry meterRegistry) {
+        this.ipLimiter = ipLimiter;
+        this.accountLimiter = accountLimiter;
+        this.maxBodyBytes = maxBodyBytes;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("odw.rate.limit.buckets", ipLimiter, RateLimiter::size)
+                .tag("key", "ip")
+                .register(meterRegistry);
+        Gauge.builder("odw.rate.limit.buckets", accountLimiter, RateLimiter::size)
+                .tag("key", "account")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !ACCOUNT_FIELDS.containsKey(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = path(request);
+        long wait = ipLimiter.tryAcquire(path + "|" + request.getRemoteAddr());
+        if (wait > 0) {
+            reject(response, path, "ip", wait);
+            return;
+        }
+        // the account bucket needs the body, so one that is too big to read, declared or chunked,
+        // is refused rather than let through without it
+        byte[] body =
+                request.getContentLengthLong() > maxBodyBytes
+                        ? null
+                        : request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body == null || body.length > maxBodyBytes) {
+            meterRegistry
+                    .counter("odw.rate.limit.rejected", "path", path, "key", "body")
+                    .increment();
+            log.warn("Refused {} with a body over {} bytes", path, maxBodyBytes);
+            write(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large");
+            return;
+        }
+        String account = accountOf(body, ACCOUNT_FIELDS.get(path));
+        if (account != null) {
+            wait = accountLimiter.tryAcquire(path + "|" + account.toLowerCase());
+            if (wait > 0) {
+                reject(response, path, "account", wait);
+                return;
+            }
+        }
+        chain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    @Scheduled(fixedDelayString = "${odw.rate-limit.sweep-ms:60000}")
+    public void removeIdle() {
+        int removed = ipLimiter.removeIdle() + accountLimiter.removeIdle();
+        log.debug("Removed {} idle rate limit buckets", removed);
+    }
+
+    private void reject(HttpServletResponse response, String path, String key, long waitNanos)
+            throws IOException {
+        meterRegistry.counter("odw.rate.limit.rejected", "path", path, "key", key).increment();
+        long retryAfter = TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1;
+        log.warn("Rate limited {} by {} for {} s", path, key, retryAfter);
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        write(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, please try again later");
+    }
+
+    private static void write(HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        OBJECT_MAPPER.writeValue(
+                response.getOutputStream(),
+                Response.builder().success(false).message(message).build());
+    }
+
+    private static String accountOf(byte[] body, String field) {
+        try {
+            JsonNode root = OBJECT_MAPPER.readTree(body);
+            JsonNode value = root == null ? null : root.get(field);
+            return value == null || !value.isTextual() ? null : value.asText();
+        } catch (IOException e) {
+            // malformed bodies are rejected by the controller, the IP bucket already counted it
+            return null;
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(
+                    new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
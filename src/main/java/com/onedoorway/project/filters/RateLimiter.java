@@ -0,0 +1,69 @@
+package com.onedoorway.project.filters;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by string. Each bucket is a single {@link AtomicLong} holding the time at
+ * which it would be full again (the GCRA form of a token bucket), so taking a token is one
+ * compare-and-set and a full bucket can be dropped without losing anything.
+ */
+public class RateLimiter {
+    static final String OVERFLOW_KEY = "*";
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final LongSupplier clock;
+
+    public RateLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int capacity, int refillPerMinute, int maxKeys, LongSupplier clock) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstNanos = intervalNanos * capacity;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    /** Returns 0 if a token was taken, otherwise the nanos until the next one is available. */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                // too many distinct keys until the next sweep, e.g. a spread-out attack: the
+                // new ones share one bucket
+                key = OVERFLOW_KEY;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int removeIdle() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,147 @@
+package com.onedoorway.project.filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of already verified JWTs keyed by a SHA-256 digest of the token, so repeated
+ * requests with the same token skip parsing and the user lookup.
+ */
+@Slf4j
+@Component
+public class TokenCache {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public TokenCache(
+            @Value("${odw.security.token-cache.max-size:10000}") int maxSize,
+            MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.hits = meterRegistry.counter("odw.token.cache", "result", "hit");
+        this.misses = meterRegistry.counter("odw.token.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("odw.token.cache.evictions");
+        Gauge.builder("odw.token.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public Entry get(String token) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    /** {@code issuedAt} may be null, in which case only the token itself can be revoked. */
+    public void put(
+            String token,
+            String username,
+            Date issuedAt,
+            Date expiration,
+            UsernamePasswordAuthenticationToken authentication) {
+        if (expiration == null || username == null) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            removeExpired();
+            if (entries.size() >= maxSize) {
+                log.warn("Token cache is full with {} entries, not caching", entries.size());
+                return;
+            }
+        }
+        entries.put(
+                digest(token),
+                new Entry(
+                        username.toLowerCase(),
+                        issuedAt,
+                        expiration.getTime(),
+                        authentication));
+    }
+
+    public void evictUser(String username) {
+        if (username == null) {
+            return;
+        }
+        String name = username.toLowerCase();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.username.equals(name));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            evictions.increment(removed);
+            log.info("Evicted {} cached tokens for user {}", removed, username);
+        }
+    }
+
+    public void evictDigest(String digest) {
+        if (entries.remove(digest) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void removeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    public static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder()
+                    .encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Getter
+    public static class Entry {
+        private final String username;
+        private final Date issuedAt;
+        private final long expiresAt;
+        private final UsernamePasswordAuthenticationToken authentication;
+
+        private Entry(
+                String username,
+                Date issuedAt,
+                long expiresAt,
+                UsernamePasswordAuthenticationToken authentication) {
+            this.username = username;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+            this.authentication = authentication;
+        }
+    }
+}
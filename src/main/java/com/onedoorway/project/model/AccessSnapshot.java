@@ -0,0 +1,78 @@
+package com.onedoorway.project.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Roles and house ids of a principal, flattened once when the principal is built so the access
+ * checks are a mask test and a binary search.
+ */
+public final class AccessSnapshot {
+    public static final int ADMIN = 1;
+    public static final int HOUSE_ADMIN = 1 << 1;
+    public static final int USER = 1 << 2;
+
+    private static final int ADMIN_ROLES = ADMIN | HOUSE_ADMIN;
+
+    private final int roleMask;
+    private final long[] houseIds;
+
+    private AccessSnapshot(int roleMask, long[] houseIds) {
+        this.roleMask = roleMask;
+        this.houseIds = houseIds;
+    }
+
+    public static AccessSnapshot of(Collection<String> roles, Collection<Long> houseIds) {
+        int roleMask = 0;
+        if (roles != null) {
+            for (String role : roles) {
+                roleMask |= roleBit(role);
+            }
+        }
+        long[] ids = new long[houseIds == null ? 0 : houseIds.size()];
+        int i = 0;
+        if (houseIds != null) {
+            for (Long houseId : houseIds) {
+                ids[i++] = houseId;
+            }
+        }
+        Arrays.sort(ids);
+        return new AccessSnapshot(roleMask, ids);
+    }
+
+    static int roleBit(String role) {
+        if (role == null) {
+            return 0;
+        }
+        switch (role) {
+            case "ADMIN":
+                return ADMIN;
+            case "HOUSE ADMIN":
+                return HOUSE_ADMIN;
+            case "USER":
+                return USER;
+            default:
+                return 0;
+        }
+    }
+
+    public int getRoleMask() {
+        return roleMask;
+    }
+
+    public boolean hasRole(int role) {
+        return (roleMask & role) != 0;
+    }
+
+    public boolean isAdmin() {
+        return hasRole(ADMIN_ROLES);
+    }
+
+    public boolean hasHouse(long houseId) {
+        return Arrays.binarySearch(houseIds, houseId) >= 0;
+    }
+
+    public int getHouseCount() {
+        return houseIds.length;
+    }
+}
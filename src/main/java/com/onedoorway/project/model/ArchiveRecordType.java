@@ -0,0 +1,10 @@
+package com.onedoorway.project.model;
+
+// stored by ordinal, so new types go at the end
+public enum ArchiveRecordType {
+    INCIDENT,
+    CASE_NOTE,
+    NIGHT_REPORT,
+    SLEEP_TRACKER_NOTE,
+    FOOD_DIARY_NOTE
+}
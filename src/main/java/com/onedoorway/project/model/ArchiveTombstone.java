@@ -0,0 +1,46 @@
+package com.onedoorway.project.model;
+
+import java.time.Instant;
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Where an archived record went: its segment, and the bytes of the segment that hold it. */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "archive_tombstones")
+@Table(
+        uniqueConstraints = {
+            @UniqueConstraint(
+                    name = "uk_archive_tombstones_record",
+                    columnNames = {"record_type", "record_key"})
+        })
+public class ArchiveTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "archive_tombstones_id_seq")
+    @SequenceGenerator(name = "archive_tombstones_id_seq", allocationSize = 50)
+    private long id;
+
+    @Column(name = "record_type")
+    @Enumerated(EnumType.ORDINAL)
+    private ArchiveRecordType recordType;
+
+    // the record's id, or its natural key for the per-day notes
+    @Column(name = "record_key")
+    private String recordKey;
+
+    private String segment;
+
+    @Column(name = "segment_offset")
+    private long segmentOffset;
+
+    private int length;
+
+    @Column(name = "archived_at")
+    private Instant archivedAt;
+}
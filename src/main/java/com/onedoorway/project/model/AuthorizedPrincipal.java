@@ -0,0 +1,6 @@
+package com.onedoorway.project.model;
+
+/** A principal that carries the {@link AccessSnapshot} used by the access checks in Context. */
+public interface AuthorizedPrincipal {
+    AccessSnapshot getAccess();
+}
@@ -17,7 +17,8 @@ import org.springframework.format.annotation.DateTimeFormat;
 @Entity(name = "bowel_notes")
 public class BowelNote {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bowel_notes_bowel_note_id_seq")
+    @SequenceGenerator(name = "bowel_notes_bowel_note_id_seq", allocationSize = 50)
     @Column(name = "bowel_note_id")
     private long id;
 
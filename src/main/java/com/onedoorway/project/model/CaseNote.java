@@ -22,7 +22,8 @@ import org.springframework.format.annotation.DateTimeFormat;
         })
 public class CaseNote {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "case_notes_case_note_id_seq")
+    @SequenceGenerator(name = "case_notes_case_note_id_seq", allocationSize = 50)
     @Column(name = "case_note_id")
     private long id;
 
@@ -9,19 +9,28 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.experimental.FieldNameConstants;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@FieldNameConstants
 @Entity
 @Table(name = "clients")
+@DynamicUpdate
 public class Client {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients_client_id_seq")
+    @SequenceGenerator(name = "clients_client_id_seq", allocationSize = 50)
     @Column(name = "client_id")
     private long id;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     private String name;
 
     @Column(name = "gender")
@@ -89,7 +98,8 @@ public class Client {
     @Column(name = "language")
     private String language;
 
-    @Column(name = "diagnosis", columnDefinition = "TEXT")
+    @Column(name = "diagnosis", columnDefinition = "bytea")
+    @Convert(converter = CompressedTextConverter.class)
     private String diagnosis;
 
     @Column(name = "mobility", columnDefinition = "TEXT")
@@ -98,7 +108,8 @@ public class Client {
     @Column(name = "communication", columnDefinition = "TEXT")
     private String communication;
 
-    @Column(name = "medication_support", columnDefinition = "TEXT")
+    @Column(name = "medication_support", columnDefinition = "bytea")
+    @Convert(converter = CompressedTextConverter.class)
     private String medicationSupport;
 
     @Column(name = "transportation", columnDefinition = "TEXT")
@@ -116,7 +127,7 @@ public class Client {
     @Column(name = "support_worker_specs", columnDefinition = "TEXT")
     private String supportWorkerSpecs;
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinColumn(name = "house_id")
     @JsonBackReference
     private House house;
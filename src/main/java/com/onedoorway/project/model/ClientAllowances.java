@@ -13,7 +13,10 @@ import lombok.NoArgsConstructor;
 @Entity(name = "client_allowances")
 public class ClientAllowances {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "client_allowances_client_allowances_id_seq")
+    @SequenceGenerator(name = "client_allowances_client_allowances_id_seq", allocationSize = 50)
     @Column(name = "client_allowances_id")
     private long id;
 
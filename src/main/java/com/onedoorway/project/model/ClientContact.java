@@ -17,7 +17,9 @@ import org.springframework.format.annotation.DateTimeFormat;
 @Entity(name = "client_contacts")
 public class ClientContact {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE, generator = "client_contacts_client_contact_id_seq")
+    @SequenceGenerator(name = "client_contacts_client_contact_id_seq", allocationSize = 50)
     @Column(name = "client_contact_id")
     private long id;
 
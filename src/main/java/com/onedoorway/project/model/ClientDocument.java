@@ -16,7 +16,10 @@ import org.springframework.format.annotation.DateTimeFormat;
 @Table(name = "client_documents")
 public class ClientDocument {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "client_documents_client_document_id_seq")
+    @SequenceGenerator(name = "client_documents_client_document_id_seq", allocationSize = 50)
     @Column(name = "client_document_id")
     private long id;
 
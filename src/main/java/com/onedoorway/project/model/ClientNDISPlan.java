@@ -20,7 +20,10 @@ import lombok.NoArgsConstructor;
         })
 public class ClientNDISPlan {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "client_ndis_plan_client_ndis_plan_id_seq")
+    @SequenceGenerator(name = "client_ndis_plan_client_ndis_plan_id_seq", allocationSize = 50)
     @Column(name = "client_ndis_plan_id")
     private long id;
 
@@ -11,9 +11,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity(name = "client_reports")
+@Table(uniqueConstraints = {@UniqueConstraint(columnNames = {"client_id", "lookup_id"})})
 public class ClientReport {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE, generator = "client_reports_client_report_id_seq")
+    @SequenceGenerator(name = "client_reports_client_report_id_seq", allocationSize = 50)
     @Column(name = "client_report_id")
     private long id;
 
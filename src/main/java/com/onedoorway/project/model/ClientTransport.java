@@ -19,7 +19,10 @@ import lombok.NoArgsConstructor;
         })
 public class ClientTransport {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "client_transport_client_transport_id_seq")
+    @SequenceGenerator(name = "client_transport_client_transport_id_seq", allocationSize = 50)
     @Column(name = "client_transport_id")
     private long id;
 
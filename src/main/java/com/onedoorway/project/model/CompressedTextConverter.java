@@ -0,0 +1,19 @@
+package com.onedoorway.project.model;
+
+import com.onedoorway.project.util.TextCompression;
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/** Keeps a long free-text attribute in a {@code bytea} column in {@link TextCompression} form. */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return TextCompression.encode(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return TextCompression.decode(dbData);
+    }
+}
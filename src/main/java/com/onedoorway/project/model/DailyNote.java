@@ -16,7 +16,8 @@ import org.springframework.format.annotation.DateTimeFormat;
 @Entity(name = "daily_notes")
 public class DailyNote {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_notes_daily_note_id_seq")
+    @SequenceGenerator(name = "daily_notes_daily_note_id_seq", allocationSize = 50)
     @Column(name = "daily_note_id")
     private long id;
 
@@ -28,7 +29,8 @@ public class DailyNote {
     @JoinColumn(name = "user_id", nullable = false)
     private User createBy;
 
-    @Column(name = "note", columnDefinition = "TEXT")
+    @Column(name = "note", columnDefinition = "bytea")
+    @Convert(converter = CompressedTextConverter.class)
     private String note;
 
     @Column(name = "start_time")
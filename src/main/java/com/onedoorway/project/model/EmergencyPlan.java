@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 @Entity(name = "emergency_plans")
 public class EmergencyPlan {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "emergency_plans_plan_id_seq")
+    @SequenceGenerator(name = "emergency_plans_plan_id_seq", allocationSize = 50)
     @Column(name = "plan_id")
     private long id;
 
@@ -15,7 +15,8 @@ import org.springframework.format.annotation.DateTimeFormat;
 @Entity(name = "folders")
 public class Folder {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "folders_folder_id_seq")
+    @SequenceGenerator(name = "folders_folder_id_seq", allocationSize = 50)
     @Column(name = "folder_id")
     private long id;
 
@@ -22,7 +22,9 @@ import org.springframework.format.annotation.DateTimeFormat;
         })
 public class FoodDiaryNote {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE, generator = "food_diary_notes_food_diary_id_seq")
+    @SequenceGenerator(name = "food_diary_notes_food_diary_id_seq", allocationSize = 50)
     @Column(name = "food_diary_id")
     private long id;
 
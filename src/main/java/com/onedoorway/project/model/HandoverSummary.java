@@ -18,7 +18,9 @@ import org.springframework.format.annotation.DateTimeFormat;
 @Table(name = "handover_summary")
 public class HandoverSummary {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE, generator = "handover_summary_hand_over_id_seq")
+    @SequenceGenerator(name = "handover_summary_hand_over_id_seq", allocationSize = 50)
     @Column(name = "hand_over_id")
     private long id;
 
@@ -47,19 +49,24 @@ public class HandoverSummary {
     @JoinColumn(name = " handOver_to", referencedColumnName = "user_id", nullable = false)
     private User handoverToId;
 
-    @Column(name = " behaviours_summary", columnDefinition = "TEXT")
+    @Column(name = " behaviours_summary", columnDefinition = "bytea")
+    @Convert(converter = CompressedTextConverter.class)
     private String behaviourSummary;
 
-    @Column(name = "sleep_summary", columnDefinition = "TEXT")
+    @Column(name = "sleep_summary", columnDefinition = "bytea")
+    @Convert(converter = CompressedTextConverter.class)
     private String sleepSummary;
 
-    @Column(name = "food_summary", columnDefinition = "TEXT")
+    @Column(name = "food_summary", columnDefinition = "bytea")
+    @Convert(converter = CompressedTextConverter.class)
     private String foodSummary;
 
-    @Column(name = "toileting_summary", columnDefinition = "TEXT")
+    @Column(name = "toileting_summary", columnDefinition = "bytea")
+    @Convert(converter = CompressedTextConverter.class)
     private String toiletingSummary;
 
-    @Column(name = "activities_summary", columnDefinition = "TEXT")
+    @Column(name = "activities_summary", columnDefinition = "bytea")
+    @Convert(converter = CompressedTextConverter.class)
     private String activitiesSummary;
 
     @Column(name = "communications", columnDefinition = "TEXT")
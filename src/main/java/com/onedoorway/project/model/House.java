@@ -9,18 +9,27 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity(name = "houses")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 public class House {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "houses_house_id_seq")
+    @SequenceGenerator(name = "houses_house_id_seq", allocationSize = 50)
     @Column(name = "house_id")
     private long id;
 
+    @NaturalId(mutable = true)
     @Column(name = "house_code", unique = true)
     @NotBlank
     private String houseCode;
@@ -47,7 +56,8 @@ public class House {
     @Pattern(regexp = "\\d{4}")
     private String postCode;
 
-    @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(
             name = "house_clients",
             joinColumns = @JoinColumn(name = "house_id"),
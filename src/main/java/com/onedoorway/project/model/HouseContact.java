@@ -19,7 +19,9 @@ import org.springframework.format.annotation.DateTimeFormat;
 @Table(name = "house_contacts")
 public class HouseContact {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE, generator = "house_contacts_house_contact_id_seq")
+    @SequenceGenerator(name = "house_contacts_house_contact_id_seq", allocationSize = 50)
     @Column(name = "house_contact_id")
     private long id;
 
@@ -15,7 +15,9 @@ import org.springframework.format.annotation.DateTimeFormat;
 @Entity(name = "house_image")
 public class HouseImage {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE, generator = "house_image_house_image_id_seq")
+    @SequenceGenerator(name = "house_image_house_image_id_seq", allocationSize = 50)
     @Column(name = "house_image_id")
     private long id;
 
@@ -7,19 +7,28 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.experimental.FieldNameConstants;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.format.annotation.DateTimeFormat;
 
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@FieldNameConstants
 @Entity(name = "incidents")
+@DynamicUpdate
 public class Incident {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incidents_incident_id_seq")
+    @SequenceGenerator(name = "incidents_incident_id_seq", allocationSize = 50)
     @Column(name = "incident_id")
     private long id;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @Column(name = "status")
     @Enumerated(EnumType.ORDINAL)
     private Status status;
@@ -28,13 +37,14 @@ public class Incident {
     @Enumerated(EnumType.ORDINAL)
     private RaisedFor raisedFor;
 
-    @Column(name = "description", columnDefinition = "TEXT")
+    @Column(name = "description", columnDefinition = "bytea")
+    @Convert(converter = CompressedTextConverter.class)
     private String description;
 
     @Column(name = "escalated")
     private boolean escalated;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "escalated_to", referencedColumnName = "user_id", nullable = true)
     private User escalatedTo;
 
@@ -47,7 +57,7 @@ public class Incident {
     @Column(name = "exact_location")
     private String exactLocation;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reported_by", referencedColumnName = "user_id", nullable = false)
     private User reportedBy;
 
@@ -89,10 +99,12 @@ public class Incident {
     @Column(name = "police_station")
     private String policeStation;
 
-    @Column(name = "before_incident", columnDefinition = "TEXT")
+    @Column(name = "before_incident", columnDefinition = "bytea")
+    @Convert(converter = CompressedTextConverter.class)
     private String beforeIncident;
 
-    @Column(name = "immediate_action", columnDefinition = "TEXT")
+    @Column(name = "immediate_action", columnDefinition = "bytea")
+    @Convert(converter = CompressedTextConverter.class)
     private String immediateAction;
 
     @Column(name = "reportable_to_NDIS")
@@ -14,7 +14,9 @@ import lombok.NoArgsConstructor;
 @Entity(name = "incident_reviews")
 public class IncidentReview {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE, generator = "incident_reviews_review_id_seq")
+    @SequenceGenerator(name = "incident_reviews_review_id_seq", allocationSize = 50)
     @Column(name = "review_id")
     private long id;
 
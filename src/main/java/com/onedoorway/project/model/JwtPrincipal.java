@@ -0,0 +1,47 @@
+package com.onedoorway.project.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/** Principal built from the claims of a self-contained token, without loading the user. */
+@Getter
+public class JwtPrincipal implements AuthenticatedPrincipal, AuthorizedPrincipal {
+    public static final int REVOKED_STAMP = -1;
+
+    private final String name;
+    // null for tokens issued before the id was added to the claims
+    private final Long userId;
+    private final List<String> roles;
+    private final List<Long> houseIds;
+    private final int securityStamp;
+    private final AccessSnapshot access;
+
+    public JwtPrincipal(String name, List<String> roles, List<Long> houseIds, int securityStamp) {
+        this(name, null, roles, houseIds, securityStamp);
+    }
+
+    public JwtPrincipal(
+            String name, Long userId, List<String> roles, List<Long> houseIds, int securityStamp) {
+        this.name = name;
+        this.userId = userId;
+        this.roles = roles;
+        this.houseIds = houseIds;
+        this.securityStamp = securityStamp;
+        this.access = AccessSnapshot.of(roles, houseIds);
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+
+        for (String role : roles) {
+            authorities.add(new SimpleGrantedAuthority(role));
+        }
+
+        return authorities;
+    }
+}
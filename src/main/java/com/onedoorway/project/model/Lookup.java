@@ -5,16 +5,20 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity(name = "lookup")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Lookup {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lookup_lookup_id_seq")
+    @SequenceGenerator(name = "lookup_lookup_id_seq", allocationSize = 50)
     @Column(name = "lookup_id")
     private long id;
 
@@ -17,7 +17,10 @@ import org.springframework.format.annotation.DateTimeFormat;
 @Table(name = "miscellaneous_notes")
 public class MiscellaneousNote {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "miscellaneous_notes_miscellaneous_note_id_seq")
+    @SequenceGenerator(name = "miscellaneous_notes_miscellaneous_note_id_seq", allocationSize = 50)
     @Column(name = "miscellaneous_note_id")
     private long id;
 
@@ -19,7 +19,8 @@ import org.springframework.format.annotation.DateTimeFormat;
         uniqueConstraints = {@UniqueConstraint(columnNames = {"client_id", "report_date"})})
 public class NightReport {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "night_report_report_id_seq")
+    @SequenceGenerator(name = "night_report_report_id_seq", allocationSize = 50)
     @Column(name = "report_id")
     private long id;
 
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.format.annotation.DateTimeFormat;
 
 @Data
@@ -14,9 +15,11 @@ import org.springframework.format.annotation.DateTimeFormat;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity(name = "notices")
+@NamedEntityGraph(name = "Notice.list", attributeNodes = @NamedAttributeNode("createdBy"))
 public class Notice {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notices_notice_id_seq")
+    @SequenceGenerator(name = "notices_notice_id_seq", allocationSize = 50)
     @Column(name = "notice_id")
     private long id;
 
@@ -24,14 +27,15 @@ public class Notice {
     @Enumerated(EnumType.ORDINAL)
     private NoticeStatus noticeStatus;
 
-    @ManyToMany(cascade = CascadeType.DETACH, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = CascadeType.DETACH, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(
             name = "notices_houses",
             joinColumns = @JoinColumn(name = "notice_id"),
             inverseJoinColumns = @JoinColumn(name = "house_id"))
     private Set<House> houses;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", referencedColumnName = "user_id", nullable = false)
     private User createdBy;
 
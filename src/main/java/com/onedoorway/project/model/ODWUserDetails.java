@@ -8,8 +8,9 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-public class ODWUserDetails implements UserDetails {
+public class ODWUserDetails implements UserDetails, AuthorizedPrincipal {
     private final User user;
+    private volatile AccessSnapshot access;
 
     public ODWUserDetails(User user) {
         this.user = user;
@@ -27,6 +28,14 @@ public class ODWUserDetails implements UserDetails {
         return authorities;
     }
 
+    public User getUser() {
+        return user;
+    }
+
+    public long getId() {
+        return user.getId();
+    }
+
     public String getFirstName() {
         return user.getFirstName();
     }
@@ -39,6 +48,37 @@ public class ODWUserDetails implements UserDetails {
         return user.getHouses();
     }
 
+    public List<Long> getHouseIds() {
+        List<Long> houseIds = new ArrayList<>();
+        if (user.getHouses() != null) {
+            for (House house : user.getHouses()) {
+                houseIds.add(house.getId());
+            }
+        }
+        return houseIds;
+    }
+
+    @Override
+    public AccessSnapshot getAccess() {
+        if (access == null) {
+            List<String> roles = new ArrayList<>();
+            if (user.getRoles() != null) {
+                for (Role role : user.getRoles()) {
+                    roles.add(role.getName());
+                }
+            }
+            access = AccessSnapshot.of(roles, getHouseIds());
+        }
+        return access;
+    }
+
+    public int getSecurityStamp() {
+        if (Boolean.TRUE.equals(user.getDeleted())) {
+            return JwtPrincipal.REVOKED_STAMP;
+        }
+        return user.getSecurityStamp() == null ? 0 : user.getSecurityStamp();
+    }
+
     @Override
     public String getPassword() {
         return user.getPassword();
@@ -16,7 +16,10 @@ import lombok.NoArgsConstructor;
 @Table(name = "power_of_attorney")
 public class PowerOfAttorney {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "power_of_attorney_power_of_attorney_id_seq")
+    @SequenceGenerator(name = "power_of_attorney_power_of_attorney_id_seq", allocationSize = 50)
     @Column(name = "power_of_attorney_id")
     private long id;
 
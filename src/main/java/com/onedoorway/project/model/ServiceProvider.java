@@ -15,7 +15,10 @@ import lombok.NoArgsConstructor;
 @Table(name = "service_providers")
 public class ServiceProvider {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "service_providers_service_provider_id_seq")
+    @SequenceGenerator(name = "service_providers_service_provider_id_seq", allocationSize = 50)
     @Column(name = "service_provider_id")
     private long id;
 
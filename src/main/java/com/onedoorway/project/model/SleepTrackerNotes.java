@@ -19,7 +19,10 @@ import org.springframework.format.annotation.DateTimeFormat;
         uniqueConstraints = {@UniqueConstraint(columnNames = {"client_id", "report_date"})})
 public class SleepTrackerNotes {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "sleep_tracker_notes_sleep_report_id_seq")
+    @SequenceGenerator(name = "sleep_tracker_notes_sleep_report_id_seq", allocationSize = 50)
     @Column(name = "sleep_report_id")
     private long id;
 
@@ -0,0 +1,33 @@
+package com.onedoorway.project.model;
+
+import java.time.Instant;
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "token_revocations")
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_revocations_id_seq")
+    @SequenceGenerator(name = "token_revocations_id_seq", allocationSize = 50)
+    private long id;
+
+    // null when every token of the user issued up to revokedAt is revoked
+    @Column(name = "token_digest")
+    private String tokenDigest;
+
+    private String username;
+
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+}
@@ -0,0 +1,64 @@
+package com.onedoorway.project.monitoring;
+
+/**
+ * Database work done by the current request: SQL statements prepared, entities loaded and the
+ * time spent executing on the JDBC driver. Bound to the request thread between {@link
+ * #start(String)} and {@link #stop()}; work on other threads is not counted.
+ */
+public final class DbStats {
+    private static final ThreadLocal<DbStats> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+
+    private DbStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public static DbStats start(String endpoint) {
+        DbStats stats = new DbStats(endpoint);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /** The stats of the request on this thread, or null outside a request. */
+    public static DbStats current() {
+        return CURRENT.get();
+    }
+
+    public static DbStats stop() {
+        DbStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void statement() {
+        statements++;
+    }
+
+    void row() {
+        rows++;
+    }
+
+    void jdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+}
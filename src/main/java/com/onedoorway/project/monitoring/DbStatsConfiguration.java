@@ -0,0 +1,26 @@
+package com.onedoorway.project.monitoring;
+
+import java.util.List;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Plugs the {@link DbStats} collectors into Hibernate. */
+@Configuration
+public class DbStatsConfiguration {
+    @Bean
+    public HibernatePropertiesCustomizer dbStatsHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new DbStatsStatementInspector());
+            properties.put(
+                    AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    DbStatsSessionListener.class.getName());
+            properties.put(
+                    EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new DbStatsIntegrator()));
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.onedoorway.project.monitoring;
+
+import com.onedoorway.project.dto.EndpointDbStatsDTO;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** {@code /actuator/dbstats}: statements, rows and JDBC time per controller method. */
+@Component
+@Endpoint(id = "dbstats")
+public class DbStatsEndpoint {
+    private final DbStatsRegistry dbStatsRegistry;
+
+    @Autowired
+    public DbStatsEndpoint(DbStatsRegistry dbStatsRegistry) {
+        this.dbStatsRegistry = dbStatsRegistry;
+    }
+
+    @ReadOperation
+    public List<EndpointDbStatsDTO> dbStats() {
+        return dbStatsRegistry.summary();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        dbStatsRegistry.reset();
+    }
+}
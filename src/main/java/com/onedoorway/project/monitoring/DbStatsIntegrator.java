@@ -0,0 +1,34 @@
+package com.onedoorway.project.monitoring;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/** Counts loaded entities as the rows of a request; projections and counts are not included. */
+public class DbStatsIntegrator implements Integrator {
+    @Override
+    public void integrate(
+            Metadata metadata,
+            SessionFactoryImplementor sessionFactory,
+            SessionFactoryServiceRegistry serviceRegistry) {
+        PostLoadEventListener listener =
+                event -> {
+                    DbStats stats = DbStats.current();
+                    if (stats != null) {
+                        stats.row();
+                    }
+                };
+        serviceRegistry
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, listener);
+    }
+
+    @Override
+    public void disintegrate(
+            SessionFactoryImplementor sessionFactory,
+            SessionFactoryServiceRegistry serviceRegistry) {}
+}
@@ -0,0 +1,52 @@
+package com.onedoorway.project.monitoring;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/** Binds a {@link DbStats} to each controller call and records it when the request completes. */
+@Component
+public class DbStatsInterceptor implements HandlerInterceptor {
+    private final DbStatsRegistry dbStatsRegistry;
+    private final Map<Method, String> endpointNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DbStatsInterceptor(DbStatsRegistry dbStatsRegistry) {
+        this.dbStatsRegistry = dbStatsRegistry;
+    }
+
+    @Override
+    public boolean preHandle(
+            HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            DbStats.start(
+                    endpointNames.computeIfAbsent(
+                            handlerMethod.getMethod(), method -> endpointName(handlerMethod)));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Exception ex) {
+        DbStats stats = DbStats.stop();
+        if (stats != null) {
+            dbStatsRegistry.record(stats);
+        }
+    }
+
+    private static String endpointName(HandlerMethod handlerMethod) {
+        String controller = handlerMethod.getBeanType().getSimpleName();
+        return controller + "." + handlerMethod.getMethod().getName();
+    }
+}
@@ -0,0 +1,133 @@
+package com.onedoorway.project.monitoring;
+
+import com.onedoorway.project.dto.EndpointDbStatsDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-endpoint aggregates of {@link DbStats}, kept both as Micrometer meters for the metrics
+ * backend and as fixed-bucket histograms for the {@code dbstats} actuator endpoint.
+ */
+@Component
+public class DbStatsRegistry {
+    static final long[] STATEMENT_BUCKETS = {1, 2, 4, 8, 16, 32, 64, 128};
+    static final long[] TIME_BUCKETS_MS = {1, 5, 10, 25, 50, 100, 250, 500, 1000};
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public DbStatsRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(DbStats stats) {
+        endpoints
+                .computeIfAbsent(stats.getEndpoint(), EndpointStats::new)
+                .record(stats.getStatements(), stats.getRows(), stats.getJdbcNanos());
+    }
+
+    /** All endpoints, the ones with the most statements per request first. */
+    public List<EndpointDbStatsDTO> summary() {
+        List<EndpointDbStatsDTO> summary = new ArrayList<>();
+        for (EndpointStats stats : endpoints.values()) {
+            summary.add(stats.toDTO());
+        }
+        summary.sort(Comparator.comparingDouble(EndpointDbStatsDTO::getMeanStatements).reversed());
+        return summary;
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    private class EndpointStats {
+        private final String endpoint;
+        private final DistributionSummary statementSummary;
+        private final Timer timer;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray statementCounts =
+                new AtomicLongArray(STATEMENT_BUCKETS.length + 1);
+        private final AtomicLongArray timeCounts = new AtomicLongArray(TIME_BUCKETS_MS.length + 1);
+
+        private EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+            this.statementSummary =
+                    DistributionSummary.builder("odw.db.statements")
+                            .tag("endpoint", endpoint)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry);
+            this.timer =
+                    Timer.builder("odw.db.time")
+                            .tag("endpoint", endpoint)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry);
+        }
+
+        private void record(int statementCount, long rowCount, long jdbcNanos) {
+            requests.increment();
+            statements.add(statementCount);
+            rows.add(rowCount);
+            nanos.add(jdbcNanos);
+            maxStatements.accumulate(statementCount);
+            maxNanos.accumulate(jdbcNanos);
+            statementCounts.incrementAndGet(bucketOf(STATEMENT_BUCKETS, statementCount));
+            timeCounts.incrementAndGet(
+                    bucketOf(TIME_BUCKETS_MS, TimeUnit.NANOSECONDS.toMillis(jdbcNanos)));
+            statementSummary.record(statementCount);
+            timer.record(jdbcNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private EndpointDbStatsDTO toDTO() {
+            long requestCount = Math.max(1, requests.sum());
+            return EndpointDbStatsDTO.builder()
+                    .endpoint(endpoint)
+                    .requests(requests.sum())
+                    .statements(statements.sum())
+                    .meanStatements((double) statements.sum() / requestCount)
+                    .maxStatements(maxStatements.get())
+                    .rows(rows.sum())
+                    .meanTimeMs(nanos.sum() / 1e6 / requestCount)
+                    .maxTimeMs(maxNanos.get() / 1e6)
+                    .statementHistogram(histogram(STATEMENT_BUCKETS, statementCounts))
+                    .timeHistogramMs(histogram(TIME_BUCKETS_MS, timeCounts))
+                    .build();
+        }
+    }
+
+    static int bucketOf(long[] bounds, long value) {
+        for (int i = 0; i < bounds.length; i++) {
+            if (value <= bounds[i]) {
+                return i;
+            }
+        }
+        return bounds.length;
+    }
+
+    private static Map<String, Long> histogram(long[] bounds, AtomicLongArray counts) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < bounds.length; i++) {
+            histogram.put(String.valueOf(bounds[i]), counts.get(i));
+        }
+        histogram.put("+Inf", counts.get(bounds.length));
+        return histogram;
+    }
+}
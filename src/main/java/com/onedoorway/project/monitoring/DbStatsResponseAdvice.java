@@ -0,0 +1,51 @@
+package com.onedoorway.project.monitoring;
+
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds {@code X-DB-Statements} and {@code X-DB-Time} (milliseconds) to controller responses when
+ * {@code odw.db-stats.headers} is on. The body is written before the request completes, so the
+ * headers cover the work done up to serialization.
+ */
+@ControllerAdvice
+public class DbStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+    public static final String STATEMENTS_HEADER = "X-DB-Statements";
+    public static final String TIME_HEADER = "X-DB-Time";
+
+    private final boolean enabled;
+
+    public DbStatsResponseAdvice(@Value("${odw.db-stats.headers:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(
+            MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        DbStats stats = DbStats.current();
+        if (stats != null) {
+            String millis = String.format(Locale.ROOT, "%.3f", stats.getJdbcNanos() / 1e6);
+            response.getHeaders().set(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            response.getHeaders().set(TIME_HEADER, millis);
+        }
+        return body;
+    }
+}
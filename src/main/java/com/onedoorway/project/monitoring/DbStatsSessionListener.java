@@ -0,0 +1,39 @@
+package com.onedoorway.project.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Times statement and batch execution. Hibernate creates one instance per session and a session
+ * is used by one thread at a time, so the start time needs no synchronization.
+ */
+public class DbStatsSessionListener extends BaseSessionEventListener {
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        DbStats stats = DbStats.current();
+        if (stats != null && executeStart != 0) {
+            stats.jdbcTime(System.nanoTime() - executeStart);
+        }
+        executeStart = 0;
+    }
+}
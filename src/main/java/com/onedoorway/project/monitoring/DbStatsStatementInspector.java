@@ -0,0 +1,15 @@
+package com.onedoorway.project.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Counts every statement Hibernate prepares against the request it runs for. */
+public class DbStatsStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        DbStats stats = DbStats.current();
+        if (stats != null) {
+            stats.statement();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,97 @@
+package com.onedoorway.project.monitoring;
+
+import com.onedoorway.project.model.House;
+import com.onedoorway.project.model.Lookup;
+import com.onedoorway.project.model.Role;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.List;
+import java.util.function.LongSupplier;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit ratios of the second-level cache regions holding the reference data, as {@code
+ * odw.reference.cache.hit.ratio}. The hit and miss counters behind them are bound by Spring Boot
+ * from the same Hibernate statistics.
+ */
+@Component
+public class ReferenceCacheMetrics implements MeterBinder {
+    static final String HIT_RATIO = "odw.reference.cache.hit.ratio";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public ReferenceCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (Class<?> entity : List.of(Lookup.class, Role.class, House.class)) {
+            String region = entity.getName();
+            hitRatio(
+                    registry,
+                    "entity",
+                    region,
+                    () -> statistics.getDomainDataRegionStatistics(region).getHitCount(),
+                    () -> statistics.getDomainDataRegionStatistics(region).getMissCount());
+        }
+        String house = House.class.getName();
+        hitRatio(
+                registry,
+                "natural-id",
+                house,
+                () -> naturalIdHits(statistics.getNaturalIdStatistics(house)),
+                () -> naturalIdMisses(statistics.getNaturalIdStatistics(house)));
+        String queries = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+        hitRatio(
+                registry,
+                "query",
+                queries,
+                () -> hits(statistics.getQueryRegionStatistics(queries)),
+                () -> misses(statistics.getQueryRegionStatistics(queries)));
+    }
+
+    private static void hitRatio(
+            MeterRegistry registry,
+            String cache,
+            String region,
+            LongSupplier hits,
+            LongSupplier misses) {
+        Gauge.builder(
+                        HIT_RATIO,
+                        () -> {
+                            long hit = hits.getAsLong();
+                            long total = hit + misses.getAsLong();
+                            return total == 0 ? Double.NaN : (double) hit / total;
+                        })
+                .tag("cache", cache)
+                .tag("region", region)
+                .register(registry);
+    }
+
+    private static long naturalIdHits(NaturalIdStatistics statistics) {
+        return statistics == null ? 0 : statistics.getCacheHitCount();
+    }
+
+    private static long naturalIdMisses(NaturalIdStatistics statistics) {
+        return statistics == null ? 0 : statistics.getCacheMissCount();
+    }
+
+    private static long hits(CacheRegionStatistics statistics) {
+        return statistics == null ? 0 : statistics.getHitCount();
+    }
+
+    private static long misses(CacheRegionStatistics statistics) {
+        return statistics == null ? 0 : statistics.getMissCount();
+    }
+}
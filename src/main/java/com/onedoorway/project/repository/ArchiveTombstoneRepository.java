@@ -0,0 +1,18 @@
+package com.onedoorway.project.repository;
+
+import com.onedoorway.project.model.ArchiveRecordType;
+import com.onedoorway.project.model.ArchiveTombstone;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Tombstones are never deleted, so an archived record stays reachable for as long as it is kept.
+ */
+@Repository
+public interface ArchiveTombstoneRepository extends JpaRepository<ArchiveTombstone, Long> {
+    Optional<ArchiveTombstone> findByRecordTypeAndRecordKey(
+            ArchiveRecordType recordType, String recordKey);
+
+    boolean existsByRecordTypeAndRecordKey(ArchiveRecordType recordType, String recordKey);
+}
@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,4 +14,28 @@ public interface CaseNoteRepository extends JpaRepository<CaseNote, Long> {
             String name, Long id, LocalDate start, LocalDate end, Pageable pageable);
 
     List<CaseNote> findAllByCategory_NameAndClient_Id(String name, Long id, Pageable pageable);
+
+    // keyset variants of the above, for the rows after (afterDate, afterId) in date desc, id desc
+    @Query(
+            "select n from CaseNote n where n.category.name = :name and n.client.id = :id"
+                    + " and n.noteDate between :start and :end"
+                    + " and n.noteDate <= :afterDate"
+                    + " and (n.noteDate < :afterDate or n.id < :afterId)")
+    List<CaseNote> findAllByCategoryAndClientAndNoteDateBetweenAfter(
+            String name,
+            Long id,
+            LocalDate start,
+            LocalDate end,
+            LocalDate afterDate,
+            long afterId,
+            Pageable pageable);
+
+    @Query(
+            "select n from CaseNote n where n.category.name = :name and n.client.id = :id"
+                    + " and n.noteDate <= :afterDate"
+                    + " and (n.noteDate < :afterDate or n.id < :afterId)")
+    List<CaseNote> findAllByCategoryAndClientAfter(
+            String name, Long id, LocalDate afterDate, long afterId, Pageable pageable);
+
+    List<CaseNote> findByNoteDateBefore(LocalDate noteDate, Pageable pageable);
 }
@@ -2,13 +2,21 @@ package com.onedoorway.project.repository;
 
 import com.onedoorway.project.model.ClientReport;
 import java.util.List;
-import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface ClientReportRepository extends JpaRepository<ClientReport, Long> {
-    Optional<ClientReport> findByLookup_IdAndClient_Id(long lookupId, long clientId);
+public interface ClientReportRepository
+        extends JpaRepository<ClientReport, Long>, InsertIfAbsentRepository<ClientReport> {
+    @Transactional
+    @Modifying
+    @Query(
+            "update client_reports r set r.toggle = :toggle"
+                    + " where r.client.id = :clientId and r.lookup.id = :lookupId")
+    int updateToggle(long clientId, long lookupId, Boolean toggle);
 
     List<ClientReport> findAllByClient_Id(long id);
 }
@@ -1,31 +1,45 @@
 package com.onedoorway.project.repository;
 
+import com.onedoorway.project.dto.ClientListDTO;
 import com.onedoorway.project.model.Client;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository
+        extends JpaRepository<Client, Long>, VersionedUpdateRepository<Client> {
     List<Client> findByHouse_HouseCode(String houseCode);
 
-    List<Client>
-            findByNameContainingIgnoreCaseAndDeletedOrHouse_HouseCodeContainingIgnoreCaseAndDeleted(
-                    String name,
-                    Boolean deleted1,
-                    String houseCode,
-                    Boolean deleted2,
-                    Pageable pageable);
+    // the client list reads these columns only, not the TEXT support details
+    String LIST_SELECT =
+            "select new com.onedoorway.project.dto.ClientListDTO(c.id, c.email, c.name, c.gender,"
+                    + " c.dob, c.phone, c.addrLine1, c.addrLine2, c.city, c.state, c.postCode,"
+                    + " h.houseCode, c.deleted) from Client c left join c.house h";
 
-    List<Client> findAllByDeleted(Boolean deleted, Pageable pageable);
+    @Query(LIST_SELECT + " where c.deleted = :deleted")
+    List<ClientListDTO> findListByDeleted(Boolean deleted, Pageable pageable);
+
+    @Query(LIST_SELECT + " where c.id in :ids")
+    List<ClientListDTO> findListByIdIn(Collection<Long> ids);
+
+    @Query(
+            "select c.id as id, c.name as name, h.id as houseId"
+                    + " from Client c left join c.house h where c.deleted = false")
+    List<ClientSearchRow> findSearchRows();
+
+    @Query(
+            "select c.id as id, c.name as name, h.id as houseId"
+                    + " from Client c left join c.house h where c.id = :id and c.deleted = false")
+    ClientSearchRow findSearchRowById(long id);
 
     Client getByName(String name);
 
     Long countByDeleted(Boolean deleted);
 
-    Long countByHouse_HouseCodeAndDeleted(String houseCode, Boolean deleted);
-
-    Long countByNameContainingIgnoreCaseAndDeletedOrHouse_HouseCodeContainingIgnoreCaseAndDeleted(
-            String name, Boolean deleted1, String houseCode, Boolean deleted2);
+    @Query("select c.house.id from Client c where c.id = :id")
+    Long findHouseIdById(long id);
 }
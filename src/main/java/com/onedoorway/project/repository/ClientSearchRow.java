@@ -0,0 +1,10 @@
+package com.onedoorway.project.repository;
+
+/** The searchable fields of an active client. */
+public interface ClientSearchRow {
+    long getId();
+
+    String getName();
+
+    Long getHouseId();
+}
@@ -1,19 +1,50 @@
 package com.onedoorway.project.repository;
 
+import com.onedoorway.project.dto.DailyNoteDTO;
 import com.onedoorway.project.model.DailyNote;
 import java.time.Instant;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DailyNoteRepository extends JpaRepository<DailyNote, Long> {
-    List<DailyNote> findByHouse_HouseCode(String houseCode, Sort sort);
+    // the author's name and the client id, without loading the user, house and client
+    String LIST_SELECT =
+            "select new com.onedoorway.project.dto.DailyNoteDTO(d.id, d.note, d.createdAt,"
+                    + " d.startTime, d.endTime, u.id, u.email, u.firstName, u.lastName, c.id)"
+                    + " from daily_notes d join d.house h join d.createBy u join d.client c";
 
-    List<DailyNote> findByHouse_HouseCodeAndCreateBy_Id(String houseCode, Long id);
+    @Query(LIST_SELECT + " where h.houseCode = :houseCode")
+    List<DailyNoteDTO> findListByHouseCode(String houseCode, Sort sort);
 
-    List<DailyNote> findAllByHouse_HouseCodeAndClient_IdAndCreatedAtBetween(
-            String houseCode, Long id, Instant startDate, Instant endDate, Pageable pageable);
+    @Query(LIST_SELECT + " where h.houseCode = :houseCode and u.id = :userId")
+    List<DailyNoteDTO> findListByHouseCodeAndUserId(String houseCode, Long userId);
+
+    @Query(
+            LIST_SELECT
+                    + " where h.houseCode = :houseCode and c.id = :clientId"
+                    + " and d.createdAt between :startDate and :endDate")
+    List<DailyNoteDTO> findListByHouseCodeAndClientIdAndCreatedAtBetween(
+            String houseCode, Long clientId, Instant startDate, Instant endDate, Pageable pageable);
+
+    // the rows after (afterCreatedAt, afterId) in createdAt desc, id desc order; the <= bound lets
+    // an index on created_at do the seek, the or-clause breaks ties on the id
+    @Query(
+            LIST_SELECT
+                    + " where h.houseCode = :houseCode and c.id = :clientId"
+                    + " and d.createdAt between :startDate and :endDate"
+                    + " and d.createdAt <= :afterCreatedAt"
+                    + " and (d.createdAt < :afterCreatedAt or d.id < :afterId)")
+    List<DailyNoteDTO> findListByHouseCodeAndClientIdAndCreatedAtBetweenAfter(
+            String houseCode,
+            Long clientId,
+            Instant startDate,
+            Instant endDate,
+            Instant afterCreatedAt,
+            long afterId,
+            Pageable pageable);
 }
@@ -3,11 +3,16 @@ package com.onedoorway.project.repository;
 import com.onedoorway.project.model.FoodDiaryNote;
 import com.onedoorway.project.model.MealType;
 import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface FoodDiaryNoteRepository extends JpaRepository<FoodDiaryNote, Long> {
+public interface FoodDiaryNoteRepository
+        extends JpaRepository<FoodDiaryNote, Long>, InsertIfAbsentRepository<FoodDiaryNote> {
     FoodDiaryNote findByClient_IdAndMealTypeAndReportDate(
             long id, MealType mealType, LocalDate reportDate);
+
+    List<FoodDiaryNote> findByReportDateBefore(LocalDate reportDate, Pageable pageable);
 }
@@ -5,10 +5,25 @@ import java.time.LocalDate;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface HandoverSummaryRepository extends JpaRepository<HandoverSummary, Long> {
     List<HandoverSummary> findAllByHouse_HouseCodeAndHandoverDateBetween(
             String houseCode, LocalDate start, LocalDate end, Pageable pageable);
+
+    // keyset variant of the above, for the rows after (afterDate, afterId) in date desc, id desc
+    @Query(
+            "select s from HandoverSummary s where s.house.houseCode = :houseCode"
+                    + " and s.handoverDate between :start and :end"
+                    + " and s.handoverDate <= :afterDate"
+                    + " and (s.handoverDate < :afterDate or s.id < :afterId)")
+    List<HandoverSummary> findAllByHouseCodeAndHandoverDateBetweenAfter(
+            String houseCode,
+            LocalDate start,
+            LocalDate end,
+            LocalDate afterDate,
+            long afterId,
+            Pageable pageable);
 }
@@ -0,0 +1,8 @@
+package com.onedoorway.project.repository;
+
+import com.onedoorway.project.model.House;
+
+/** House lookups by house code, the natural id of a house. */
+public interface HouseNaturalIdRepository {
+    House getByHouseCode(String houseCode);
+}
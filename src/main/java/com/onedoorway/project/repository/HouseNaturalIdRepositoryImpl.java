@@ -0,0 +1,29 @@
+package com.onedoorway.project.repository;
+
+import com.onedoorway.project.model.House;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Resolves a house code through Hibernate's natural-id cache and then the entity cache, so a
+ * house that has been loaded once costs no query until it is written again.
+ */
+class HouseNaturalIdRepositoryImpl implements HouseNaturalIdRepository {
+    private final EntityManager entityManager;
+
+    @Autowired
+    HouseNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public House getByHouseCode(String houseCode) {
+        if (houseCode == null) {
+            return null;
+        }
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(House.class).load(houseCode);
+    }
+}
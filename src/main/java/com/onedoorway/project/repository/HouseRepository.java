@@ -1,13 +1,25 @@
 package com.onedoorway.project.repository;
 
+import com.onedoorway.project.dto.HouseDTO;
 import com.onedoorway.project.model.House;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface HouseRepository extends JpaRepository<House, Long> {
-    House getByHouseCode(String houseCode);
-
+public interface HouseRepository extends JpaRepository<House, Long>, HouseNaturalIdRepository {
     List<House> findAllByDeleted(Boolean deleted);
+
+    @Query(
+            "select new com.onedoorway.project.dto.HouseDTO(h.id, h.houseCode, h.phone,"
+                    + " h.addrLine1, h.addrLine2, h.city, h.state, h.deleted, h.postCode,"
+                    + " (select count(c.id) from Client c where c.house = h and c.deleted = false),"
+                    + " (select count(u.id) from users u join u.houses uh"
+                    + " where uh = h and u.deleted = false))"
+                    + " from houses h where h.deleted = :deleted")
+    List<HouseDTO> findSummariesByDeleted(Boolean deleted);
+
+    @Query("select h.id from houses h where h.houseCode = :houseCode")
+    Long findIdByHouseCode(String houseCode);
 }
@@ -0,0 +1,100 @@
+package com.onedoorway.project.repository;
+
+import com.onedoorway.project.model.RaisedFor;
+import com.onedoorway.project.model.Status;
+import com.onedoorway.project.model.YesNo;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/** One row of the incident list, with the related lookups, house, client and users flattened. */
+public interface IncidentListView {
+    long getId();
+
+    Status getStatus();
+
+    RaisedFor getRaisedFor();
+
+    Boolean getEscalated();
+
+    LocalDateTime getDateOccurred();
+
+    Instant getCreatedAt();
+
+    String getLocation();
+
+    String getExactLocation();
+
+    String getInjuredGivenName();
+
+    String getInjuredFamilyName();
+
+    String getReviewedBy();
+
+    String getClosedBy();
+
+    String getWitnessName();
+
+    String getWitnessDesignation();
+
+    String getFollowUpResponsibility();
+
+    YesNo getPoliceReport();
+
+    String getPoliceName();
+
+    String getPoliceNumber();
+
+    String getPoliceStation();
+
+    YesNo getReportableToNDIS();
+
+    YesNo getReportableToWorksafe();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    Long getTypeId();
+
+    String getTypeName();
+
+    Long getClassificationId();
+
+    String getClassificationName();
+
+    Long getHouseId();
+
+    String getHouseCode();
+
+    Long getClientId();
+
+    String getClientName();
+
+    Long getReportedById();
+
+    String getReportedByEmail();
+
+    String getReportedByFirstName();
+
+    String getReportedByLastName();
+
+    String getReportedByPhone();
+
+    String getReportedByMobile();
+
+    Boolean getReportedByDeleted();
+
+    Long getEscalatedToId();
+
+    String getEscalatedToEmail();
+
+    String getEscalatedToFirstName();
+
+    String getEscalatedToLastName();
+
+    String getEscalatedToPhone();
+
+    String getEscalatedToMobile();
+
+    Boolean getEscalatedToDeleted();
+}
@@ -7,22 +7,71 @@ import java.time.Instant;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface IncidentRepository extends JpaRepository<Incident, Long> {
+public interface IncidentRepository
+        extends JpaRepository<Incident, Long>, VersionedUpdateRepository<Incident> {
 
     Incident getById(long id);
 
-    List<Incident> findAllByHouse_HouseCodeAndClient_Name(
-            String houseCode, String name, Pageable pageable);
+    // the list columns only; the TEXT narratives are left to getById
+    String LIST_SELECT =
+            "select i.id as id, i.status as status, i.raisedFor as raisedFor,"
+                    + " i.escalated as escalated, i.dateOccurred as dateOccurred,"
+                    + " i.createdAt as createdAt, i.location as location,"
+                    + " i.exactLocation as exactLocation, i.injuredGivenName as injuredGivenName,"
+                    + " i.injuredFamilyName as injuredFamilyName, i.reviewedBy as reviewedBy,"
+                    + " i.closedBy as closedBy, i.witnessName as witnessName,"
+                    + " i.witnessDesignation as witnessDesignation,"
+                    + " i.followUpResponsibility as followUpResponsibility,"
+                    + " i.policeReport as policeReport, i.policeName as policeName,"
+                    + " i.policeNumber as policeNumber, i.policeStation as policeStation,"
+                    + " i.reportableToNDIS as reportableToNDIS,"
+                    + " i.reportableToWorksafe as reportableToWorksafe,"
+                    + " cat.id as categoryId, cat.name as categoryName,"
+                    + " t.id as typeId, t.name as typeName, cl.id as classificationId,"
+                    + " cl.name as classificationName, h.id as houseId, h.houseCode as houseCode,"
+                    + " c.id as clientId, c.name as clientName, r.id as reportedById,"
+                    + " r.email as reportedByEmail, r.firstName as reportedByFirstName,"
+                    + " r.lastName as reportedByLastName, r.phone as reportedByPhone,"
+                    + " r.mobile as reportedByMobile, r.deleted as reportedByDeleted,"
+                    + " e.id as escalatedToId, e.email as escalatedToEmail,"
+                    + " e.firstName as escalatedToFirstName, e.lastName as escalatedToLastName,"
+                    + " e.phone as escalatedToPhone, e.mobile as escalatedToMobile,"
+                    + " e.deleted as escalatedToDeleted"
+                    + " from incidents i join i.reportedBy r left join i.escalatedTo e"
+                    + " left join i.category cat left join i.type t left join i.classification cl"
+                    + " left join i.house h left join i.client c";
 
-    List<Incident> findAllByHouse_HouseCode(String houseCode, Pageable pageable);
+    // the list is ordered by id desc; beforeId is the cursor's id, or Long.MAX_VALUE for page 0
 
-    List<Incident> findAllByClient_Name(String name, Pageable pageable);
+    @Query(
+            LIST_SELECT
+                    + " where h.houseCode = :houseCode and c.name = :clientName"
+                    + " and i.id < :beforeId")
+    List<IncidentListView> findListByHouseCodeAndClientName(
+            String houseCode, String clientName, long beforeId, Pageable pageable);
 
-    List<Incident> findAllByReportedById(Long id, Pageable pageable);
+    @Query(LIST_SELECT + " where h.houseCode = :houseCode and i.id < :beforeId")
+    List<IncidentListView> findListByHouseCode(
+            String houseCode, long beforeId, Pageable pageable);
+
+    @Query(LIST_SELECT + " where c.name = :clientName and i.id < :beforeId")
+    List<IncidentListView> findListByClientName(
+            String clientName, long beforeId, Pageable pageable);
+
+    @Query(LIST_SELECT + " where r.id = :reportedById and i.id < :beforeId")
+    List<IncidentListView> findListByReportedById(
+            Long reportedById, long beforeId, Pageable pageable);
+
+    @Query(LIST_SELECT + " where i.id < :beforeId")
+    List<IncidentListView> findList(long beforeId, Pageable pageable);
 
     List<Incident> findAllByRaisedForAndCreatedAtBetweenAndStatusNot(
             RaisedFor raisedFor, Instant startDate, Instant endDate, Status status);
+
+    List<Incident> findByStatusAndCreatedAtBefore(
+            Status status, Instant createdAt, Pageable pageable);
 }
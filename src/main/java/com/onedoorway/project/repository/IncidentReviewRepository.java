@@ -1,6 +1,7 @@
 package com.onedoorway.project.repository;
 
 import com.onedoorway.project.model.IncidentReview;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -10,4 +11,6 @@ public interface IncidentReviewRepository extends JpaRepository<IncidentReview,
     List<IncidentReview> findByIncident_Id(long id);
 
     IncidentReview getByIncident_Id(long id);
+
+    List<IncidentReview> findByIncident_IdIn(Collection<Long> ids);
 }
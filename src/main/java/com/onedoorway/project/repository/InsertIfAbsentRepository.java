@@ -0,0 +1,11 @@
+package com.onedoorway.project.repository;
+
+/** Single-statement inserts for records that are unique on a natural key. */
+public interface InsertIfAbsentRepository<T> {
+    /**
+     * Inserts the entity with {@code INSERT ... ON CONFLICT DO NOTHING} and gives it its id.
+     * Returns false, leaving the entity without an id, when a row with the same unique key is
+     * already there or is being inserted by a concurrent transaction that goes on to commit.
+     */
+    boolean insertIfAbsent(T entity);
+}
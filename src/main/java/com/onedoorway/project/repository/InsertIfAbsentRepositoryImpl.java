@@ -0,0 +1,90 @@
+package com.onedoorway.project.repository;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.persistence.EntityManager;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Builds the insert from the entity's Hibernate mapping, so the id comes from the entity's pooled
+ * sequence and every column is bound by its mapped type, nulls included. The statement goes
+ * through the session's connection and statement inspector like any other.
+ */
+class InsertIfAbsentRepositoryImpl<T> implements InsertIfAbsentRepository<T> {
+    private final EntityManager entityManager;
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+
+    @Autowired
+    InsertIfAbsentRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public boolean insertIfAbsent(T entity) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        AbstractEntityPersister persister =
+                (AbstractEntityPersister) session.getEntityPersister(null, entity);
+        String sql = statements.computeIfAbsent(persister.getEntityName(), name -> sql(persister));
+        Serializable id = persister.getIdentifierGenerator().generate(session, entity);
+        Object[] values = persister.getPropertyValues(entity);
+        Type[] types = persister.getPropertyTypes();
+        boolean[] insertable = persister.getPropertyInsertability();
+
+        JdbcCoordinator jdbc = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbc.getStatementPreparer().prepareStatement(sql);
+        try {
+            persister.getIdentifierType().nullSafeSet(statement, id, 1, session);
+            int index = 1 + persister.getIdentifierColumnSpan();
+            for (int i = 0; i < types.length; i++) {
+                if (insertable[i]) {
+                    types[i].nullSafeSet(statement, values[i], index, session);
+                    index += types[i].getColumnSpan(session.getFactory());
+                }
+            }
+            if (jdbc.getResultSetReturn().executeUpdate(statement) == 0) {
+                return false;
+            }
+        } catch (SQLException e) {
+            throw session.getJdbcServices()
+                    .getSqlExceptionHelper()
+                    .convert(e, "could not insert " + persister.getEntityName(), sql);
+        } finally {
+            jdbc.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbc.afterStatementExecution();
+        }
+        persister.setIdentifier(entity, id, session);
+        return true;
+    }
+
+    // no conflict target, which H2 does not parse; the unique keys are the only ones that can clash
+    // since the id is fresh from the sequence
+    private static String sql(AbstractEntityPersister persister) {
+        List<String> columns = new ArrayList<>(Arrays.asList(persister.getIdentifierColumnNames()));
+        boolean[] insertable = persister.getPropertyInsertability();
+        for (int i = 0; i < insertable.length; i++) {
+            if (insertable[i]) {
+                columns.addAll(Arrays.asList(persister.getPropertyColumnNames(i)));
+            }
+        }
+        return "insert into "
+                + persister.getTableName()
+                + " ("
+                + String.join(", ", columns)
+                + ") values ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?"))
+                + ") on conflict do nothing";
+    }
+}
@@ -1,12 +1,18 @@
 package com.onedoorway.project.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import com.onedoorway.project.model.Lookup;
 import com.onedoorway.project.model.LookupType;
 import java.util.List;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface LookupRepository extends JpaRepository<Lookup, Long> {
+    // the query cache keeps the ids per type, the entity cache the lookups themselves
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Lookup> findAllByLookupType(LookupType lookupType);
 }
@@ -2,10 +2,15 @@ package com.onedoorway.project.repository;
 
 import com.onedoorway.project.model.NightReport;
 import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface NightReportRepository extends JpaRepository<NightReport, Long> {
+public interface NightReportRepository
+        extends JpaRepository<NightReport, Long>, InsertIfAbsentRepository<NightReport> {
     NightReport findByClient_IdAndReportDate(long id, LocalDate reportDate);
+
+    List<NightReport> findByReportDateBefore(LocalDate reportDate, Pageable pageable);
 }
@@ -1,10 +1,20 @@
 package com.onedoorway.project.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import com.onedoorway.project.model.Role;
+import java.util.List;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Role getByName(String name);
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Role> findAll();
 }
@@ -2,8 +2,14 @@ package com.onedoorway.project.repository;
 
 import com.onedoorway.project.model.SleepTrackerNotes;
 import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface SleepTrackerNotesRepository extends JpaRepository<SleepTrackerNotes, Long> {
+public interface SleepTrackerNotesRepository
+        extends JpaRepository<SleepTrackerNotes, Long>,
+                InsertIfAbsentRepository<SleepTrackerNotes> {
     SleepTrackerNotes findByClient_IdAndReportDate(long id, LocalDate reportDate);
+
+    List<SleepTrackerNotes> findByReportDateBefore(LocalDate reportDate, Pageable pageable);
 }
@@ -0,0 +1,20 @@
+package com.onedoorway.project.repository;
+
+import com.onedoorway.project.model.TokenRevocation;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    List<TokenRevocation> findByRevokedAtAfterOrderByRevokedAtAsc(Instant revokedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from token_revocations r where r.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
@@ -0,0 +1,24 @@
+package com.onedoorway.project.repository;
+
+/** One house of a user, flattened; a user with several houses comes back as several rows. */
+public interface UserHouseView {
+    long getUserId();
+
+    long getId();
+
+    String getHouseCode();
+
+    String getPhone();
+
+    String getAddrLine1();
+
+    String getAddrLine2();
+
+    String getCity();
+
+    String getState();
+
+    Boolean getDeleted();
+
+    String getPostCode();
+}
@@ -0,0 +1,14 @@
+package com.onedoorway.project.repository;
+
+/** A user with one of their role names; a user with several roles comes back as several rows. */
+public interface UserListView {
+    long getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getRoleName();
+}
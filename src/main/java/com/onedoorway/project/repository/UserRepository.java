@@ -1,67 +1,70 @@
 package com.onedoorway.project.repository;
 
 import com.onedoorway.project.model.User;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     User getByEmail(String email);
 
+    @Query("select u.id from users u where u.email = :email")
+    Long findIdByEmail(String email);
+
+    @Query(
+            "select distinct u from users u left join fetch u.roles left join fetch u.houses where u.email = :email")
+    User findForLogin(String email);
+
+    @Transactional
+    @Modifying
+    @Query("update users u set u.password = :password where u.id = :id")
+    int updatePassword(long id, String password);
+
     User findByEmailIgnoreCase(String email);
 
     List<User> findAllByDeleted(Boolean deleted, Pageable pageable);
 
-    List<User> findByHouses_HouseCodeAndDeleted(
-            String houseCode, Boolean deleted, Pageable pageable);
+    String SHORT_LIST_SELECT =
+            "select u.id as id, u.email as email, u.firstName as firstName,"
+                    + " u.lastName as lastName, r.name as roleName"
+                    + " from users u left join u.roles r";
+
+    @Query(
+            "select u.id as userId, h.id as id, h.houseCode as houseCode, h.phone as phone,"
+                    + " h.addrLine1 as addrLine1, h.addrLine2 as addrLine2, h.city as city,"
+                    + " h.state as state, h.deleted as deleted, h.postCode as postCode"
+                    + " from users u join u.houses h where u.id in :userIds")
+    List<UserHouseView> findHousesByUserIdIn(Collection<Long> userIds);
+
+    @Query(SHORT_LIST_SELECT + " where u.deleted = :deleted order by u.id")
+    List<UserListView> findShortListByDeleted(Boolean deleted);
+
+    @Query(
+            SHORT_LIST_SELECT
+                    + " join u.houses h where h.houseCode = :houseCode and u.deleted = :deleted"
+                    + " order by u.id")
+    List<UserListView> findShortListByHouseCodeAndDeleted(String houseCode, Boolean deleted);
 
     Long countByDeleted(Boolean deleted);
 
     User getById(long id);
 
-    List<User> findByHouses_HouseCodeContainingIgnoreCaseAndDeleted(
-            String houseCode, Boolean deleted, Pageable pageable);
-
-    List<User>
-            findByFirstNameContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeletedOrLastNameContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeletedOrEmailContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeleted(
-                    String firstName,
-                    String houseCode1,
-                    Boolean deleted1,
-                    String lastName,
-                    String houseCode2,
-                    Boolean deleted2,
-                    String email,
-                    String houseCode3,
-                    Boolean deleted3,
-                    Pageable pageable);
-
-    List<User>
-            findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCaseAndDeleted(
-                    String firstName,
-                    String lastName,
-                    String email,
-                    Boolean deleted,
-                    Pageable pageable);
-
-    Long
-            countByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCaseAndDeleted(
-                    String firstName, String lastName, String email, Boolean deleted);
-
-    Long countByHouses_HouseCodeContainingIgnoreCaseAndDeleted(String houseCode, Boolean deleted);
-
-    Long
-            countByFirstNameContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeletedOrLastNameContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeletedOrEmailContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeleted(
-                    String firstName,
-                    String houseCode1,
-                    Boolean deleted1,
-                    String lastName,
-                    String houseCode2,
-                    Boolean deleted2,
-                    String email,
-                    String houseCode3,
-                    Boolean deleted3);
-
-    Long countByHouses_HouseCodeAndDeleted(String houseCode, Boolean deleted);
+    // one row per user and house; type-ahead search runs on these, in SearchIndex
+    @Query(
+            "select u.id as id, u.firstName as firstName, u.lastName as lastName,"
+                    + " u.email as email, h.id as houseId"
+                    + " from users u left join u.houses h where u.deleted = false")
+    List<UserSearchRow> findSearchRows();
+
+    boolean existsByEmailAndHouses_Id(String email, long houseId);
+
+    @Query(
+            "select u.email as email, u.securityStamp as securityStamp, u.deleted as deleted from users u")
+    List<UserStamp> findAllSecurityStamps();
 }
@@ -0,0 +1,14 @@
+package com.onedoorway.project.repository;
+
+/** The searchable fields of an active user, once per house they belong to. */
+public interface UserSearchRow {
+    long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    Long getHouseId();
+}
@@ -0,0 +1,9 @@
+package com.onedoorway.project.repository;
+
+public interface UserStamp {
+    String getEmail();
+
+    Integer getSecurityStamp();
+
+    Boolean getDeleted();
+}
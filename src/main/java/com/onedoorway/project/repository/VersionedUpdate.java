@@ -0,0 +1,39 @@
+package com.onedoorway.project.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * The properties to write to one row, checked against the version the caller read. Null values are
+ * left out, so only the properties a PATCH actually carries end up in the statement.
+ */
+@Getter
+public final class VersionedUpdate<T> {
+    private final Class<T> type;
+    private final long id;
+    private final long version;
+    private final Map<String, Object> changes = new LinkedHashMap<>();
+
+    private VersionedUpdate(Class<T> type, long id, long version) {
+        this.type = type;
+        this.id = id;
+        this.version = version;
+    }
+
+    public static <T> VersionedUpdate<T> of(Class<T> type, long id, long version) {
+        return new VersionedUpdate<>(type, id, version);
+    }
+
+    public VersionedUpdate<T> set(String property, Object value) {
+        if (value != null) {
+            changes.put(property, value);
+        }
+        return this;
+    }
+
+    public Map<String, Object> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+}
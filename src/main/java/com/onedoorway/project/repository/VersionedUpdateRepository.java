@@ -0,0 +1,11 @@
+package com.onedoorway.project.repository;
+
+/** Optimistically locked updates that go straight to the row, without loading the entity first. */
+public interface VersionedUpdateRepository<T> {
+    /**
+     * Runs {@code UPDATE ... SET <changes>, version = version + 1 WHERE id = ? AND version = ?}.
+     * Returns false when no row has that id and version: it is gone, or someone else has updated it
+     * since the caller read it.
+     */
+    boolean updateIfVersion(VersionedUpdate<? extends T> update);
+}
@@ -0,0 +1,48 @@
+package com.onedoorway.project.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * A JPQL bulk update, so values are bound by their mapped types, entity references included, and
+ * the statement goes through the session like any other. The entity is expected to name its id
+ * {@code id} and its {@code @Version} property {@code version}.
+ */
+class VersionedUpdateRepositoryImpl<T> implements VersionedUpdateRepository<T> {
+    private final EntityManager entityManager;
+
+    @Autowired
+    VersionedUpdateRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public boolean updateIfVersion(VersionedUpdate<? extends T> update) {
+        String entityName = entityManager.getMetamodel().entity(update.getType()).getName();
+        StringBuilder jpql =
+                new StringBuilder("update ")
+                        .append(entityName)
+                        .append(" e set e.version = e.version + 1");
+        List<Object> values = new ArrayList<>();
+        for (Map.Entry<String, Object> change : update.getChanges().entrySet()) {
+            values.add(change.getValue());
+            jpql.append(", e.").append(change.getKey()).append(" = :p").append(values.size());
+        }
+        jpql.append(" where e.id = :id and e.version = :version");
+
+        Query query = entityManager.createQuery(jpql.toString());
+        for (int i = 0; i < values.size(); i++) {
+            query.setParameter("p" + (i + 1), values.get(i));
+        }
+        return query.setParameter("id", update.getId())
+                        .setParameter("version", update.getVersion())
+                        .executeUpdate()
+                > 0;
+    }
+}
@@ -0,0 +1,304 @@
+package com.onedoorway.project.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onedoorway.project.archive.ArchiveSegment;
+import com.onedoorway.project.archive.ArchiveStore;
+import com.onedoorway.project.dto.ArchivedIncident;
+import com.onedoorway.project.dto.CaseNoteDTO;
+import com.onedoorway.project.dto.FoodDiaryNoteDTO;
+import com.onedoorway.project.dto.IncidentDTO;
+import com.onedoorway.project.dto.IncidentReviewDTO;
+import com.onedoorway.project.dto.NightReportDTO;
+import com.onedoorway.project.dto.SleepTrackerNotesDTO;
+import com.onedoorway.project.model.ArchiveRecordType;
+import com.onedoorway.project.model.ArchiveTombstone;
+import com.onedoorway.project.model.Incident;
+import com.onedoorway.project.model.IncidentReview;
+import com.onedoorway.project.model.Status;
+import com.onedoorway.project.repository.ArchiveTombstoneRepository;
+import com.onedoorway.project.repository.CaseNoteRepository;
+import com.onedoorway.project.repository.FoodDiaryNoteRepository;
+import com.onedoorway.project.repository.IncidentRepository;
+import com.onedoorway.project.repository.IncidentReviewRepository;
+import com.onedoorway.project.repository.NightReportRepository;
+import com.onedoorway.project.repository.SleepTrackerNotesRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves closed incidents, with their reviews, and aged notes out of the live tables into
+ * compressed segments in the {@link ArchiveStore}, leaving a tombstone per record that says where
+ * it went. The getters read a record back through its tombstone once it is no longer live. A
+ * record is archived as the DTO its getter returns, so what comes back is what was served.
+ */
+@Slf4j
+@Service
+public class ArchiveService {
+    private final ArchiveStore archiveStore;
+    private final ArchiveTombstoneRepository archiveTombstoneRepository;
+    private final IncidentRepository incidentRepository;
+    private final IncidentReviewRepository incidentReviewRepository;
+    private final CaseNoteRepository caseNoteRepository;
+    private final NightReportRepository nightReportRepository;
+    private final SleepTrackerNotesRepository sleepTrackerNotesRepository;
+    private final FoodDiaryNoteRepository foodDiaryNoteRepository;
+    private final DtoMapper dtoMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int incidentAgeDays;
+    private final int noteAgeDays;
+    private final int batchSize;
+
+    @Autowired
+    public ArchiveService(
+            ArchiveStore archiveStore,
+            ArchiveTombstoneRepository archiveTombstoneRepository,
+            IncidentRepository incidentRepository,
+            IncidentReviewRepository incidentReviewRepository,
+            CaseNoteRepository caseNoteRepository,
+            NightReportRepository nightReportRepository,
+            SleepTrackerNotesRepository sleepTrackerNotesRepository,
+            FoodDiaryNoteRepository foodDiaryNoteRepository,
+            DtoMapper dtoMapper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${odw.archive.incident-age-days:365}") int incidentAgeDays,
+            @Value("${odw.archive.note-age-days:365}") int noteAgeDays,
+            @Value("${odw.archive.batch-size:200}") int batchSize) {
+        this.archiveStore = archiveStore;
+        this.archiveTombstoneRepository = archiveTombstoneRepository;
+        this.incidentRepository = incidentRepository;
+        this.incidentReviewRepository = incidentReviewRepository;
+        this.caseNoteRepository = caseNoteRepository;
+        this.nightReportRepository = nightReportRepository;
+        this.sleepTrackerNotesRepository = sleepTrackerNotesRepository;
+        this.foodDiaryNoteRepository = foodDiaryNoteRepository;
+        this.dtoMapper = dtoMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.incidentAgeDays = incidentAgeDays;
+        this.noteAgeDays = noteAgeDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${odw.archive.cron:0 0 3 * * *}")
+    public void archive() {
+        Instant incidentsBefore = Instant.now().minus(incidentAgeDays, ChronoUnit.DAYS);
+        LocalDate notesBefore = LocalDate.now().minusDays(noteAgeDays);
+        Pageable batch = PageRequest.of(0, batchSize, Sort.by("id"));
+
+        int incidents =
+                drain(
+                        () -> {
+                            List<Incident> rows =
+                                    incidentRepository.findByStatusAndCreatedAtBefore(
+                                            Status.CLOSED, incidentsBefore, batch);
+                            return archiveIncidents(rows);
+                        });
+        int caseNotes =
+                drain(
+                        () ->
+                                archive(
+                                        ArchiveRecordType.CASE_NOTE,
+                                        caseNoteRepository.findByNoteDateBefore(notesBefore, batch),
+                                        note -> key(note.getId()),
+                                        note -> dtoMapper.map(note, CaseNoteDTO.class),
+                                        caseNoteRepository::deleteAllInBatch));
+        int nightReports =
+                drain(
+                        () ->
+                                archive(
+                                        ArchiveRecordType.NIGHT_REPORT,
+                                        nightReportRepository.findByReportDateBefore(
+                                                notesBefore, batch),
+                                        report ->
+                                                key(
+                                                        report.getClient().getId(),
+                                                        report.getReportDate()),
+                                        report -> dtoMapper.map(report, NightReportDTO.class),
+                                        nightReportRepository::deleteAllInBatch));
+        int sleepTrackerNotes =
+                drain(
+                        () ->
+                                archive(
+                                        ArchiveRecordType.SLEEP_TRACKER_NOTE,
+                                        sleepTrackerNotesRepository.findByReportDateBefore(
+                                                notesBefore, batch),
+                                        note ->
+                                                key(
+                                                        note.getClient().getId(),
+                                                        note.getReportDate()),
+                                        note -> dtoMapper.map(note, SleepTrackerNotesDTO.class),
+                                        sleepTrackerNotesRepository::deleteAllInBatch));
+        int foodDiaryNotes =
+                drain(
+                        () ->
+                                archive(
+                                        ArchiveRecordType.FOOD_DIARY_NOTE,
+                                        foodDiaryNoteRepository.findByReportDateBefore(
+                                                notesBefore, batch),
+                                        note ->
+                                                key(
+                                                        note.getClient().getId(),
+                                                        note.getReportDate(),
+                                                        note.getMealType()),
+                                        note -> dtoMapper.map(note, FoodDiaryNoteDTO.class),
+                                        foodDiaryNoteRepository::deleteAllInBatch));
+        log.info(
+                "Archived {} incidents, {} case notes, {} night reports, {} sleep tracker notes"
+                        + " and {} food diary notes",
+                incidents,
+                caseNotes,
+                nightReports,
+                sleepTrackerNotes,
+                foodDiaryNotes);
+    }
+
+    /** The archived copy of a record that has left the live tables, if it was archived. */
+    public <T> Optional<T> read(ArchiveRecordType type, String key, Class<T> recordClass) {
+        Optional<ArchiveTombstone> tombstone =
+                archiveTombstoneRepository.findByRecordTypeAndRecordKey(type, key);
+        if (tombstone.isEmpty()) {
+            return Optional.empty();
+        }
+        ArchiveTombstone found = tombstone.get();
+        try {
+            byte[] member =
+                    archiveStore.read(
+                            found.getSegment(), found.getSegmentOffset(), found.getLength());
+            log.info("Read {} {} from archive segment {}", type, key, found.getSegment());
+            return Optional.of(objectMapper.readValue(ArchiveSegment.unpack(member), recordClass));
+        } catch (IOException e) {
+            log.error("Cannot read {} {} from archive segment {}", type, key, found.getSegment());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Whether a record with this key was archived. The create paths of the per-day notes check it,
+     * so an archived day cannot be made again and hide the archived record.
+     */
+    public boolean isArchived(ArchiveRecordType type, String key) {
+        return archiveTombstoneRepository.existsByRecordTypeAndRecordKey(type, key);
+    }
+
+    /** The record key of a per-day note, or the id of anything else. */
+    public static String key(Object... parts) {
+        return Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("/"));
+    }
+
+    // runs batches, each in its own transaction, until one comes back short
+    private int drain(Supplier<Integer> batch) {
+        int total = 0;
+        int archived;
+        do {
+            Integer result = transactionTemplate.execute(status -> batch.get());
+            archived = result == null ? 0 : result;
+            total += archived;
+        } while (archived == batchSize);
+        return total;
+    }
+
+    private int archiveIncidents(List<Incident> incidents) {
+        List<IncidentReview> reviews =
+                incidents.isEmpty()
+                        ? List.of()
+                        : incidentReviewRepository.findByIncident_IdIn(
+                                incidents.stream()
+                                        .map(Incident::getId)
+                                        .collect(Collectors.toList()));
+        Map<Long, List<IncidentReviewDTO>> reviewsByIncident =
+                reviews.stream()
+                        .collect(
+                                Collectors.groupingBy(
+                                        review -> review.getIncident().getId(),
+                                        Collectors.mapping(
+                                                review ->
+                                                        dtoMapper.map(
+                                                                review, IncidentReviewDTO.class),
+                                                Collectors.toList())));
+        return archive(
+                ArchiveRecordType.INCIDENT,
+                incidents,
+                incident -> key(incident.getId()),
+                incident ->
+                        ArchivedIncident.builder()
+                                .incident(dtoMapper.map(incident, IncidentDTO.class))
+                                .reviews(
+                                        reviewsByIncident.getOrDefault(
+                                                incident.getId(), List.of()))
+                                .build(),
+                rows -> {
+                    incidentReviewRepository.deleteAllInBatch(reviews);
+                    incidentRepository.deleteAllInBatch(rows);
+                });
+    }
+
+    /**
+     * Writes {@code rows} to a new segment, then records their tombstones and deletes them. The
+     * segment goes first, so a batch that fails after it leaves only an unreferenced segment.
+     */
+    private <E> int archive(
+            ArchiveRecordType type,
+            List<E> rows,
+            Function<E, String> key,
+            Function<E, Object> record,
+            Consumer<List<E>> delete) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        String segment =
+                String.format(
+                        "%s/%d-%s.gz",
+                        type.name().toLowerCase(), now.toEpochMilli(), UUID.randomUUID());
+        ArchiveSegment data = new ArchiveSegment();
+        List<ArchiveTombstone> tombstones = new ArrayList<>();
+        try {
+            for (E row : rows) {
+                long offset = data.size();
+                data.append(objectMapper.writeValueAsBytes(record.apply(row)));
+                tombstones.add(
+                        ArchiveTombstone.builder()
+                                .recordType(type)
+                                .recordKey(key.apply(row))
+                                .segment(segment)
+                                .segmentOffset(offset)
+                                .length((int) (data.size() - offset))
+                                .archivedAt(now)
+                                .build());
+            }
+            archiveStore.write(segment, data.toByteArray());
+        } catch (IOException e) {
+            log.error("Cannot write archive segment {}", segment);
+            throw new UncheckedIOException(e);
+        }
+        archiveTombstoneRepository.saveAll(tombstones);
+        delete.accept(rows);
+        log.info("Archived {} {} records to segment {}", rows.size(), type, segment);
+        return rows.size();
+    }
+}
@@ -20,9 +20,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -37,15 +34,18 @@ public class BowelNoteService {
     private final BowelNoteRepository bowelNoteRepository;
     private final ClientRepository clientRepository;
     private final Context context;
+    private final DtoMapper dtoMapper;
 
     @Autowired
     public BowelNoteService(
             BowelNoteRepository bowelNoteRepository,
             ClientRepository clientRepository,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper) {
         this.bowelNoteRepository = bowelNoteRepository;
         this.clientRepository = clientRepository;
         this.context = context;
+        this.dtoMapper = dtoMapper;
     }
 
     public void createBowelNote(BowelNoteRequest request) throws BowelNoteServiceException {
@@ -96,6 +96,7 @@ public class BowelNoteService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<BowelNoteDTO> listBowelNotes(ListBowelNoteRequest request)
             throws BowelNoteServiceException {
         List<BowelNote> res;
@@ -104,7 +105,6 @@ public class BowelNoteService {
                         request.getPageNumber(),
                         request.getPageSize(),
                         Sort.by("startDate").descending());
-        ModelMapper modelMapper = new ModelMapper();
         log.info("Fetching bowel notes based on request {}", request);
         Optional<Client> client = clientRepository.findById(request.getClientId());
         if (client.isEmpty()) {
@@ -120,7 +120,7 @@ public class BowelNoteService {
                         page);
         log.info("Fetched the bowel notes based on the request");
         return res.stream()
-                .map(item -> modelMapper.map(item, BowelNoteDTO.class))
+                .map(item -> dtoMapper.map(item, BowelNoteDTO.class))
                 .collect(Collectors.toList());
     }
 
@@ -137,16 +137,7 @@ public class BowelNoteService {
                 .isBefore((bowelNote.get().getLastUpdatedAt().truncatedTo(ChronoUnit.MILLIS)))) {
 
             BowelNote existingEntity = bowelNote.get();
-            ModelMapper mapper = new ModelMapper();
-            mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-            mapper.addMappings(
-                    new PropertyMap<UpdateBowelNoteRequest, BowelNote>() {
-                        @Override
-                        protected void configure() {
-                            skip(destination.getClient());
-                        }
-                    });
-            mapper.map(request, existingEntity);
+            dtoMapper.patch(request, existingEntity);
             existingEntity.setRecordTime(
                     LocalDateTime.parse(
                             request.getRecordTime(),
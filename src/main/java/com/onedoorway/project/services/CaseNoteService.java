@@ -1,26 +1,27 @@
 package com.onedoorway.project.services;
 
 import com.onedoorway.project.Context;
+import com.onedoorway.project.dto.CursorPage;
 import com.onedoorway.project.dto.CaseNoteDTO;
 import com.onedoorway.project.dto.CaseNoteRequest;
 import com.onedoorway.project.dto.ListCaseNoteRequest;
 import com.onedoorway.project.dto.UpdateCaseNoteRequest;
 import com.onedoorway.project.exception.CaseNoteServiceException;
+import com.onedoorway.project.model.ArchiveRecordType;
 import com.onedoorway.project.model.CaseNote;
 import com.onedoorway.project.model.Client;
 import com.onedoorway.project.model.Lookup;
 import com.onedoorway.project.repository.CaseNoteRepository;
 import com.onedoorway.project.repository.ClientRepository;
 import com.onedoorway.project.repository.LookupRepository;
+import com.onedoorway.project.util.Cursor;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -36,17 +37,26 @@ public class CaseNoteService {
     private final ClientRepository clientRepository;
     private final LookupRepository lookupRepository;
     private final Context context;
+    private final DtoMapper dtoMapper;
+    private final NoteSearchService noteSearchService;
+    private final ArchiveService archiveService;
 
     @Autowired
     public CaseNoteService(
             CaseNoteRepository caseNoteRepository,
             ClientRepository clientRepository,
             LookupRepository lookupRepository,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper,
+            NoteSearchService noteSearchService,
+            ArchiveService archiveService) {
         this.caseNoteRepository = caseNoteRepository;
         this.clientRepository = clientRepository;
         this.lookupRepository = lookupRepository;
         this.context = context;
+        this.dtoMapper = dtoMapper;
+        this.noteSearchService = noteSearchService;
+        this.archiveService = archiveService;
     }
 
     public void createCaseNote(CaseNoteRequest request) throws CaseNoteServiceException {
@@ -75,6 +85,7 @@ public class CaseNoteService {
                             .deleted(false)
                             .build();
             caseNoteRepository.save(caseNote);
+            noteSearchService.indexCaseNote(caseNote);
             log.info("Created case note with id {}", caseNote.getId());
         } else {
             CaseNote caseNote =
@@ -97,28 +108,64 @@ public class CaseNoteService {
                             .deleted(false)
                             .build();
             caseNoteRepository.save(caseNote);
+            noteSearchService.indexCaseNote(caseNote);
         }
     }
 
+    @Transactional(readOnly = true)
     public CaseNoteDTO getCaseNote(long id) throws CaseNoteServiceException {
-        ModelMapper modelMapper = new ModelMapper();
         Optional<CaseNote> caseNote = caseNoteRepository.findById(id);
         if (caseNote.isEmpty()) {
+            Optional<CaseNoteDTO> archived =
+                    archiveService.read(
+                            ArchiveRecordType.CASE_NOTE, ArchiveService.key(id), CaseNoteDTO.class);
+            if (archived.isPresent()) {
+                log.info("Fetched the archived case note with id {}", id);
+                return archived.get();
+            }
             throw new CaseNoteServiceException("no case not found with id " + id);
         }
         log.info("Fetched the incident with id {}", id);
-        return modelMapper.map(caseNote.get(), CaseNoteDTO.class);
+        return dtoMapper.map(caseNote.get(), CaseNoteDTO.class);
     }
 
-    public List<CaseNoteDTO> listCaseNotes(ListCaseNoteRequest request) {
+    @Transactional(readOnly = true)
+    public CursorPage<CaseNoteDTO> listCaseNotes(ListCaseNoteRequest request)
+            throws CaseNoteServiceException {
         List<CaseNote> res;
-        Pageable page =
-                PageRequest.of(
-                        request.getPageNumber(),
-                        request.getPageSize(),
-                        Sort.by("noteDate").descending());
-        ModelMapper modelMapper = new ModelMapper();
+        Sort sort = Sort.by("noteDate").descending().and(Sort.by("id").descending());
         log.info("Fetching case notes based on request {}", request);
+        if (request.getAfter() != null) {
+            Cursor<LocalDate> after;
+            try {
+                after = Cursor.decode(request.getAfter(), LocalDate::parse);
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid cursor {}", request.getAfter());
+                throw new CaseNoteServiceException("Invalid cursor " + request.getAfter());
+            }
+            Pageable page = PageRequest.of(0, request.getPageSize(), sort);
+            if (request.getStart() == null || request.getEnd() == null) {
+                res =
+                        caseNoteRepository.findAllByCategoryAndClientAfter(
+                                request.getCategory(),
+                                request.getClientId(),
+                                after.getKey(),
+                                after.getId(),
+                                page);
+            } else {
+                res =
+                        caseNoteRepository.findAllByCategoryAndClientAndNoteDateBetweenAfter(
+                                request.getCategory(),
+                                request.getClientId(),
+                                LocalDate.parse(request.getStart()),
+                                LocalDate.parse(request.getEnd()),
+                                after.getKey(),
+                                after.getId(),
+                                page);
+            }
+            return toCursorPage(res, request.getPageSize());
+        }
+        Pageable page = PageRequest.of(request.getPageNumber(), request.getPageSize(), sort);
         if (request.getStart() == null || request.getEnd() == null) {
             log.info("entering into loop null");
             res =
@@ -135,9 +182,14 @@ public class CaseNoteService {
                             page);
         }
         log.info("Fetched the case notes based on the request {}", res);
-        return res.stream()
-                .map(item -> modelMapper.map(item, CaseNoteDTO.class))
-                .collect(Collectors.toList());
+        return toCursorPage(res, request.getPageSize());
+    }
+
+    private CursorPage<CaseNoteDTO> toCursorPage(List<CaseNote> notes, int pageSize) {
+        return CursorPage.of(
+                dtoMapper.mapAll(notes, CaseNoteDTO.class),
+                pageSize,
+                item -> Cursor.encode(item.getNoteDate(), item.getId()));
     }
 
     public void updateCaseNote(Long id, UpdateCaseNoteRequest request)
@@ -160,6 +212,7 @@ public class CaseNoteService {
                 existingEntity.setCategory(lookupRepository.getById(request.getCategoryId()));
                 existingEntity.setNoteDate(LocalDate.parse(request.getNoteDate()));
                 caseNoteRepository.save(existingEntity);
+                noteSearchService.indexCaseNote(existingEntity);
             } else {
                 CaseNote existingEntity = caseNote.get();
                 existingEntity.setDeleted(request.getDeleted());
@@ -178,6 +231,7 @@ public class CaseNoteService {
                                 DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
                 existingEntity.setNoteDate(LocalDate.parse(request.getNoteDate()));
                 caseNoteRepository.save(existingEntity);
+                noteSearchService.indexCaseNote(existingEntity);
             }
             log.info("Updated the case note for the given id {}", id);
         } else {
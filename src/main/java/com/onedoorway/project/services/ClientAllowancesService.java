@@ -12,9 +12,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,13 +22,16 @@ import org.springframework.transaction.annotation.Transactional;
 public class ClientAllowancesService {
     private final ClientAllowancesRepository clientAllowancesRepository;
     private final ClientRepository clientRepository;
+    private final DtoMapper dtoMapper;
 
     @Autowired
     public ClientAllowancesService(
             ClientAllowancesRepository clientAllowancesRepository,
-            ClientRepository clientRepository) {
+            ClientRepository clientRepository,
+            DtoMapper dtoMapper) {
         this.clientAllowancesRepository = clientAllowancesRepository;
         this.clientRepository = clientRepository;
+        this.dtoMapper = dtoMapper;
     }
 
     public void createClientAllowances(ClientAllowancesRequest request)
@@ -57,9 +57,9 @@ public class ClientAllowancesService {
         log.info("Created the client with allowances {} ", clientAllowances.getId());
     }
 
+    @Transactional(readOnly = true)
     public List<ClientAllowancesDTO> getClientAllowancesById(long clientId)
             throws ClientAllowancesServiceException, ClientServiceException {
-        ModelMapper modelMapper = new ModelMapper();
         Optional<Client> client = clientRepository.findById(clientId);
         if (client.isEmpty()) {
             log.info("client not found {}", clientId);
@@ -73,7 +73,7 @@ public class ClientAllowancesService {
             log.error(errorMessage);
         }
         return clientAllowances.stream()
-                .map(item -> modelMapper.map(item, ClientAllowancesDTO.class))
+                .map(item -> dtoMapper.map(item, ClientAllowancesDTO.class))
                 .collect(Collectors.toList());
     }
 
@@ -88,16 +88,7 @@ public class ClientAllowancesService {
         }
 
         ClientAllowances existingEntity = clientAllowances.get();
-        ModelMapper mapper = new ModelMapper();
-        mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-        mapper.addMappings(
-                new PropertyMap<UpdateClientAllowancesRequest, ClientAllowances>() {
-                    @Override
-                    protected void configure() {
-                        skip(destination.getClient());
-                    }
-                });
-        mapper.map(request, existingEntity);
+        dtoMapper.patch(request, existingEntity);
         existingEntity.setDeleted(request.getDeleted());
         clientAllowancesRepository.save(existingEntity);
         log.info("Updated the client allowances for the given id {}", id);
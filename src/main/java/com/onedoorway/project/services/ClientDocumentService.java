@@ -22,7 +22,6 @@ import java.util.*;
 import java.util.stream.Collectors;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -39,6 +38,7 @@ public class ClientDocumentService {
     private final String connectionString;
     private final String containerName;
     private final Context context;
+    private final DtoMapper dtoMapper;
 
     @Autowired
     public ClientDocumentService(
@@ -48,7 +48,8 @@ public class ClientDocumentService {
             BlobServiceClientBuilder blobServiceClientBuilder,
             @Value("${azure.blob.connection-string}") String connectionString,
             @Value("${azure.blob.container.name}") String containerName,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper) {
         this.clientDocumentRepository = clientDocumentRepository;
         this.clientRepository = clientRepository;
         this.folderRepository = folderRepository;
@@ -56,6 +57,7 @@ public class ClientDocumentService {
         this.connectionString = connectionString;
         this.containerName = containerName;
         this.context = context;
+        this.dtoMapper = dtoMapper;
     }
 
     public void storeDocument(
@@ -123,6 +125,7 @@ public class ClientDocumentService {
     }
 
     @SneakyThrows
+    @Transactional(readOnly = true)
     public List<ClientDocumentDTO> listDocuments(long clientId, long folderId)
             throws ClientDocumentServiceException {
         CloudStorageAccount storageAccount = CloudStorageAccount.parse(connectionString);
@@ -156,7 +159,7 @@ public class ClientDocumentService {
         List<ClientDocumentDTO> clientDocumentDTOS = new ArrayList<>();
         List<ClientDocument> clientDocument =
                 clientDocumentRepository.findAllByClient_IdAndFolder_Id(clientId, folderId).stream()
-                        .map(item -> new ModelMapper().map(item, ClientDocument.class))
+                        .map(item -> dtoMapper.map(item, ClientDocument.class))
                         .collect(Collectors.toList());
         for (int i = 0; i < clientDocument.size(); i++) {
             ClientDocumentDTO clientDocumentDTO = new ClientDocumentDTO();
@@ -18,12 +18,11 @@ import java.util.*;
 import lombok.SneakyThrows;
 import lombok.extern.log4j.Log4j2;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -35,6 +34,7 @@ public class ClientNDISPlanService {
     private final String connectionString;
     private final String containerName;
     private final Context context;
+    private final DtoMapper dtoMapper;
 
     @Autowired
     public ClientNDISPlanService(
@@ -43,13 +43,15 @@ public class ClientNDISPlanService {
             BlobServiceClientBuilder blobServiceClientBuilder,
             @Value("${azure.blob.connection-string}") String connectionString,
             @Value("${azure.blob.container.name}") String containerName,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper) {
         this.clientRepository = clientRepository;
         this.clientNDISPlanRepository = clientNDISPlanRepository;
         this.blobServiceClientBuilder = blobServiceClientBuilder;
         this.connectionString = connectionString;
         this.containerName = containerName;
         this.context = context;
+        this.dtoMapper = dtoMapper;
     }
 
     public void createClientNDISPlan(ClientNDISPlanRequest request)
@@ -61,24 +63,6 @@ public class ClientNDISPlanService {
             log.error("Client not found for requested clientId {}", request.getClientId());
             throw new ClientNDISPlanServiceException("Client not found with client id");
         }
-        if (clientNDISPlanRepository.findByClient_IdAndStartDateAndEndDateAndFundingTypeAndLevel(
-                        request.getClientId(),
-                        request.getStartDate(),
-                        request.getEndDate(),
-                        request.getFundingType(),
-                        request.getLevel())
-                != null) {
-            log.error(
-                    "Client NDIS plan already exists for client id {}, startDate {}, endDate {}, fundingType {}, and level {}",
-                    request.getClientId(),
-                    request.getStartDate(),
-                    request.getEndDate(),
-                    request.getFundingType(),
-                    request.getLevel());
-            throw new ClientNDISPlanServiceException(
-                    "Client NDIS Plan already exists for client id for the given start date, end date, funding type and level");
-        }
-
         ClientNDISPlan clientNDISPlan =
                 ClientNDISPlan.builder()
                         .client(client.get())
@@ -91,12 +75,23 @@ public class ClientNDISPlanService {
                         .otherDocument("")
                         .lastUploadedBy(request.getLastUploadedBy())
                         .build();
-        clientNDISPlanRepository.save(clientNDISPlan);
+        if (!clientNDISPlanRepository.insertIfAbsent(clientNDISPlan)) {
+            log.error(
+                    "Client NDIS plan already exists for client id {}, startDate {}, endDate {}, fundingType {}, and level {}",
+                    request.getClientId(),
+                    request.getStartDate(),
+                    request.getEndDate(),
+                    request.getFundingType(),
+                    request.getLevel());
+            throw new ClientNDISPlanServiceException(
+                    "Client NDIS Plan already exists for client id for the given start date, end date, funding type and level");
+        }
 
         log.info("Created Client NDIS Plan with Id {}", clientNDISPlan.getId());
     }
 
     @SneakyThrows
+    @Transactional(readOnly = true)
     public List<ClientNDISPlanDTO> getClientNDISPlan(long clientId)
             throws ClientNDISPlanServiceException {
         CloudStorageAccount storageAccount = CloudStorageAccount.parse(connectionString);
@@ -173,9 +168,7 @@ public class ClientNDISPlanService {
         Optional<ClientNDISPlan> clientNDISPlan = clientNDISPlanRepository.findById(id);
         if (clientNDISPlan.isPresent()) {
             ClientNDISPlan existingEntity = clientNDISPlan.get();
-            ModelMapper mapper = new ModelMapper();
-            mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-            mapper.map(request, existingEntity);
+            dtoMapper.patch(request, existingEntity);
             existingEntity.setStartDate(LocalDate.parse(request.getStartDate()));
             existingEntity.setEndDate(LocalDate.parse(request.getEndDate()));
             log.info("Updated the client for the given id {}", id);
@@ -13,7 +13,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,15 +24,18 @@ public class ClientReportService {
     private final ClientRepository clientRepository;
     private final ClientReportRepository clientReportRepository;
     private final LookupRepository lookupRepository;
+    private final DtoMapper dtoMapper;
 
     @Autowired
     public ClientReportService(
             ClientRepository clientRepository,
             ClientReportRepository clientReportRepository,
-            LookupRepository lookupRepository) {
+            LookupRepository lookupRepository,
+            DtoMapper dtoMapper) {
         this.clientRepository = clientRepository;
         this.clientReportRepository = clientReportRepository;
         this.lookupRepository = lookupRepository;
+        this.dtoMapper = dtoMapper;
     }
 
     public void toggleReport(ToggleReportRequest request) throws ClientReportServiceException {
@@ -42,47 +44,47 @@ public class ClientReportService {
             log.error("Invalid client id sent to toggle report, {}", request.getClientId());
             throw new ClientReportServiceException("Invalid client id sent to toggle report");
         }
-        Optional<ClientReport> clientReport =
-                clientReportRepository.findByLookup_IdAndClient_Id(
-                        request.getLookupId(), request.getClientId());
-        if (clientReport.isPresent()) {
-            ClientReport report = clientReport.get();
-            report.setToggle(request.getToggle());
-            clientReportRepository.save(report);
+        if (clientReportRepository.updateToggle(
+                        request.getClientId(), request.getLookupId(), request.getToggle())
+                > 0) {
             log.info(
-                    "Updated the report {} to toggle {} for client {}",
-                    report.getId(),
-                    report.getToggle(),
-                    request.getClientId());
-        } else {
-            Optional<Lookup> lookup = lookupRepository.findById(request.getLookupId());
-            if (lookup.isEmpty()) {
-                log.error("Invalid lookup id sent to toggle report, {}", request.getLookupId());
-                throw new ClientReportServiceException("Invalid lookup id sent to toggle report");
-            }
-            ClientReport report =
-                    ClientReport.builder()
-                            .lookup(lookup.get())
-                            .client(client.get())
-                            .toggle(request.getToggle())
-                            .build();
-            clientReportRepository.save(report);
-
-            log.info(
-                    "Saved the report {} to toggle {} for client {} with lookup {}",
-                    report.getId(),
+                    "Updated the report with lookup {} to toggle {} for client {}",
+                    request.getLookupId(),
                     request.getToggle(),
-                    request.getClientId(),
-                    request.getLookupId());
+                    request.getClientId());
+            return;
+        }
+        Optional<Lookup> lookup = lookupRepository.findById(request.getLookupId());
+        if (lookup.isEmpty()) {
+            log.error("Invalid lookup id sent to toggle report, {}", request.getLookupId());
+            throw new ClientReportServiceException("Invalid lookup id sent to toggle report");
+        }
+        ClientReport report =
+                ClientReport.builder()
+                        .lookup(lookup.get())
+                        .client(client.get())
+                        .toggle(request.getToggle())
+                        .build();
+        // a concurrent toggle inserted the row first; it is committed by now, so update it instead
+        if (!clientReportRepository.insertIfAbsent(report)) {
+            clientReportRepository.updateToggle(
+                    request.getClientId(), request.getLookupId(), request.getToggle());
         }
+        log.info(
+                "Saved the report {} to toggle {} for client {} with lookup {}",
+                report.getId(),
+                request.getToggle(),
+                request.getClientId(),
+                request.getLookupId());
     }
 
+    @Transactional(readOnly = true)
     public List<ClientReportDTO> getClientReportById(long clientId) {
         log.info("Getting report for clientId {}", clientId);
         List<ClientReportDTO> res =
                 clientReportRepository.findAllByClient_Id(clientId).stream()
                         .filter(clientReport -> clientReport.getToggle().equals(true))
-                        .map(item -> new ModelMapper().map(item, ClientReportDTO.class))
+                        .map(item -> dtoMapper.map(item, ClientReportDTO.class))
                         .collect(Collectors.toList());
         log.info("Fetched {} client reports for client {}", res.size(), clientId);
         return res;
@@ -14,6 +14,7 @@ import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.ClientContactRepository;
 import com.onedoorway.project.repository.ClientRepository;
 import com.onedoorway.project.repository.FolderRepository;
+import com.onedoorway.project.repository.VersionedUpdate;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.security.InvalidKeyException;
@@ -23,13 +24,10 @@ import java.util.*;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
-import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
@@ -51,6 +49,9 @@ public class ClientService {
     private final String connectionString;
     private final String containerName;
     private final Context context;
+    private final DtoMapper dtoMapper;
+    private final ListCountCache listCountCache;
+    private final SearchIndex searchIndex;
 
     @Autowired
     public ClientService(
@@ -60,7 +61,10 @@ public class ClientService {
             BlobServiceClientBuilder blobServiceClientBuilder,
             @Value("${azure.blob.connection-string}") String connectionString,
             @Value("${azure.blob.container.name}") String containerName,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper,
+            ListCountCache listCountCache,
+            SearchIndex searchIndex) {
         this.clientRepository = clientRepository;
         this.clientContactRepository = clientContactRepository;
         this.folderRepository = folderRepository;
@@ -68,6 +72,9 @@ public class ClientService {
         this.connectionString = connectionString;
         this.containerName = containerName;
         this.context = context;
+        this.dtoMapper = dtoMapper;
+        this.listCountCache = listCountCache;
+        this.searchIndex = searchIndex;
     }
 
     @SneakyThrows
@@ -112,28 +119,51 @@ public class ClientService {
                         .supportWorkerSpecs("")
                         .build();
         clientRepository.save(client);
+        searchIndex.putClient(client);
+        listCountCache.invalidate(ListCountCache.CLIENTS);
         log.info("Created the client for the given email {} ", request.getEmail());
     }
 
     @PreAuthorize("@context.isAdmin()")
     public void updateClient(Long id, ClientRequest request) throws ClientServiceException {
+        if (request.getVersion() != null) {
+            updateIfVersion(
+                    VersionedUpdate.of(Client.class, id, request.getVersion())
+                            .set(Client.Fields.email, request.getEmail())
+                            .set(Client.Fields.name, request.getName())
+                            .set(Client.Fields.city, request.getCity())
+                            .set(Client.Fields.dob, dob(request.getDob()))
+                            .set(Client.Fields.gender, request.getGender())
+                            .set(Client.Fields.phone, request.getPhone())
+                            .set(Client.Fields.addrLine1, request.getAddrLine1())
+                            .set(Client.Fields.addrLine2, request.getAddrLine2())
+                            .set(Client.Fields.postCode, request.getPostCode())
+                            .set(Client.Fields.state, request.getState())
+                            .set(Client.Fields.deleted, request.getDeleted())
+                            .set(Client.Fields.ndisNumber, request.getNdisNumber()));
+            searchIndex.refreshClient(id);
+            listCountCache.invalidate(ListCountCache.CLIENTS);
+            log.info("Updated the client for the given id {}", id);
+            return;
+        }
         Optional<Client> client = clientRepository.findById(id);
         if (client.isPresent()) {
             Client existingEntity = client.get();
-            existingEntity.setEmail(request.getEmail());
-            existingEntity.setName(request.getName());
-            existingEntity.setCity(request.getCity());
-            existingEntity.setDob(
-                    LocalDate.parse(request.getDob(), DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-            existingEntity.setGender(request.getGender());
-            existingEntity.setPhone(request.getPhone());
-            existingEntity.setAddrLine1(request.getAddrLine1());
-            existingEntity.setAddrLine2(request.getAddrLine2());
-            existingEntity.setPostCode(request.getPostCode());
-            existingEntity.setState(request.getState());
-            existingEntity.setDeleted(request.getDeleted());
-            existingEntity.setNdisNumber(request.getNdisNumber());
+            setIfPresent(existingEntity::setEmail, request.getEmail());
+            setIfPresent(existingEntity::setName, request.getName());
+            setIfPresent(existingEntity::setCity, request.getCity());
+            setIfPresent(existingEntity::setDob, dob(request.getDob()));
+            setIfPresent(existingEntity::setGender, request.getGender());
+            setIfPresent(existingEntity::setPhone, request.getPhone());
+            setIfPresent(existingEntity::setAddrLine1, request.getAddrLine1());
+            setIfPresent(existingEntity::setAddrLine2, request.getAddrLine2());
+            setIfPresent(existingEntity::setPostCode, request.getPostCode());
+            setIfPresent(existingEntity::setState, request.getState());
+            setIfPresent(existingEntity::setDeleted, request.getDeleted());
+            setIfPresent(existingEntity::setNdisNumber, request.getNdisNumber());
             clientRepository.save(existingEntity);
+            searchIndex.putClient(existingEntity);
+            listCountCache.invalidate(ListCountCache.CLIENTS);
 
             log.info("Updated the client for the given id {}", id);
         } else {
@@ -141,51 +171,51 @@ public class ClientService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public ListClientResponse listClientPage(ListClientRequest request)
+            throws ClientServiceException {
+        List<ClientListDTO> clients = listAllClients(request);
+        long total =
+                listCountCache.total(
+                        ListCountCache.CLIENTS,
+                        String.valueOf(request.getNameOrHouse()),
+                        page(request),
+                        clients.size(),
+                        () -> clientsCount(request));
+        return ListClientResponse.builder().clients(clients).totalClients(total).build();
+    }
+
+    @Transactional(readOnly = true)
     public List<ClientListDTO> listAllClients(ListClientRequest request)
             throws ClientServiceException {
-        List<Client> clients;
-        Pageable page =
-                PageRequest.of(
-                        request.getPageNumber(), request.getPageSize(), Sort.by("id").ascending());
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        List<ClientListDTO> clients;
+        Pageable page = page(request);
         if (request.getNameOrHouse() != null) {
             log.info("Fetched the clients");
             clients =
-                    clientRepository
-                            .findByNameContainingIgnoreCaseAndDeletedOrHouse_HouseCodeContainingIgnoreCaseAndDeleted(
-                                    request.getNameOrHouse(),
-                                    false,
-                                    request.getNameOrHouse(),
-                                    false,
-                                    page);
+                    SearchIndex.hydrate(
+                            searchIndex.searchClients(request.getNameOrHouse()),
+                            page,
+                            clientRepository::findListByIdIn,
+                            ClientListDTO::getId);
         } else {
-            clients = clientRepository.findAllByDeleted(false, page);
+            clients = clientRepository.findListByDeleted(false, page);
         }
         log.info("Fetched {} clients", clients.size());
-        modelMapper
-                .typeMap(Client.class, ClientListDTO.class)
-                .addMappings(
-                        mapper -> {
-                            mapper.map(
-                                    src -> src.getHouse().getHouseCode(), ClientListDTO::setHouse);
-                        });
-        return clients.stream()
-                .map(item -> modelMapper.map(item, ClientListDTO.class))
-                .collect(Collectors.toList());
+        return clients;
+    }
+
+    private static Pageable page(ListClientRequest request) {
+        return PageRequest.of(
+                request.getPageNumber(), request.getPageSize(), Sort.by("id").ascending());
     }
 
+    @Transactional(readOnly = true)
     public Long clientsCount(ListClientRequest request) {
         Long clientCount;
         if (request.getNameOrHouse() != null) {
             log.info("Fetching the clients count ");
-            clientCount =
-                    clientRepository
-                            .countByNameContainingIgnoreCaseAndDeletedOrHouse_HouseCodeContainingIgnoreCaseAndDeleted(
-                                    request.getNameOrHouse(),
-                                    false,
-                                    request.getNameOrHouse(),
-                                    false);
+            clientCount = (long) searchIndex.searchClients(request.getNameOrHouse()).size();
         } else {
             clientCount = clientRepository.countByDeleted(false);
         }
@@ -225,15 +255,15 @@ public class ClientService {
         log.info("Created client contact with id {}", clientContact.getId());
     }
 
+    @Transactional(readOnly = true)
     public ClientContactDTO getClientContactById(long id) throws ClientServiceException {
-        ModelMapper modelMapper = new ModelMapper();
         Optional<ClientContact> clientContact = clientContactRepository.findById(id);
         if (clientContact.isEmpty()) {
             log.info("client contact not found {}", id);
             throw new ClientServiceException("Client contact not found " + id);
         }
         log.info("Fetched client contacts based on id {}", id);
-        return modelMapper.map(clientContact.get(), ClientContactDTO.class);
+        return dtoMapper.map(clientContact.get(), ClientContactDTO.class);
     }
 
     public void updateClientContact(Long id, UpdateClientContactRequest request)
@@ -241,16 +271,7 @@ public class ClientService {
         Optional<ClientContact> clientContact = clientContactRepository.findById(id);
         if (clientContact.isPresent()) {
             ClientContact existingEntity = clientContact.get();
-            ModelMapper mapper = new ModelMapper();
-            mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-            mapper.addMappings(
-                    new PropertyMap<UpdateClientContactRequest, ClientContact>() {
-                        @Override
-                        protected void configure() {
-                            skip(destination.getClient());
-                        }
-                    });
-            mapper.map(request, existingEntity);
+            dtoMapper.patch(request, existingEntity);
             if (StringUtils.hasText(request.getStatus())) {
                 existingEntity.setStatus(NoticeStatus.valueOf(request.getStatus()));
             }
@@ -264,6 +285,7 @@ public class ClientService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<ClientContactDTO> listClientContacts(Long clientId) throws ClientServiceException {
         Optional<Client> client = clientRepository.findById(clientId);
         if (client.isEmpty()) {
@@ -272,7 +294,7 @@ public class ClientService {
         }
         List<ClientContactDTO> contactDTOS =
                 clientContactRepository.findAllByClient_Id(clientId).stream()
-                        .map(item -> new ModelMapper().map(item, ClientContactDTO.class))
+                        .map(item -> dtoMapper.map(item, ClientContactDTO.class))
                         .collect(Collectors.toList());
         log.info("Fetched client contacts with client id {}", clientId);
         return contactDTOS;
@@ -303,15 +325,17 @@ public class ClientService {
         log.info("Created folder with id {}", folder.getId());
     }
 
+    @Transactional(readOnly = true)
     public FolderDTO getFolderById(long id) throws ClientServiceException {
         Optional<Folder> folder = folderRepository.findById(id);
         if (folder.isEmpty()) {
             throw new ClientServiceException("No folder found with id " + id);
         }
         log.info("Fetched the folder based on id {}", id);
-        return new ModelMapper().map(folder.get(), FolderDTO.class);
+        return dtoMapper.map(folder.get(), FolderDTO.class);
     }
 
+    @Transactional(readOnly = true)
     public List<FolderDTO> listFoldersById(Long clientId) throws ClientServiceException {
         Optional<Client> client = clientRepository.findById(clientId);
         if (client.isEmpty()) {
@@ -320,7 +344,7 @@ public class ClientService {
         }
         List<FolderDTO> folderDTOS =
                 folderRepository.findAllByClient_Id(clientId).stream()
-                        .map(item -> new ModelMapper().map(item, FolderDTO.class))
+                        .map(item -> dtoMapper.map(item, FolderDTO.class))
                         .collect(Collectors.toList());
         log.info("Fetched folders with client id {}", clientId);
         return folderDTOS;
@@ -333,16 +357,7 @@ public class ClientService {
             throw new ClientServiceException("folder does not exist");
         }
         Folder existingFolder = folder.get();
-        ModelMapper mapper = new ModelMapper();
-        mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-        mapper.addMappings(
-                new PropertyMap<UpdateFolderRequest, Folder>() {
-                    @Override
-                    protected void configure() {
-                        skip(destination.getClient());
-                    }
-                });
-        mapper.map(request, existingFolder);
+        dtoMapper.patch(request, existingFolder);
         if (StringUtils.hasText(request.getStatus())) {
             existingFolder.setStatus(NoticeStatus.valueOf(request.getStatus()));
         }
@@ -351,10 +366,10 @@ public class ClientService {
         log.info("Updated the folder for the given id {}", request.getId());
     }
 
+    @Transactional(readOnly = true)
     public ClientDetailDTO getClientById(Long id)
             throws ClientServiceException, URISyntaxException, InvalidKeyException,
                     StorageException {
-        ModelMapper modelMapper = new ModelMapper();
         Optional<Client> clients = clientRepository.findById(id);
         if (clients.isEmpty()) {
             log.info("client  not found with id {}", id);
@@ -365,38 +380,14 @@ public class ClientService {
         if (clients.get().getPhoto() == null) {
             log.info("photo is null");
             clients.get().setPhoto("");
-            modelMapper.addMappings(
-                    new PropertyMap<Client, ClientDetailDTO>() {
-                        @Override
-                        protected void configure() {
-                            log.info("Before IRN");
-                            map().setIndividualReferenceNumber(
-                                            source.getIndividualReferenceNumber());
-                            log.info("Before MCN");
-                            map().setMedicareCardName(source.getMedicareCardName());
-                            log.info("Before photo");
-                        }
-                    });
-            return modelMapper.map(clients.get(), ClientDetailDTO.class);
+            return dtoMapper.map(clients.get(), ClientDetailDTO.class);
         }
         if ((clients.get().getPhoto().isEmpty())) {
             log.info("get photo field empty");
             String sasUrl = "";
             log.info("sas url is {} ", sasUrl);
             clients.get().setPhoto("");
-            modelMapper.addMappings(
-                    new PropertyMap<Client, ClientDetailDTO>() {
-                        @Override
-                        protected void configure() {
-                            log.info("Before IRN");
-                            map().setIndividualReferenceNumber(
-                                            source.getIndividualReferenceNumber());
-                            log.info("Before MCN");
-                            map().setMedicareCardName(source.getMedicareCardName());
-                            log.info("Before photo");
-                        }
-                    });
-            return modelMapper.map(clients.get(), ClientDetailDTO.class);
+            return dtoMapper.map(clients.get(), ClientDetailDTO.class);
         } else {
             log.info("entering the else part");
             CloudStorageAccount storageAccount = CloudStorageAccount.parse(connectionString);
@@ -420,41 +411,45 @@ public class ClientService {
 
             log.info("SAS url {}", sasUrl);
             log.info("Fetched client based on id {}", id);
-            modelMapper.addMappings(
-                    new PropertyMap<Client, ClientDetailDTO>() {
-                        @Override
-                        protected void configure() {
-                            map().setIndividualReferenceNumber(
-                                            source.getIndividualReferenceNumber());
-                            map().setMedicareCardName(source.getMedicareCardName());
-                            map().setPhoto(sasUrl);
-                        }
-                    });
+            ClientDetailDTO clientDetail = dtoMapper.map(clients.get(), ClientDetailDTO.class);
+            clientDetail.setPhoto(sasUrl);
+            return clientDetail;
         }
-
-        log.info("Before mapping client to DTO {}", clients.get().getPhoto());
-        modelMapper.map(clients, ClientDTO.class);
-        log.info("Fetched client  based on id {}", id);
-        return modelMapper.map(clients.get(), ClientDetailDTO.class);
     }
 
     public void updateClientById(Long id, UpdateClientRequest request)
             throws ClientServiceException {
+        if (request.getVersion() != null) {
+            VersionedUpdate<Client> update =
+                    VersionedUpdate.of(Client.class, id, request.getVersion())
+                            .set(Client.Fields.medicareNo, request.getMedicareNo())
+                            .set(Client.Fields.centerLinkNo, request.getCenterLinkNo())
+                            .set(Client.Fields.healthFund, request.getHealthFund())
+                            .set(
+                                    Client.Fields.individualReferenceNumber,
+                                    request.getIndividualReferenceNumber())
+                            .set(Client.Fields.medicareCardName, request.getMedicareCardName());
+            if (request.getExpiryDate() != null) {
+                update.set(Client.Fields.expiryDate, LocalDate.parse(request.getExpiryDate()));
+            }
+            updateIfVersion(setAdditional(update, request));
+            searchIndex.refreshClient(id);
+            log.info("Updated the client for the given id {}", id);
+            return;
+        }
         Optional<Client> client = clientRepository.findById(id);
         if (client.isPresent()) {
             Client existingEntity = client.get();
-            ModelMapper mapper = new ModelMapper();
             if (request.getExpiryDate() == null) {
-                mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-                mapper.map(request, existingEntity);
+                dtoMapper.patch(request, existingEntity);
                 log.info("Updated the client for the given id {}", id);
             } else {
-                mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-                mapper.map(request, existingEntity);
+                dtoMapper.patch(request, existingEntity);
                 existingEntity.setExpiryDate(LocalDate.parse(request.getExpiryDate()));
                 log.info("Updated the client for the given id {}", id);
             }
             clientRepository.save(existingEntity);
+            searchIndex.putClient(existingEntity);
         } else {
             throw new ClientServiceException("Client not found");
         }
@@ -462,21 +457,28 @@ public class ClientService {
 
     public void updateClientAdditional(Long id, UpdateClientRequest request)
             throws ClientServiceException {
+        if (request.getVersion() != null) {
+            updateIfVersion(
+                    setAdditional(
+                            VersionedUpdate.of(Client.class, id, request.getVersion()), request));
+            log.info("Updated the client for the given id {}", id);
+            return;
+        }
         Optional<Client> client = clientRepository.findById(id);
         if (client.isPresent()) {
             Client existingEntity = client.get();
-            existingEntity.setIdentity(request.getIdentity());
-            existingEntity.setCulture(request.getCulture());
-            existingEntity.setLanguage(request.getLanguage());
-            existingEntity.setDiagnosis(request.getDiagnosis());
-            existingEntity.setMobility(request.getMobility());
-            existingEntity.setCommunication(request.getCommunication());
-            existingEntity.setMedicationSupport(request.getMedicationSupport());
-            existingEntity.setTransportation(request.getTransportation());
-            existingEntity.setJusticeOrders(request.getJusticeOrders());
-            existingEntity.setSupportRatio(request.getSupportRatio());
-            existingEntity.setShiftTimes(request.getShiftTimes());
-            existingEntity.setSupportWorkerSpecs(request.getSupportWorkerSpecs());
+            setIfPresent(existingEntity::setIdentity, request.getIdentity());
+            setIfPresent(existingEntity::setCulture, request.getCulture());
+            setIfPresent(existingEntity::setLanguage, request.getLanguage());
+            setIfPresent(existingEntity::setDiagnosis, request.getDiagnosis());
+            setIfPresent(existingEntity::setMobility, request.getMobility());
+            setIfPresent(existingEntity::setCommunication, request.getCommunication());
+            setIfPresent(existingEntity::setMedicationSupport, request.getMedicationSupport());
+            setIfPresent(existingEntity::setTransportation, request.getTransportation());
+            setIfPresent(existingEntity::setJusticeOrders, request.getJusticeOrders());
+            setIfPresent(existingEntity::setSupportRatio, request.getSupportRatio());
+            setIfPresent(existingEntity::setShiftTimes, request.getShiftTimes());
+            setIfPresent(existingEntity::setSupportWorkerSpecs, request.getSupportWorkerSpecs());
             clientRepository.save(existingEntity);
 
             log.info("Updated the client for the given id {}", id);
@@ -485,6 +487,43 @@ public class ClientService {
         }
     }
 
+    /** Leaves a property the request does not carry as it is, like the versioned path does. */
+    private static <V> void setIfPresent(Consumer<V> setter, V value) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
+    private static LocalDate dob(String dob) {
+        return dob == null ? null : LocalDate.parse(dob, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+    }
+
+    private static VersionedUpdate<Client> setAdditional(
+            VersionedUpdate<Client> update, UpdateClientRequest request) {
+        return update.set(Client.Fields.identity, request.getIdentity())
+                .set(Client.Fields.culture, request.getCulture())
+                .set(Client.Fields.language, request.getLanguage())
+                .set(Client.Fields.diagnosis, request.getDiagnosis())
+                .set(Client.Fields.mobility, request.getMobility())
+                .set(Client.Fields.communication, request.getCommunication())
+                .set(Client.Fields.medicationSupport, request.getMedicationSupport())
+                .set(Client.Fields.transportation, request.getTransportation())
+                .set(Client.Fields.justiceOrders, request.getJusticeOrders())
+                .set(Client.Fields.supportRatio, request.getSupportRatio())
+                .set(Client.Fields.shiftTimes, request.getShiftTimes())
+                .set(Client.Fields.supportWorkerSpecs, request.getSupportWorkerSpecs());
+    }
+
+    private void updateIfVersion(VersionedUpdate<Client> update) throws ClientServiceException {
+        if (!clientRepository.updateIfVersion(update)) {
+            String errorMessage =
+                    String.format(
+                            "Client %d not found or changed since it was read", update.getId());
+            log.error(errorMessage);
+            throw new ClientServiceException(errorMessage);
+        }
+    }
+
     @PreAuthorize("@context.isAdmin()")
     public void storePhoto(
             InputStream data, long size, long clientId, String name, String contentType)
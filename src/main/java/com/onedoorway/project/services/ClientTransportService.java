@@ -11,9 +11,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -25,13 +22,16 @@ import org.springframework.transaction.annotation.Transactional;
 public class ClientTransportService {
     private final ClientTransportRepository clientTransportRepository;
     private final ClientRepository clientRepository;
+    private final DtoMapper dtoMapper;
 
     @Autowired
     public ClientTransportService(
             ClientTransportRepository clientTransportRepository,
-            ClientRepository clientRepository) {
+            ClientRepository clientRepository,
+            DtoMapper dtoMapper) {
         this.clientTransportRepository = clientTransportRepository;
         this.clientRepository = clientRepository;
+        this.dtoMapper = dtoMapper;
     }
 
     public void createClientTransport(ClientTransportRequest request)
@@ -85,9 +85,9 @@ public class ClientTransportService {
     }
 
     @PreAuthorize("@context.isAdmin()")
+    @Transactional(readOnly = true)
     public List<ClientTransportDTO> getClientTransport(long clientId)
             throws ClientTransportServiceException {
-        ModelMapper modelMapper = new ModelMapper();
         Optional<Client> client = clientRepository.findById(clientId);
         if (client.isEmpty()) {
             log.info("client not found {}", clientId);
@@ -101,7 +101,7 @@ public class ClientTransportService {
             throw new ClientTransportServiceException(errorMessage);
         }
         return clientTransport.stream()
-                .map(item -> modelMapper.map(item, ClientTransportDTO.class))
+                .map(item -> dtoMapper.map(item, ClientTransportDTO.class))
                 .collect(Collectors.toList());
     }
 
@@ -110,16 +110,7 @@ public class ClientTransportService {
         Optional<ClientTransport> clientTransport = clientTransportRepository.findById(id);
         if (clientTransport.isPresent()) {
             ClientTransport existingEntity = clientTransport.get();
-            ModelMapper mapper = new ModelMapper();
-            mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-            mapper.addMappings(
-                    new PropertyMap<UpdateClientTransportRequest, ClientTransport>() {
-                        @Override
-                        protected void configure() {
-                            skip(destination.getClient());
-                        }
-                    });
-            mapper.map(request, existingEntity);
+            dtoMapper.patch(request, existingEntity);
             existingEntity.setCarRegExpiry(
                     LocalDate.parse(
                             request.getCarRegExpiry(), DateTimeFormatter.ofPattern("yyyy-MM-dd")));
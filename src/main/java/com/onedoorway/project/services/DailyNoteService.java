@@ -1,5 +1,7 @@
 package com.onedoorway.project.services;
 
+import com.onedoorway.project.Context;
+import com.onedoorway.project.dto.CursorPage;
 import com.onedoorway.project.dto.DailyNoteDTO;
 import com.onedoorway.project.dto.DailyNoteRequest;
 import com.onedoorway.project.dto.SearchDailyNoteRequest;
@@ -12,20 +14,16 @@ import com.onedoorway.project.model.User;
 import com.onedoorway.project.repository.ClientRepository;
 import com.onedoorway.project.repository.DailyNoteRepository;
 import com.onedoorway.project.repository.HouseRepository;
-import com.onedoorway.project.repository.UserRepository;
+import com.onedoorway.project.util.Cursor;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,30 +32,32 @@ import org.springframework.transaction.annotation.Transactional;
 public class DailyNoteService {
     private final DailyNoteRepository dailyNoteRepository;
     private final HouseRepository houseRepository;
-    private final UserRepository userRepository;
+    private final Context context;
     private final ClientRepository clientRepository;
+    private final NoteSearchService noteSearchService;
 
     public DailyNoteService(
             @Autowired DailyNoteRepository dailyNoteRepository,
             @Autowired HouseRepository houseRepository,
-            @Autowired UserRepository userRepository,
-            @Autowired ClientRepository clientRepository) {
+            @Autowired Context context,
+            @Autowired ClientRepository clientRepository,
+            @Autowired NoteSearchService noteSearchService) {
         this.dailyNoteRepository = dailyNoteRepository;
         this.houseRepository = houseRepository;
-        this.userRepository = userRepository;
+        this.context = context;
         this.clientRepository = clientRepository;
+        this.noteSearchService = noteSearchService;
     }
 
     @Transactional
     public void createDailyNote(DailyNoteRequest request) throws DailyNoteServiceException {
         DailyNote dailyNote;
-        // 1. Get the user's email from token
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null) {
+        // 1. Get the user from the token
+        String email = context.currentUser();
+        if (email == null) {
             handleError("Unauthenticated session or no user found");
         }
-        String email = authentication.getName();
-        User user = userRepository.getByEmail(email);
+        User user = context.currentUserReference();
         if (user == null) {
             handleError("Unauthenticated session or no user found for email %s", email);
         }
@@ -103,6 +103,7 @@ public class DailyNoteService {
         }
         // 5. Save the entity
         dailyNoteRepository.save(dailyNote);
+        noteSearchService.indexDailyNote(dailyNote);
 
         log.info("Created the daily note");
     }
@@ -113,22 +114,19 @@ public class DailyNoteService {
         throw new DailyNoteServiceException(errorMessage);
     }
 
+    @Transactional(readOnly = true)
     public List<DailyNoteDTO> getNotesByCode(String houseCode) {
         List<DailyNoteDTO> res =
-                dailyNoteRepository
-                        .findByHouse_HouseCode(houseCode, Sort.by("createdAt").descending())
-                        .stream()
-                        .map(item -> new ModelMapper().map(item, DailyNoteDTO.class))
-                        .collect(Collectors.toList());
+                dailyNoteRepository.findListByHouseCode(
+                        houseCode, Sort.by("createdAt").descending());
         log.info("Fetched the daily notes based on houseCode {}", houseCode);
         return res;
     }
 
+    @Transactional(readOnly = true)
     public List<DailyNoteDTO> getDailyNotes(String houseCode, long userId) {
         List<DailyNoteDTO> res =
-                dailyNoteRepository.findByHouse_HouseCodeAndCreateBy_Id(houseCode, userId).stream()
-                        .map(item -> new ModelMapper().map(item, DailyNoteDTO.class))
-                        .collect(Collectors.toList());
+                dailyNoteRepository.findListByHouseCodeAndUserId(houseCode, userId);
         log.info("Fetched the daily notes based on houseCode {} and userId {}", houseCode, userId);
         return res;
     }
@@ -138,28 +136,48 @@ public class DailyNoteService {
         if (dailyNote.isPresent()) {
             log.info("Deleted daily note with id {}", id);
             dailyNoteRepository.delete(dailyNote.get());
+            noteSearchService.removeDailyNote(id);
         }
     }
 
-    public List<DailyNoteDTO> search(SearchDailyNoteRequest request) {
+    @Transactional(readOnly = true)
+    public CursorPage<DailyNoteDTO> search(SearchDailyNoteRequest request)
+            throws DailyNoteServiceException {
         log.info("Fetching the daily notes based on the request {}", request);
-        List<DailyNoteDTO> res =
-                dailyNoteRepository
-                        .findAllByHouse_HouseCodeAndClient_IdAndCreatedAtBetween(
-                                request.getHouseCode(),
-                                request.getClientId(),
-                                request.getStart(),
-                                request.getEnd(),
-                                PageRequest.of(
-                                        request.getPageNumber(),
-                                        request.getPageSize(),
-                                        Sort.by("createdAt").descending()))
-                        .stream()
-                        .map(item -> new ModelMapper().map(item, DailyNoteDTO.class))
-                        .collect(Collectors.toList());
+        Sort sort = Sort.by("createdAt").descending().and(Sort.by("id").descending());
+        List<DailyNoteDTO> res;
+        if (request.getAfter() == null) {
+            res =
+                    dailyNoteRepository.findListByHouseCodeAndClientIdAndCreatedAtBetween(
+                            request.getHouseCode(),
+                            request.getClientId(),
+                            request.getStart(),
+                            request.getEnd(),
+                            PageRequest.of(request.getPageNumber(), request.getPageSize(), sort));
+        } else {
+            Cursor<Instant> after;
+            try {
+                after = Cursor.decode(request.getAfter(), Instant::parse);
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid cursor {}", request.getAfter());
+                throw new DailyNoteServiceException("Invalid cursor " + request.getAfter());
+            }
+            res =
+                    dailyNoteRepository.findListByHouseCodeAndClientIdAndCreatedAtBetweenAfter(
+                            request.getHouseCode(),
+                            request.getClientId(),
+                            request.getStart(),
+                            request.getEnd(),
+                            after.getKey(),
+                            after.getId(),
+                            PageRequest.of(0, request.getPageSize(), sort));
+        }
 
         log.info("Fetched the daily notes based on the request");
-        return res;
+        return CursorPage.of(
+                res,
+                request.getPageSize(),
+                item -> Cursor.encode(item.getCreatedAt(), item.getId()));
     }
 
     public void updateDailyNote(UpdateDailyNoteRequest request) throws DailyNoteServiceException {
@@ -186,6 +204,7 @@ public class DailyNoteService {
             note.setNote(request.getNote());
         }
         dailyNoteRepository.save(note);
+        noteSearchService.indexDailyNote(note);
         log.info(
                 "Updated the daily notes {} with  new note {} and given startTime{} and endTIme{}",
                 request.getId(),
@@ -0,0 +1,314 @@
+package com.onedoorway.project.services;
+
+import com.onedoorway.project.dto.*;
+import com.onedoorway.project.model.*;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.modelmapper.Conditions;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.PropertyMap;
+import org.modelmapper.config.Configuration;
+import org.modelmapper.convention.MatchingStrategies;
+import org.springframework.stereotype.Component;
+
+/**
+ * The one place entities and DTOs are mapped. Building a ModelMapper type map means introspecting
+ * both classes, so every pair the services use is built here once, at startup, where a bad mapping
+ * also fails fast. After configuration the mappers are only read and are safe to share.
+ */
+@Component
+public class DtoMapper {
+    /** {@code User} to {@code UserDTO} for the user list, where houses are house codes. */
+    public static final String USER_LIST = "userList";
+
+    // entity -> DTO pairs with implicit mappings, built ahead of the first request
+    private static final Class<?>[][] IMPLICIT_PAIRS = {
+        {BowelNote.class, BowelNoteDTO.class},
+        {CaseNote.class, CaseNoteDTO.class},
+        {Client.class, ClientDTO.class},
+        {ClientAllowances.class, ClientAllowancesDTO.class},
+        {ClientContact.class, ClientContactDTO.class},
+        {ClientDocument.class, ClientDocument.class},
+        {ClientReport.class, ClientReportDTO.class},
+        {ClientTransport.class, ClientTransportDTO.class},
+        {Folder.class, FolderDTO.class},
+        {FoodDiaryNote.class, FoodDiaryNoteDTO.class},
+        {HouseContact.class, HouseContactDTO.class},
+        {Incident.class, IncidentDTO.class},
+        {Incident.class, ListGraphDTO.class},
+        {IncidentReview.class, IncidentReviewDTO.class},
+        {Lookup.class, LookupDTO.class},
+        {MiscellaneousNote.class, MiscellaneousNoteDTO.class},
+        {NightReport.class, NightReportDTO.class},
+        {PowerOfAttorney.class, PowerOfAttorneyDTO.class},
+        {Role.class, RoleDTO.class},
+        {ServiceProvider.class, ServiceProviderDTO.class},
+        {SleepTrackerNotes.class, SleepTrackerNotesDTO.class},
+        {User.class, GetUserDTO.class}
+    };
+
+    private final ModelMapper mapper = new ModelMapper();
+    private final ModelMapper patchMapper = new ModelMapper();
+
+    public DtoMapper() {
+        patchMapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
+        // nested houses and users go through these, so they are set up before the pairs
+        mapper.typeMap(House.class, HouseDTO.class)
+                .addMappings(
+                        m -> {
+                            // the house list fills in the totals itself
+                            m.skip(HouseDTO::setTotalClients);
+                            m.skip(HouseDTO::setTotalUsers);
+                        });
+        // nested users, e.g. the author of a notice, have no role names
+        mapper.typeMap(User.class, UserDTO.class).addMappings(m -> m.skip(UserDTO::setRoleNames));
+        for (Class<?>[] pair : IMPLICIT_PAIRS) {
+            mapper.typeMap(pair[0], pair[1]);
+        }
+        configureReadMappings();
+        configureCreateMappings();
+        configurePatchMappings();
+        // every destination property is mapped or skipped on purpose, or startup fails here
+        mapper.validate();
+        patchMapper.validate();
+    }
+
+    public <D> D map(Object source, Class<D> destinationType) {
+        return mapper.map(source, destinationType);
+    }
+
+    public <D> D map(Object source, Class<D> destinationType, String typeMapName) {
+        return mapper.map(source, destinationType, typeMapName);
+    }
+
+    public <D> List<D> mapAll(Collection<?> sources, Class<D> destinationType) {
+        return sources.stream()
+                .map(source -> mapper.map(source, destinationType))
+                .collect(Collectors.toList());
+    }
+
+    /** Copies the non-null properties of {@code source} onto an existing entity. */
+    public void patch(Object source, Object destination) {
+        patchMapper.map(source, destination);
+    }
+
+    private void configureReadMappings() {
+        Configuration strict =
+                mapper.getConfiguration().copy().setMatchingStrategy(MatchingStrategies.STRICT);
+        mapper.createTypeMap(HandoverSummary.class, HandoverSummaryDTO.class, strict)
+                .addMappings(
+                        m -> {
+                            m.map(
+                                    src -> src.getHouse().getHouseCode(),
+                                    HandoverSummaryDTO::setHouseCode);
+                            m.map(
+                                    HandoverSummary::getHandoverById,
+                                    HandoverSummaryDTO::setHandoverBy);
+                            m.map(
+                                    HandoverSummary::getHandoverToId,
+                                    HandoverSummaryDTO::setHandoverTo);
+                        });
+        mapper.createTypeMap(Client.class, ClientDetailDTO.class)
+                .addMappings(
+                        m -> {
+                            m.map(
+                                    Client::getIndividualReferenceNumber,
+                                    ClientDetailDTO::setIndividualReferenceNumber);
+                            m.map(
+                                    Client::getMedicareCardName,
+                                    ClientDetailDTO::setMedicareCardName);
+                        });
+        mapper.createTypeMap(User.class, UserDTO.class, USER_LIST)
+                .addMappings(
+                        m -> {
+                            m.using(new RoleListConverter())
+                                    .map(User::getRoles, UserDTO::setRoleNames);
+                            m.using(new HouseCodeConverter())
+                                    .map(User::getHouses, UserDTO::setHouses);
+                        });
+        mapper.typeMap(IncidentReview.class, IncidentReviewDTO.class)
+                .addMappings(
+                        m ->
+                                m.map(
+                                        src -> src.getIncident().getReviewedBy(),
+                                        IncidentReviewDTO::setReviewedBy));
+        mapper.createTypeMap(Notice.class, NoticeDTO.class)
+                .addMappings(
+                        m ->
+                                m.using(new HouseListConverter(mapper))
+                                        .map(Notice::getHouses, NoticeDTO::setHouses));
+    }
+
+    private void configureCreateMappings() {
+        mapper.addMappings(
+                new PropertyMap<HouseContactRequest, HouseContact>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getId());
+                        skip(destination.getHouses());
+                        skip(destination.getStatus());
+                        skip(destination.getLastUpdatedAt());
+                    }
+                });
+        mapper.addMappings(
+                new PropertyMap<NightReportRequest, NightReport>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getClient());
+                    }
+                });
+        mapper.addMappings(
+                new PropertyMap<IncidentReviewDTO, IncidentReview>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getIncident());
+                        // parsed by the service from its yyyy-MM-dd form
+                        skip(destination.getDueDate());
+                    }
+                });
+    }
+
+    // request -> existing entity pairs, copied with null properties left alone. A request carries
+    // only some of the entity, so whatever it does not carry, or the service sets itself, is skipped
+    private void configurePatchMappings() {
+        patchMapper.addMappings(
+                new PropertyMap<UpdateClientRequest, Client>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getId());
+                        // medicareCardName would otherwise also land on the name
+                        skip(destination.getName());
+                        skip(destination.getGender());
+                        skip(destination.getDob());
+                        skip(destination.getEmail());
+                        skip(destination.getPhone());
+                        skip(destination.getAddrLine1());
+                        skip(destination.getAddrLine2());
+                        skip(destination.getCity());
+                        skip(destination.getState());
+                        skip(destination.getPostCode());
+                        skip(destination.getExpiryDate());
+                        skip(destination.getNdisNumber());
+                        skip(destination.getPhoto());
+                        skip(destination.getHouse());
+                        skip(destination.getDeleted());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<UpdateClientNDISPlanRequest, ClientNDISPlan>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getId());
+                        // deleted would otherwise also land on the client
+                        skip(destination.getClient());
+                        skip(destination.getStartDate());
+                        skip(destination.getEndDate());
+                        skip(destination.getSupportDocument());
+                        skip(destination.getOtherDocument());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<UpdatePowerOfAttorneyRequest, PowerOfAttorney>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getId());
+                        skip(destination.getClient());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<UpdateHouseContactRequest, HouseContact>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getId());
+                        skip(destination.getHouses());
+                        skip(destination.getLastUpdatedAt());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<IncidentReviewDTO, IncidentReview>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getIncident());
+                        // parsed by the service from its yyyy-MM-dd form
+                        skip(destination.getDueDate());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<UpdateClientContactRequest, ClientContact>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getId());
+                        skip(destination.getClient());
+                        skip(destination.getLastUpdatedAt());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<UpdateFolderRequest, Folder>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getClient());
+                        skip(destination.getLastUpdatedAt());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<NightReportRequest, NightReport>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getClient());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<UpdateClientTransportRequest, ClientTransport>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getId());
+                        skip(destination.getCarRegExpiry());
+                        skip(destination.getClient());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<FoodDiaryNoteRequest, FoodDiaryNote>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getClient());
+                        skip(destination.getMealTime());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<UpdateClientAllowancesRequest, ClientAllowances>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getId());
+                        skip(destination.getClient());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<UpdateServiceProviderRequest, ServiceProvider>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getId());
+                        skip(destination.getClient());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<UpdateSleepTrackerRequest, SleepTrackerNotes>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getId());
+                        skip(destination.getClient());
+                        skip(destination.getReportDate());
+                    }
+                });
+        patchMapper.addMappings(
+                new PropertyMap<UpdateBowelNoteRequest, BowelNote>() {
+                    @Override
+                    protected void configure() {
+                        skip(destination.getId());
+                        skip(destination.getClient());
+                        skip(destination.getRecordTime());
+                        skip(destination.getStartDate());
+                    }
+                });
+    }
+}
@@ -80,6 +80,7 @@ public class EmergencyPlanService {
         log.info("Upserted the data for {} in container for house {}", fileType, houseCode);
     }
 
+    @Transactional(readOnly = true)
     public EmergencyPlanDTO getPlanUrl(GetEmergencyPlanRequest request)
             throws EmergencyPlanServiceException, URISyntaxException, InvalidKeyException,
                     StorageException {
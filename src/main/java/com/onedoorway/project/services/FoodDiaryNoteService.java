@@ -5,6 +5,7 @@ import com.onedoorway.project.dto.FoodDiaryNoteDTO;
 import com.onedoorway.project.dto.FoodDiaryNoteRequest;
 import com.onedoorway.project.dto.ParticularFoodDiaryNoteRequest;
 import com.onedoorway.project.exception.FoodDiaryNoteServiceException;
+import com.onedoorway.project.model.ArchiveRecordType;
 import com.onedoorway.project.model.Client;
 import com.onedoorway.project.model.FoodDiaryNote;
 import com.onedoorway.project.model.MealType;
@@ -17,9 +18,6 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,15 +29,21 @@ public class FoodDiaryNoteService {
     private final FoodDiaryNoteRepository foodDiaryNoteRepository;
     private final ClientRepository clientRepository;
     private final Context context;
+    private final DtoMapper dtoMapper;
+    private final ArchiveService archiveService;
 
     @Autowired
     public FoodDiaryNoteService(
             FoodDiaryNoteRepository foodDiaryNoteRepository,
             ClientRepository clientRepository,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper,
+            ArchiveService archiveService) {
         this.foodDiaryNoteRepository = foodDiaryNoteRepository;
         this.clientRepository = clientRepository;
         this.context = context;
+        this.dtoMapper = dtoMapper;
+        this.archiveService = archiveService;
     }
 
     public void createFoodReport(FoodDiaryNoteRequest request)
@@ -55,18 +59,6 @@ public class FoodDiaryNoteService {
         MealType mealType = MealType.valueOf(request.getMealType());
         log.info("meal type is {}", mealType);
 
-        if (foodDiaryNoteRepository.findByClient_IdAndMealTypeAndReportDate(
-                        request.getClientId(), mealType, request.getReportDate())
-                != null) {
-            log.error(
-                    "food diary already exists for meal type {} and client id {} for report date {}",
-                    mealType,
-                    request.getClientId(),
-                    request.getReportDate());
-            throw new FoodDiaryNoteServiceException(
-                    "food diary already exists for meal type and client id for the given date");
-        }
-
         FoodDiaryNote foodDiaryNote =
                 FoodDiaryNote.builder()
                         .client(client.get())
@@ -82,13 +74,25 @@ public class FoodDiaryNoteService {
                         .reportDate(request.getReportDate())
                         .lastUpdatedAt(context.now())
                         .build();
-        foodDiaryNoteRepository.save(foodDiaryNote);
+        if (archiveService.isArchived(
+                        ArchiveRecordType.FOOD_DIARY_NOTE,
+                        ArchiveService.key(
+                                request.getClientId(), request.getReportDate(), mealType))
+                || !foodDiaryNoteRepository.insertIfAbsent(foodDiaryNote)) {
+            log.error(
+                    "food diary already exists for meal type {} and client id {} for report date {}",
+                    mealType,
+                    request.getClientId(),
+                    request.getReportDate());
+            throw new FoodDiaryNoteServiceException(
+                    "food diary already exists for meal type and client id for the given date");
+        }
         log.info("Created report with id {}", foodDiaryNote.getId());
     }
 
+    @Transactional(readOnly = true)
     public FoodDiaryNoteDTO getFoodDiaryNote(long clientId, String mealType)
             throws FoodDiaryNoteServiceException {
-        ModelMapper modelMapper = new ModelMapper();
         LocalDate date = LocalDate.now();
         Optional<Client> client = clientRepository.findById(clientId);
         if (client.isEmpty()) {
@@ -106,7 +110,7 @@ public class FoodDiaryNoteService {
             log.error(errorMessage);
             throw new FoodDiaryNoteServiceException(errorMessage);
         }
-        return modelMapper.map(foodDiaryNote, FoodDiaryNoteDTO.class);
+        return dtoMapper.map(foodDiaryNote, FoodDiaryNoteDTO.class);
     }
 
     public void updateFoodDiaryNote(Long id, FoodDiaryNoteRequest request)
@@ -131,16 +135,7 @@ public class FoodDiaryNoteService {
         }
 
         FoodDiaryNote existingEntity = foodDiaryNote.get();
-        ModelMapper mapper = new ModelMapper();
-        mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-        mapper.addMappings(
-                new PropertyMap<FoodDiaryNoteRequest, FoodDiaryNote>() {
-                    @Override
-                    protected void configure() {
-                        skip(destination.getClient());
-                    }
-                });
-        mapper.map(request, existingEntity);
+        dtoMapper.patch(request, existingEntity);
         existingEntity.setMealTime(
                 LocalDateTime.parse(
                         request.getMealTime(), DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
@@ -149,9 +144,9 @@ public class FoodDiaryNoteService {
         log.info("Updated the food diary for the given id {}", request.getId());
     }
 
+    @Transactional(readOnly = true)
     public FoodDiaryNoteDTO getParticularFoodDiaryNote(ParticularFoodDiaryNoteRequest request)
             throws FoodDiaryNoteServiceException {
-        ModelMapper modelMapper = new ModelMapper();
         LocalDate date = LocalDate.parse(request.getReportDate());
         Optional<Client> client = clientRepository.findById(request.getClientId());
         if (client.isEmpty()) {
@@ -164,12 +159,20 @@ public class FoodDiaryNoteService {
                 foodDiaryNoteRepository.findByClient_IdAndMealTypeAndReportDate(
                         request.getClientId(), type, date);
         if (foodDiaryNote == null) {
+            Optional<FoodDiaryNoteDTO> archived =
+                    archiveService.read(
+                            ArchiveRecordType.FOOD_DIARY_NOTE,
+                            ArchiveService.key(request.getClientId(), date, type),
+                            FoodDiaryNoteDTO.class);
+            if (archived.isPresent()) {
+                return archived.get();
+            }
             String errorMessage =
                     String.format(
                             "Cannot get an food diary for the client %d", request.getClientId());
             log.error(errorMessage);
             throw new FoodDiaryNoteServiceException(errorMessage);
         }
-        return modelMapper.map(foodDiaryNote, FoodDiaryNoteDTO.class);
+        return dtoMapper.map(foodDiaryNote, FoodDiaryNoteDTO.class);
     }
 }
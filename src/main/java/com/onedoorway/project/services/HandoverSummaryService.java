@@ -1,6 +1,7 @@
 package com.onedoorway.project.services;
 
 import com.onedoorway.project.Context;
+import com.onedoorway.project.dto.CursorPage;
 import com.onedoorway.project.dto.HandoverSummaryDTO;
 import com.onedoorway.project.dto.HandoverSummaryRequest;
 import com.onedoorway.project.dto.ListHandoverSummaryRequest;
@@ -13,18 +14,15 @@ import com.onedoorway.project.model.User;
 import com.onedoorway.project.repository.HandoverSummaryRepository;
 import com.onedoorway.project.repository.HouseRepository;
 import com.onedoorway.project.repository.UserRepository;
+import com.onedoorway.project.util.Cursor;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,17 +35,23 @@ public class HandoverSummaryService {
     private final HouseRepository houseRepository;
     private final UserRepository userRepository;
     private final Context context;
+    private final DtoMapper dtoMapper;
+    private final NoteSearchService noteSearchService;
 
     @Autowired
     public HandoverSummaryService(
             HandoverSummaryRepository handoverSummaryRepository,
             HouseRepository houseRepository,
             UserRepository userRepository,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper,
+            NoteSearchService noteSearchService) {
         this.handoverSummaryRepository = handoverSummaryRepository;
         this.houseRepository = houseRepository;
         this.userRepository = userRepository;
         this.context = context;
+        this.dtoMapper = dtoMapper;
+        this.noteSearchService = noteSearchService;
     }
 
     public void createHandoverSummary(HandoverSummaryRequest request)
@@ -55,7 +59,7 @@ public class HandoverSummaryService {
         log.info("Creating handOver summary for house code {}", request.getHouseCode());
 
         String email = context.currentUser();
-        User user = userRepository.getByEmail(email);
+        User user = context.currentUserReference();
         if (user == null) {
             handleError("Unauthenticated session or no user found for email %s", email);
         }
@@ -98,45 +102,49 @@ public class HandoverSummaryService {
                         .lastUpdatedAt(context.now())
                         .build();
         handoverSummaryRepository.save(handoverSummary);
+        noteSearchService.indexHandoverSummary(handoverSummary);
 
         log.info("Created handOver with id {}", handoverSummary.getId());
     }
 
-    public List<HandoverSummaryDTO> listHandoverSummary(ListHandoverSummaryRequest request) {
+    @Transactional(readOnly = true)
+    public CursorPage<HandoverSummaryDTO> listHandoverSummary(ListHandoverSummaryRequest request)
+            throws HandoverSummaryServiceException {
         List<HandoverSummary> res;
-        Pageable page =
-                PageRequest.of(
-                        request.getPageNumber(),
-                        request.getPageSize(),
-                        Sort.by("handoverDate").descending());
-        ModelMapper modelMapper = new ModelMapper();
-
-        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        Sort sort = Sort.by("handoverDate").descending().and(Sort.by("id").descending());
         log.info("Fetching hand over summary based on request {}", request);
-        res =
-                handoverSummaryRepository.findAllByHouse_HouseCodeAndHandoverDateBetween(
-                        request.getHouseCode(),
-                        LocalDate.parse(request.getStart()),
-                        LocalDate.parse(request.getEnd()),
-                        page);
+        if (request.getAfter() == null) {
+            res =
+                    handoverSummaryRepository.findAllByHouse_HouseCodeAndHandoverDateBetween(
+                            request.getHouseCode(),
+                            LocalDate.parse(request.getStart()),
+                            LocalDate.parse(request.getEnd()),
+                            PageRequest.of(request.getPageNumber(), request.getPageSize(), sort));
+        } else {
+            Cursor<LocalDate> after = decodeCursor(request.getAfter());
+            res =
+                    handoverSummaryRepository.findAllByHouseCodeAndHandoverDateBetweenAfter(
+                            request.getHouseCode(),
+                            LocalDate.parse(request.getStart()),
+                            LocalDate.parse(request.getEnd()),
+                            after.getKey(),
+                            after.getId(),
+                            PageRequest.of(0, request.getPageSize(), sort));
+        }
         log.info("Fetched the hand over summary based on the request");
-        modelMapper
-                .typeMap(HandoverSummary.class, HandoverSummaryDTO.class)
-                .addMappings(
-                        mapper -> {
-                            mapper.map(
-                                    src -> src.getHouse().getHouseCode(),
-                                    HandoverSummaryDTO::setHouseCode);
-                            mapper.map(
-                                    src -> src.getHandoverById(),
-                                    HandoverSummaryDTO::setHandoverBy);
-                            mapper.map(
-                                    src -> src.getHandoverToId(),
-                                    HandoverSummaryDTO::setHandoverTo);
-                        });
-        return res.stream()
-                .map(item -> modelMapper.map(item, HandoverSummaryDTO.class))
-                .collect(Collectors.toList());
+        return CursorPage.of(
+                dtoMapper.mapAll(res, HandoverSummaryDTO.class),
+                request.getPageSize(),
+                item -> Cursor.encode(item.getHandoverDate(), item.getId()));
+    }
+
+    private Cursor<LocalDate> decodeCursor(String token) throws HandoverSummaryServiceException {
+        try {
+            return Cursor.decode(token, LocalDate::parse);
+        } catch (IllegalArgumentException e) {
+            handleError("Invalid cursor %s", token);
+            return null;
+        }
     }
 
     private void handleError(String message, String... params)
@@ -158,8 +166,8 @@ public class HandoverSummaryService {
         }
 
         String email = context.currentUser();
-        User user = userRepository.getByEmail(email);
-        if (user == null) {
+        Long userId = context.currentUserId();
+        if (userId == null) {
             handleError("Unauthenticated session or no user found for email %s", email);
         }
 
@@ -191,6 +199,7 @@ public class HandoverSummaryService {
         existingEntity.setLastUpdatedAt(context.now());
 
         handoverSummaryRepository.save(existingEntity);
+        noteSearchService.indexHandoverSummary(existingEntity);
         log.info("Updated the handover summary for the given id {}", id);
     }
 }
@@ -0,0 +1,77 @@
+package com.onedoorway.project.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.onedoorway.project.repository.ClientRepository;
+import com.onedoorway.project.repository.HouseRepository;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves house codes and client ids to house ids for the access checks. Lookups, including the
+ * ones that find nothing, are kept for a bounded time, so an unknown code costs one query per TTL
+ * and a change made on another instance shows up when its entry expires. Changes made here evict
+ * the affected entries straight away.
+ */
+@Service
+public class HouseDirectory {
+    private final HouseRepository houseRepository;
+    private final ClientRepository clientRepository;
+    private final Cache<String, Optional<Long>> houseIdsByCode;
+    private final Cache<Long, Optional<Long>> houseIdsByClient;
+
+    @Autowired
+    public HouseDirectory(
+            HouseRepository houseRepository,
+            ClientRepository clientRepository,
+            @Value("${odw.house.directory-ttl-ms:60000}") long ttlMillis,
+            @Value("${odw.house.directory-max-size:10000}") long maxSize) {
+        this.houseRepository = houseRepository;
+        this.clientRepository = clientRepository;
+        this.houseIdsByCode = cache(ttlMillis, maxSize);
+        this.houseIdsByClient = cache(ttlMillis, maxSize);
+    }
+
+    public Long houseIdOf(String houseCode) {
+        if (houseCode == null) {
+            return null;
+        }
+        return houseIdsByCode
+                .get(houseCode, code -> Optional.ofNullable(houseRepository.findIdByHouseCode(code)))
+                .orElse(null);
+    }
+
+    public Long houseIdOfClient(Long clientId) {
+        if (clientId == null) {
+            return null;
+        }
+        return houseIdsByClient
+                .get(clientId, id -> Optional.ofNullable(clientRepository.findHouseIdById(id)))
+                .orElse(null);
+    }
+
+    public void evictClient(long clientId) {
+        houseIdsByClient.invalidate(clientId);
+    }
+
+    public void evictHouse(long houseId) {
+        houseIdsByCode.asMap().values().removeIf(id -> id.isPresent() && id.get() == houseId);
+    }
+
+    // a code looked up before its house existed is cached as missing
+    public void evictHouseCode(String houseCode) {
+        if (houseCode != null) {
+            houseIdsByCode.invalidate(houseCode);
+        }
+    }
+
+    private static <K> Cache<K, Optional<Long>> cache(long ttlMillis, long maxSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+}
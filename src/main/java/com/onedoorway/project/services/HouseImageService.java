@@ -83,6 +83,7 @@ public class HouseImageService {
                 lastUploadedBy);
     }
 
+    @Transactional(readOnly = true)
     public String getImageUrl(GetHouseImageRequest request)
             throws URISyntaxException, InvalidKeyException, StorageException {
         Optional<HouseImage> houseImage =
@@ -9,11 +9,16 @@ import org.modelmapper.AbstractConverter;
 import org.modelmapper.ModelMapper;
 
 public class HouseListConverter extends AbstractConverter<Set<House>, List<HouseDTO>> {
+    private final ModelMapper modelMapper;
+
+    public HouseListConverter(ModelMapper modelMapper) {
+        this.modelMapper = modelMapper;
+    }
 
     @Override
     protected List<HouseDTO> convert(Set<House> houses) {
         return houses.stream()
-                .map(item -> new ModelMapper().map(item, HouseDTO.class))
+                .map(item -> modelMapper.map(item, HouseDTO.class))
                 .collect(Collectors.toList());
     }
 }
@@ -9,13 +9,12 @@ import com.onedoorway.project.repository.HouseContactRepository;
 import com.onedoorway.project.repository.HouseRepository;
 import com.onedoorway.project.repository.UserRepository;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -34,6 +33,11 @@ public class HouseService {
     private final UserRepository userRepository;
     private final HouseContactRepository houseContactRepository;
     private final Context context;
+    private final SecurityStampService securityStampService;
+    private final HouseDirectory houseDirectory;
+    private final HouseSummaryCache houseSummaryCache;
+    private final DtoMapper dtoMapper;
+    private final SearchIndex searchIndex;
 
     @Autowired
     public HouseService(
@@ -41,12 +45,22 @@ public class HouseService {
             ClientRepository clientRepository,
             UserRepository userRepository,
             HouseContactRepository houseContactRepository,
-            Context context) {
+            Context context,
+            SecurityStampService securityStampService,
+            HouseDirectory houseDirectory,
+            HouseSummaryCache houseSummaryCache,
+            DtoMapper dtoMapper,
+            SearchIndex searchIndex) {
         this.houseRepository = houseRepository;
         this.clientRepository = clientRepository;
         this.userRepository = userRepository;
         this.houseContactRepository = houseContactRepository;
         this.context = context;
+        this.securityStampService = securityStampService;
+        this.houseDirectory = houseDirectory;
+        this.houseSummaryCache = houseSummaryCache;
+        this.dtoMapper = dtoMapper;
+        this.searchIndex = searchIndex;
     }
 
     @PreAuthorize("@context.isAdmin()")
@@ -65,6 +79,9 @@ public class HouseService {
                             .postCode(request.getPostCode())
                             .build();
             houseRepository.save(house);
+            searchIndex.putHouse(house);
+            houseDirectory.evictHouseCode(house.getHouseCode());
+            houseSummaryCache.invalidate();
             log.info("Created the house with houseCode {}", request.getHouseCode());
         } else {
             log.error("House with the same houseCode {} already exists.", request.getHouseCode());
@@ -72,10 +89,11 @@ public class HouseService {
         }
     }
 
+    @Transactional(readOnly = true)
     public HouseDTO getHouseByCode(GetHouseByCodeRequest request) throws HouseServiceException {
         House house = getHouse(request.getHouseCode());
         log.info("Fetched the house with houseCode {}", request.getHouseCode());
-        return new ModelMapper().map(house, HouseDTO.class);
+        return dtoMapper.map(house, HouseDTO.class);
     }
 
     private House getHouse(String houseCode) throws HouseServiceException {
@@ -89,10 +107,12 @@ public class HouseService {
         return house;
     }
 
+    @PreAuthorize("@context.canAccessHouse(#request.houseCode)")
+    @Transactional(readOnly = true)
     public List<ClientDTO> getClientsByHouse(GetClientsByHouseRequest request) {
         List<ClientDTO> res =
                 clientRepository.findByHouse_HouseCode(request.getHouseCode()).stream()
-                        .map(item -> new ModelMapper().map(item, ClientDTO.class))
+                        .map(item -> dtoMapper.map(item, ClientDTO.class))
                         .collect(Collectors.toList());
         log.info("Fetched the clients with houseCode {}", request.getHouseCode());
         return res;
@@ -105,6 +125,9 @@ public class HouseService {
             Client clientToUpdate = client.get();
             clientToUpdate.setHouse(house);
             clientRepository.save(clientToUpdate);
+            searchIndex.putClient(clientToUpdate);
+            houseDirectory.evictClient(clientId);
+            houseSummaryCache.invalidate();
             log.info(
                     "Mapped the client with clientId {} and to the house with houseCode {}",
                     clientId,
@@ -121,7 +144,10 @@ public class HouseService {
         User user = userRepository.getById(userId);
         if (user != null) {
             user.getHouses().add(house);
+            securityStampService.bump(user);
             userRepository.save(user);
+            searchIndex.putUser(user);
+            houseSummaryCache.invalidate();
             log.info(
                     "Mapped the user with userId {} and to the house with houseCode {}",
                     userId,
@@ -132,14 +158,20 @@ public class HouseService {
         }
     }
 
+    @Transactional(readOnly = true)
     public boolean isUserInHouse(String userName, String houseCode) throws HouseServiceException {
-        House house = getHouse(houseCode);
-        User user = userRepository.getByEmail(userName);
+        Long houseId = houseDirectory.houseIdOf(houseCode);
+        if (houseId == null) {
+            String errorMessage =
+                    String.format("Cannot get a house for the house code %s", houseCode);
+            log.error(errorMessage);
+            throw new HouseServiceException(errorMessage);
+        }
         log.info(
                 "Checking for mapping for the user with userName {} and with houseCode {}",
                 userName,
                 houseCode);
-        return user.getHouses().contains(house);
+        return userRepository.existsByEmailAndHouses_Id(userName, houseId);
     }
 
     public void removeClient(String houseCode, long clientId) throws HouseServiceException {
@@ -149,28 +181,30 @@ public class HouseService {
         houseRepository.save(house);
         client.setHouse(null);
         clientRepository.save(client);
+        searchIndex.putClient(client);
+        houseDirectory.evictClient(clientId);
+        houseSummaryCache.invalidate();
         log.info("Removed the client {} from house {}", clientId, houseCode);
     }
 
+    @Transactional(readOnly = true)
     public List<HouseDTO> listAllHouses() {
+        List<HouseDTO> houses = houseSummaryCache.summaries();
+        log.info("Fetched {} houses", houses.size());
+        return houses;
+    }
+
+    @Transactional(readOnly = true)
+    public List<HouseDTO> searchHouses(String houseCode) {
+        Map<Long, HouseDTO> byId =
+                houseSummaryCache.summaries().stream()
+                        .collect(Collectors.toMap(HouseDTO::getId, house -> house));
         List<HouseDTO> houses =
-                houseRepository.findAllByDeleted(false).stream()
-                        .map(item -> new ModelMapper().map(item, HouseDTO.class))
+                searchIndex.searchHouses(houseCode).stream()
+                        .map(byId::get)
+                        .filter(Objects::nonNull)
                         .collect(Collectors.toList());
-
-        Long userCount;
-        Long clients;
-        for (HouseDTO house : houses) {
-            log.info(String.valueOf(house));
-            userCount =
-                    userRepository.countByHouses_HouseCodeAndDeleted(house.getHouseCode(), false);
-            house.setTotalUsers(userCount);
-            log.info(String.valueOf(userCount));
-            clients =
-                    clientRepository.countByHouse_HouseCodeAndDeleted(house.getHouseCode(), false);
-            house.setTotalClients(clients);
-        }
-
+        log.info("Found {} houses for {}", houses.size(), houseCode);
         return houses;
     }
 
@@ -188,6 +222,10 @@ public class HouseService {
             newHouse.setPostCode(request.getPostCode());
             newHouse.setDeleted(request.getDeleted());
             houseRepository.save(newHouse);
+            searchIndex.putHouse(newHouse);
+            houseDirectory.evictHouse(id);
+            houseDirectory.evictHouseCode(newHouse.getHouseCode());
+            houseSummaryCache.invalidate();
             log.info("Updated the house with the id {}", id);
         } else {
             log.info("house with id {} not found", id);
@@ -197,8 +235,8 @@ public class HouseService {
 
     public void createHouseContact(HouseContactRequest request) throws HouseServiceException {
         String email = context.currentUser();
-        User user = userRepository.getByEmail(email);
-        if (user == null) {
+        Long userId = context.currentUserId();
+        if (userId == null) {
             handleError("Unauthenticated session or no user found for email %s", email);
         }
         log.info("Creating houseContact for house with houseCode {}", request.getHouseCode());
@@ -208,15 +246,7 @@ public class HouseService {
                         .map(houseRepository::getByHouseCode)
                         .collect(Collectors.toSet());
         log.info("houseSet {}", houseSet);
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.addMappings(
-                new PropertyMap<HouseContactRequest, HouseContact>() {
-                    @Override
-                    protected void configure() {
-                        skip(destination.getHouses());
-                    }
-                });
-        HouseContact houseContact = modelMapper.map(request, HouseContact.class);
+        HouseContact houseContact = dtoMapper.map(request, HouseContact.class);
         houseContact.setHouses(houseSet);
         houseContact.setStatus(NoticeStatus.ACTIVE);
         houseContact.setLastUpdatedAt(context.now());
@@ -224,13 +254,14 @@ public class HouseService {
         log.info("Created the houseContact for house with houseCode {}", houseContact.getId());
     }
 
+    @Transactional(readOnly = true)
     public HouseContactDTO getHouseContactById(long id) throws HouseServiceException {
         Optional<HouseContact> houseContact = houseContactRepository.findById(id);
         if (houseContact.isEmpty()) {
             throw new HouseServiceException("No houseContact found with id " + id);
         }
         log.info("Fetched the HouseContacts based on id {}", id);
-        return new ModelMapper().map(houseContact.get(), HouseContactDTO.class);
+        return dtoMapper.map(houseContact.get(), HouseContactDTO.class);
     }
 
     public void updateHouseContact(Long id, UpdateHouseContactRequest request)
@@ -244,16 +275,7 @@ public class HouseService {
         Optional<HouseContact> houseContact = houseContactRepository.findById(id);
         if (houseContact.isPresent()) {
             HouseContact existingHouseContact = houseContact.get();
-            ModelMapper mapper = new ModelMapper();
-            mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-            mapper.addMappings(
-                    new PropertyMap<UpdateHouseContactRequest, HouseContact>() {
-                        @Override
-                        protected void configure() {
-                            skip(destination.getHouses());
-                        }
-                    });
-            mapper.map(request, existingHouseContact);
+            dtoMapper.patch(request, existingHouseContact);
             if (StringUtils.hasText(request.getStatus())) {
                 existingHouseContact.setStatus(NoticeStatus.valueOf(request.getStatus()));
             }
@@ -272,6 +294,7 @@ public class HouseService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<HouseContactDTO> listHouseContacts(ListHouseContactRequest request) {
         List<HouseContact> res;
         Pageable page =
@@ -287,7 +310,7 @@ public class HouseService {
         }
         log.info("Fetched the houseContacts with houseCode {}", request.getHouseCode());
         return res.stream()
-                .map(item -> new ModelMapper().map(item, HouseContactDTO.class))
+                .map(item -> dtoMapper.map(item, HouseContactDTO.class))
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,63 @@
+package com.onedoorway.project.services;
+
+import com.onedoorway.project.dto.HouseDTO;
+import com.onedoorway.project.repository.HouseRepository;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * The house list with client and user counts, loaded in one query and kept for a few seconds.
+ * Changes to house membership invalidate it; anything else, such as a client being deleted, shows
+ * up when it expires.
+ */
+@Service
+public class HouseSummaryCache {
+    private final HouseRepository houseRepository;
+    private final long ttlNanos;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Summary summary;
+
+    @Autowired
+    public HouseSummaryCache(
+            HouseRepository houseRepository,
+            @Value("${odw.house.summary-ttl-ms:30000}") long ttlMillis) {
+        this.houseRepository = houseRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    public List<HouseDTO> summaries() {
+        Summary current = summary;
+        long now = System.nanoTime();
+        // a load that raced with an invalidation carries the old generation and is ignored
+        if (current != null
+                && current.generation == generation.get()
+                && now - current.loadedAt < ttlNanos) {
+            return current.houses;
+        }
+        long loadGeneration = generation.get();
+        List<HouseDTO> houses = List.copyOf(houseRepository.findSummariesByDeleted(false));
+        summary = new Summary(houses, loadGeneration, now);
+        return houses;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        summary = null;
+    }
+
+    private static class Summary {
+        private final List<HouseDTO> houses;
+        private final long generation;
+        private final long loadedAt;
+
+        private Summary(List<HouseDTO> houses, long generation, long loadedAt) {
+            this.houses = houses;
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
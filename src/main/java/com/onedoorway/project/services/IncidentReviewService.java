@@ -1,5 +1,6 @@
 package com.onedoorway.project.services;
 
+import com.onedoorway.project.dto.ArchivedIncident;
 import com.onedoorway.project.dto.IncidentReviewDTO;
 import com.onedoorway.project.exception.ReviewServiceException;
 import com.onedoorway.project.model.*;
@@ -10,13 +11,10 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -24,28 +22,29 @@ import org.springframework.stereotype.Service;
 public class IncidentReviewService {
     private final IncidentReviewRepository incidentReviewRepository;
     private final IncidentRepository incidentRepository;
+    private final DtoMapper dtoMapper;
+    private final NoteSearchService noteSearchService;
+    private final ArchiveService archiveService;
 
     @Autowired
     public IncidentReviewService(
             IncidentReviewRepository incidentReviewRepository,
-            IncidentRepository incidentRepository) {
+            IncidentRepository incidentRepository,
+            DtoMapper dtoMapper,
+            NoteSearchService noteSearchService,
+            ArchiveService archiveService) {
         this.incidentReviewRepository = incidentReviewRepository;
         this.incidentRepository = incidentRepository;
+        this.dtoMapper = dtoMapper;
+        this.noteSearchService = noteSearchService;
+        this.archiveService = archiveService;
     }
 
     public void createIncidentReview(IncidentReviewDTO request) throws ReviewServiceException {
         if (incidentReviewRepository.getByIncident_Id(request.getIncidentId()) != null) {
             throw new ReviewServiceException("Review with the same incident id already exists");
         }
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.addMappings(
-                new PropertyMap<IncidentReviewDTO, IncidentReview>() {
-                    @Override
-                    protected void configure() {
-                        skip(destination.getIncident());
-                    }
-                });
-        IncidentReview incidentReview = modelMapper.map(request, IncidentReview.class);
+        IncidentReview incidentReview = dtoMapper.map(request, IncidentReview.class);
         Incident incident = incidentRepository.getById(request.getIncidentId());
         incidentReview.setIncident(incident);
         incidentReview.setDueDate(
@@ -54,17 +53,30 @@ public class IncidentReviewService {
         incidentReview.setSupportPlanUpdate(YesNo.valueOf(request.getSupportPlanUpdate()));
         incidentReview.setFurtherSupport(YesNo.valueOf(request.getFurtherSupport()));
         incidentReviewRepository.save(incidentReview);
+        noteSearchService.indexIncidentReview(incidentReview);
         incident.setReviewedBy(request.getReviewedBy());
         incident.setStatus(Status.REVIEWED);
         incidentRepository.save(incident);
     }
 
+    @Transactional(readOnly = true)
     public List<IncidentReviewDTO> getReviewById(long incidentId) throws ReviewServiceException {
 
         List<IncidentReviewDTO> res =
                 incidentReviewRepository.findByIncident_Id(incidentId).stream()
-                        .map(item -> new ModelMapper().map(item, IncidentReviewDTO.class))
+                        .map(item -> dtoMapper.map(item, IncidentReviewDTO.class))
                         .collect(Collectors.toList());
+        if (res.isEmpty()) {
+            // an archived incident took its reviews with it
+            res =
+                    archiveService
+                            .read(
+                                    ArchiveRecordType.INCIDENT,
+                                    ArchiveService.key(incidentId),
+                                    ArchivedIncident.class)
+                            .map(ArchivedIncident::getReviews)
+                            .orElse(res);
+        }
         log.info("Fetched the reviews based on incidentId {}", incidentId);
         return res;
     }
@@ -73,16 +85,7 @@ public class IncidentReviewService {
         Optional<IncidentReview> incidentReview = incidentReviewRepository.findById(id);
         if (incidentReview.isPresent()) {
             IncidentReview existingEntity = incidentReview.get();
-            ModelMapper mapper = new ModelMapper();
-            mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-            mapper.addMappings(
-                    new PropertyMap<IncidentReviewDTO, IncidentReview>() {
-                        @Override
-                        protected void configure() {
-                            skip(destination.getIncident());
-                        }
-                    });
-            mapper.map(request, existingEntity);
+            dtoMapper.patch(request, existingEntity);
             existingEntity.setDueDate(
                     LocalDate.parse(
                             request.getDueDate(), DateTimeFormatter.ofPattern("yyyy-MM-dd")));
@@ -91,9 +94,9 @@ public class IncidentReviewService {
             existingEntity.setFurtherSupport(YesNo.valueOf(request.getFurtherSupport()));
             existingEntity.getIncident().setReviewedBy(request.getReviewedBy());
             existingEntity.getIncident().setStatus(Status.REVIEWED);
-            Incident incident = incidentRepository.getById(id);
-            incidentRepository.save(incident);
+            incidentRepository.save(existingEntity.getIncident());
             incidentReviewRepository.save(existingEntity);
+            noteSearchService.indexIncidentReview(existingEntity);
             log.info("Updated the review for the given id {}", request.getId());
         } else {
             String errorMessage =
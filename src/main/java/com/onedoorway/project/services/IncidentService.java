@@ -5,13 +5,17 @@ import com.onedoorway.project.dto.*;
 import com.onedoorway.project.exception.IncidentServiceException;
 import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.*;
+import com.onedoorway.project.util.Cursor;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +33,9 @@ public class IncidentService {
     private final LookupRepository lookupRepository;
     private final UserRepository userRepository;
     private final Context context;
+    private final DtoMapper dtoMapper;
+    private final NoteSearchService noteSearchService;
+    private final ArchiveService archiveService;
 
     @Autowired
     public IncidentService(
@@ -37,37 +44,47 @@ public class IncidentService {
             HouseRepository houseRepository,
             LookupRepository lookupRepository,
             UserRepository userRepository,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper,
+            NoteSearchService noteSearchService,
+            ArchiveService archiveService) {
         this.incidentRepository = incidentRepository;
         this.clientRepository = clientRepository;
         this.houseRepository = houseRepository;
         this.lookupRepository = lookupRepository;
         this.userRepository = userRepository;
         this.context = context;
+        this.dtoMapper = dtoMapper;
+        this.noteSearchService = noteSearchService;
+        this.archiveService = archiveService;
     }
 
+    @Transactional(readOnly = true)
     public IncidentDTO getIncidentById(long id) throws IncidentServiceException {
-        ModelMapper modelMapper = new ModelMapper();
 
-        Incident incident = getIncident(id);
-        log.info("Fetched the incident with id {}", id);
-        return modelMapper.map(incident, IncidentDTO.class);
-    }
-
-    private Incident getIncident(long id) throws IncidentServiceException {
         Incident incident = incidentRepository.getById(id);
         if (incident == null) {
+            Optional<ArchivedIncident> archived =
+                    archiveService.read(
+                            ArchiveRecordType.INCIDENT,
+                            ArchiveService.key(id),
+                            ArchivedIncident.class);
+            if (archived.isPresent()) {
+                log.info("Fetched the archived incident with id {}", id);
+                return archived.get().getIncident();
+            }
             String errorMessage = String.format("Cannot get an incident for the id %d", id);
             log.error(errorMessage);
             throw new IncidentServiceException(errorMessage);
         }
-        return incident;
+        log.info("Fetched the incident with id {}", id);
+        return dtoMapper.map(incident, IncidentDTO.class);
     }
 
     public void createIncident(IncidentRequest request) throws IncidentServiceException {
         Incident incident;
         String email = context.currentUser();
-        User user = userRepository.getByEmail(email);
+        User user = context.currentUserReference();
         if (user == null) {
             handleError("Unauthenticated session or no user found for email %s", email);
         }
@@ -232,7 +249,8 @@ public class IncidentService {
             }
         }
         incidentRepository.save(incident);
-        log.info("Created the incident with reportedBy {} ", incident.getReportedBy());
+        noteSearchService.indexIncident(incident);
+        log.info("Created the incident with reportedBy {} ", incident.getReportedBy().getId());
     }
 
     private void handleError(String message, String... params) throws IncidentServiceException {
@@ -241,41 +259,178 @@ public class IncidentService {
         throw new IncidentServiceException(errorMessage);
     }
 
-    public List<IncidentDTO> listIncident(ListIncidentRequest request)
+    @Transactional(readOnly = true)
+    public CursorPage<IncidentDTO> listIncident(ListIncidentRequest request)
             throws IncidentServiceException {
-        List<Incident> res;
+        List<IncidentListView> res;
         String email = context.currentUser();
-        User user = userRepository.getByEmail(email);
-        if (user == null) {
+        Long userId = context.currentUserId();
+        if (userId == null) {
             handleError("Unauthenticated session or no user found for email %s", email);
         }
 
+        long beforeId = Long.MAX_VALUE;
+        int pageNumber = request.getPageNumber();
+        if (request.getAfter() != null) {
+            try {
+                beforeId = Cursor.decode(request.getAfter(), Long::valueOf).getId();
+            } catch (IllegalArgumentException e) {
+                handleError("Invalid cursor %s", request.getAfter());
+            }
+            pageNumber = 0;
+        }
         Pageable page =
-                PageRequest.of(
-                        request.getPageNumber(), request.getPageSize(), Sort.by("id").descending());
+                PageRequest.of(pageNumber, request.getPageSize(), Sort.by("id").descending());
         log.info("request {} for list incidents is ", request);
         if (request.getHouseCode() != null && request.getClientName() != null) {
             log.info("Fetching the incidents based on the houseCode and clientName ");
             res =
-                    incidentRepository.findAllByHouse_HouseCodeAndClient_Name(
-                            request.getHouseCode(), request.getClientName(), page);
+                    incidentRepository.findListByHouseCodeAndClientName(
+                            request.getHouseCode(), request.getClientName(), beforeId, page);
         } else if (request.getHouseCode() != null) {
             log.info("Fetching the incidents based on the houseCode ");
-            res = incidentRepository.findAllByHouse_HouseCode(request.getHouseCode(), page);
+            res =
+                    incidentRepository.findListByHouseCode(
+                            request.getHouseCode(), beforeId, page);
         } else if (request.getClientName() != null) {
             log.info("Fetching the incidents based on the clientName");
-            res = incidentRepository.findAllByClient_Name(request.getClientName(), page);
+            res =
+                    incidentRepository.findListByClientName(
+                            request.getClientName(), beforeId, page);
         } else if (request.getReportedBy() != null && request.getReportedBy() == true) {
             log.info("Fetching the incidents based on the reportedBy ");
-            res = incidentRepository.findAllByReportedById(user.getId(), page);
+            res = incidentRepository.findListByReportedById(userId, beforeId, page);
         } else {
             log.info("Fetching all the incidents ");
-            res = incidentRepository.findAll(page).getContent();
+            res = incidentRepository.findList(beforeId, page);
         }
         log.info("Fetched the incidents based on the request {}", request);
-        return res.stream()
-                .map(item -> new ModelMapper().map(item, IncidentDTO.class))
-                .collect(Collectors.toList());
+        Map<Long, List<HouseDTO>> housesByUser = housesOfUsers(res);
+        return CursorPage.of(
+                res.stream()
+                        .map(view -> toListDTO(view, housesByUser))
+                        .collect(Collectors.toList()),
+                request.getPageSize(),
+                item -> Cursor.encode(item.getId(), item.getId()));
+    }
+
+    // the houses of the reporting and escalated-to users on the page, in one query
+    private Map<Long, List<HouseDTO>> housesOfUsers(List<IncidentListView> views) {
+        Set<Long> userIds = new HashSet<>();
+        for (IncidentListView view : views) {
+            for (Long userId : new Long[] {view.getReportedById(), view.getEscalatedToId()}) {
+                if (userId != null) {
+                    userIds.add(userId);
+                }
+            }
+        }
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findHousesByUserIdIn(userIds).stream()
+                .collect(
+                        Collectors.groupingBy(
+                                UserHouseView::getUserId,
+                                Collectors.mapping(
+                                        house ->
+                                                HouseDTO.builder()
+                                                        .id(house.getId())
+                                                        .houseCode(house.getHouseCode())
+                                                        .phone(house.getPhone())
+                                                        .addrLine1(house.getAddrLine1())
+                                                        .addrLine2(house.getAddrLine2())
+                                                        .city(house.getCity())
+                                                        .state(house.getState())
+                                                        .deleted(house.getDeleted())
+                                                        .postCode(house.getPostCode())
+                                                        .build(),
+                                        Collectors.toList())));
+    }
+
+    private IncidentDTO toListDTO(IncidentListView view, Map<Long, List<HouseDTO>> housesByUser) {
+        IncidentDTO dto = new IncidentDTO();
+        dto.setId(view.getId());
+        dto.setStatus(view.getStatus() == null ? null : view.getStatus().name());
+        dto.setRaisedFor(view.getRaisedFor() == null ? null : view.getRaisedFor().name());
+        dto.setEscalated(view.getEscalated());
+        dto.setDateOccurred(view.getDateOccurred());
+        dto.setCreatedAt(view.getCreatedAt());
+        dto.setLocation(view.getLocation());
+        dto.setExactLocation(view.getExactLocation());
+        dto.setInjuredGivenName(view.getInjuredGivenName());
+        dto.setInjuredFamilyName(view.getInjuredFamilyName());
+        dto.setReviewedBy(view.getReviewedBy());
+        dto.setClosedBy(view.getClosedBy());
+        dto.setWitnessName(view.getWitnessName());
+        dto.setWitnessDesignation(view.getWitnessDesignation());
+        dto.setFollowUpResponsibility(view.getFollowUpResponsibility());
+        dto.setPoliceReport(name(view.getPoliceReport()));
+        dto.setPoliceName(view.getPoliceName());
+        dto.setPoliceNumber(view.getPoliceNumber());
+        dto.setPoliceStation(view.getPoliceStation());
+        dto.setReportableToNDIS(name(view.getReportableToNDIS()));
+        dto.setReportableToWorksafe(name(view.getReportableToWorksafe()));
+        dto.setCategory(lookup(view.getCategoryId(), view.getCategoryName()));
+        dto.setType(lookup(view.getTypeId(), view.getTypeName()));
+        dto.setClassification(lookup(view.getClassificationId(), view.getClassificationName()));
+        if (view.getHouseId() != null) {
+            dto.setHouse(
+                    HouseDTO.builder()
+                            .id(view.getHouseId())
+                            .houseCode(view.getHouseCode())
+                            .build());
+        }
+        if (view.getClientId() != null) {
+            dto.setClient(
+                    ClientDTO.builder().id(view.getClientId()).name(view.getClientName()).build());
+        }
+        if (view.getReportedById() != null) {
+            dto.setReportedBy(
+                    UserDTO.builder()
+                            .id(view.getReportedById())
+                            .email(view.getReportedByEmail())
+                            .firstName(view.getReportedByFirstName())
+                            .lastName(view.getReportedByLastName())
+                            .phone(view.getReportedByPhone())
+                            .mobile(view.getReportedByMobile())
+                            .deleted(view.getReportedByDeleted())
+                            .houses(housesByUser.getOrDefault(view.getReportedById(), List.of()))
+                            .build());
+        }
+        if (view.getEscalatedToId() != null) {
+            dto.setEscalatedTo(
+                    UserDTO.builder()
+                            .id(view.getEscalatedToId())
+                            .email(view.getEscalatedToEmail())
+                            .firstName(view.getEscalatedToFirstName())
+                            .lastName(view.getEscalatedToLastName())
+                            .phone(view.getEscalatedToPhone())
+                            .mobile(view.getEscalatedToMobile())
+                            .deleted(view.getEscalatedToDeleted())
+                            .houses(housesByUser.getOrDefault(view.getEscalatedToId(), List.of()))
+                            .build());
+        }
+        return dto;
+    }
+
+    private static String name(YesNo value) {
+        return value == null ? null : value.name();
+    }
+
+    private static LookupDTO lookup(Long id, String name) {
+        return id == null ? null : new LookupDTO(id, name);
+    }
+
+    private static UserDTO user(Long id, String email, String firstName, String lastName) {
+        if (id == null) {
+            return null;
+        }
+        return UserDTO.builder()
+                .id(id)
+                .email(email)
+                .firstName(firstName)
+                .lastName(lastName)
+                .build();
     }
 
     public void closeIncident(long id, String closedBy) {
@@ -308,83 +463,56 @@ public class IncidentService {
     }
 
     public void updateIncident(Long id, IncidentRequest request) throws IncidentServiceException {
+        if (request.getVersion() != null) {
+            updateIncidentIfVersion(id, request);
+            return;
+        }
         Optional<Incident> incident = incidentRepository.findById(id);
         String raisedFor = request.getRaisedFor();
-        String report = request.getPoliceReport();
         log.info("raised for {}", raisedFor);
         if (incident.isPresent()) {
+            log.info("updating for {}", raisedFor);
+            Incident existingEntity = incident.get();
+            setIfPresent(existingEntity::setCategory, lookup(request.getCategoryId()));
+            setIfPresent(existingEntity::setType, lookup(request.getTypeId()));
+            setIfPresent(
+                    existingEntity::setClassification, lookup(request.getClassificationId()));
             if (raisedFor.equals(RaisedFor.CLIENT.toString())) {
-                log.info("updating for CLIENT");
-                Incident existingEntity = incident.get();
-                existingEntity.setCategory(lookupRepository.getById(request.getCategoryId()));
-                existingEntity.setType(lookupRepository.getById(request.getTypeId()));
-                existingEntity.setClassification(
-                        lookupRepository.getById(request.getClassificationId()));
-                existingEntity.setHouse(houseRepository.getById(request.getHouseId()));
-                existingEntity.setClient(clientRepository.getById(request.getClientId()));
-                existingEntity.setStatus(Status.valueOf(request.getStatus()));
-                existingEntity.setRaisedFor(RaisedFor.valueOf(request.getRaisedFor()));
-                existingEntity.setDescription(request.getDescription());
-                existingEntity.setDateOccurred(
-                        LocalDateTime.parse(
-                                request.getDateOccurred(),
-                                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-                existingEntity.setLocation(request.getLocation());
-                existingEntity.setExactLocation(request.getExactLocation());
-                existingEntity.setInjuredGivenName(request.getInjuredGivenName());
-                existingEntity.setInjuredFamilyName(request.getInjuredFamilyName());
-                existingEntity.setWitnessName(request.getWitnessName());
-                existingEntity.setWitnessDesignation(request.getWitnessDesignation());
-                existingEntity.setFollowUpResponsibility(request.getFollowUpResponsibility());
-                existingEntity.setPoliceReport(YesNo.valueOf(request.getPoliceReport()));
-                if (report.equals(YesNo.Yes.toString())) {
-
-                    existingEntity.setPoliceName(request.getPoliceName());
-                    existingEntity.setPoliceNumber(request.getPoliceNumber());
-                    existingEntity.setPoliceStation(request.getPoliceStation());
+                if (request.getHouseId() != null) {
+                    existingEntity.setHouse(houseRepository.getById(request.getHouseId()));
                 }
-                existingEntity.setBeforeIncident(request.getBeforeIncident());
-                existingEntity.setImmediateAction(request.getImmediateAction());
-                existingEntity.setReportableToNDIS(YesNo.valueOf(request.getReportableToNDIS()));
-                existingEntity.setReportableToWorksafe(
-                        YesNo.valueOf(request.getReportableToWorksafe()));
-                incidentRepository.save(existingEntity);
-
-            } else if (raisedFor.equals(RaisedFor.STAFF.toString())) {
-                log.info("updating for STAFF");
-                Incident existingEntity = incident.get();
-                existingEntity.setCategory(lookupRepository.getById(request.getCategoryId()));
-                existingEntity.setType(lookupRepository.getById(request.getTypeId()));
-                existingEntity.setClassification(
-                        lookupRepository.getById(request.getClassificationId()));
-
-                existingEntity.setRaisedFor(RaisedFor.valueOf(request.getRaisedFor()));
-                existingEntity.setStatus(Status.valueOf(request.getStatus()));
-                existingEntity.setDescription(request.getDescription());
-                existingEntity.setDateOccurred(
-                        LocalDateTime.parse(
-                                request.getDateOccurred(),
-                                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-                existingEntity.setLocation(request.getLocation());
-                existingEntity.setExactLocation(request.getExactLocation());
-                existingEntity.setInjuredGivenName(request.getInjuredGivenName());
-                existingEntity.setInjuredFamilyName(request.getInjuredFamilyName());
-                existingEntity.setWitnessName(request.getWitnessName());
-                existingEntity.setWitnessDesignation(request.getWitnessDesignation());
-                existingEntity.setFollowUpResponsibility(request.getFollowUpResponsibility());
-                existingEntity.setPoliceReport(YesNo.valueOf(request.getPoliceReport()));
-                if (report.equals(YesNo.Yes.toString())) {
-                    existingEntity.setPoliceName(request.getPoliceName());
-                    existingEntity.setPoliceNumber(request.getPoliceNumber());
-                    existingEntity.setPoliceStation(request.getPoliceStation());
+                if (request.getClientId() != null) {
+                    existingEntity.setClient(clientRepository.getById(request.getClientId()));
                 }
-                existingEntity.setBeforeIncident(request.getBeforeIncident());
-                existingEntity.setImmediateAction(request.getImmediateAction());
-                existingEntity.setReportableToNDIS(YesNo.valueOf(request.getReportableToNDIS()));
-                existingEntity.setReportableToWorksafe(
-                        YesNo.valueOf(request.getReportableToWorksafe()));
-                incidentRepository.save(existingEntity);
             }
+            setIfPresent(existingEntity::setStatus, status(request.getStatus()));
+            existingEntity.setRaisedFor(RaisedFor.valueOf(raisedFor));
+            setIfPresent(existingEntity::setDescription, request.getDescription());
+            setIfPresent(existingEntity::setDateOccurred, dateOccurred(request.getDateOccurred()));
+            setIfPresent(existingEntity::setLocation, request.getLocation());
+            setIfPresent(existingEntity::setExactLocation, request.getExactLocation());
+            setIfPresent(existingEntity::setInjuredGivenName, request.getInjuredGivenName());
+            setIfPresent(existingEntity::setInjuredFamilyName, request.getInjuredFamilyName());
+            setIfPresent(existingEntity::setWitnessName, request.getWitnessName());
+            setIfPresent(existingEntity::setWitnessDesignation, request.getWitnessDesignation());
+            setIfPresent(
+                    existingEntity::setFollowUpResponsibility,
+                    request.getFollowUpResponsibility());
+            setIfPresent(existingEntity::setPoliceReport, yesNo(request.getPoliceReport()));
+            if (YesNo.Yes.toString().equals(request.getPoliceReport())) {
+                setIfPresent(existingEntity::setPoliceName, request.getPoliceName());
+                setIfPresent(existingEntity::setPoliceNumber, request.getPoliceNumber());
+                setIfPresent(existingEntity::setPoliceStation, request.getPoliceStation());
+            }
+            setIfPresent(existingEntity::setBeforeIncident, request.getBeforeIncident());
+            setIfPresent(existingEntity::setImmediateAction, request.getImmediateAction());
+            setIfPresent(
+                    existingEntity::setReportableToNDIS, yesNo(request.getReportableToNDIS()));
+            setIfPresent(
+                    existingEntity::setReportableToWorksafe,
+                    yesNo(request.getReportableToWorksafe()));
+            incidentRepository.save(existingEntity);
+            noteSearchService.indexIncident(existingEntity);
             log.info("Updated the incident for the given id {}", request.getId());
         } else {
             String errorMessage = String.format("Incident not found %d", request.getId());
@@ -393,6 +521,87 @@ public class IncidentService {
         }
     }
 
+    private void updateIncidentIfVersion(long id, IncidentRequest request)
+            throws IncidentServiceException {
+        boolean forClient = request.getRaisedFor().equals(RaisedFor.CLIENT.toString());
+        VersionedUpdate<Incident> update =
+                VersionedUpdate.of(Incident.class, id, request.getVersion())
+                        .set(Incident.Fields.category, lookup(request.getCategoryId()))
+                        .set(Incident.Fields.type, lookup(request.getTypeId()))
+                        .set(Incident.Fields.classification, lookup(request.getClassificationId()))
+                        .set(Incident.Fields.status, status(request.getStatus()))
+                        .set(Incident.Fields.raisedFor, RaisedFor.valueOf(request.getRaisedFor()))
+                        .set(Incident.Fields.description, request.getDescription())
+                        .set(
+                                Incident.Fields.dateOccurred,
+                                dateOccurred(request.getDateOccurred()))
+                        .set(Incident.Fields.location, request.getLocation())
+                        .set(Incident.Fields.exactLocation, request.getExactLocation())
+                        .set(Incident.Fields.injuredGivenName, request.getInjuredGivenName())
+                        .set(Incident.Fields.injuredFamilyName, request.getInjuredFamilyName())
+                        .set(Incident.Fields.witnessName, request.getWitnessName())
+                        .set(Incident.Fields.witnessDesignation, request.getWitnessDesignation())
+                        .set(
+                                Incident.Fields.followUpResponsibility,
+                                request.getFollowUpResponsibility())
+                        .set(Incident.Fields.policeReport, yesNo(request.getPoliceReport()))
+                        .set(Incident.Fields.beforeIncident, request.getBeforeIncident())
+                        .set(Incident.Fields.immediateAction, request.getImmediateAction())
+                        .set(Incident.Fields.reportableToNDIS, yesNo(request.getReportableToNDIS()))
+                        .set(
+                                Incident.Fields.reportableToWorksafe,
+                                yesNo(request.getReportableToWorksafe()));
+        if (forClient) {
+            if (request.getHouseId() != null) {
+                update.set(Incident.Fields.house, houseRepository.getById(request.getHouseId()));
+            }
+            if (request.getClientId() != null) {
+                update.set(
+                        Incident.Fields.client, clientRepository.getById(request.getClientId()));
+            }
+        }
+        if (YesNo.Yes.toString().equals(request.getPoliceReport())) {
+            update.set(Incident.Fields.policeName, request.getPoliceName())
+                    .set(Incident.Fields.policeNumber, request.getPoliceNumber())
+                    .set(Incident.Fields.policeStation, request.getPoliceStation());
+        }
+        if (!incidentRepository.updateIfVersion(update)) {
+            String errorMessage =
+                    String.format("Incident %d not found or changed since it was read", id);
+            log.error(errorMessage);
+            throw new IncidentServiceException(errorMessage);
+        }
+        // the search document needs the whole incident, so it is read back once written
+        incidentRepository.findById(id).ifPresent(noteSearchService::indexIncident);
+        log.info("Updated the incident for the given id {}", id);
+    }
+
+    private Lookup lookup(Long id) {
+        return id == null ? null : lookupRepository.getById(id);
+    }
+
+    private static YesNo yesNo(String value) {
+        return value == null ? null : YesNo.valueOf(value);
+    }
+
+    private static Status status(String value) {
+        return value == null ? null : Status.valueOf(value);
+    }
+
+    private static LocalDateTime dateOccurred(String value) {
+        return value == null
+                ? null
+                : LocalDateTime.parse(value, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    }
+
+    /** Leaves a property the request does not carry as it is, like the versioned path does. */
+    private static <V> void setIfPresent(Consumer<V> setter, V value) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public List<ListGraphDTO> listForGraph(ListForGraphRequest request) {
         log.info("Fetching list incidents based on request ");
         List<ListGraphDTO> res =
@@ -403,7 +612,7 @@ public class IncidentService {
                                 request.getEnd(),
                                 Status.INACTIVE)
                         .stream()
-                        .map(item -> new ModelMapper().map(item, ListGraphDTO.class))
+                        .map(item -> dtoMapper.map(item, ListGraphDTO.class))
                         .collect(Collectors.toList());
 
         log.info("Fetched the list incidents for graph ");
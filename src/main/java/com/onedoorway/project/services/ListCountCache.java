@@ -0,0 +1,82 @@
+package com.onedoorway.project.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Totals for the paged client and user lists, one per filter, kept for a few seconds so that
+ * paging through a search does not repeat its wildcard count on every page. Inserts and deletes
+ * invalidate the whole list; renames and house moves show up when the entry expires.
+ */
+@Service
+public class ListCountCache {
+    public static final String CLIENTS = "clients";
+    public static final String USERS = "users";
+
+    // search strings are free text, so the map is cleared rather than left to grow
+    private static final int MAX_ENTRIES = 1000;
+
+    private final long ttlNanos;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ListCountCache(@Value("${odw.list.count-ttl-ms:10000}") long ttlMillis) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * The total of {@code list} for {@code filter} given one page of it. A short page ends the
+     * list, so its offset plus its size is the total and nothing is counted. Otherwise the count
+     * comes from the cache, or from {@code count} if the cached one is older than the TTL or the
+     * last invalidation.
+     */
+    public long total(
+            String list, String filter, Pageable page, int pageItems, Supplier<Long> count) {
+        if (pageItems < page.getPageSize() && (pageItems > 0 || page.getOffset() == 0)) {
+            return page.getOffset() + pageItems;
+        }
+        String key = list + '\u0000' + filter;
+        long generation = generation(list).get();
+        long now = System.nanoTime();
+        Entry current = entries.get(key);
+        if (current != null
+                && current.generation == generation
+                && now - current.loadedAt < ttlNanos) {
+            return current.total;
+        }
+        long total = count.get();
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(total, generation, now));
+        return total;
+    }
+
+    public void invalidate(String list) {
+        generation(list).incrementAndGet();
+    }
+
+    private AtomicLong generation(String list) {
+        return generations.computeIfAbsent(list, ignored -> new AtomicLong());
+    }
+
+    private static class Entry {
+        private final long total;
+        private final long generation;
+        private final long loadedAt;
+
+        private Entry(long total, long generation, long loadedAt) {
+            this.total = total;
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
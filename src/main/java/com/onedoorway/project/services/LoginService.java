@@ -0,0 +1,147 @@
+package com.onedoorway.project.services;
+
+import com.onedoorway.project.exception.LoginServiceException;
+import com.onedoorway.project.model.ODWUserDetails;
+import com.onedoorway.project.model.User;
+import com.onedoorway.project.repository.UserRepository;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Authenticates a login with a single user query. The password hash is checked on a small bounded
+ * pool so a burst of logins queues up there instead of tying up the request threads.
+ */
+@Slf4j
+@Service
+public class LoginService {
+    private static final String UNKNOWN_USER_PASSWORD = "unknownUserPassword";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final SecurityStampService securityStampService;
+    private final ThreadPoolExecutor passwordExecutor;
+    private final long timeoutMillis;
+    private volatile String unknownUserHash;
+
+    @Autowired
+    public LoginService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            SecurityStampService securityStampService,
+            @Value("${odw.login.threads:2}") int threads,
+            @Value("${odw.login.queue-size:64}") int queueSize,
+            @Value("${odw.login.timeout-ms:5000}") long timeoutMillis) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.securityStampService = securityStampService;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.passwordExecutor =
+                new ThreadPoolExecutor(
+                        threads,
+                        threads,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueSize),
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable, "login-" + threadCount.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        },
+                        new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public ODWUserDetails login(String email, String password) throws LoginServiceException {
+        User user = userRepository.findForLogin(email);
+        if (user == null || Boolean.TRUE.equals(user.getDeleted())) {
+            log.error("No active user found for email {}", email);
+            // the same hash work as a known user, so the response time does not give away which
+            // emails have an account
+            checkPassword(password, unknownUserHash());
+            throw new BadCredentialsException("User not found or deleted");
+        }
+        PasswordCheck check = checkPassword(password, user.getPassword());
+        if (!check.matches) {
+            throw new BadCredentialsException("Incorrect password");
+        }
+        if (check.upgradedHash != null) {
+            userRepository.updatePassword(user.getId(), check.upgradedHash);
+            user.setPassword(check.upgradedHash);
+            log.info("Re-hashed the password of user {} with the configured cost", email);
+        }
+        ODWUserDetails userDetails = new ODWUserDetails(user);
+        securityStampService.record(userDetails.getUsername(), userDetails.getSecurityStamp());
+        return userDetails;
+    }
+
+    private String unknownUserHash() {
+        if (unknownUserHash == null) {
+            unknownUserHash = passwordEncoder.encode(UNKNOWN_USER_PASSWORD);
+        }
+        return unknownUserHash;
+    }
+
+    private PasswordCheck checkPassword(String password, String hash)
+            throws LoginServiceException {
+        Future<PasswordCheck> future;
+        try {
+            future =
+                    passwordExecutor.submit(
+                            () -> {
+                                if (!passwordEncoder.matches(password, hash)) {
+                                    return new PasswordCheck(false, null);
+                                }
+                                if (passwordEncoder.upgradeEncoding(hash)) {
+                                    return new PasswordCheck(true, passwordEncoder.encode(password));
+                                }
+                                return new PasswordCheck(true, null);
+                            });
+        } catch (RejectedExecutionException e) {
+            log.error("Login queue is full with {} waiting", passwordExecutor.getQueue().size());
+            throw new LoginServiceException("Too many logins in progress, please try again");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.error("Password check timed out after {} ms", timeoutMillis);
+            throw new LoginServiceException("Too many logins in progress, please try again");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoginServiceException("Login was interrupted");
+        } catch (ExecutionException e) {
+            log.error("Password check failed", e.getCause());
+            throw new BadCredentialsException("Password check failed");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        passwordExecutor.shutdownNow();
+    }
+
+    private static class PasswordCheck {
+        private final boolean matches;
+        private final String upgradedHash;
+
+        private PasswordCheck(boolean matches, String upgradedHash) {
+            this.matches = matches;
+            this.upgradedHash = upgradedHash;
+        }
+    }
+}
@@ -6,7 +6,6 @@ import com.onedoorway.project.repository.LookupRepository;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,15 +15,19 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class LookupService {
     private final LookupRepository lookupRepository;
+    private final DtoMapper dtoMapper;
 
-    public LookupService(@Autowired LookupRepository lookupRepository) {
+    public LookupService(
+            @Autowired LookupRepository lookupRepository, @Autowired DtoMapper dtoMapper) {
         this.lookupRepository = lookupRepository;
+        this.dtoMapper = dtoMapper;
     }
 
+    @Transactional(readOnly = true)
     public List<LookupDTO> listLookups(LookupType lookupType) {
         List<LookupDTO> lookupDTOS =
                 lookupRepository.findAllByLookupType(lookupType).stream()
-                        .map(item -> new ModelMapper().map(item, LookupDTO.class))
+                        .map(item -> dtoMapper.map(item, LookupDTO.class))
                         .collect(Collectors.toList());
         log.info("Fetched all lookUps - count {}", lookupDTOS.size());
         return lookupDTOS;
@@ -14,14 +14,13 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -30,15 +29,21 @@ public class MiscellaneousNoteService {
     private final MiscellaneousNoteRepository miscellaneousNoteRepository;
     private final LookupRepository lookupRepository;
     private final Context context;
+    private final DtoMapper dtoMapper;
+    private final NoteSearchService noteSearchService;
 
     @Autowired
     public MiscellaneousNoteService(
             MiscellaneousNoteRepository miscellaneousNoteRepository,
             LookupRepository lookupRepository,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper,
+            NoteSearchService noteSearchService) {
         this.miscellaneousNoteRepository = miscellaneousNoteRepository;
         this.lookupRepository = lookupRepository;
         this.context = context;
+        this.dtoMapper = dtoMapper;
+        this.noteSearchService = noteSearchService;
     }
 
     public void createMiscellaneousNote(MiscellaneousNoteRequest request)
@@ -63,6 +68,7 @@ public class MiscellaneousNoteService {
                         .deleted(false)
                         .build();
         miscellaneousNoteRepository.save(miscellaneousNote);
+        noteSearchService.indexMiscellaneousNote(miscellaneousNote);
         log.info("Created miscellaneous note with id {} ", miscellaneousNote.getId());
     }
 
@@ -88,9 +94,11 @@ public class MiscellaneousNoteService {
         existingEntity.setLastUpdatedAt(context.now());
 
         miscellaneousNoteRepository.save(existingEntity);
+        noteSearchService.indexMiscellaneousNote(existingEntity);
         log.info("Updated the miscellaneous note for the given id {}", id);
     }
 
+    @Transactional(readOnly = true)
     public List<MiscellaneousNoteDTO> listMiscellaneousNotes(ListMiscellaneousNoteRequest request) {
         List<MiscellaneousNote> res;
         Pageable page =
@@ -98,7 +106,6 @@ public class MiscellaneousNoteService {
                         request.getPageNumber(),
                         request.getPageSize(),
                         Sort.by("noteDate").descending());
-        ModelMapper modelMapper = new ModelMapper();
         log.info("Fetching miscellaneous notes based on request {}", request);
         res =
                 miscellaneousNoteRepository.findAllByCategory_NameAndNoteDateBetween(
@@ -108,7 +115,7 @@ public class MiscellaneousNoteService {
                         page);
         log.info("Fetched the miscellaneous notes based on the request");
         return res.stream()
-                .map(item -> modelMapper.map(item, MiscellaneousNoteDTO.class))
+                .map(item -> dtoMapper.map(item, MiscellaneousNoteDTO.class))
                 .collect(Collectors.toList());
     }
 }
@@ -5,6 +5,7 @@ import com.onedoorway.project.dto.NightReportDTO;
 import com.onedoorway.project.dto.NightReportRequest;
 import com.onedoorway.project.dto.ParticularNightReportRequest;
 import com.onedoorway.project.exception.NightReportServiceException;
+import com.onedoorway.project.model.ArchiveRecordType;
 import com.onedoorway.project.model.Client;
 import com.onedoorway.project.model.NightReport;
 import com.onedoorway.project.repository.ClientRepository;
@@ -14,9 +15,6 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,14 +25,20 @@ public class NightReportService {
     private final NightReportRepository nightReportRepository;
     private final ClientRepository clientRepository;
     private final Context context;
+    private final DtoMapper dtoMapper;
+    private final ArchiveService archiveService;
 
     public NightReportService(
             NightReportRepository nightReportRepository,
             ClientRepository clientRepository,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper,
+            ArchiveService archiveService) {
         this.nightReportRepository = nightReportRepository;
         this.clientRepository = clientRepository;
         this.context = context;
+        this.dtoMapper = dtoMapper;
+        this.archiveService = archiveService;
     }
 
     public void createNightReport(NightReportRequest request) throws NightReportServiceException {
@@ -45,9 +49,15 @@ public class NightReportService {
             log.error("Client not found for requested clientId {}", request.getClientId());
             throw new NightReportServiceException("Client not found");
         }
-        if (nightReportRepository.findByClient_IdAndReportDate(
-                        request.getClientId(), request.getReportDate())
-                != null) {
+
+        NightReport nightReport = dtoMapper.map(request, NightReport.class);
+        nightReport.setClient(client.get());
+        nightReport.setReportDate(request.getReportDate());
+        nightReport.setLastUpdatedAt(context.now());
+        if (archiveService.isArchived(
+                        ArchiveRecordType.NIGHT_REPORT,
+                        ArchiveService.key(request.getClientId(), request.getReportDate()))
+                || !nightReportRepository.insertIfAbsent(nightReport)) {
             log.error(
                     "Night Report already exists for client id {} for report date {}",
                     request.getClientId(),
@@ -55,21 +65,6 @@ public class NightReportService {
             throw new NightReportServiceException(
                     "Night Report already exists for client id for the given date");
         }
-
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.addMappings(
-                new PropertyMap<NightReportRequest, NightReport>() {
-                    @Override
-                    protected void configure() {
-                        skip(destination.getClient());
-                    }
-                });
-        NightReport nightReport = modelMapper.map(request, NightReport.class);
-        Client clientId = clientRepository.getById(request.getClientId());
-        nightReport.setClient(clientId);
-        nightReport.setReportDate(request.getReportDate());
-        nightReport.setLastUpdatedAt(context.now());
-        nightReportRepository.save(nightReport);
         log.info("Created nightReport with id {}", nightReport.getId());
     }
 
@@ -94,23 +89,14 @@ public class NightReportService {
         }
 
         NightReport existingEntity = nightReport.get();
-        ModelMapper mapper = new ModelMapper();
-        mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-        mapper.addMappings(
-                new PropertyMap<NightReportRequest, NightReport>() {
-                    @Override
-                    protected void configure() {
-                        skip(destination.getClient());
-                    }
-                });
-        mapper.map(request, existingEntity);
+        dtoMapper.patch(request, existingEntity);
         existingEntity.setLastUpdatedAt(context.now());
         nightReportRepository.save(existingEntity);
         log.info("Updated the night report for the given id {}", request.getId());
     }
 
+    @Transactional(readOnly = true)
     public NightReportDTO getNightReportById(long clientId) throws NightReportServiceException {
-        ModelMapper modelMapper = new ModelMapper();
         LocalDate date = LocalDate.now();
         Optional<Client> client = clientRepository.findById(clientId);
         if (client.isEmpty()) {
@@ -125,12 +111,12 @@ public class NightReportService {
             log.error(errorMessage);
             throw new NightReportServiceException(errorMessage);
         }
-        return modelMapper.map(nightReport, NightReportDTO.class);
+        return dtoMapper.map(nightReport, NightReportDTO.class);
     }
 
+    @Transactional(readOnly = true)
     public NightReportDTO getParticularNightReport(ParticularNightReportRequest request)
             throws NightReportServiceException {
-        ModelMapper modelMapper = new ModelMapper();
         LocalDate date = LocalDate.parse(request.getReportDate());
         Optional<Client> client = clientRepository.findById(request.getClientId());
         if (client.isEmpty()) {
@@ -140,12 +126,20 @@ public class NightReportService {
         NightReport nightReport =
                 nightReportRepository.findByClient_IdAndReportDate(request.getClientId(), date);
         if (nightReport == null) {
+            Optional<NightReportDTO> archived =
+                    archiveService.read(
+                            ArchiveRecordType.NIGHT_REPORT,
+                            ArchiveService.key(request.getClientId(), date),
+                            NightReportDTO.class);
+            if (archived.isPresent()) {
+                return archived.get();
+            }
             String errorMessage =
                     String.format(
                             "Cannot get an nightReport for the client {}", request.getClientId());
             log.error(errorMessage);
             throw new NightReportServiceException(errorMessage);
         }
-        return modelMapper.map(nightReport, NightReportDTO.class);
+        return dtoMapper.map(nightReport, NightReportDTO.class);
     }
 }
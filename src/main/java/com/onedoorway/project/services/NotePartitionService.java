@@ -0,0 +1,59 @@
+package com.onedoorway.project.services;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the monthly partitions of the note tables ahead of the clock, so new notes land in their
+ * month rather than in a table's default partition. The partitions are made by the {@code
+ * create_month_partition} function from V6, which skips the ones that exist.
+ */
+@Slf4j
+@Service
+public class NotePartitionService {
+    // table and partition key, as partitioned by V6
+    static final String[][] PARTITIONED_TABLES = {
+        {"daily_notes", "created_at"},
+        {"bowel_notes", "start_date"},
+        {"case_notes", "note_date"},
+        {"food_diary_notes", "report_date"},
+        {"night_report", "report_date"},
+        {"sleep_tracker_notes", "report_date"}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    @Autowired
+    public NotePartitionService(
+            JdbcTemplate jdbcTemplate, @Value("${odw.partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Scheduled(cron = "${odw.partitions.cron:0 30 2 * * *}")
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (String[] table : PARTITIONED_TABLES) {
+            for (int i = 0; i <= monthsAhead; i++) {
+                YearMonth month = current.plusMonths(i);
+                Boolean created =
+                        jdbcTemplate.queryForObject(
+                                "select create_month_partition(?, ?, ?)",
+                                Boolean.class,
+                                table[0],
+                                table[1],
+                                Date.valueOf(month.atDay(1)));
+                if (Boolean.TRUE.equals(created)) {
+                    log.info("Created the {} partition of {}", month, table[0]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,562 @@
+package com.onedoorway.project.services;
+
+import com.onedoorway.project.dto.CursorPage;
+import com.onedoorway.project.dto.NoteSearchHit;
+import com.onedoorway.project.dto.NoteSearchRequest;
+import com.onedoorway.project.exception.NoteSearchServiceException;
+import com.onedoorway.project.model.CaseNote;
+import com.onedoorway.project.model.Client;
+import com.onedoorway.project.model.DailyNote;
+import com.onedoorway.project.model.HandoverSummary;
+import com.onedoorway.project.model.House;
+import com.onedoorway.project.model.Incident;
+import com.onedoorway.project.model.IncidentReview;
+import com.onedoorway.project.model.MiscellaneousNote;
+import com.onedoorway.project.repository.CaseNoteRepository;
+import com.onedoorway.project.repository.DailyNoteRepository;
+import com.onedoorway.project.repository.HandoverSummaryRepository;
+import com.onedoorway.project.repository.IncidentRepository;
+import com.onedoorway.project.repository.IncidentReviewRepository;
+import com.onedoorway.project.repository.MiscellaneousNoteRepository;
+import com.onedoorway.project.util.Cursor;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Full-text search over the narrative fields of daily notes, case notes, miscellaneous notes,
+ * handover summaries, incidents and incident reviews. The text is kept in an embedded Lucene index
+ * on local disk, so a search never reads the TEXT columns. Write paths hand their documents over
+ * once the transaction commits and one background thread applies them in order; the whole index
+ * can be rebuilt from the database.
+ */
+@Slf4j
+@Service
+public class NoteSearchService {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String HOUSE_CODE = "houseCode";
+    private static final String CLIENT_ID = "clientId";
+    private static final String DATE = "date";
+    private static final String UID = "uid";
+    private static final String TEXT = "text";
+
+    // newest first; uid is unique across types, so it settles ties and keys the cursor
+    private static final Sort NEWEST_FIRST =
+            new Sort(
+                    new SortField(DATE, SortField.Type.LONG, true),
+                    new SortField(UID, SortField.Type.LONG, true));
+
+    private final DailyNoteRepository dailyNoteRepository;
+    private final CaseNoteRepository caseNoteRepository;
+    private final MiscellaneousNoteRepository miscellaneousNoteRepository;
+    private final HandoverSummaryRepository handoverSummaryRepository;
+    private final IncidentRepository incidentRepository;
+    private final IncidentReviewRepository incidentReviewRepository;
+    private final TransactionTemplate readOnly;
+    private final String indexDir;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final ExecutorService updates =
+            Executors.newSingleThreadExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "note-search-index");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searchers;
+
+    @Autowired
+    public NoteSearchService(
+            DailyNoteRepository dailyNoteRepository,
+            CaseNoteRepository caseNoteRepository,
+            MiscellaneousNoteRepository miscellaneousNoteRepository,
+            HandoverSummaryRepository handoverSummaryRepository,
+            IncidentRepository incidentRepository,
+            IncidentReviewRepository incidentReviewRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${odw.search.index-dir:search-index}") String indexDir) {
+        this.dailyNoteRepository = dailyNoteRepository;
+        this.caseNoteRepository = caseNoteRepository;
+        this.miscellaneousNoteRepository = miscellaneousNoteRepository;
+        this.handoverSummaryRepository = handoverSummaryRepository;
+        this.incidentRepository = incidentRepository;
+        this.incidentReviewRepository = incidentReviewRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.indexDir = indexDir;
+    }
+
+    // a blank directory keeps the index in memory, which is what the tests use
+    @PostConstruct
+    public void open() throws IOException {
+        directory =
+                indexDir.isBlank()
+                        ? new ByteBuffersDirectory()
+                        : FSDirectory.open(Paths.get(indexDir));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searchers = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        updates.shutdown();
+        updates.awaitTermination(30, TimeUnit.SECONDS);
+        searchers.close();
+        writer.close();
+        directory.close();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (writer.getDocStats().numDocs == 0) {
+            rebuild();
+        }
+    }
+
+    /** Replaces the whole index with what is in the database. Searches keep working meanwhile. */
+    @PreAuthorize("@context.isAdmin()")
+    public void rebuild() {
+        submit(
+                () -> {
+                    writer.deleteAll();
+                    int count = reindex(dailyNoteRepository, NoteSearchService::dailyNoteDocument);
+                    count += reindex(caseNoteRepository, NoteSearchService::caseNoteDocument);
+                    count +=
+                            reindex(
+                                    miscellaneousNoteRepository,
+                                    NoteSearchService::miscellaneousNoteDocument);
+                    count +=
+                            reindex(
+                                    handoverSummaryRepository,
+                                    NoteSearchService::handoverSummaryDocument);
+                    count += reindex(incidentRepository, NoteSearchService::incidentDocument);
+                    count +=
+                            reindex(
+                                    incidentReviewRepository,
+                                    NoteSearchService::incidentReviewDocument);
+                    writer.commit();
+                    log.info("Rebuilt the note search index with {} documents", count);
+                });
+    }
+
+    // applied updates are searchable straight away; this makes them survive a restart
+    @Scheduled(fixedDelayString = "${odw.search.commit-ms:30000}")
+    public void commit() {
+        submit(
+                () -> {
+                    if (writer.hasUncommittedChanges()) {
+                        writer.commit();
+                    }
+                });
+    }
+
+    /** Waits until every update handed over so far can be searched. */
+    public void awaitUpdates() throws InterruptedException, ExecutionException {
+        updates.submit(() -> {}).get();
+    }
+
+    public void indexDailyNote(DailyNote note) {
+        put(NoteSearchHit.Type.DAILY_NOTE, note.getId(), dailyNoteDocument(note));
+    }
+
+    public void removeDailyNote(long id) {
+        put(NoteSearchHit.Type.DAILY_NOTE, id, null);
+    }
+
+    public void indexCaseNote(CaseNote note) {
+        put(NoteSearchHit.Type.CASE_NOTE, note.getId(), caseNoteDocument(note));
+    }
+
+    public void indexMiscellaneousNote(MiscellaneousNote note) {
+        put(
+                NoteSearchHit.Type.MISCELLANEOUS_NOTE,
+                note.getId(),
+                miscellaneousNoteDocument(note));
+    }
+
+    public void indexHandoverSummary(HandoverSummary summary) {
+        put(
+                NoteSearchHit.Type.HANDOVER_SUMMARY,
+                summary.getId(),
+                handoverSummaryDocument(summary));
+    }
+
+    public void indexIncident(Incident incident) {
+        put(NoteSearchHit.Type.INCIDENT, incident.getId(), incidentDocument(incident));
+    }
+
+    public void indexIncidentReview(IncidentReview review) {
+        put(NoteSearchHit.Type.INCIDENT_REVIEW, review.getId(), incidentReviewDocument(review));
+    }
+
+    @PreAuthorize(
+            "#request.houseCode == null ? @context.isAdmin()"
+                    + " : @context.canAccessHouse(#request.houseCode)")
+    public CursorPage<NoteSearchHit> search(NoteSearchRequest request)
+            throws NoteSearchServiceException {
+        log.info("Searching the notes based on the request {}", request);
+        if (request.getQuery() == null || request.getQuery().isBlank()) {
+            throw new NoteSearchServiceException("Search query is empty");
+        }
+        int pageSize = request.getPageSize() == null ? DEFAULT_PAGE_SIZE : request.getPageSize();
+        Object[] afterValues = null;
+        if (request.getAfter() != null) {
+            try {
+                Cursor<Long> cursor = Cursor.decode(request.getAfter(), Long::parseLong);
+                afterValues = new Object[] {cursor.getKey(), cursor.getId()};
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid cursor {}", request.getAfter());
+                throw new NoteSearchServiceException("Invalid cursor " + request.getAfter());
+            }
+        }
+        Query query = query(request);
+
+        List<NoteSearchHit> hits = new ArrayList<>();
+        try {
+            IndexSearcher searcher = searchers.acquire();
+            try {
+                // a cursor carries no doc id; the sort values are unique, so the last one will do
+                FieldDoc after =
+                        afterValues == null
+                                ? null
+                                : new FieldDoc(
+                                        searcher.getIndexReader().maxDoc() - 1,
+                                        Float.NaN,
+                                        afterValues);
+                TopDocs top = searcher.searchAfter(after, query, pageSize, NEWEST_FIRST);
+                String[] snippets =
+                        new UnifiedHighlighter(searcher, analyzer).highlight(TEXT, query, top);
+                for (int i = 0; i < top.scoreDocs.length; i++) {
+                    hits.add(hit(searcher.doc(top.scoreDocs[i].doc), snippets[i]));
+                }
+            } finally {
+                searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            log.error("Note search failed", e);
+            throw new NoteSearchServiceException("Note search failed");
+        }
+
+        log.info("Found {} notes for the request", hits.size());
+        return CursorPage.of(
+                hits,
+                pageSize,
+                hit ->
+                        Cursor.encode(
+                                hit.getDate().toEpochMilli(), uid(hit.getType(), hit.getId())));
+    }
+
+    private Query query(NoteSearchRequest request) {
+        BooleanQuery.Builder query =
+                new BooleanQuery.Builder()
+                        .add(
+                                new SimpleQueryParser(analyzer, TEXT).parse(request.getQuery()),
+                                BooleanClause.Occur.MUST);
+        if (request.getHouseCode() != null) {
+            query.add(
+                    new TermQuery(new Term(HOUSE_CODE, request.getHouseCode())),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (request.getClientId() != null) {
+            query.add(
+                    LongPoint.newExactQuery(CLIENT_ID, request.getClientId()),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (request.getStart() != null || request.getEnd() != null) {
+            query.add(
+                    LongPoint.newRangeQuery(
+                            DATE,
+                            request.getStart() == null
+                                    ? Long.MIN_VALUE
+                                    : request.getStart().toEpochMilli(),
+                            request.getEnd() == null
+                                    ? Long.MAX_VALUE
+                                    : request.getEnd().toEpochMilli()),
+                    BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private static NoteSearchHit hit(Document doc, String snippet) {
+        return NoteSearchHit.builder()
+                .type(NoteSearchHit.Type.valueOf(doc.get(TYPE)))
+                .id(doc.getField(ID).numericValue().longValue())
+                .houseCode(doc.get(HOUSE_CODE))
+                .clientId(
+                        doc.getField(CLIENT_ID) == null
+                                ? null
+                                : doc.getField(CLIENT_ID).numericValue().longValue())
+                .date(Instant.ofEpochMilli(doc.getField(DATE).numericValue().longValue()))
+                .snippet(snippet)
+                .build();
+    }
+
+    // a null document removes the entry, e.g. for a deleted note
+    private void put(NoteSearchHit.Type type, long id, Document doc) {
+        Term key = new Term(KEY, key(type, id));
+        SearchIndex.afterCommit(
+                () ->
+                        submit(
+                                () -> {
+                                    if (doc == null) {
+                                        writer.deleteDocuments(key);
+                                    } else {
+                                        writer.updateDocument(key, doc);
+                                    }
+                                }));
+    }
+
+    private void submit(IndexUpdate update) {
+        try {
+            updates.execute(
+                    () -> {
+                        try {
+                            update.apply();
+                            searchers.maybeRefresh();
+                        } catch (IOException | RuntimeException e) {
+                            log.error("Note search index update failed", e);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            log.warn("Note search index is closed, update dropped");
+        }
+    }
+
+    // one read-only transaction per page, so lazy associations load and the session stays small
+    private <T> int reindex(JpaRepository<T, Long> repository, Function<T, Document> toDocument)
+            throws IOException {
+        int count = 0;
+        Page<Document> page;
+        int number = 0;
+        do {
+            PageRequest request = PageRequest.of(number++, REBUILD_PAGE_SIZE);
+            page = readOnly.execute(status -> repository.findAll(request).map(toDocument));
+            for (Document doc : page) {
+                if (doc != null) {
+                    writer.addDocument(doc);
+                    count++;
+                }
+            }
+        } while (page.hasNext());
+        return count;
+    }
+
+    private static Document dailyNoteDocument(DailyNote note) {
+        return document(
+                NoteSearchHit.Type.DAILY_NOTE,
+                note.getId(),
+                houseCode(note.getHouse()),
+                clientId(note.getClient()),
+                note.getCreatedAt(),
+                note.getNote());
+    }
+
+    private static Document caseNoteDocument(CaseNote note) {
+        if (Boolean.TRUE.equals(note.getDeleted())) {
+            return null;
+        }
+        Client client = note.getClient();
+        return document(
+                NoteSearchHit.Type.CASE_NOTE,
+                note.getId(),
+                client == null ? null : houseCode(client.getHouse()),
+                clientId(client),
+                startOfDay(note.getNoteDate()),
+                note.getSubject(),
+                note.getContent());
+    }
+
+    // the house of a miscellaneous note is the code as entered; its client is a free-text name
+    private static Document miscellaneousNoteDocument(MiscellaneousNote note) {
+        if (Boolean.TRUE.equals(note.getDeleted())) {
+            return null;
+        }
+        return document(
+                NoteSearchHit.Type.MISCELLANEOUS_NOTE,
+                note.getId(),
+                note.getHouse(),
+                null,
+                startOfDay(note.getNoteDate()),
+                note.getSubject(),
+                note.getContent());
+    }
+
+    private static Document handoverSummaryDocument(HandoverSummary summary) {
+        if (Boolean.TRUE.equals(summary.getDeleted())) {
+            return null;
+        }
+        return document(
+                NoteSearchHit.Type.HANDOVER_SUMMARY,
+                summary.getId(),
+                houseCode(summary.getHouse()),
+                null,
+                startOfDay(summary.getHandoverDate()),
+                summary.getBehaviourSummary(),
+                summary.getSleepSummary(),
+                summary.getFoodSummary(),
+                summary.getToiletingSummary(),
+                summary.getActivitiesSummary(),
+                summary.getCommunications(),
+                summary.getTopPriorities(),
+                summary.getComments(),
+                summary.getPeopleAttended(),
+                summary.getPlacesVisited(),
+                summary.getThingsLater());
+    }
+
+    private static Document incidentDocument(Incident incident) {
+        return document(
+                NoteSearchHit.Type.INCIDENT,
+                incident.getId(),
+                houseCode(incident.getHouse()),
+                clientId(incident.getClient()),
+                incident.getCreatedAt(),
+                incident.getDescription(),
+                incident.getBeforeIncident(),
+                incident.getImmediateAction());
+    }
+
+    // a review is found under the house, client and date of its incident
+    private static Document incidentReviewDocument(IncidentReview review) {
+        Incident incident = review.getIncident();
+        return document(
+                NoteSearchHit.Type.INCIDENT_REVIEW,
+                review.getId(),
+                incident == null ? null : houseCode(incident.getHouse()),
+                incident == null ? null : clientId(incident.getClient()),
+                incident == null ? null : incident.getCreatedAt(),
+                review.getFactorHouseDescription(),
+                review.getFactorHouseWhatHappened(),
+                review.getFactorPersonDescription(),
+                review.getFactorPersonWhatHappened(),
+                review.getFactorEnvDescription(),
+                review.getFactorEnvWhatHappened(),
+                review.getFactorWorkDescription(),
+                review.getFactorWorkWhatHappened(),
+                review.getConsequences(),
+                review.getCorrectiveAction(),
+                review.getActionsToImplement(),
+                review.getHowPrevented(),
+                review.getFollowUp());
+    }
+
+    private static Document document(
+            NoteSearchHit.Type type,
+            long id,
+            String houseCode,
+            Long clientId,
+            Instant date,
+            String... text) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, key(type, id), Field.Store.NO));
+        doc.add(new StoredField(TYPE, type.name()));
+        doc.add(new StoredField(ID, id));
+        if (houseCode != null) {
+            doc.add(new StringField(HOUSE_CODE, houseCode, Field.Store.YES));
+        }
+        if (clientId != null) {
+            doc.add(new LongPoint(CLIENT_ID, clientId));
+            doc.add(new StoredField(CLIENT_ID, clientId));
+        }
+        long millis = date == null ? 0 : date.toEpochMilli();
+        doc.add(new LongPoint(DATE, millis));
+        doc.add(new NumericDocValuesField(DATE, millis));
+        doc.add(new StoredField(DATE, millis));
+        doc.add(new NumericDocValuesField(UID, uid(type, id)));
+        doc.add(
+                new TextField(
+                        TEXT,
+                        Arrays.stream(text)
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.joining("\n")),
+                        Field.Store.YES));
+        return doc;
+    }
+
+    private static String key(NoteSearchHit.Type type, long id) {
+        return type.name() + ":" + id;
+    }
+
+    private static long uid(NoteSearchHit.Type type, long id) {
+        return id * NoteSearchHit.Type.values().length + type.ordinal();
+    }
+
+    private static String houseCode(House house) {
+        return house == null ? null : house.getHouseCode();
+    }
+
+    private static Long clientId(Client client) {
+        return client == null ? null : client.getId();
+    }
+
+    private static Instant startOfDay(LocalDate date) {
+        return date == null ? null : date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    @FunctionalInterface
+    private interface IndexUpdate {
+        void apply() throws IOException;
+    }
+}
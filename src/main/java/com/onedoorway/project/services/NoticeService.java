@@ -4,7 +4,6 @@ import com.onedoorway.project.Context;
 import com.onedoorway.project.dto.ListNoticeRequest;
 import com.onedoorway.project.dto.NoticeDTO;
 import com.onedoorway.project.dto.NoticeRequest;
-import com.onedoorway.project.dto.UserDTO;
 import com.onedoorway.project.exception.NoticeServiceException;
 import com.onedoorway.project.model.House;
 import com.onedoorway.project.model.Notice;
@@ -12,14 +11,11 @@ import com.onedoorway.project.model.NoticeStatus;
 import com.onedoorway.project.model.User;
 import com.onedoorway.project.repository.HouseRepository;
 import com.onedoorway.project.repository.NoticeRepository;
-import com.onedoorway.project.repository.UserRepository;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeMap;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -32,24 +28,24 @@ import org.springframework.util.StringUtils;
 @Transactional
 public class NoticeService {
     private final NoticeRepository noticeRepository;
-    private final UserRepository userRepository;
     private final HouseRepository houseRepository;
     private final Context context;
+    private final DtoMapper dtoMapper;
 
     public NoticeService(
             NoticeRepository noticeRepository,
-            UserRepository userRepository,
             HouseRepository houseRepository,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper) {
         this.noticeRepository = noticeRepository;
-        this.userRepository = userRepository;
         this.houseRepository = houseRepository;
         this.context = context;
+        this.dtoMapper = dtoMapper;
     }
 
     public void createNotice(NoticeRequest request) throws NoticeServiceException {
         String email = context.currentUser();
-        User user = userRepository.getByEmail(email);
+        User user = context.currentUserReference();
         if (user == null) {
             handleError("Unauthenticated session or no user found for email %s", email);
         }
@@ -80,28 +76,22 @@ public class NoticeService {
         throw new NoticeServiceException(errorMessage);
     }
 
+    @Transactional(readOnly = true)
     public NoticeDTO getNoticeById(long id) throws NoticeServiceException {
         Optional<Notice> res = noticeRepository.findById(id);
         if (res.isEmpty()) {
             throw new NoticeServiceException("No notice found with id " + id);
         }
         log.info("Fetched the notice based on id {}", id);
-        return new ModelMapper().map(res.get(), NoticeDTO.class);
+        return dtoMapper.map(res.get(), NoticeDTO.class);
     }
 
+    @Transactional(readOnly = true)
     public List<NoticeDTO> getNotices(ListNoticeRequest request) throws NoticeServiceException {
         List<Notice> res;
         Pageable page =
                 PageRequest.of(
                         request.getPageNumber(), request.getPageSize(), Sort.by("id").descending());
-        ModelMapper modelMapper = new ModelMapper();
-        TypeMap<Notice, NoticeDTO> typeMap =
-                modelMapper.createTypeMap(Notice.class, NoticeDTO.class);
-        typeMap.addMappings(
-                mapper ->
-                        mapper.using(new HouseListConverter())
-                                .map(Notice::getHouses, NoticeDTO::setHouses));
-        modelMapper.typeMap(User.class, UserDTO.class);
         log.info("Fetching notices based on request");
         if (request.getHouseCode() != null && request.getStatus() != null) {
             log.info("Fetching the notices based on houseCode and NoticeStatus");
@@ -119,7 +109,7 @@ public class NoticeService {
         }
         log.info("Fetched the notices based on the request");
         return res.stream()
-                .map(item -> modelMapper.map(item, NoticeDTO.class))
+                .map(item -> dtoMapper.map(item, NoticeDTO.class))
                 .collect(Collectors.toList());
     }
 
@@ -20,7 +20,7 @@ public class ODWUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        com.onedoorway.project.model.User user = userRepository.getByEmail(username);
+        com.onedoorway.project.model.User user = userRepository.findForLogin(username);
         if (user == null) {
             throw new UsernameNotFoundException("Could not find user with the given email");
         }
@@ -3,7 +3,6 @@ package com.onedoorway.project.services;
 import com.onedoorway.project.dto.PowerOfAttorneyDTO;
 import com.onedoorway.project.dto.PowerOfAttorneyRequest;
 import com.onedoorway.project.dto.UpdatePowerOfAttorneyRequest;
-import com.onedoorway.project.dto.UpdateServiceProviderRequest;
 import com.onedoorway.project.exception.ClientServiceException;
 import com.onedoorway.project.exception.PowerOfAttorneyServiceException;
 import com.onedoorway.project.model.*;
@@ -13,11 +12,9 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Log4j2
 @Service
@@ -25,13 +22,16 @@ public class PowerOfAttorneyService {
 
     private final ClientRepository clientRepository;
     private final PowerOFAttorneyRepository powerOFAttorneyRepository;
+    private final DtoMapper dtoMapper;
 
     @Autowired
     public PowerOfAttorneyService(
             ClientRepository clientRepository,
-            PowerOFAttorneyRepository powerOFAttorneyRepository) {
+            PowerOFAttorneyRepository powerOFAttorneyRepository,
+            DtoMapper dtoMapper) {
         this.clientRepository = clientRepository;
         this.powerOFAttorneyRepository = powerOFAttorneyRepository;
+        this.dtoMapper = dtoMapper;
     }
 
     public void createPowerOfAttorney(PowerOfAttorneyRequest request)
@@ -65,9 +65,9 @@ public class PowerOfAttorneyService {
         log.info("Created Power Of Attorney  With Id {}", powerOfAttorney.getId());
     }
 
+    @Transactional(readOnly = true)
     public List<PowerOfAttorneyDTO> listPowerOfAttorney(long clientId)
             throws PowerOfAttorneyServiceException, ClientServiceException {
-        ModelMapper modelMapper = new ModelMapper();
         Optional<Client> client = clientRepository.findById(clientId);
         if (client.isEmpty()) {
             log.info("client not found {}", clientId);
@@ -81,7 +81,7 @@ public class PowerOfAttorneyService {
             log.error(errorMessage);
         }
         return powerOfAttorney.stream()
-                .map(item -> modelMapper.map(item, PowerOfAttorneyDTO.class))
+                .map(item -> dtoMapper.map(item, PowerOfAttorneyDTO.class))
                 .collect(Collectors.toList());
     }
 
@@ -96,16 +96,7 @@ public class PowerOfAttorneyService {
         }
 
         PowerOfAttorney existingEntity = powerOfAttorney.get();
-        ModelMapper mapper = new ModelMapper();
-        mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-        mapper.addMappings(
-                new PropertyMap<UpdateServiceProviderRequest, ServiceProvider>() {
-                    @Override
-                    protected void configure() {
-                        skip(destination.getClient());
-                    }
-                });
-        mapper.map(request, existingEntity);
+        dtoMapper.patch(request, existingEntity);
         existingEntity.setDeleted(request.getDeleted());
         powerOFAttorneyRepository.save(existingEntity);
         log.info("Updated the power of attorney for the given id {}", id);
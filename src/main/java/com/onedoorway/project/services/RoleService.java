@@ -5,23 +5,26 @@ import com.onedoorway.project.repository.RoleRepository;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
 public class RoleService {
     private final RoleRepository roleRepository;
+    private final DtoMapper dtoMapper;
 
-    public RoleService(@Autowired RoleRepository roleRepository) {
+    public RoleService(@Autowired RoleRepository roleRepository, @Autowired DtoMapper dtoMapper) {
         this.roleRepository = roleRepository;
+        this.dtoMapper = dtoMapper;
     }
 
+    @Transactional(readOnly = true)
     public List<RoleDTO> listAllUsers() {
         List<RoleDTO> roles =
                 roleRepository.findAll().stream()
-                        .map(item -> new ModelMapper().map(item, RoleDTO.class))
+                        .map(item -> dtoMapper.map(item, RoleDTO.class))
                         .collect(Collectors.toList());
         log.info("Fetched the roles {}", roles.size());
         return roles;
@@ -0,0 +1,239 @@
+package com.onedoorway.project.services;
+
+import com.onedoorway.project.model.Client;
+import com.onedoorway.project.model.House;
+import com.onedoorway.project.model.User;
+import com.onedoorway.project.repository.ClientRepository;
+import com.onedoorway.project.repository.ClientSearchRow;
+import com.onedoorway.project.repository.HouseRepository;
+import com.onedoorway.project.repository.UserRepository;
+import com.onedoorway.project.repository.UserSearchRow;
+import com.onedoorway.project.util.TrigramIndex;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory type-ahead search over active client names, active user names and emails, and house
+ * codes. It is loaded once the application is up and kept current by the service write paths,
+ * which hand their changes over once the transaction commits. Clients and users point at house
+ * ids rather than copying the code, so renaming a house only touches the house index.
+ */
+@Slf4j
+@Service
+public class SearchIndex {
+    private final ClientRepository clientRepository;
+    private final UserRepository userRepository;
+    private final HouseRepository houseRepository;
+
+    private final TrigramIndex clients = new TrigramIndex();
+    private final TrigramIndex users = new TrigramIndex();
+    private final TrigramIndex houses = new TrigramIndex();
+    private final Map<Long, Long> clientHouses = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> userHouses = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SearchIndex(
+            ClientRepository clientRepository,
+            UserRepository userRepository,
+            HouseRepository houseRepository) {
+        this.clientRepository = clientRepository;
+        this.userRepository = userRepository;
+        this.houseRepository = houseRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        houses.clear();
+        for (House house : houseRepository.findAll()) {
+            houses.put(house.getId(), house.getHouseCode());
+        }
+
+        clients.clear();
+        clientHouses.clear();
+        for (ClientSearchRow row : clientRepository.findSearchRows()) {
+            clients.put(row.getId(), row.getName());
+            if (row.getHouseId() != null) {
+                clientHouses.put(row.getId(), row.getHouseId());
+            }
+        }
+
+        users.clear();
+        userHouses.clear();
+        Map<Long, Set<Long>> memberships = new HashMap<>();
+        for (UserSearchRow row : userRepository.findSearchRows()) {
+            users.put(row.getId(), row.getFirstName(), row.getLastName(), row.getEmail());
+            Set<Long> houseIds = memberships.computeIfAbsent(row.getId(), id -> new HashSet<>());
+            if (row.getHouseId() != null) {
+                houseIds.add(row.getHouseId());
+            }
+        }
+        memberships.forEach((id, houseIds) -> userHouses.put(id, Set.copyOf(houseIds)));
+        log.info(
+                "Indexed {} houses, {} clients and {} users for search",
+                houses.size(),
+                clients.size(),
+                users.size());
+    }
+
+    /** Clients by name, then clients of a house whose code matches, as the old OR query did. */
+    public List<Long> searchClients(String nameOrHouse) {
+        Set<Long> ids = new LinkedHashSet<>(clients.search(nameOrHouse));
+        Set<Long> houseIds = new HashSet<>(houses.search(nameOrHouse));
+        if (!houseIds.isEmpty()) {
+            clientHouses.entrySet().stream()
+                    .filter(entry -> houseIds.contains(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .forEach(ids::add);
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /** Users matching {@code nameOrEmail}, in one of the houses matching {@code houseCode}. */
+    public List<Long> searchUsers(String nameOrEmail, String houseCode) {
+        if (houseCode == null) {
+            return nameOrEmail == null ? List.of() : users.search(nameOrEmail);
+        }
+        Set<Long> houseIds = new HashSet<>(houses.search(houseCode));
+        if (houseIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> candidates =
+                nameOrEmail == null
+                        ? userHouses.keySet().stream().sorted().collect(Collectors.toList())
+                        : users.search(nameOrEmail);
+        return candidates.stream()
+                .filter(
+                        id ->
+                                !Collections.disjoint(
+                                        userHouses.getOrDefault(id, Set.of()), houseIds))
+                .collect(Collectors.toList());
+    }
+
+    public List<Long> searchHouses(String houseCode) {
+        return houses.search(houseCode);
+    }
+
+    public void putClient(Client client) {
+        putClient(
+                client.getId(),
+                !Boolean.TRUE.equals(client.getDeleted()),
+                client.getName(),
+                client.getHouse() == null ? null : client.getHouse().getId());
+    }
+
+    /** For writes that did not load the client: reads back its searchable fields instead. */
+    public void refreshClient(long id) {
+        ClientSearchRow row = clientRepository.findSearchRowById(id);
+        if (row == null) {
+            putClient(id, false, null, null);
+        } else {
+            putClient(id, true, row.getName(), row.getHouseId());
+        }
+    }
+
+    private void putClient(long id, boolean active, String name, Long houseId) {
+        afterCommit(
+                () -> {
+                    if (!active) {
+                        clients.remove(id);
+                        clientHouses.remove(id);
+                        return;
+                    }
+                    clients.put(id, name);
+                    if (houseId == null) {
+                        clientHouses.remove(id);
+                    } else {
+                        clientHouses.put(id, houseId);
+                    }
+                });
+    }
+
+    public void putUser(User user) {
+        long id = user.getId();
+        boolean active = !Boolean.TRUE.equals(user.getDeleted());
+        String firstName = user.getFirstName();
+        String lastName = user.getLastName();
+        String email = user.getEmail();
+        Set<Long> houseIds =
+                user.getHouses() == null
+                        ? Set.of()
+                        : user.getHouses().stream().map(House::getId).collect(Collectors.toSet());
+        afterCommit(
+                () -> {
+                    if (!active) {
+                        users.remove(id);
+                        userHouses.remove(id);
+                        return;
+                    }
+                    users.put(id, firstName, lastName, email);
+                    userHouses.put(id, Set.copyOf(houseIds));
+                });
+    }
+
+    public void putHouse(House house) {
+        long id = house.getId();
+        String houseCode = house.getHouseCode();
+        afterCommit(() -> houses.put(id, houseCode));
+    }
+
+    /**
+     * The rows for one page of {@code ids}, in the order of {@code ids}. Only that page is loaded,
+     * and not at all when the page is past the end.
+     */
+    public static <T> List<T> hydrate(
+            List<Long> ids,
+            Pageable page,
+            Function<List<Long>, ? extends Iterable<T>> load,
+            ToLongFunction<T> idOf) {
+        if (page.getOffset() >= ids.size()) {
+            return List.of();
+        }
+        List<Long> pageIds =
+                ids.subList(
+                        (int) page.getOffset(),
+                        (int) Math.min(ids.size(), page.getOffset() + page.getPageSize()));
+        Map<Long, T> rows = new HashMap<>();
+        for (T row : load.apply(pageIds)) {
+            rows.put(idOf.applyAsLong(row), row);
+        }
+        return pageIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // a rolled back write leaves the index, and the security stamps, as they were
+    static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        update.run();
+                    }
+                });
+    }
+}
@@ -0,0 +1,93 @@
+package com.onedoorway.project.services;
+
+import com.onedoorway.project.filters.TokenCache;
+import com.onedoorway.project.model.JwtPrincipal;
+import com.onedoorway.project.model.User;
+import com.onedoorway.project.repository.UserRepository;
+import com.onedoorway.project.repository.UserStamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory table of the current security stamp per user. Tokens carry the stamp they were
+ * issued with and are rejected once the stamp moves on, so role, house and deleted changes take
+ * effect without reloading the user on every request.
+ */
+@Slf4j
+@Service
+public class SecurityStampService {
+    private final UserRepository userRepository;
+    private final TokenCache tokenCache;
+    private volatile Map<String, Integer> stamps = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SecurityStampService(UserRepository userRepository, TokenCache tokenCache) {
+        this.userRepository = userRepository;
+        this.tokenCache = tokenCache;
+    }
+
+    public Integer getStamp(String username) {
+        return username == null ? null : stamps.get(username.toLowerCase());
+    }
+
+    public void record(String username, int stamp) {
+        if (username != null) {
+            stamps.put(username.toLowerCase(), stamp);
+        }
+    }
+
+    public boolean isCurrent(JwtPrincipal principal) {
+        Integer stamp = getStamp(principal.getName());
+        return stamp != null && stamp == principal.getSecurityStamp();
+    }
+
+    /**
+     * Moves the stamp of {@code user} on. The entity is changed within the caller's transaction,
+     * while the in-memory table and the token cache follow only once it commits, so a rolled back
+     * change does not lock the user out until the next refresh.
+     */
+    public void bump(User user) {
+        int next = user.getSecurityStamp() == null ? 1 : user.getSecurityStamp() + 1;
+        user.setSecurityStamp(next);
+        String email = user.getEmail();
+        int stamp = Boolean.TRUE.equals(user.getDeleted()) ? JwtPrincipal.REVOKED_STAMP : next;
+        SearchIndex.afterCommit(
+                () -> {
+                    record(email, stamp);
+                    tokenCache.evictUser(email);
+                    log.info("Bumped the security stamp of user {} to {}", email, next);
+                });
+    }
+
+    public void revoke(String username) {
+        SearchIndex.afterCommit(
+                () -> {
+                    record(username, JwtPrincipal.REVOKED_STAMP);
+                    tokenCache.evictUser(username);
+                    log.info("Revoked the tokens of user {}", username);
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${odw.security.stamp-refresh-ms:30000}")
+    public void refresh() {
+        Map<String, Integer> refreshed = new ConcurrentHashMap<>();
+        for (UserStamp userStamp : userRepository.findAllSecurityStamps()) {
+            if (userStamp.getEmail() == null) {
+                continue;
+            }
+            int stamp;
+            if (Boolean.TRUE.equals(userStamp.getDeleted())) {
+                stamp = JwtPrincipal.REVOKED_STAMP;
+            } else {
+                stamp = userStamp.getSecurityStamp() == null ? 0 : userStamp.getSecurityStamp();
+            }
+            refreshed.put(userStamp.getEmail().toLowerCase(), stamp);
+        }
+        stamps = refreshed;
+        log.debug("Refreshed the security stamps of {} users", refreshed.size());
+    }
+}
@@ -14,11 +14,9 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Log4j2
 @Service
@@ -26,15 +24,18 @@ public class ServiceProviderService {
     private final ServiceProviderRepository serviceProviderRepository;
     private final ClientRepository clientRepository;
     private final Context context;
+    private final DtoMapper dtoMapper;
 
     @Autowired
     public ServiceProviderService(
             ServiceProviderRepository serviceProviderRepository,
             ClientRepository clientRepository,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper) {
         this.serviceProviderRepository = serviceProviderRepository;
         this.clientRepository = clientRepository;
         this.context = context;
+        this.dtoMapper = dtoMapper;
     }
 
     public void createServiceProvider(ServiceProviderRequest request)
@@ -60,9 +61,9 @@ public class ServiceProviderService {
         log.info("Created service provider with id {}", serviceProvider.getId());
     }
 
+    @Transactional(readOnly = true)
     public List<ServiceProviderDTO> getServiceProviderById(long clientId)
             throws ServiceProviderException, ClientServiceException {
-        ModelMapper modelMapper = new ModelMapper();
         Optional<Client> client = clientRepository.findById(clientId);
         if (client.isEmpty()) {
             log.info("client not found {}", clientId);
@@ -76,7 +77,7 @@ public class ServiceProviderService {
             log.error(errorMessage);
         }
         return serviceProvider.stream()
-                .map(item -> modelMapper.map(item, ServiceProviderDTO.class))
+                .map(item -> dtoMapper.map(item, ServiceProviderDTO.class))
                 .collect(Collectors.toList());
     }
 
@@ -91,16 +92,7 @@ public class ServiceProviderService {
         }
 
         ServiceProvider existingEntity = serviceProvider.get();
-        ModelMapper mapper = new ModelMapper();
-        mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-        mapper.addMappings(
-                new PropertyMap<UpdateServiceProviderRequest, ServiceProvider>() {
-                    @Override
-                    protected void configure() {
-                        skip(destination.getClient());
-                    }
-                });
-        mapper.map(request, existingEntity);
+        dtoMapper.patch(request, existingEntity);
         existingEntity.setDeleted(request.getDeleted());
         serviceProviderRepository.save(existingEntity);
         log.info("Updated the service provider for the given id {}", id);
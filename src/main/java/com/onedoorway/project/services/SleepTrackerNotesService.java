@@ -5,6 +5,7 @@ import com.onedoorway.project.dto.SleepTrackerNotesDTO;
 import com.onedoorway.project.dto.SleepTrackerNotesRequest;
 import com.onedoorway.project.dto.UpdateSleepTrackerRequest;
 import com.onedoorway.project.exception.SleepTrackerNotesServiceException;
+import com.onedoorway.project.model.ArchiveRecordType;
 import com.onedoorway.project.model.Client;
 import com.onedoorway.project.model.SleepTrackerNotes;
 import com.onedoorway.project.repository.ClientRepository;
@@ -14,9 +15,6 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,15 +26,21 @@ public class SleepTrackerNotesService {
     private final SleepTrackerNotesRepository sleepTrackerNotesRepository;
     private final ClientRepository clientRepository;
     private final Context context;
+    private final DtoMapper dtoMapper;
+    private final ArchiveService archiveService;
 
     @Autowired
     public SleepTrackerNotesService(
             SleepTrackerNotesRepository sleepTrackerNotesRepository,
             ClientRepository clientRepository,
-            Context context) {
+            Context context,
+            DtoMapper dtoMapper,
+            ArchiveService archiveService) {
         this.sleepTrackerNotesRepository = sleepTrackerNotesRepository;
         this.clientRepository = clientRepository;
         this.context = context;
+        this.dtoMapper = dtoMapper;
+        this.archiveService = archiveService;
     }
 
     public void createSleepTrackerNotes(SleepTrackerNotesRequest request)
@@ -48,16 +52,6 @@ public class SleepTrackerNotesService {
             log.error("Client not found for requested clientId {}", request.getClientId());
             throw new SleepTrackerNotesServiceException("Client not found");
         }
-        if (sleepTrackerNotesRepository.findByClient_IdAndReportDate(
-                        request.getClientId(), request.getReportDate())
-                != null) {
-            log.error(
-                    "sleep tracker note already exists for client id {} for report date {}",
-                    request.getClientId(),
-                    request.getReportDate());
-            throw new SleepTrackerNotesServiceException(
-                    "sleep tracker already exists for client id for the given date");
-        }
 
         SleepTrackerNotes sleepTrackerNotes =
                 SleepTrackerNotes.builder()
@@ -81,13 +75,23 @@ public class SleepTrackerNotesService {
                         .reportDate(request.getReportDate())
                         .lastUpdatedAt(context.now())
                         .build();
-        sleepTrackerNotesRepository.save(sleepTrackerNotes);
+        if (archiveService.isArchived(
+                        ArchiveRecordType.SLEEP_TRACKER_NOTE,
+                        ArchiveService.key(request.getClientId(), request.getReportDate()))
+                || !sleepTrackerNotesRepository.insertIfAbsent(sleepTrackerNotes)) {
+            log.error(
+                    "sleep tracker note already exists for client id {} for report date {}",
+                    request.getClientId(),
+                    request.getReportDate());
+            throw new SleepTrackerNotesServiceException(
+                    "sleep tracker already exists for client id for the given date");
+        }
         log.info("Created sleepTrackerNotes with id {} ", sleepTrackerNotes.getId());
     }
 
+    @Transactional(readOnly = true)
     public SleepTrackerNotesDTO getSleepTrackerNote(long clientId, String reportDate)
             throws SleepTrackerNotesServiceException {
-        ModelMapper modelMapper = new ModelMapper();
         LocalDate date = LocalDate.parse(reportDate);
         Optional<Client> client = clientRepository.findById(clientId);
         if (client.isEmpty()) {
@@ -97,12 +101,20 @@ public class SleepTrackerNotesService {
         SleepTrackerNotes sleepTrackerNotes =
                 sleepTrackerNotesRepository.findByClient_IdAndReportDate(clientId, date);
         if (sleepTrackerNotes == null) {
+            Optional<SleepTrackerNotesDTO> archived =
+                    archiveService.read(
+                            ArchiveRecordType.SLEEP_TRACKER_NOTE,
+                            ArchiveService.key(clientId, date),
+                            SleepTrackerNotesDTO.class);
+            if (archived.isPresent()) {
+                return archived.get();
+            }
             String errorMessage =
                     String.format("Cannot get a sleepTrackerNote for the client %d", clientId);
             log.error(errorMessage);
             throw new SleepTrackerNotesServiceException(errorMessage);
         }
-        return modelMapper.map(sleepTrackerNotes, SleepTrackerNotesDTO.class);
+        return dtoMapper.map(sleepTrackerNotes, SleepTrackerNotesDTO.class);
     }
 
     public void updateSleepTracker(long id, UpdateSleepTrackerRequest request)
@@ -127,16 +139,7 @@ public class SleepTrackerNotesService {
         }
 
         SleepTrackerNotes existingEntity = sleepTrackerNotes.get();
-        ModelMapper mapper = new ModelMapper();
-        mapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-        mapper.addMappings(
-                new PropertyMap<SleepTrackerNotesRequest, SleepTrackerNotes>() {
-                    @Override
-                    protected void configure() {
-                        skip(destination.getClient());
-                    }
-                });
-        mapper.map(request, existingEntity);
+        dtoMapper.patch(request, existingEntity);
         existingEntity.setLastUpdatedAt(context.now());
         sleepTrackerNotesRepository.save(existingEntity);
         log.info("Updated the sleep tracker for the given id {}", request.getId());
@@ -0,0 +1,98 @@
+package com.onedoorway.project.services;
+
+import com.onedoorway.project.util.TextCompression;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Compresses the values that V8 carried over as plain text into the compressed text columns. It
+ * walks each column by id in batches and leaves alone anything written since it was read, so it
+ * can run next to the application and stop and start again. Off unless {@code
+ * odw.compression.backfill-cron} is set; once a run has gone through, there is nothing left for it.
+ */
+@Slf4j
+@Service
+public class TextCompressionBackfillService {
+    // table, id column and column, for the columns mapped with CompressedTextConverter
+    static final String[][] COMPRESSED_COLUMNS = {
+        {"incidents", "incident_id", "description"},
+        {"incidents", "incident_id", "before_incident"},
+        {"incidents", "incident_id", "immediate_action"},
+        {"daily_notes", "daily_note_id", "note"},
+        {"handover_summary", "hand_over_id", "behaviours_summary"},
+        {"handover_summary", "hand_over_id", "sleep_summary"},
+        {"handover_summary", "hand_over_id", "food_summary"},
+        {"handover_summary", "hand_over_id", "toileting_summary"},
+        {"handover_summary", "hand_over_id", "activities_summary"},
+        {"clients", "client_id", "diagnosis"},
+        {"clients", "client_id", "medication_support"}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public TextCompressionBackfillService(
+            JdbcTemplate jdbcTemplate, @Value("${odw.compression.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${odw.compression.backfill-cron:-}")
+    public void backfill() {
+        for (String[] column : COMPRESSED_COLUMNS) {
+            int compressed = backfill(column[0], column[1], column[2]);
+            log.info("Compressed {} values of {}.{}", compressed, column[0], column[2]);
+        }
+    }
+
+    int backfill(String table, String idColumn, String column) {
+        // plain values long enough to compress; compressed ones start with a zero byte
+        String select =
+                String.format(
+                        "select %1$s, %2$s from %3$s where %1$s > ? and %2$s is not null"
+                                + " and octet_length(%2$s) >= ? and get_byte(%2$s, 0) <> 0"
+                                + " order by %1$s limit ?",
+                        idColumn, column, table);
+        // only over the value that was read, so a concurrent write wins
+        String update =
+                String.format(
+                        "update %3$s set %2$s = ? where %1$s = ? and %2$s = ?",
+                        idColumn, column, table);
+        int compressed = 0;
+        long after = 0;
+        List<Object[]> rows;
+        do {
+            rows =
+                    jdbcTemplate.query(
+                            select,
+                            (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getBytes(2)},
+                            after,
+                            TextCompression.THRESHOLD,
+                            batchSize);
+            List<Object[]> updates = new ArrayList<>();
+            for (Object[] row : rows) {
+                byte[] plain = (byte[]) row[1];
+                byte[] value = TextCompression.encode(TextCompression.decode(plain));
+                if (TextCompression.isCompressed(value)) {
+                    updates.add(new Object[] {value, row[0], plain});
+                }
+            }
+            if (!updates.isEmpty()) {
+                for (int count : jdbcTemplate.batchUpdate(update, updates)) {
+                    compressed += Math.max(count, 0);
+                }
+            }
+            if (!rows.isEmpty()) {
+                after = (long) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == batchSize);
+        return compressed;
+    }
+}
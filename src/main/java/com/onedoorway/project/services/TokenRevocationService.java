@@ -0,0 +1,184 @@
+package com.onedoorway.project.services;
+
+import com.onedoorway.project.filters.TokenCache;
+import com.onedoorway.project.model.TokenRevocation;
+import com.onedoorway.project.repository.TokenRevocationRepository;
+import com.onedoorway.project.util.BloomFilter;
+import com.onedoorway.project.util.JwtUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Revoked tokens and per-user cut-offs, persisted so every instance sees them. Each instance keeps
+ * the live rows in memory and pulls new ones from a high-water mark, so the request path never
+ * queries the table.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final TokenCache tokenCache;
+    private final int expectedSize;
+    private final long overlapMillis;
+    private final Counter rejections;
+    // token digest -> expiry of the token, in epoch millis
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // username -> tokens issued up to this instant are revoked, in epoch millis
+    private final Map<String, Long> revokedUsers = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private int bloomCapacity;
+    private Instant highWaterMark = Instant.EPOCH;
+
+    @Autowired
+    public TokenRevocationService(
+            TokenRevocationRepository tokenRevocationRepository,
+            TokenCache tokenCache,
+            MeterRegistry meterRegistry,
+            @Value("${odw.security.revocation.expected-size:10000}") int expectedSize,
+            @Value("${odw.security.revocation.overlap-ms:60000}") long overlapMillis) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.tokenCache = tokenCache;
+        this.expectedSize = expectedSize;
+        this.overlapMillis = overlapMillis;
+        this.rejections = meterRegistry.counter("odw.token.revocation.rejections");
+        Gauge.builder("odw.token.revocation.size", revokedTokens, Map::size)
+                .register(meterRegistry);
+        rebuildBloomFilter();
+    }
+
+    public void revokeToken(String token, String username, Date expiration) {
+        Instant now = Instant.now();
+        TokenRevocation revocation =
+                TokenRevocation.builder()
+                        .tokenDigest(TokenCache.digest(token))
+                        .username(username == null ? null : username.toLowerCase())
+                        .revokedAt(now)
+                        .expiresAt(
+                                expiration == null
+                                        ? now.plusMillis(JwtUtil.TOKEN_VALIDITY_MS)
+                                        : expiration.toInstant())
+                        .build();
+        tokenRevocationRepository.save(revocation);
+        apply(revocation);
+        log.info("Revoked a token of user {}", username);
+    }
+
+    public void revokeAllForUser(String username) {
+        if (username == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        TokenRevocation revocation =
+                TokenRevocation.builder()
+                        .username(username.toLowerCase())
+                        .revokedAt(now)
+                        .expiresAt(now.plusMillis(JwtUtil.TOKEN_VALIDITY_MS))
+                        .build();
+        tokenRevocationRepository.save(revocation);
+        apply(revocation);
+        log.info("Revoked all tokens of user {}", username);
+    }
+
+    /** {@code username} and {@code issuedAt} may be null when only the token itself is known. */
+    public boolean isRevoked(String token, String username, Date issuedAt) {
+        if (username != null && issuedAt != null && !revokedUsers.isEmpty()) {
+            Long cutoff = revokedUsers.get(username.toLowerCase());
+            if (cutoff != null && issuedAt.getTime() <= cutoff) {
+                rejections.increment();
+                return true;
+            }
+        }
+        if (revokedTokens.isEmpty()) {
+            return false;
+        }
+        String digest = TokenCache.digest(token);
+        if (bloomFilter.mightContain(digest) && revokedTokens.containsKey(digest)) {
+            rejections.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${odw.security.revocation.refresh-ms:5000}")
+    public synchronized void refresh() {
+        // rows committed slightly out of order, or by an instance with a skewed clock, are
+        // picked up by re-reading a window behind the mark; applying a row twice is a no-op
+        List<TokenRevocation> revocations =
+                tokenRevocationRepository.findByRevokedAtAfterOrderByRevokedAtAsc(
+                        highWaterMark.minusMillis(overlapMillis));
+        int applied = 0;
+        for (TokenRevocation revocation : revocations) {
+            if (apply(revocation)) {
+                applied++;
+            }
+            if (revocation.getRevokedAt().isAfter(highWaterMark)) {
+                highWaterMark = revocation.getRevokedAt();
+            }
+        }
+        if (applied > 0) {
+            log.info("Applied {} new token revocations", applied);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${odw.security.revocation.purge-ms:3600000}")
+    public synchronized void purgeExpired() {
+        Instant now = Instant.now();
+        int deleted = tokenRevocationRepository.deleteExpired(now);
+        long nowMillis = now.toEpochMilli();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        revokedUsers.values().removeIf(cutoff -> cutoff + JwtUtil.TOKEN_VALIDITY_MS <= nowMillis);
+        rebuildBloomFilter();
+        log.info("Purged {} expired token revocations", deleted);
+    }
+
+    private synchronized boolean apply(TokenRevocation revocation) {
+        if (revocation.getExpiresAt().toEpochMilli() <= System.currentTimeMillis()) {
+            return false;
+        }
+        if (revocation.getTokenDigest() != null) {
+            String digest = revocation.getTokenDigest();
+            if (revokedTokens.containsKey(digest)) {
+                return false;
+            }
+            // into the filter before the exact set, so a reader never sees one without the other
+            bloomFilter.add(digest);
+            revokedTokens.put(digest, revocation.getExpiresAt().toEpochMilli());
+            if (revokedTokens.size() > bloomCapacity) {
+                rebuildBloomFilter();
+            }
+            tokenCache.evictDigest(digest);
+            return true;
+        }
+        long cutoff = revocation.getRevokedAt().toEpochMilli();
+        Long previous = revokedUsers.get(revocation.getUsername());
+        if (previous != null && previous >= cutoff) {
+            return false;
+        }
+        revokedUsers.put(revocation.getUsername(), cutoff);
+        tokenCache.evictUser(revocation.getUsername());
+        return true;
+    }
+
+    private synchronized void rebuildBloomFilter() {
+        int capacity = Math.max(expectedSize, revokedTokens.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        for (String digest : revokedTokens.keySet()) {
+            rebuilt.add(digest);
+        }
+        bloomCapacity = capacity;
+        bloomFilter = rebuilt;
+    }
+}
@@ -10,17 +10,20 @@ import com.onedoorway.project.model.User;
 import com.onedoorway.project.repository.HouseRepository;
 import com.onedoorway.project.repository.PasswordTokenRepository;
 import com.onedoorway.project.repository.RoleRepository;
+import com.onedoorway.project.repository.UserListView;
 import com.onedoorway.project.repository.UserRepository;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
@@ -43,7 +46,13 @@ public class UserService {
     private final PasswordTokenRepository passwordTokenRepository;
     private final EmailSenderService emailSenderService;
     private final Context context;
+    private final SecurityStampService securityStampService;
+    private final TokenRevocationService tokenRevocationService;
+    private final HouseSummaryCache houseSummaryCache;
     private final String url;
+    private final DtoMapper dtoMapper;
+    private final ListCountCache listCountCache;
+    private final SearchIndex searchIndex;
 
     @Autowired
     public UserService(
@@ -54,7 +63,13 @@ public class UserService {
             PasswordTokenRepository passwordTokenRepository,
             EmailSenderService emailSenderService,
             @Value("${spring.sendgrid.url}") String url,
-            Context context) {
+            Context context,
+            SecurityStampService securityStampService,
+            TokenRevocationService tokenRevocationService,
+            HouseSummaryCache houseSummaryCache,
+            DtoMapper dtoMapper,
+            ListCountCache listCountCache,
+            SearchIndex searchIndex) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
@@ -63,6 +78,12 @@ public class UserService {
         this.emailSenderService = emailSenderService;
         this.url = url;
         this.context = context;
+        this.securityStampService = securityStampService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.houseSummaryCache = houseSummaryCache;
+        this.dtoMapper = dtoMapper;
+        this.listCountCache = listCountCache;
+        this.searchIndex = searchIndex;
     }
 
     @PreAuthorize("@context.isAdmin()")
@@ -86,7 +107,7 @@ public class UserService {
             throw new UserServiceException("Role not found for creating the user");
         }
 
-        userRepository.save(
+        User user =
                 User.builder()
                         .email(email)
                         .firstName(firstName)
@@ -96,116 +117,69 @@ public class UserService {
                         .mobile(mobile)
                         .password(passwordEncoder.encode(password))
                         .roles(Set.of(role))
-                        .build());
+                        .build();
+        userRepository.save(user);
+        searchIndex.putUser(user);
+        listCountCache.invalidate(ListCountCache.USERS);
 
         log.info("Created the user with email {}", email);
     }
 
+    @Transactional(readOnly = true)
     public List<UserShortDTO> listAllUsers() {
-        ModelMapper modelMapper = new ModelMapper();
-        TypeMap<User, UserShortDTO> typeMap =
-                modelMapper.createTypeMap(User.class, UserShortDTO.class);
-        typeMap.addMappings(
-                mapper ->
-                        mapper.using(new RoleListConverter())
-                                .map(User::getRoles, UserShortDTO::setRoleNames));
-
-        List<UserShortDTO> users =
-                userRepository.findAllByDeleted(false, Pageable.unpaged()).stream()
-                        .map(item -> modelMapper.map(item, UserShortDTO.class))
-                        .collect(Collectors.toList());
+        List<UserShortDTO> users = toShortDTOs(userRepository.findShortListByDeleted(false));
         log.info("Fetched all users - count {}", users.size());
         return users;
     }
 
+    @Transactional(readOnly = true)
+    public ListUsersByPageResponse listUsersPage(ListUsersByPageRequest request) {
+        List<UserDTO> users = listAllUsersByPage(request);
+        long total =
+                listCountCache.total(
+                        ListCountCache.USERS,
+                        request.getNameOrEmail() + "|" + request.getHouseCode(),
+                        page(request),
+                        users.size(),
+                        () -> usersCount(request));
+        return ListUsersByPageResponse.builder().users(users).totalUsers(total).build();
+    }
+
+    @Transactional(readOnly = true)
     public List<UserDTO> listAllUsersByPage(ListUsersByPageRequest request) {
         List<User> res;
-        Pageable page =
-                PageRequest.of(
-                        request.getPageNumber(), request.getPageSize(), Sort.by("id").ascending());
-        ModelMapper modelMapper = new ModelMapper();
-        TypeMap<User, UserDTO> typeMap = modelMapper.createTypeMap(User.class, UserDTO.class);
-        typeMap.addMappings(
-                mapper ->
-                        mapper.using(new RoleListConverter())
-                                .map(User::getRoles, UserDTO::setRoleNames));
-        typeMap.addMappings(
-                mapper ->
-                        mapper.using(new HouseCodeConverter())
-                                .map(User::getHouses, UserDTO::setHouses));
+        Pageable page = page(request);
 
-        if (request.getNameOrEmail() != null && request.getHouseCode() == null) {
-            log.info("Fetching the users based on the firstName , lastName ,Email and Deleted ");
-            res =
-                    userRepository
-                            .findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCaseAndDeleted(
-                                    request.getNameOrEmail(),
-                                    request.getNameOrEmail(),
-                                    request.getNameOrEmail(),
-                                    false,
-                                    page);
-        } else if (request.getNameOrEmail() == null && request.getHouseCode() != null) {
-            log.info("Fetching the users based on houseCode and deleted");
-            res =
-                    userRepository.findByHouses_HouseCodeContainingIgnoreCaseAndDeleted(
-                            request.getHouseCode(), false, page);
-        } else if (request.getNameOrEmail() != null && request.getHouseCode() != null) {
-            log.info(
-                    "Fetching the users based on the firstName ,lastName ,Email ,HouseCode and Deleted ");
+        if (request.getNameOrEmail() != null || request.getHouseCode() != null) {
+            log.info("Fetching the users based on the name or email and the houseCode");
             res =
-                    userRepository
-                            .findByFirstNameContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeletedOrLastNameContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeletedOrEmailContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeleted(
-                                    request.getNameOrEmail(),
-                                    request.getHouseCode(),
-                                    false,
-                                    request.getNameOrEmail(),
-                                    request.getHouseCode(),
-                                    false,
-                                    request.getNameOrEmail(),
-                                    request.getHouseCode(),
-                                    false,
-                                    page);
-
+                    SearchIndex.hydrate(
+                            searchIndex.searchUsers(
+                                    request.getNameOrEmail(), request.getHouseCode()),
+                            page,
+                            userRepository::findAllById,
+                            User::getId);
         } else {
             res = userRepository.findAllByDeleted(false, page);
         }
         log.info("Fetched {} users", res.size());
         return res.stream()
-                .map(item -> modelMapper.map(item, UserDTO.class))
+                .map(item -> dtoMapper.map(item, UserDTO.class, DtoMapper.USER_LIST))
                 .collect(Collectors.toList());
     }
 
+    private static Pageable page(ListUsersByPageRequest request) {
+        return PageRequest.of(
+                request.getPageNumber(), request.getPageSize(), Sort.by("id").ascending());
+    }
+
+    @Transactional(readOnly = true)
     public Long usersCount(ListUsersByPageRequest request) {
         Long userCount;
-        if (request.getNameOrEmail() != null && request.getHouseCode() == null) {
-            log.info("Fetching the count based on the firstName , lastName ,Email and Deleted ");
-            userCount =
-                    userRepository
-                            .countByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCaseAndDeleted(
-                                    request.getNameOrEmail(),
-                                    request.getNameOrEmail(),
-                                    request.getNameOrEmail(),
-                                    false);
-        } else if (request.getNameOrEmail() == null && request.getHouseCode() != null) {
-            log.info("Fetching the users based on houseCode and deleted");
-            userCount =
-                    userRepository.countByHouses_HouseCodeContainingIgnoreCaseAndDeleted(
-                            request.getHouseCode(), false);
-        } else if (request.getNameOrEmail() != null && request.getHouseCode() != null) {
-            log.info(
-                    "Fetching the users based on the firstName ,lastName ,Email ,HouseCode and Deleted ");
-            userCount =
-                    userRepository
-                            .countByFirstNameContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeletedOrLastNameContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeletedOrEmailContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeleted(
-                                    request.getNameOrEmail(),
-                                    request.getHouseCode(),
-                                    false,
-                                    request.getNameOrEmail(),
-                                    request.getHouseCode(),
-                                    false,
-                                    request.getNameOrEmail(),
-                                    request.getHouseCode(),
-                                    false);
+        if (request.getNameOrEmail() != null || request.getHouseCode() != null) {
+            List<Long> ids =
+                    searchIndex.searchUsers(request.getNameOrEmail(), request.getHouseCode());
+            userCount = (long) ids.size();
         } else {
             userCount = userRepository.countByDeleted(false);
         }
@@ -213,25 +187,37 @@ public class UserService {
         return userCount;
     }
 
+    @Transactional(readOnly = true)
     public List<UserShortDTO> listUsersByHouseCode(ListUserRequest request) {
-        ModelMapper modelMapper = new ModelMapper();
-        TypeMap<User, UserShortDTO> typeMap =
-                modelMapper.createTypeMap(User.class, UserShortDTO.class);
-        typeMap.addMappings(
-                mapper ->
-                        mapper.using(new RoleListConverter())
-                                .map(User::getRoles, UserShortDTO::setRoleNames));
         List<UserShortDTO> users =
-                userRepository
-                        .findByHouses_HouseCodeAndDeleted(
-                                request.getHouseCode(), false, Pageable.unpaged())
-                        .stream()
-                        .map(item -> modelMapper.map(item, UserShortDTO.class))
-                        .collect(Collectors.toList());
+                toShortDTOs(
+                        userRepository.findShortListByHouseCodeAndDeleted(
+                                request.getHouseCode(), false));
         log.info("Fetched the users with houseCode {}", request.getHouseCode());
         return users;
     }
 
+    // rows come ordered by user id, one per role
+    private static List<UserShortDTO> toShortDTOs(List<UserListView> rows) {
+        Map<Long, UserShortDTO> users = new LinkedHashMap<>();
+        for (UserListView row : rows) {
+            UserShortDTO user =
+                    users.computeIfAbsent(
+                            row.getId(),
+                            id ->
+                                    new UserShortDTO(
+                                            id,
+                                            row.getEmail(),
+                                            row.getFirstName(),
+                                            row.getLastName(),
+                                            new ArrayList<>()));
+            if (row.getRoleName() != null) {
+                user.getRoleNames().add(row.getRoleName());
+            }
+        }
+        return new ArrayList<>(users.values());
+    }
+
     @PreAuthorize("@context.isAdmin()")
     @Transactional
     public void removeRoleFromUser(long userId, long roleId) throws UserServiceException {
@@ -241,6 +227,7 @@ public class UserService {
             User userEntity = user.get();
             Role roleEntity = role.get();
             userEntity.getRoles().remove(roleEntity);
+            securityStampService.bump(userEntity);
             userRepository.save(userEntity);
             log.info(
                     "Removed the role {} from user {}",
@@ -260,6 +247,7 @@ public class UserService {
             User userEntity = user.get();
             Role roleEntity = role.get();
             userEntity.getRoles().add(roleEntity);
+            securityStampService.bump(userEntity);
             userRepository.save(userEntity);
             log.info(
                     "Added the role {} to the user {}",
@@ -278,7 +266,10 @@ public class UserService {
         if (user.isPresent() && house != null) {
             User userEntity = user.get();
             userEntity.getHouses().remove(house);
+            securityStampService.bump(userEntity);
             userRepository.save(userEntity);
+            searchIndex.putUser(userEntity);
+            houseSummaryCache.invalidate();
             log.info("Removed the House{} from user {}", userId, houseCode);
         } else {
             log.error("Error removing user {} from house {}", userId, houseCode);
@@ -287,7 +278,11 @@ public class UserService {
     }
 
     public void updatePassword(ChangePasswordRequest request) throws UserServiceException {
-        User user = userRepository.getByEmail(context.currentUser());
+        User user = context.currentUserEntity();
+        if (user == null && context.currentUserId() != null) {
+            // the token was verified from its claims, so nothing has loaded the user yet
+            user = userRepository.findById(context.currentUserId()).orElse(null);
+        }
         if (user != null) {
             if (!request.getOldPassword().equals(request.getNewPassword())
                     && passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
@@ -368,13 +363,27 @@ public class UserService {
         Optional<User> user = userRepository.findById(id);
         if (user.isPresent()) {
             User existingEntity = user.get();
+            String previousEmail = existingEntity.getEmail();
+            boolean wasDeleted = Boolean.TRUE.equals(existingEntity.getDeleted());
             existingEntity.setDeleted(request.getDeleted());
             existingEntity.setEmail(request.getEmail());
             existingEntity.setFirstName(request.getFirstName());
             existingEntity.setLastName(request.getLastName());
             existingEntity.setPhone(request.getPhone());
             existingEntity.setMobile(request.getMobile());
+            // other edits leave the tokens valid, and a new email revokes the old one below
+            if (wasDeleted != Boolean.TRUE.equals(existingEntity.getDeleted())) {
+                securityStampService.bump(existingEntity);
+            }
+            if (!Objects.equals(previousEmail, existingEntity.getEmail())) {
+                securityStampService.revoke(previousEmail);
+            }
             userRepository.save(existingEntity);
+            searchIndex.putUser(existingEntity);
+            listCountCache.invalidate(ListCountCache.USERS);
+            if (!wasDeleted && Boolean.TRUE.equals(existingEntity.getDeleted())) {
+                tokenRevocationService.revokeAllForUser(previousEmail);
+            }
             log.info("updated the user for the given id {}", id);
         } else {
             String errorMessage = String.format("Cannot find a user for the id %d", id);
@@ -383,15 +392,32 @@ public class UserService {
         }
     }
 
+    @PreAuthorize("@context.isAdmin()")
+    public void revokeAllTokens(long userId) throws UserServiceException {
+        Optional<User> user = userRepository.findById(userId);
+        if (user.isEmpty()) {
+            String errorMessage = String.format("Cannot find a user for the id %d", userId);
+            log.error(errorMessage);
+            throw new UserServiceException(errorMessage);
+        }
+        User existingEntity = user.get();
+        securityStampService.bump(existingEntity);
+        userRepository.save(existingEntity);
+        tokenRevocationService.revokeAllForUser(existingEntity.getEmail());
+        log.info("Revoked all tokens of the user with id {}", userId);
+    }
+
+    @Transactional(readOnly = true)
     public GetUserDTO getUserById(long userId) throws UserServiceException {
         Optional<User> res = userRepository.findById(userId);
         if (res.isEmpty()) {
             throw new UserServiceException("No user found with userId " + userId);
         }
         log.info("Fetched the user based on userId {}", userId);
-        return new ModelMapper().map(res.get(), GetUserDTO.class);
+        return dtoMapper.map(res.get(), GetUserDTO.class);
     }
 
+    @Transactional(readOnly = true)
     public boolean isUserDeleted(String email) throws UserServiceException {
         log.info("Checking if user is deleted with email {}", email);
         User user = userRepository.getByEmail(email);
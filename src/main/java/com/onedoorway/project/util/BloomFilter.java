@@ -0,0 +1,66 @@
+package com.onedoorway.project.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. A miss means the value was never added, so callers can
+ * skip the exact lookup for almost every value that is not in the set.
+ */
+public class BloomFilter {
+    private final AtomicLongArray words;
+    private final int numBits;
+    private final int numHashes;
+
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        int entries = Math.max(expectedEntries, 1);
+        long bits =
+                (long)
+                        Math.ceil(
+                                -entries
+                                        * Math.log(falsePositiveRate)
+                                        / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.min(Math.max(bits, 64), Integer.MAX_VALUE - 63);
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / entries * Math.log(2)));
+        this.words = new AtomicLongArray((numBits + 63) / 64);
+    }
+
+    public void add(String value) {
+        int h1 = value.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        int h1 = value.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = index(h1 + i * h2);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(int hash) {
+        return (hash & Integer.MAX_VALUE) % numBits;
+    }
+
+    // murmur3 finalizer, gives the second hash for double hashing
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash | 1;
+    }
+}
@@ -0,0 +1,52 @@
+package com.onedoorway.project.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset cursor: the sort key and id of the last row of a page. The next page starts
+ * strictly after that pair, so it costs the same however deep the client has paged.
+ */
+public final class Cursor<K> {
+    private static final char SEPARATOR = '|';
+
+    private final K key;
+    private final long id;
+
+    private Cursor(K key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public static String encode(Object key, long id) {
+        String raw = key + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode} with a
+     *     key that {@code parseKey} understands
+     */
+    public static <K> Cursor<K> decode(String token, Function<String, K> parseKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            return new Cursor<>(
+                    parseKey.apply(raw.substring(0, split)),
+                    Long.parseLong(raw.substring(split + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor " + token, e);
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package com.onedoorway.project.util;
 
+import com.onedoorway.project.model.JwtPrincipal;
+import com.onedoorway.project.model.ODWUserDetails;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 @Service
 public class JwtUtil {
+    public static final String ROLES_CLAIM = "roles";
+    public static final String HOUSES_CLAIM = "houses";
+    public static final String STAMP_CLAIM = "stamp";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final long TOKEN_VALIDITY_MS = 1000 * 60 * 60 * 10;
+
     private final String SECRET_KEY = "secret";
 
     public String extractUsername(String token) {
@@ -27,16 +39,49 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
+    public Claims extractAllClaims(String token) {
         return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isSelfContained(Claims claims) {
+        return claims.get(STAMP_CLAIM) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public JwtPrincipal extractPrincipal(Claims claims) {
+        List<String> roles = new ArrayList<>();
+        Object rolesClaim = claims.get(ROLES_CLAIM);
+        if (rolesClaim instanceof List) {
+            for (Object role : (List<Object>) rolesClaim) {
+                roles.add(String.valueOf(role));
+            }
+        }
+        List<Long> houseIds = new ArrayList<>();
+        Object housesClaim = claims.get(HOUSES_CLAIM);
+        if (housesClaim instanceof List) {
+            for (Object houseId : (List<Object>) housesClaim) {
+                houseIds.add(((Number) houseId).longValue());
+            }
+        }
+        int stamp = ((Number) claims.get(STAMP_CLAIM)).intValue();
+        Object userIdClaim = claims.get(USER_ID_CLAIM);
+        Long userId = userIdClaim == null ? null : ((Number) userIdClaim).longValue();
+        return new JwtPrincipal(claims.getSubject(), userId, roles, houseIds, stamp);
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(
+                ROLES_CLAIM,
+                userDetails.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList()));
+        if (userDetails instanceof ODWUserDetails) {
+            ODWUserDetails odwUserDetails = (ODWUserDetails) userDetails;
+            claims.put(USER_ID_CLAIM, odwUserDetails.getId());
+            claims.put(HOUSES_CLAIM, odwUserDetails.getHouseIds());
+            claims.put(STAMP_CLAIM, odwUserDetails.getSecurityStamp());
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -46,13 +91,14 @@ public class JwtUtil {
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
+                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_VALIDITY_MS))
                 .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date()));
     }
 }
@@ -0,0 +1,100 @@
+package com.onedoorway.project.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The stored form of a compressed text column. Text of {@link #THRESHOLD} bytes or more is
+ * deflated behind a two byte header, a NUL marker and the format; shorter text, and text that
+ * deflate does not shrink, is stored as its UTF-8 bytes. A text column cannot hold NUL, so values
+ * carried over from one never start with the marker and read back as they are.
+ */
+public final class TextCompression {
+    // in UTF-8 bytes; below it the zlib header and checksum eat most of the saving
+    public static final int THRESHOLD = 256;
+
+    private static final byte MARKER = 0;
+    private static final byte DEFLATE = 1;
+    private static final int HEADER = 2;
+
+    private TextCompression() {}
+
+    public static byte[] encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] plain = text.getBytes(UTF_8);
+        // text that starts with NUL itself is always deflated, to keep it apart from the header
+        boolean mustCompress = plain.length > 0 && plain[0] == MARKER;
+        if (plain.length < THRESHOLD && !mustCompress) {
+            return plain;
+        }
+        byte[] deflated = deflate(plain);
+        if (deflated.length + HEADER >= plain.length && !mustCompress) {
+            return plain;
+        }
+        byte[] value = new byte[deflated.length + HEADER];
+        value[0] = MARKER;
+        value[1] = DEFLATE;
+        System.arraycopy(deflated, 0, value, HEADER, deflated.length);
+        return value;
+    }
+
+    public static String decode(byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        if (!isCompressed(value)) {
+            return new String(value, UTF_8);
+        }
+        if (value.length < HEADER || value[1] != DEFLATE) {
+            throw new IllegalArgumentException("Unknown compressed text format");
+        }
+        return new String(inflate(value), UTF_8);
+    }
+
+    public static boolean isCompressed(byte[] value) {
+        return value.length > 0 && value[0] == MARKER;
+    }
+
+    private static byte[] deflate(byte[] plain) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(plain);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] value) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(value, HEADER, value.length - HEADER);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(value.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated compressed text");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.onedoorway.project.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive substring search over a few short text fields per id. Every three-character
+ * window of a field points back at its id, so a query only looks at the ids that contain all of
+ * its own windows before checking them with {@link String#contains}. Results are ranked: an exact
+ * field first, then a field starting with the query, then a word starting with it, then anything
+ * else; ties go to the lower id.
+ */
+public class TrigramIndex {
+    private static final int GRAM = 3;
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, String[]> fields = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Replaces whatever was indexed for {@code id}. Null fields are skipped. */
+    public void put(long id, String... values) {
+        List<String> normalised = new ArrayList<>(values.length);
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                normalised.add(normalise(value));
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (normalised.isEmpty()) {
+                return;
+            }
+            String[] stored = normalised.toArray(new String[0]);
+            fields.put(id, stored);
+            for (String field : stored) {
+                for (String gram : grams(field)) {
+                    postings.computeIfAbsent(gram, ignored -> new HashSet<>()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            fields.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** The ids with a field containing {@code query}, best match first. */
+    public List<Long> search(String query) {
+        String needle = normalise(query);
+        List<long[]> ranked = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (long id : candidates(needle)) {
+                int rank = rank(fields.get(id), needle);
+                if (rank >= 0) {
+                    ranked.add(new long[] {rank, id});
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        ranked.sort(Comparator.<long[]>comparingLong(r -> r[0]).thenComparingLong(r -> r[1]));
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (long[] r : ranked) {
+            ids.add(r[1]);
+        }
+        return ids;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return fields.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // queries shorter than a gram have no windows to look up and check every id
+    private Set<Long> candidates(String needle) {
+        if (needle.length() < GRAM) {
+            return fields.keySet();
+        }
+        Set<Long> smallest = null;
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(needle)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        Set<Long> result = new HashSet<>(smallest);
+        for (Set<Long> ids : lists) {
+            if (ids != smallest) {
+                result.retainAll(ids);
+            }
+        }
+        return result;
+    }
+
+    private static int rank(String[] values, String needle) {
+        int best = -1;
+        for (String value : values) {
+            int rank;
+            if (value.equals(needle)) {
+                rank = 0;
+            } else if (value.startsWith(needle)) {
+                rank = 1;
+            } else if (value.contains(" " + needle)) {
+                rank = 2;
+            } else if (value.contains(needle)) {
+                rank = 3;
+            } else {
+                continue;
+            }
+            if (best < 0 || rank < best) {
+                best = rank;
+            }
+        }
+        return best;
+    }
+
+    private void removeLocked(long id) {
+        String[] previous = fields.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String field : previous) {
+            for (String gram : grams(field)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalise(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,13 @@
+-- The security stamp carried in the JWT, bumped when a user's roles or houses change or all of
+-- their tokens are revoked, and the revocations checked on authenticated requests. Neither was in
+-- the schema V1 describes, so a database baselined at V1 picks them up here.
+alter table users add column security_stamp int4;
+
+create table token_revocations (
+    id bigserial not null,
+    token_digest varchar(255),
+    username varchar(255),
+    revoked_at timestamp,
+    expires_at timestamp,
+    primary key (id)
+);
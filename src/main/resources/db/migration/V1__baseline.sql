@@ -0,0 +1,623 @@
+-- The schema as Hibernate's ddl-auto=update left it. Databases that already have these tables
+-- are baselined at this version and start from the next one.
+
+create sequence hibernate_sequence start 1 increment 1;
+
+create table houses (
+    house_id bigserial not null,
+    house_code varchar(255),
+    phone varchar(255),
+    address1 varchar(255),
+    address2 varchar(255),
+    city varchar(255),
+    state varchar(255),
+    deleted boolean,
+    post_code varchar(255),
+    primary key (house_id),
+    constraint uk_houses_house_code unique (house_code)
+);
+
+create table clients (
+    client_id bigserial not null,
+    name varchar(255),
+    gender varchar(255),
+    dob date,
+    email varchar(255),
+    phone varchar(255),
+    address1 varchar(255),
+    address2 varchar(255),
+    city varchar(255),
+    state varchar(255),
+    post_code varchar(255),
+    deleted boolean,
+    medicare_no int8 not null,
+    expiry_date date,
+    health_fund boolean,
+    center_link_no varchar(255),
+    medicare_card_name varchar(255),
+    individual_reference_number varchar(255),
+    ndis_number text,
+    photo text,
+    identity varchar(255),
+    culture varchar(255),
+    language varchar(255),
+    diagnosis text,
+    mobility text,
+    communication text,
+    medication_support text,
+    transportation text,
+    justice_orders text,
+    support_ratio text,
+    shift_times text,
+    support_worker_specs text,
+    house_id int8,
+    primary key (client_id),
+    constraint fk_clients_house_id foreign key (house_id) references houses
+);
+
+create table house_clients (
+    house_id int8 not null,
+    client_id int8 not null,
+    constraint fk_house_clients_client_id foreign key (client_id) references clients,
+    constraint fk_house_clients_house_id foreign key (house_id) references houses
+);
+
+create table roles (
+    role_id bigserial not null,
+    name varchar(255),
+    primary key (role_id)
+);
+
+create table users (
+    user_id bigserial not null,
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    deleted boolean,
+    phone varchar(255),
+    mobile varchar(255),
+    primary key (user_id),
+    constraint uk_users_email unique (email)
+);
+
+create table users_roles (
+    user_id int8 not null,
+    role_id int8 not null,
+    primary key (user_id, role_id),
+    constraint fk_users_roles_role_id foreign key (role_id) references roles,
+    constraint fk_users_roles_user_id foreign key (user_id) references users
+);
+
+create table users_houses (
+    user_id int8 not null,
+    house_id int8 not null,
+    primary key (user_id, house_id),
+    constraint fk_users_houses_house_id foreign key (house_id) references houses,
+    constraint fk_users_houses_user_id foreign key (user_id) references users
+);
+
+create table lookup (
+    lookup_id bigserial not null,
+    name varchar(255),
+    lookup_type int4,
+    primary key (lookup_id)
+);
+
+create table bowel_notes (
+    bowel_note_id bigserial not null,
+    client_id int8 not null,
+    size_type int4,
+    type_1 boolean,
+    type_2 boolean,
+    type_3 boolean,
+    type_4 boolean,
+    type_5 boolean,
+    type_6 boolean,
+    type_7 boolean,
+    deleted boolean,
+    start_date date,
+    record_time timestamp,
+    last_uploaded_by varchar(255),
+    last_updated_at timestamp,
+    primary key (bowel_note_id),
+    constraint fk_bowel_notes_client_id foreign key (client_id) references clients
+);
+
+create table case_notes (
+    case_note_id bigserial not null,
+    client_id int8 not null,
+    content text,
+    category_id int8,
+    subject varchar(255),
+    deleted boolean,
+    start_time timestamp,
+    end_time timestamp,
+    last_uploaded_by varchar(255),
+    note_date date,
+    last_updated_at timestamp,
+    primary key (case_note_id),
+    constraint uk_case_notes_client_time
+        unique (client_id, start_time, end_time, note_date),
+    constraint fk_case_notes_category_id foreign key (category_id) references lookup,
+    constraint fk_case_notes_client_id foreign key (client_id) references clients
+);
+
+create table client_allowances (
+    client_allowances_id bigserial not null,
+    client_id int8 not null,
+    cappedkms text,
+    concession_cards text,
+    kms text,
+    grocery_spend text,
+    budgetly_card_no text,
+    deleted boolean,
+    last_uploaded_by varchar(255),
+    primary key (client_allowances_id),
+    constraint fk_client_allowances_client_id foreign key (client_id) references clients
+);
+
+create table client_contacts (
+    client_contact_id bigserial not null,
+    client_id int8 not null,
+    relation varchar(255),
+    designation varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    phone1 varchar(255),
+    phone2 varchar(255),
+    address1 varchar(255),
+    address2 varchar(255),
+    city varchar(255),
+    state varchar(255),
+    post_code varchar(255),
+    notes varchar(255),
+    status int4,
+    last_updated_by varchar(255),
+    last_updated_at timestamp,
+    primary key (client_contact_id),
+    constraint uk_client_contacts_email unique (email),
+    constraint fk_client_contacts_client_id foreign key (client_id) references clients
+);
+
+create table folders (
+    folder_id bigserial not null,
+    client_id int8 not null,
+    folder_name varchar(255),
+    status int4,
+    last_updated_by varchar(255),
+    last_updated_at timestamp,
+    primary key (folder_id),
+    constraint fk_folders_client_id foreign key (client_id) references clients
+);
+
+create table client_documents (
+    client_document_id bigserial not null,
+    client int8 not null,
+    folder int8 not null,
+    doc_name varchar(255),
+    blob_name varchar(255),
+    status int4,
+    last_uploaded_by varchar(255),
+    last_updated_at timestamp,
+    primary key (client_document_id),
+    constraint fk_client_documents_client foreign key (client) references clients,
+    constraint fk_client_documents_folder foreign key (folder) references folders
+);
+
+create table client_ndis_plan (
+    client_ndis_plan_id bigserial not null,
+    client_id int8 not null,
+    start_date date,
+    end_date date,
+    funding_type varchar(255),
+    level varchar(255),
+    deleted boolean,
+    support_document varchar(255),
+    other_document varchar(255),
+    last_uploaded_by varchar(255),
+    primary key (client_ndis_plan_id),
+    constraint uk_client_ndis_plan_client_period
+        unique (client_id, start_date, end_date, funding_type, level),
+    constraint fk_client_ndis_plan_client_id foreign key (client_id) references clients
+);
+
+create table client_reports (
+    client_report_id bigserial not null,
+    client_id int8 not null,
+    lookup_id int8 not null,
+    toggle boolean,
+    primary key (client_report_id),
+    constraint fk_client_reports_client_id foreign key (client_id) references clients,
+    constraint fk_client_reports_lookup_id foreign key (lookup_id) references lookup
+);
+
+create table client_transport (
+    client_transport_id bigserial not null,
+    client_id int8 not null,
+    od_car int4,
+    car_registration varchar(255),
+    deleted boolean,
+    cappedkms text,
+    car_reg_expiry date,
+    car_model varchar(255),
+    car_make_year varchar(255),
+    is_travel_protocol int4,
+    travel_protocol varchar(255),
+    comprehensive_insurance int4,
+    insurance_policy_number varchar(255),
+    authorised_person varchar(255),
+    authorised_person_contact_number varchar(255),
+    roadside_assistance_covered int4,
+    insurance_agency varchar(255),
+    insurance_contact_number varchar(255),
+    last_uploaded_by varchar(255),
+    primary key (client_transport_id),
+    constraint uk_client_transport_car unique (client_id, od_car, car_registration),
+    constraint fk_client_transport_client_id foreign key (client_id) references clients
+);
+
+create table daily_notes (
+    daily_note_id bigserial not null,
+    house_id int8 not null,
+    user_id int8 not null,
+    note text,
+    start_time timestamp,
+    end_time timestamp,
+    created_at timestamp,
+    client_id int8 not null,
+    primary key (daily_note_id),
+    constraint fk_daily_notes_client_id foreign key (client_id) references clients,
+    constraint fk_daily_notes_house_id foreign key (house_id) references houses,
+    constraint fk_daily_notes_user_id foreign key (user_id) references users
+);
+
+create table emergency_plans (
+    plan_id bigserial not null,
+    house_code varchar(255),
+    url_emergency_plan varchar(255),
+    url_emergency_handout varchar(255),
+    primary key (plan_id),
+    constraint uk_emergency_plans_house_code unique (house_code)
+);
+
+create table food_diary_notes (
+    food_diary_id bigserial not null,
+    client_id int8 not null,
+    meal_type int4,
+    meal_time timestamp,
+    meal_food varchar(255),
+    meal_drink varchar(255),
+    meal_comments varchar(255),
+    meal_by varchar(255),
+    report_date date,
+    last_updated_at timestamp,
+    primary key (food_diary_id),
+    constraint uk_food_diary_notes_meal unique (client_id, report_date, meal_type),
+    constraint fk_food_diary_notes_client_id foreign key (client_id) references clients
+);
+
+create table handover_summary (
+    hand_over_id bigserial not null,
+    house_id int8 not null,
+    hand_over_date date,
+    deleted boolean,
+    handover_time timestamp,
+    hand_over_shift int4,
+    hand_over_by int8 not null,
+    hand_over_to int8 not null,
+    behaviours_summary text,
+    sleep_summary text,
+    food_summary text,
+    toileting_summary text,
+    activities_summary text,
+    communications text,
+    top_priorities text,
+    comments text,
+    people_attended text,
+    places_visited text,
+    things_later text,
+    last_updated_at timestamp,
+    primary key (hand_over_id),
+    constraint fk_handover_summary_hand_over_by foreign key (hand_over_by) references users,
+    constraint fk_handover_summary_hand_over_to foreign key (hand_over_to) references users,
+    constraint fk_handover_summary_house_id foreign key (house_id) references houses
+);
+
+create table house_contacts (
+    house_contact_id bigserial not null,
+    status int4,
+    caption varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    phone1 varchar(255),
+    phone2 varchar(255),
+    address1 varchar(255),
+    address2 varchar(255),
+    city varchar(255),
+    state varchar(255),
+    zip varchar(255),
+    notes varchar(255),
+    last_updated_by varchar(255),
+    last_updated_at timestamp,
+    primary key (house_contact_id),
+    constraint uk_house_contacts_email unique (email)
+);
+
+create table house_contacts_houses (
+    house_contact_id int8 not null,
+    house_id int8 not null,
+    primary key (house_contact_id, house_id),
+    constraint fk_house_contacts_houses_house_contact_id
+        foreign key (house_contact_id) references house_contacts,
+    constraint fk_house_contacts_houses_house_id foreign key (house_id) references houses
+);
+
+create table house_image (
+    house_image_id bigserial not null,
+    house_code varchar(255),
+    image_blob_name varchar(255),
+    last_uploaded_by varchar(255),
+    last_updated_at timestamp,
+    primary key (house_image_id),
+    constraint uk_house_image_house_code unique (house_code)
+);
+
+create table incidents (
+    incident_id bigserial not null,
+    status int4,
+    raised_for int4,
+    description text,
+    escalated boolean not null,
+    escalated_to int8,
+    date timestamp,
+    location varchar(255),
+    exact_location varchar(255),
+    reported_by int8 not null,
+    injured_given_name varchar(255),
+    injured_family_name varchar(255),
+    reviewed_by varchar(255),
+    closed_by varchar(255),
+    created_at timestamp,
+    witness_name varchar(255),
+    witness_designation varchar(255),
+    follow_up_responsibility varchar(255),
+    police_report int4,
+    police_name varchar(255),
+    police_number varchar(255),
+    police_station varchar(255),
+    before_incident text,
+    immediate_action text,
+    reportable_to_ndis int4,
+    reportable_to_worksafe int4,
+    category_id int8,
+    type_id int8,
+    classification_id int8,
+    incident_house_id int8,
+    client_id int8,
+    primary key (incident_id),
+    constraint fk_incidents_category_id foreign key (category_id) references lookup,
+    constraint fk_incidents_classification_id foreign key (classification_id) references lookup,
+    constraint fk_incidents_client_id foreign key (client_id) references clients,
+    constraint fk_incidents_escalated_to foreign key (escalated_to) references users,
+    constraint fk_incidents_incident_house_id foreign key (incident_house_id) references houses,
+    constraint fk_incidents_reported_by foreign key (reported_by) references users,
+    constraint fk_incidents_type_id foreign key (type_id) references lookup
+);
+
+create table incident_reviews (
+    review_id bigserial not null,
+    incident_id int8,
+    factor_house_design boolean,
+    factor_house_equipment boolean,
+    factor_house_fumes boolean,
+    factor_house_guards boolean,
+    factor_house_other boolean,
+    factor_house_unsuitable boolean,
+    factor_house_description varchar(255),
+    factor_house_what_happened varchar(255),
+    factor_person_name varchar(255),
+    factor_person_alcohol boolean,
+    factor_person_complacency boolean,
+    factor_person_line_of_fire boolean,
+    factor_person_frustration boolean,
+    factor_person_lack_training boolean,
+    factor_person_loss_balance boolean,
+    factor_person_manual_handling boolean,
+    factor_person_medical_condition boolean,
+    factor_person_no_ppe boolean,
+    factor_person_other boolean,
+    factor_person_rushing boolean,
+    factor_person_threatening boolean,
+    factor_person_fatigue boolean,
+    factor_person_unsafe_practice boolean,
+    factor_person_working_alone boolean,
+    factor_person_description varchar(255),
+    factor_person_what_happened varchar(255),
+    factor_env_animals boolean,
+    factor_env_confine boolean,
+    factor_env_night boolean,
+    factor_env_odours boolean,
+    factor_env_other boolean,
+    factor_env_obstructions boolean,
+    factor_env_raining boolean,
+    factor_env_sun_glare boolean,
+    factor_env_surface boolean,
+    factor_env_temperature boolean,
+    factor_env_vegetation boolean,
+    factor_env_height boolean,
+    factor_env_description varchar(255),
+    factor_env_what_happened varchar(255),
+    factor_work_description varchar(255),
+    factor_work_what_happened varchar(255),
+    risk_rating int4,
+    consequences varchar(255),
+    likelihood varchar(255),
+    corrective_action varchar(255),
+    due_date date,
+    actions_to_implement text,
+    allocated_to varchar(255),
+    how_prevented text,
+    follow_up text,
+    support_plan_update int4,
+    code_breach int4,
+    further_support int4,
+    primary key (review_id),
+    constraint fk_incident_reviews_incident_id foreign key (incident_id) references incidents
+);
+
+create table miscellaneous_notes (
+    miscellaneous_note_id bigserial not null,
+    category_id int8,
+    note_date date,
+    subject varchar(255),
+    deleted boolean,
+    content text,
+    house varchar(255),
+    client varchar(255),
+    users varchar(255),
+    last_uploaded_by varchar(255),
+    last_updated_at timestamp,
+    primary key (miscellaneous_note_id),
+    constraint fk_miscellaneous_notes_category_id foreign key (category_id) references lookup
+);
+
+create table night_report (
+    report_id bigserial not null,
+    client_id int8 not null,
+    clean_toilet boolean,
+    clean_toilet_by varchar(255),
+    clean_bathroom_staff boolean,
+    clean_bathroom_staff_by varchar(255),
+    clean_bathroom_client boolean,
+    clean_bathroom_client_by varchar(255),
+    tidy_furniture boolean,
+    tidy_furniture_by varchar(255),
+    vacuum_floors boolean,
+    vacuum_floors_by varchar(255),
+    mop_floors boolean,
+    mop_floors_by varchar(255),
+    washing_cycle boolean,
+    washing_cycle_by varchar(255),
+    drying_cycle boolean,
+    drying_cycle_by varchar(255),
+    fold_clothes boolean,
+    fold_clothes_by varchar(255),
+    put_away_dishes boolean,
+    put_away_dishes_by varchar(255),
+    tidy_staff_room boolean,
+    tidy_staff_room_by varchar(255),
+    charge_electronics boolean,
+    charge_electronics_by varchar(255),
+    completed_daily_reports boolean,
+    completed_daily_reports_by varchar(255),
+    check_medication_chart boolean,
+    check_medication_chart_by varchar(255),
+    fill_incident_report boolean,
+    fill_incident_report_by varchar(255),
+    check_fridge boolean,
+    check_fridge_by varchar(255),
+    empty_dustbins boolean,
+    empty_dustbins_by varchar(255),
+    take_out_dustbins boolean,
+    take_out_dustbins_by varchar(255),
+    vacuum_vehicle boolean,
+    vacuum_vehicle_by varchar(255),
+    checklist_vehicle boolean,
+    checklist_vehicle_by varchar(255),
+    child_lock_vehicle boolean,
+    child_lock_vehicle_by varchar(255),
+    report_date date,
+    last_updated_at timestamp,
+    primary key (report_id),
+    constraint uk_night_report_client_date unique (client_id, report_date),
+    constraint fk_night_report_client_id foreign key (client_id) references clients
+);
+
+create table notices (
+    notice_id bigserial not null,
+    notice_status int4,
+    created_by int8 not null,
+    notice varchar(255),
+    start_date timestamp,
+    end_date timestamp,
+    created_at timestamp,
+    primary key (notice_id),
+    constraint fk_notices_created_by foreign key (created_by) references users
+);
+
+create table notices_houses (
+    notice_id int8 not null,
+    house_id int8 not null,
+    primary key (notice_id, house_id),
+    constraint fk_notices_houses_house_id foreign key (house_id) references houses,
+    constraint fk_notices_houses_notice_id foreign key (notice_id) references notices
+);
+
+create table password_reset_token (
+    id int8 not null,
+    token varchar(255),
+    user_id int8 not null,
+    expiry_date timestamp,
+    primary key (id),
+    constraint fk_password_reset_token_user_id foreign key (user_id) references users
+);
+
+create table power_of_attorney (
+    power_of_attorney_id bigserial not null,
+    client_id int8 not null,
+    type varchar(255),
+    name varchar(255),
+    phone varchar(255),
+    email varchar(255),
+    adress1 varchar(255),
+    address2 varchar(255),
+    city varchar(255),
+    state varchar(255),
+    post_code varchar(255),
+    deleted boolean,
+    last_updated_by varchar(255),
+    primary key (power_of_attorney_id),
+    constraint fk_power_of_attorney_client_id foreign key (client_id) references clients
+);
+
+create table service_providers (
+    service_provider_id bigserial not null,
+    client_id int8 not null,
+    name varchar(255),
+    service varchar(255),
+    deleted boolean,
+    phone varchar(255),
+    email varchar(255),
+    last_updated_by varchar(255),
+    primary key (service_provider_id),
+    constraint fk_service_providers_client_id foreign key (client_id) references clients
+);
+
+create table sleep_tracker_notes (
+    sleep_report_id bigserial not null,
+    client_id int8 not null,
+    first_slot varchar(255),
+    first_updated_by varchar(255),
+    second_slot varchar(255),
+    second_updated_by varchar(255),
+    third_slot varchar(255),
+    third_updated_by varchar(255),
+    fourth_slot varchar(255),
+    fourth_updated_by varchar(255),
+    fifth_slot varchar(255),
+    fifth_updated_by varchar(255),
+    sixth_slot varchar(255),
+    sixth_updated_by varchar(255),
+    seventh_slot varchar(255),
+    seventh_updated_by varchar(255),
+    eighth_slot varchar(255),
+    eighth_updated_by varchar(255),
+    report_date date,
+    last_updated_at timestamp,
+    primary key (sleep_report_id),
+    constraint uk_sleep_tracker_notes_client_date unique (client_id, report_date),
+    constraint fk_sleep_tracker_notes_client_id foreign key (client_id) references clients
+);
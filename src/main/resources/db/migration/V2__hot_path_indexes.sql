@@ -0,0 +1,94 @@
+-- Indexes behind the queries in the repository package. Each one leads with the equality columns
+-- of its query and ends with the sort or range column, so a page is read in index order. Built
+-- concurrently so an existing database keeps taking writes; Flyway runs this file outside a
+-- transaction for that reason, and "if not exists" lets a failed run be repeated.
+
+-- clients: by house, the list filtered on deleted in id order, and the active ones per house
+create index concurrently if not exists ix_clients_house_id on clients (house_id);
+create index concurrently if not exists ix_clients_name on clients (name);
+create index concurrently if not exists ix_clients_deleted_id on clients (deleted, client_id);
+create index concurrently if not exists ix_clients_active_house_id
+    on clients (house_id) where deleted = false;
+
+-- users: case-insensitive login lookup, the list filtered on deleted, houses per user and back
+create index concurrently if not exists ix_users_lower_email on users (lower(email));
+create index concurrently if not exists ix_users_deleted_id on users (deleted, user_id);
+create index concurrently if not exists ix_users_active_id
+    on users (user_id) where deleted = false;
+create index concurrently if not exists ix_users_houses_house_id
+    on users_houses (house_id, user_id);
+
+create index concurrently if not exists ix_houses_deleted on houses (deleted);
+create index concurrently if not exists ix_house_clients_house_id on house_clients (house_id);
+create index concurrently if not exists ix_house_clients_client_id on house_clients (client_id);
+create index concurrently if not exists ix_house_contacts_houses_house_id
+    on house_contacts_houses (house_id, house_contact_id);
+
+create index concurrently if not exists ix_roles_name on roles (name);
+create index concurrently if not exists ix_lookup_lookup_type on lookup (lookup_type);
+create index concurrently if not exists ix_lookup_name on lookup (name);
+
+-- daily_notes: newest first per house, per house and client in a date range, per author
+create index concurrently if not exists ix_daily_notes_house_created
+    on daily_notes (house_id, created_at desc, daily_note_id desc);
+create index concurrently if not exists ix_daily_notes_house_client_created
+    on daily_notes (house_id, client_id, created_at desc, daily_note_id desc);
+create index concurrently if not exists ix_daily_notes_user_house
+    on daily_notes (user_id, house_id);
+create index concurrently if not exists ix_daily_notes_client_id on daily_notes (client_id);
+
+-- incidents: the lists are keyed on id desc under each filter; the report by raised_for in a
+-- date range excludes one status
+create index concurrently if not exists ix_incidents_house_id
+    on incidents (incident_house_id, incident_id desc);
+create index concurrently if not exists ix_incidents_house_client_id
+    on incidents (incident_house_id, client_id, incident_id desc);
+create index concurrently if not exists ix_incidents_client_id
+    on incidents (client_id, incident_id desc);
+create index concurrently if not exists ix_incidents_reported_by
+    on incidents (reported_by, incident_id desc);
+create index concurrently if not exists ix_incidents_raised_for_created_status
+    on incidents (raised_for, created_at, status);
+create index concurrently if not exists ix_incidents_escalated_to on incidents (escalated_to);
+create index concurrently if not exists ix_incident_reviews_incident_id
+    on incident_reviews (incident_id);
+
+create index concurrently if not exists ix_handover_summary_house_date
+    on handover_summary (house_id, hand_over_date desc, hand_over_id desc);
+
+create index concurrently if not exists ix_case_notes_client_category_date
+    on case_notes (client_id, category_id, note_date desc, case_note_id desc);
+create index concurrently if not exists ix_miscellaneous_notes_category_date
+    on miscellaneous_notes (category_id, note_date desc);
+create index concurrently if not exists ix_bowel_notes_client_start_date
+    on bowel_notes (client_id, start_date desc);
+
+-- night_report and sleep_tracker_notes are served by their (client_id, report_date) unique keys,
+-- food_diary_notes by (client_id, report_date, meal_type), client_transport and
+-- client_ndis_plan by unique keys that lead with client_id
+
+create index concurrently if not exists ix_client_allowances_client_deleted
+    on client_allowances (client_id, deleted);
+create index concurrently if not exists ix_client_contacts_client_id on client_contacts (client_id);
+create index concurrently if not exists ix_client_documents_client_folder
+    on client_documents (client, folder, doc_name);
+create index concurrently if not exists ix_client_reports_client_lookup
+    on client_reports (client_id, lookup_id);
+create index concurrently if not exists ix_folders_client_status on folders (client_id, status);
+create index concurrently if not exists ix_power_of_attorney_client_deleted
+    on power_of_attorney (client_id, deleted);
+create index concurrently if not exists ix_service_providers_client_deleted
+    on service_providers (client_id, deleted);
+
+-- notices shown to a house: by status and end date, and the houses of a notice
+create index concurrently if not exists ix_notices_status_end_date
+    on notices (notice_status, end_date);
+create index concurrently if not exists ix_notices_houses_house_id
+    on notices_houses (house_id, notice_id);
+
+create index concurrently if not exists ix_password_reset_token_token
+    on password_reset_token (token);
+create index concurrently if not exists ix_token_revocations_revoked_at
+    on token_revocations (revoked_at);
+create index concurrently if not exists ix_token_revocations_expires_at
+    on token_revocations (expires_at);
@@ -0,0 +1,34 @@
+-- Entity ids come from the tables' own sequences through Hibernate's pooled optimizer, which takes
+-- a block of 50 ids per call so inserts can be sent in JDBC batches. The column defaults still
+-- draw from the same sequences: each nextval reserves a whole block, so a row inserted by hand
+-- takes the top id of its own block and never collides with the application's.
+
+alter sequence bowel_notes_bowel_note_id_seq increment by 50;
+alter sequence case_notes_case_note_id_seq increment by 50;
+alter sequence clients_client_id_seq increment by 50;
+alter sequence client_allowances_client_allowances_id_seq increment by 50;
+alter sequence client_contacts_client_contact_id_seq increment by 50;
+alter sequence client_documents_client_document_id_seq increment by 50;
+alter sequence client_ndis_plan_client_ndis_plan_id_seq increment by 50;
+alter sequence client_reports_client_report_id_seq increment by 50;
+alter sequence client_transport_client_transport_id_seq increment by 50;
+alter sequence daily_notes_daily_note_id_seq increment by 50;
+alter sequence emergency_plans_plan_id_seq increment by 50;
+alter sequence folders_folder_id_seq increment by 50;
+alter sequence food_diary_notes_food_diary_id_seq increment by 50;
+alter sequence handover_summary_hand_over_id_seq increment by 50;
+alter sequence houses_house_id_seq increment by 50;
+alter sequence house_contacts_house_contact_id_seq increment by 50;
+alter sequence house_image_house_image_id_seq increment by 50;
+alter sequence incidents_incident_id_seq increment by 50;
+alter sequence incident_reviews_review_id_seq increment by 50;
+alter sequence lookup_lookup_id_seq increment by 50;
+alter sequence miscellaneous_notes_miscellaneous_note_id_seq increment by 50;
+alter sequence night_report_report_id_seq increment by 50;
+alter sequence notices_notice_id_seq increment by 50;
+alter sequence power_of_attorney_power_of_attorney_id_seq increment by 50;
+alter sequence roles_role_id_seq increment by 50;
+alter sequence service_providers_service_provider_id_seq increment by 50;
+alter sequence sleep_tracker_notes_sleep_report_id_seq increment by 50;
+alter sequence token_revocations_id_seq increment by 50;
+alter sequence users_user_id_seq increment by 50;
@@ -0,0 +1,13 @@
+-- One toggle per client and report type, so the toggle can be written with a single conflict-free
+-- insert. Duplicates left by the old check-then-insert keep their newest row.
+delete from client_reports r
+    using client_reports newer
+    where newer.client_id = r.client_id
+        and newer.lookup_id = r.lookup_id
+        and newer.client_report_id > r.client_report_id;
+
+alter table client_reports
+    add constraint uk_client_reports_client_lookup unique (client_id, lookup_id);
+
+-- the unique key's index covers it
+drop index if exists ix_client_reports_client_lookup;
@@ -0,0 +1,5 @@
+-- Optimistic locking for the wide client and incident rows. A caller that read the version can
+-- update the row directly, with the version in the where clause, instead of loading it first.
+alter table clients add column version bigint not null default 0;
+
+alter table incidents add column version bigint not null default 0;
@@ -0,0 +1,127 @@
+-- The note tables become range partitioned by month on the date every query bounds them by, so a
+-- date range only reads its months and each month's indexes stay the size of a month. Needs
+-- PostgreSQL 11 or later. Runs in one transaction and holds the note tables for the copy.
+
+-- Creates the month's partition of a note table unless it is there. Rows for that month that
+-- went to the table's default partition in the meantime move into it first, as the attach would
+-- fail on them. NotePartitionService calls this for the months ahead; it is safe to call again
+-- and from several instances at once.
+create or replace function create_month_partition(parent text, key_column text, for_month date)
+    returns boolean
+    language plpgsql
+as $$
+declare
+    lower_bound date := date_trunc('month', for_month)::date;
+    upper_bound date := (date_trunc('month', for_month) + interval '1 month')::date;
+    partition_name text := parent || '_' || to_char(for_month, 'YYYYMM');
+begin
+    perform pg_advisory_xact_lock(hashtext(partition_name));
+    if to_regclass(partition_name) is not null then
+        return false;
+    end if;
+    execute format('create table %I (like %I including defaults)', partition_name, parent);
+    execute format(
+        'with moved as (delete from %I where %I >= %L and %I < %L returning *)'
+            || ' insert into %I select * from moved',
+        parent || '_default', key_column, lower_bound, key_column, upper_bound, partition_name);
+    execute format(
+        'alter table %I attach partition %I for values from (%L) to (%L)',
+        parent, partition_name, lower_bound, upper_bound);
+    return true;
+end;
+$$;
+
+-- Swaps a table for a partitioned copy with a default partition and a partition for every month
+-- from its first row to three months ahead. Keys, foreign keys and indexes are added below, once
+-- the old table and its names are gone.
+create function pg_temp.partition_by_month(note_table text, id_column text, key_column text)
+    returns void
+    language plpgsql
+as $$
+declare
+    old_table text := note_table || '_unpartitioned';
+    id_sequence text := pg_get_serial_sequence(note_table, id_column);
+    first_month date;
+    has_undated boolean;
+begin
+    execute format('alter table %I rename to %I', note_table, old_table);
+    execute format(
+        'create table %I (like %I including defaults) partition by range (%I)',
+        note_table, old_table, key_column);
+    execute format('create table %I partition of %I default', note_table || '_default', note_table);
+
+    execute format('select min(%I) from %I', key_column, old_table) into first_month;
+    perform create_month_partition(note_table, key_column, month::date)
+        from generate_series(
+            date_trunc('month', coalesce(first_month, current_date)),
+            current_date + interval '3 months',
+            interval '1 month') month;
+
+    -- rows without a date have no month to go in; they are kept aside rather than dropped
+    execute format('select exists (select from %I where %I is null)', old_table, key_column)
+        into has_undated;
+    if has_undated then
+        execute format(
+            'create table %I as select * from %I where %I is null',
+            note_table || '_undated', old_table, key_column);
+    end if;
+    execute format('alter table %I alter column %I set not null', note_table, key_column);
+    execute format(
+        'insert into %I select * from %I where %I is not null',
+        note_table, old_table, key_column);
+
+    if id_sequence is not null then
+        execute format('alter sequence %s owned by %I.%I', id_sequence, note_table, id_column);
+    end if;
+    execute format('drop table %I', old_table);
+end;
+$$;
+
+select pg_temp.partition_by_month('daily_notes', 'daily_note_id', 'created_at');
+alter table daily_notes add primary key (daily_note_id, created_at);
+alter table daily_notes
+    add constraint fk_daily_notes_client_id foreign key (client_id) references clients,
+    add constraint fk_daily_notes_house_id foreign key (house_id) references houses,
+    add constraint fk_daily_notes_user_id foreign key (user_id) references users;
+create index ix_daily_notes_house_created
+    on daily_notes (house_id, created_at desc, daily_note_id desc);
+create index ix_daily_notes_house_client_created
+    on daily_notes (house_id, client_id, created_at desc, daily_note_id desc);
+create index ix_daily_notes_user_house on daily_notes (user_id, house_id);
+create index ix_daily_notes_client_id on daily_notes (client_id);
+
+select pg_temp.partition_by_month('bowel_notes', 'bowel_note_id', 'start_date');
+alter table bowel_notes add primary key (bowel_note_id, start_date);
+alter table bowel_notes
+    add constraint fk_bowel_notes_client_id foreign key (client_id) references clients;
+create index ix_bowel_notes_client_start_date on bowel_notes (client_id, start_date desc);
+
+select pg_temp.partition_by_month('case_notes', 'case_note_id', 'note_date');
+alter table case_notes add primary key (case_note_id, note_date);
+alter table case_notes
+    add constraint uk_case_notes_client_time
+        unique (client_id, start_time, end_time, note_date),
+    add constraint fk_case_notes_category_id foreign key (category_id) references lookup,
+    add constraint fk_case_notes_client_id foreign key (client_id) references clients;
+create index ix_case_notes_client_category_date
+    on case_notes (client_id, category_id, note_date desc, case_note_id desc);
+
+-- the per-day unique keys already lead with the client and hold the partition key, so they stay
+-- unique across partitions and keep serving the lookups and the conflict-free inserts
+select pg_temp.partition_by_month('food_diary_notes', 'food_diary_id', 'report_date');
+alter table food_diary_notes add primary key (food_diary_id, report_date);
+alter table food_diary_notes
+    add constraint uk_food_diary_notes_meal unique (client_id, report_date, meal_type),
+    add constraint fk_food_diary_notes_client_id foreign key (client_id) references clients;
+
+select pg_temp.partition_by_month('night_report', 'report_id', 'report_date');
+alter table night_report add primary key (report_id, report_date);
+alter table night_report
+    add constraint uk_night_report_client_date unique (client_id, report_date),
+    add constraint fk_night_report_client_id foreign key (client_id) references clients;
+
+select pg_temp.partition_by_month('sleep_tracker_notes', 'sleep_report_id', 'report_date');
+alter table sleep_tracker_notes add primary key (sleep_report_id, report_date);
+alter table sleep_tracker_notes
+    add constraint uk_sleep_tracker_notes_client_date unique (client_id, report_date),
+    add constraint fk_sleep_tracker_notes_client_id foreign key (client_id) references clients;
@@ -0,0 +1,17 @@
+-- One row per record moved to the archive by ArchiveService, pointing at the bytes of the segment
+-- that hold it. Looked up by record when a getter misses the live tables.
+create table archive_tombstones (
+    id bigserial not null,
+    record_type integer,
+    record_key varchar(255),
+    segment varchar(255),
+    segment_offset bigint not null,
+    length integer not null,
+    archived_at timestamp,
+    primary key (id),
+    constraint uk_archive_tombstones_record unique (record_type, record_key)
+);
+alter sequence archive_tombstones_id_seq increment by 50;
+
+-- the archive job's batches of closed incidents past their age
+create index ix_incidents_status_created_at on incidents (status, created_at);
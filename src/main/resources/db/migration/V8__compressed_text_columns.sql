@@ -0,0 +1,21 @@
+-- The long narrative columns become bytea holding the text as CompressedTextConverter stores it.
+-- Existing values are carried over as their UTF-8 bytes, which read back unchanged; the
+-- TextCompressionBackfillService compresses them afterwards. Rewrites the tables.
+alter table incidents
+    alter column description type bytea using convert_to(description, 'UTF8'),
+    alter column before_incident type bytea using convert_to(before_incident, 'UTF8'),
+    alter column immediate_action type bytea using convert_to(immediate_action, 'UTF8');
+
+alter table daily_notes
+    alter column note type bytea using convert_to(note, 'UTF8');
+
+alter table handover_summary
+    alter column behaviours_summary type bytea using convert_to(behaviours_summary, 'UTF8'),
+    alter column sleep_summary type bytea using convert_to(sleep_summary, 'UTF8'),
+    alter column food_summary type bytea using convert_to(food_summary, 'UTF8'),
+    alter column toileting_summary type bytea using convert_to(toileting_summary, 'UTF8'),
+    alter column activities_summary type bytea using convert_to(activities_summary, 'UTF8');
+
+alter table clients
+    alter column diagnosis type bytea using convert_to(diagnosis, 'UTF8'),
+    alter column medication_support type bytea using convert_to(medication_support, 'UTF8');
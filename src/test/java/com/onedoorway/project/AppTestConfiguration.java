@@ -8,7 +8,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 @Configuration
-@Profile("test")
+@Profile("test & !postgres")
 public class AppTestConfiguration {
     @Primary
     @Bean
@@ -16,7 +16,7 @@ public class AppTestConfiguration {
         // Setup a test data source
         DriverManagerDataSource dataSource = new DriverManagerDataSource();
         dataSource.setDriverClassName("org.h2.Driver");
-        dataSource.setUrl("jdbc:h2:mem:db;DB_CLOSE_DELAY=-1");
+        dataSource.setUrl("jdbc:h2:mem:db;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
         dataSource.setUsername("sa");
         dataSource.setPassword("");
         return dataSource;
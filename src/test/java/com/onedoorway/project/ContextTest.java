@@ -0,0 +1,176 @@
+package com.onedoorway.project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.onedoorway.project.model.JwtPrincipal;
+import com.onedoorway.project.model.ODWUserDetails;
+import com.onedoorway.project.model.User;
+import com.onedoorway.project.repository.UserRepository;
+import com.onedoorway.project.services.HouseDirectory;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@ExtendWith(MockitoExtension.class)
+class ContextTest {
+    @Mock HouseDirectory mockHouseDirectory;
+    @Mock UserRepository mockUserRepository;
+    @Mock EntityManager mockEntityManager;
+
+    private final Context context = new Context();
+
+    @BeforeEach
+    void init() {
+        context.setHouseDirectory(mockHouseDirectory);
+        context.setUserRepository(mockUserRepository);
+        context.setEntityManager(mockEntityManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testCanAccessHouse_Admin() {
+        // Given
+        authenticate(new JwtPrincipal("admin@test.com", List.of("ADMIN"), List.of(), 0));
+
+        // Then
+        assertTrue(context.isAdmin());
+        assertTrue(context.canAccessHouse("101"));
+        verifyNoInteractions(mockHouseDirectory);
+    }
+
+    @Test
+    void testCanAccessHouse_MappedHouse() {
+        // Given
+        authenticate(new JwtPrincipal("test@test.com", List.of("USER"), List.of(7L, 3L), 0));
+        when(mockHouseDirectory.houseIdOf("101")).thenReturn(3L);
+        when(mockHouseDirectory.houseIdOf("102")).thenReturn(4L);
+
+        // Then
+        assertFalse(context.isAdmin());
+        assertTrue(context.canAccessHouse("101"));
+        assertFalse(context.canAccessHouse("102"));
+    }
+
+    @Test
+    void testCanAccessHouse_UnknownHouse() {
+        // Given
+        authenticate(new JwtPrincipal("test@test.com", List.of("USER"), List.of(3L), 0));
+
+        // Then
+        assertFalse(context.canAccessHouse("999"));
+    }
+
+    @Test
+    void testCanAccessClient_Success() {
+        // Given
+        authenticate(new JwtPrincipal("test@test.com", List.of("USER"), List.of(3L), 0));
+        when(mockHouseDirectory.houseIdOfClient(1L)).thenReturn(3L);
+        when(mockHouseDirectory.houseIdOfClient(2L)).thenReturn(5L);
+
+        // Then
+        assertTrue(context.canAccessClient(1L));
+        assertFalse(context.canAccessClient(2L));
+        assertFalse(context.canAccessClient(3L));
+    }
+
+    @Test
+    void testCanAccessHouse_NotAuthenticated() {
+        assertFalse(context.isAdmin());
+        assertFalse(context.canAccessHouse("101"));
+    }
+
+    @Test
+    void testCurrentUserReference_IdFromToken() {
+        // Given
+        authenticate(new JwtPrincipal("test@test.com", 5L, List.of("USER"), List.of(3L), 0));
+        User reference = User.builder().id(5).build();
+        when(mockEntityManager.getReference(User.class, 5L)).thenReturn(reference);
+
+        // Then
+        assertEquals(5L, context.currentUserId());
+        assertSame(reference, context.currentUserReference());
+        verifyNoInteractions(mockUserRepository);
+    }
+
+    @Test
+    void testCurrentUserId_OlderTokenLooksUpOncePerRequest() {
+        // Given
+        authenticate(new JwtPrincipal("test@test.com", List.of("USER"), List.of(3L), 0));
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(mockUserRepository.findIdByEmail("test@test.com")).thenReturn(5L);
+
+        // Then
+        assertEquals(5L, context.currentUserId());
+        assertEquals(5L, context.currentUserId());
+        verify(mockUserRepository, times(1)).findIdByEmail("test@test.com");
+    }
+
+    @Test
+    void testCurrentUserEntity_FromAuthentication() {
+        // Given
+        User user = User.builder().id(5).email("test@test.com").build();
+        ODWUserDetails userDetails = new ODWUserDetails(user);
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new UsernamePasswordAuthenticationToken(userDetails, null, List.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(Context.USER_ATTRIBUTE, user);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Then
+        assertSame(user, context.currentUserEntity());
+        assertEquals(5L, context.currentUserId());
+        verifyNoInteractions(mockUserRepository);
+    }
+
+    @Test
+    void testCurrentUserEntity_NotLoadedForClaims() {
+        // Given
+        authenticate(new JwtPrincipal("test@test.com", 5L, List.of("USER"), List.of(3L), 0));
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // Then
+        assertNull(context.currentUserEntity());
+        verifyNoInteractions(mockUserRepository);
+    }
+
+    @Test
+    void testCurrentUser_NotAuthenticated() {
+        assertNull(context.currentUserEntity());
+        assertNull(context.currentUserId());
+        assertNull(context.currentUserReference());
+        verifyNoInteractions(mockUserRepository, mockEntityManager);
+    }
+
+    private static void authenticate(JwtPrincipal principal) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new UsernamePasswordAuthenticationToken(
+                                principal, null, principal.getAuthorities()));
+    }
+}
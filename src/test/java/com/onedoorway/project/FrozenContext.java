@@ -1,12 +1,24 @@
 package com.onedoorway.project;
 
+import com.onedoorway.project.model.User;
+import com.onedoorway.project.repository.UserRepository;
 import java.time.Instant;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class FrozenContext extends Context {
     public final Instant nowValue = Instant.now();
 
+    private UserRepository userRepository;
+
+    @Autowired
+    @Override
+    public void setUserRepository(UserRepository userRepository) {
+        super.setUserRepository(userRepository);
+        this.userRepository = userRepository;
+    }
+
     @Override
     public Instant now() {
         return nowValue;
@@ -17,8 +29,35 @@ public class FrozenContext extends Context {
         return "test@test.com";
     }
 
+    // the service tests run outside a request and stub UserRepository.getByEmail instead
+    @Override
+    public User currentUserEntity() {
+        return userRepository.getByEmail(currentUser());
+    }
+
+    @Override
+    public User currentUserReference() {
+        return currentUserEntity();
+    }
+
+    @Override
+    public Long currentUserId() {
+        User user = currentUserEntity();
+        return user == null ? null : user.getId();
+    }
+
     @Override
     public boolean isAdmin() {
         return true;
     }
+
+    @Override
+    public boolean canAccessHouse(String houseCode) {
+        return true;
+    }
+
+    @Override
+    public boolean canAccessClient(Long clientId) {
+        return true;
+    }
 }
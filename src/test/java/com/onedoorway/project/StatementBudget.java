@@ -0,0 +1,31 @@
+package com.onedoorway.project;
+
+import com.onedoorway.project.monitoring.DbStatsResponseAdvice;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Statement budgets for MockMvc tests, read from the {@code X-DB-Statements} header, which the
+ * test profile turns on. The count covers the controller call only, not the security filters.
+ */
+public final class StatementBudget {
+    private StatementBudget() {}
+
+    public static ResultMatcher atMost(int budget) {
+        return result -> {
+            int statements = statements(result);
+            if (statements > budget) {
+                throw new AssertionError(
+                        "Expected at most " + budget + " SQL statements but ran " + statements);
+            }
+        };
+    }
+
+    public static int statements(MvcResult result) {
+        String header = result.getResponse().getHeader(DbStatsResponseAdvice.STATEMENTS_HEADER);
+        if (header == null) {
+            throw new AssertionError("No " + DbStatsResponseAdvice.STATEMENTS_HEADER + " header");
+        }
+        return Integer.parseInt(header);
+    }
+}
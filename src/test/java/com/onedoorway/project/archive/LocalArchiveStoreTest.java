@@ -0,0 +1,75 @@
+package com.onedoorway.project.archive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalArchiveStoreTest {
+    @TempDir Path dir;
+
+    private LocalArchiveStore localArchiveStore;
+
+    @BeforeEach
+    void init() {
+        localArchiveStore = new LocalArchiveStore(dir.toString());
+    }
+
+    @SneakyThrows
+    @Test
+    void testRead_Success_EachRecordOfASegment() {
+        // Given
+        byte[] first = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "{\"id\":2}".getBytes(StandardCharsets.UTF_8);
+        ArchiveSegment segment = new ArchiveSegment();
+        segment.append(first);
+        long secondOffset = segment.size();
+        segment.append(second);
+        localArchiveStore.write("case_note/1.gz", segment.toByteArray());
+
+        // When
+        byte[] actualFirst = localArchiveStore.read("case_note/1.gz", 0, (int) secondOffset);
+        byte[] actualSecond =
+                localArchiveStore.read(
+                        "case_note/1.gz", secondOffset, (int) (segment.size() - secondOffset));
+
+        // Then
+        assertArrayEquals(first, ArchiveSegment.unpack(actualFirst));
+        assertArrayEquals(second, ArchiveSegment.unpack(actualSecond));
+    }
+
+    @SneakyThrows
+    @Test
+    void testWrite_Failure_SegmentExists() {
+        // Given
+        localArchiveStore.write("case_note/1.gz", new byte[] {1});
+
+        assertThrows(
+                FileAlreadyExistsException.class,
+                () -> {
+                    // When
+                    localArchiveStore.write("case_note/1.gz", new byte[] {2});
+                });
+    }
+
+    @SneakyThrows
+    @Test
+    void testRead_Failure_SegmentTruncated() {
+        // Given
+        localArchiveStore.write("case_note/1.gz", new byte[] {1, 2});
+
+        assertThrows(
+                IOException.class,
+                () -> {
+                    // When
+                    localArchiveStore.read("case_note/1.gz", 1, 4);
+                });
+    }
+}
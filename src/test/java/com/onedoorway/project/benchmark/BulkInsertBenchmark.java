@@ -0,0 +1,215 @@
+package com.onedoorway.project.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Bulk daily note and house contact inserts in rows per second, with the statements Hibernate
+ * sends under each id strategy: {@code identity} inserts one row per round trip and reads the key
+ * back, {@code pooled} takes a block of 50 ids from the sequence and sends the rows in JDBC
+ * batches. Runs on in-memory H2 unless {@code -Dbenchmark.jdbc.url} (with {@code .username} and
+ * {@code .password}) points it at a Postgres database, where the round trips show up in full.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+    private static final int ROWS = 1000;
+    private static final int BLOCK = 50;
+
+    @Param({"identity", "pooled"})
+    String ids;
+
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection =
+                DriverManager.getConnection(
+                        System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:bulk"),
+                        System.getProperty("benchmark.jdbc.username", "sa"),
+                        System.getProperty("benchmark.jdbc.password", ""));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists bench_house_contacts_houses");
+            statement.execute("drop table if exists bench_house_contacts");
+            statement.execute("drop table if exists bench_daily_notes");
+            statement.execute("drop sequence if exists bench_daily_notes_seq");
+            statement.execute("drop sequence if exists bench_house_contacts_seq");
+            statement.execute(
+                    "create table bench_daily_notes (daily_note_id bigint generated by default"
+                            + " as identity primary key, house_id bigint, client_id bigint,"
+                            + " user_id bigint, note varchar(2000), created_at timestamp)");
+            statement.execute(
+                    "create table bench_house_contacts (house_contact_id bigint generated by"
+                            + " default as identity primary key, first_name varchar(255),"
+                            + " email varchar(255), status varchar(255),"
+                            + " last_updated_at timestamp)");
+            statement.execute(
+                    "create table bench_house_contacts_houses (house_contact_id bigint,"
+                            + " house_id bigint)");
+            statement.execute("create sequence bench_daily_notes_seq increment by " + BLOCK);
+            statement.execute("create sequence bench_house_contacts_seq increment by " + BLOCK);
+        }
+        connection.commit();
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("delete from bench_house_contacts_houses");
+            statement.execute("delete from bench_house_contacts");
+            statement.execute("delete from bench_daily_notes");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void dailyNotes() throws SQLException {
+        String columns = "house_id, client_id, user_id, note, created_at";
+        if (ids.equals("identity")) {
+            try (PreparedStatement insert =
+                    connection.prepareStatement(
+                            "insert into bench_daily_notes ("
+                                    + columns
+                                    + ") values (?, ?, ?, ?, ?)",
+                            Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < ROWS; i++) {
+                    bindNote(insert, 1, i);
+                    insert.executeUpdate();
+                    readKey(insert);
+                }
+            }
+        } else {
+            try (PreparedStatement insert =
+                    connection.prepareStatement(
+                            "insert into bench_daily_notes (daily_note_id, "
+                                    + columns
+                                    + ") values (?, ?, ?, ?, ?, ?)")) {
+                long next = 0;
+                for (int i = 0; i < ROWS; i++) {
+                    if (i % BLOCK == 0) {
+                        next = nextBlock("bench_daily_notes_seq");
+                    }
+                    insert.setLong(1, next++);
+                    bindNote(insert, 2, i);
+                    insert.addBatch();
+                    if ((i + 1) % BLOCK == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void houseContacts() throws SQLException {
+        String columns = "first_name, email, status, last_updated_at";
+        try (PreparedStatement link =
+                connection.prepareStatement(
+                        "insert into bench_house_contacts_houses (house_contact_id, house_id)"
+                                + " values (?, ?)")) {
+            if (ids.equals("identity")) {
+                try (PreparedStatement insert =
+                        connection.prepareStatement(
+                                "insert into bench_house_contacts ("
+                                        + columns
+                                        + ") values (?, ?, ?, ?)",
+                                Statement.RETURN_GENERATED_KEYS)) {
+                    for (int i = 0; i < ROWS; i++) {
+                        bindContact(insert, 1, i);
+                        insert.executeUpdate();
+                        long id = readKey(insert);
+                        for (long houseId = 1; houseId <= 2; houseId++) {
+                            link.setLong(1, id);
+                            link.setLong(2, houseId);
+                            link.executeUpdate();
+                        }
+                    }
+                }
+            } else {
+                try (PreparedStatement insert =
+                        connection.prepareStatement(
+                                "insert into bench_house_contacts (house_contact_id, "
+                                        + columns
+                                        + ") values (?, ?, ?, ?, ?)")) {
+                    long next = 0;
+                    for (int i = 0; i < ROWS; i++) {
+                        if (i % BLOCK == 0) {
+                            next = nextBlock("bench_house_contacts_seq");
+                        }
+                        long id = next++;
+                        insert.setLong(1, id);
+                        bindContact(insert, 2, i);
+                        insert.addBatch();
+                        for (long houseId = 1; houseId <= 2; houseId++) {
+                            link.setLong(1, id);
+                            link.setLong(2, houseId);
+                            link.addBatch();
+                        }
+                        // ordered inserts: the contacts of a block go first, then their links
+                        if ((i + 1) % BLOCK == 0) {
+                            insert.executeBatch();
+                            link.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                    link.executeBatch();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private static void bindNote(PreparedStatement insert, int from, int i) throws SQLException {
+        insert.setLong(from, 1 + i % 10);
+        insert.setLong(from + 1, 1 + i % 100);
+        insert.setLong(from + 2, 1 + i % 25);
+        insert.setString(from + 3, "Note " + i + " written during the afternoon shift");
+        insert.setTimestamp(from + 4, Timestamp.from(Instant.now()));
+    }
+
+    private static void bindContact(PreparedStatement insert, int from, int i)
+            throws SQLException {
+        insert.setString(from, "contact" + i);
+        insert.setString(from + 1, "contact" + i + "@example.com");
+        insert.setString(from + 2, "ACTIVE");
+        insert.setTimestamp(from + 3, Timestamp.from(Instant.now()));
+    }
+
+    private static long readKey(PreparedStatement insert) throws SQLException {
+        try (ResultSet keys = insert.getGeneratedKeys()) {
+            keys.next();
+            return keys.getLong(1);
+        }
+    }
+
+    /** The first id of the next block, the way the pooled optimizer reads the sequence. */
+    private long nextBlock(String sequence) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("select nextval('" + sequence + "')")) {
+            result.next();
+            return result.getLong(1) - BLOCK + 1;
+        }
+    }
+}
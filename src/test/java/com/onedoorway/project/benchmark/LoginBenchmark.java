@@ -0,0 +1,77 @@
+package com.onedoorway.project.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.onedoorway.project.exception.LoginServiceException;
+import com.onedoorway.project.model.House;
+import com.onedoorway.project.model.ODWUserDetails;
+import com.onedoorway.project.model.Role;
+import com.onedoorway.project.model.User;
+import com.onedoorway.project.repository.UserRepository;
+import com.onedoorway.project.services.LoginService;
+import com.onedoorway.project.services.SecurityStampService;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Login throughput through {@link LoginService} with the password check on the bounded pool. The
+ * repository is stubbed, so the numbers are the BCrypt and pool cost only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+public class LoginBenchmark {
+    private static final String EMAIL = "bench@test.com";
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"1", "2", "4"})
+    int loginThreads;
+
+    @Param({"10", "12"})
+    int bcryptStrength;
+
+    private LoginService loginService;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        User user =
+                User.builder()
+                        .id(1)
+                        .email(EMAIL)
+                        .password(passwordEncoder.encode(PASSWORD))
+                        .deleted(false)
+                        .securityStamp(0)
+                        .roles(Set.of(Role.builder().id(1).name("USER").build()))
+                        .houses(Set.of(House.builder().id(1).houseCode("100").build()))
+                        .build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findForLogin(anyString())).thenReturn(user);
+        loginService =
+                new LoginService(
+                        userRepository,
+                        passwordEncoder,
+                        mock(SecurityStampService.class),
+                        loginThreads,
+                        1024,
+                        60000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        loginService.shutdown();
+    }
+
+    @Benchmark
+    public ODWUserDetails login() throws LoginServiceException {
+        return loginService.login(EMAIL, PASSWORD);
+    }
+}
@@ -0,0 +1,83 @@
+package com.onedoorway.project.benchmark;
+
+import com.onedoorway.project.dto.IncidentDTO;
+import com.onedoorway.project.model.*;
+import com.onedoorway.project.services.DtoMapper;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * One page of incidents mapped to {@link IncidentDTO}, the way the services used to (a new
+ * ModelMapper per call) against the shared {@link DtoMapper}. The profile runs with {@code -prof
+ * gc}, so gc.alloc.rate.norm gives the bytes allocated per page next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class MappingBenchmark {
+    @Param({"1", "20"})
+    int pageSize;
+
+    private final DtoMapper dtoMapper = new DtoMapper();
+
+    private List<Incident> incidents;
+
+    @Setup
+    public void setUp() {
+        House house = House.builder().id(1).houseCode("100").addrLine1("1 Main St").build();
+        Client client = Client.builder().id(1).name("client").house(house).build();
+        User reporter =
+                User.builder()
+                        .id(1)
+                        .email("bench@test.com")
+                        .firstName("first")
+                        .lastName("last")
+                        .houses(Set.of(house))
+                        .build();
+        incidents = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            incidents.add(
+                    Incident.builder()
+                            .id(i)
+                            .status(Status.RAISED)
+                            .raisedFor(RaisedFor.STAFF)
+                            .category(lookup(1, LookupType.INCIDENT_CATEGORY))
+                            .type(lookup(2, LookupType.INCIDENT_TYPE))
+                            .classification(lookup(3, LookupType.INCIDENT_CLASSIFICATION))
+                            .description("description " + i)
+                            .location("kitchen")
+                            .dateOccurred(LocalDateTime.now())
+                            .createdAt(Instant.now())
+                            .reportedBy(reporter)
+                            .house(house)
+                            .client(client)
+                            .build());
+        }
+    }
+
+    @Benchmark
+    public List<IncidentDTO> newMapperPerCall() {
+        return incidents.stream()
+                .map(item -> new ModelMapper().map(item, IncidentDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<IncidentDTO> sharedMapper() {
+        return dtoMapper.mapAll(incidents, IncidentDTO.class);
+    }
+
+    private static Lookup lookup(long id, LookupType lookupType) {
+        return Lookup.builder().id(id).name("lookup " + id).lookupType(lookupType).build();
+    }
+}
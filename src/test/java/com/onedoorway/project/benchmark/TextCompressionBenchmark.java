@@ -0,0 +1,125 @@
+package com.onedoorway.project.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.onedoorway.project.util.TextCompression;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Encode and decode cost of the compressed text columns, per value, and the storage they save,
+ * printed once per trial. The values are generated narratives of {@code length} characters, or,
+ * with {@code -Dbenchmark.jdbc.url} (and {@code .username} and {@code .password}) and {@code
+ * -Dbenchmark.column=table.column}, up to 1000 values sampled from that column of a real database,
+ * which is how a column is judged worth compressing; {@code length} then only repeats the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class TextCompressionBenchmark {
+    private static final String[] WORDS = {
+        "client", "staff", "was", "the", "and", "after", "dinner", "settled", "medication",
+        "given", "at", "house", "walked", "to", "park", "with", "support", "worker", "reported",
+        "calm", "upset", "behaviour", "incident", "no", "injury", "sleep", "night", "morning",
+        "family", "called", "doctor", "appointment", "shower", "assisted", "meal", "prepared"
+    };
+
+    @Param({"200", "1000", "5000"})
+    int length;
+
+    private final List<String> texts = new ArrayList<>();
+    private final List<byte[]> values = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws SQLException {
+        String column = System.getProperty("benchmark.column");
+        if (column == null) {
+            Random random = new Random(42);
+            for (int i = 0; i < 100; i++) {
+                texts.add(narrative(random, length));
+            }
+        } else {
+            texts.addAll(sample(column));
+        }
+        long plainBytes = 0;
+        long storedBytes = 0;
+        for (String text : texts) {
+            byte[] value = TextCompression.encode(text);
+            values.add(value);
+            plainBytes += text.getBytes(UTF_8).length;
+            storedBytes += value.length;
+        }
+        System.out.printf(
+                "%n%s: %d values, %d bytes as text, %d bytes stored, %.1f%% saved%n",
+                column == null ? "generated, " + length + " chars" : column,
+                texts.size(),
+                plainBytes,
+                storedBytes,
+                plainBytes == 0 ? 0.0 : 100.0 * (plainBytes - storedBytes) / plainBytes);
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(TextCompression.encode(text));
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        for (byte[] value : values) {
+            blackhole.consume(TextCompression.decode(value));
+        }
+    }
+
+    // the values as the application reads them, so columns already compressed sample the same
+    private static List<String> sample(String column) throws SQLException {
+        String[] tableColumn = column.split("\\.");
+        List<String> texts = new ArrayList<>();
+        try (Connection connection =
+                        DriverManager.getConnection(
+                                System.getProperty("benchmark.jdbc.url"),
+                                System.getProperty("benchmark.jdbc.username", "sa"),
+                                System.getProperty("benchmark.jdbc.password", ""));
+                Statement statement = connection.createStatement();
+                ResultSet rs =
+                        statement.executeQuery(
+                                String.format(
+                                        "select %s from %s where %1$s is not null limit 1000",
+                                        tableColumn[1], tableColumn[0]))) {
+            while (rs.next()) {
+                Object value = rs.getObject(1);
+                texts.add(
+                        value instanceof byte[]
+                                ? TextCompression.decode((byte[]) value)
+                                : value.toString());
+            }
+        }
+        return texts;
+    }
+
+    private static String narrative(Random random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            int words = 6 + random.nextInt(10);
+            for (int i = 0; i < words; i++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                text.append(i == 0 ? word.substring(0, 1).toUpperCase() + word.substring(1) : word);
+                text.append(i == words - 1 ? ". " : " ");
+            }
+        }
+        return text.substring(0, length);
+    }
+}
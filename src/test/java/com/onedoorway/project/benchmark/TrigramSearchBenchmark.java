@@ -0,0 +1,73 @@
+package com.onedoorway.project.benchmark;
+
+import com.onedoorway.project.util.TrigramIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * A type-ahead query against the trigram index next to the linear {@code contains} scan that the
+ * wildcard LIKE amounts to, over {@code size} generated names and emails.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class TrigramSearchBenchmark {
+    private static final String[] SYLLABLES = {
+        "an", "be", "ca", "do", "el", "fi", "ga", "ha", "is", "jo", "ka", "li", "ma", "no", "ol",
+        "pe", "ra", "si", "ta", "vi"
+    };
+
+    @Param({"1000", "50000"})
+    int size;
+
+    @Param({"mar", "marasi"})
+    String query;
+
+    private final TrigramIndex index = new TrigramIndex();
+    private final List<String> names = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            String first = word(random);
+            String last = word(random);
+            String email = (first + "." + last + i + "@example.com").toLowerCase(Locale.ROOT);
+            index.put(i, first, last, email);
+            names.add((first + " " + last + " " + email).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Benchmark
+    public List<Long> trigramIndex() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public List<Long> linearScan() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).contains(query)) {
+                ids.add((long) i);
+            }
+        }
+        return ids;
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
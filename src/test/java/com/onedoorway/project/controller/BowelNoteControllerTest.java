@@ -15,12 +15,16 @@ import com.onedoorway.project.dto.BowelNoteRequest;
 import com.onedoorway.project.dto.ListBowelNoteRequest;
 import com.onedoorway.project.dto.UpdateBowelNoteRequest;
 import com.onedoorway.project.filters.JwtRequestFilter;
+import com.onedoorway.project.filters.TokenCache;
 import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.BowelNoteRepository;
 import com.onedoorway.project.repository.ClientRepository;
 import com.onedoorway.project.repository.UserRepository;
 import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -52,6 +56,12 @@ class BowelNoteControllerTest {
 
     @Mock private ODWUserDetailsService mockUserDetailsService;
 
+    @Autowired private TokenCache tokenCache;
+
+    @Autowired private SecurityStampService securityStampService;
+
+    @Autowired private TokenRevocationService tokenRevocationService;
+
     @Autowired private BowelNoteRepository bowelNoteRepository;
 
     @Autowired private UserRepository userRepository;
@@ -74,11 +84,20 @@ class BowelNoteControllerTest {
 
         ODWUserDetails basicUser = new ODWUserDetails(user);
         when(mockJwtUtil.extractUsername(anyString())).thenReturn("test@test.com");
+        when(mockJwtUtil.extractAllClaims(anyString()))
+                .thenReturn(new DefaultClaims().setSubject("test@test.com"));
         when(mockJwtUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
         when(mockUserDetailsService.loadUserByUsername(anyString())).thenReturn(basicUser);
+        tokenCache.clear();
         this.mockMvc =
                 webAppContextSetup(this.wac)
-                        .addFilters(new JwtRequestFilter(mockUserDetailsService, mockJwtUtil))
+                        .addFilters(
+                                new JwtRequestFilter(
+                                        mockUserDetailsService,
+                                        mockJwtUtil,
+                                        tokenCache,
+                                        securityStampService,
+                                        tokenRevocationService))
                         .build();
     }
 
@@ -13,13 +13,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.onedoorway.project.dto.*;
 import com.onedoorway.project.filters.JwtRequestFilter;
+import com.onedoorway.project.filters.TokenCache;
 import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.CaseNoteRepository;
 import com.onedoorway.project.repository.ClientRepository;
 import com.onedoorway.project.repository.LookupRepository;
 import com.onedoorway.project.repository.UserRepository;
 import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -51,6 +55,12 @@ class CaseNoteControllerTest {
 
     @Mock private ODWUserDetailsService mockUserDetailsService;
 
+    @Autowired private TokenCache tokenCache;
+
+    @Autowired private SecurityStampService securityStampService;
+
+    @Autowired private TokenRevocationService tokenRevocationService;
+
     @Autowired private CaseNoteRepository caseNoteRepository;
 
     @Autowired private UserRepository userRepository;
@@ -75,11 +85,20 @@ class CaseNoteControllerTest {
 
         ODWUserDetails basicUser = new ODWUserDetails(user);
         when(mockJwtUtil.extractUsername(anyString())).thenReturn("test@test.com");
+        when(mockJwtUtil.extractAllClaims(anyString()))
+                .thenReturn(new DefaultClaims().setSubject("test@test.com"));
         when(mockJwtUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
         when(mockUserDetailsService.loadUserByUsername(anyString())).thenReturn(basicUser);
+        tokenCache.clear();
         this.mockMvc =
                 webAppContextSetup(this.wac)
-                        .addFilters(new JwtRequestFilter(mockUserDetailsService, mockJwtUtil))
+                        .addFilters(
+                                new JwtRequestFilter(
+                                        mockUserDetailsService,
+                                        mockJwtUtil,
+                                        tokenCache,
+                                        securityStampService,
+                                        tokenRevocationService))
                         .build();
     }
 
@@ -372,6 +391,35 @@ class CaseNoteControllerTest {
                                                                 "yyyy-MM-dd'T'HH:mm:ss.SSSXXX"))));
     }
 
+    @SneakyThrows
+    @Test
+    @DisplayName("POST /list invalid cursor")
+    void testListCaseNotes_InvalidCursor() {
+        // Given
+        ListCaseNoteRequest request =
+                ListCaseNoteRequest.builder()
+                        .clientId(1L)
+                        .category("test")
+                        .start("2021-11-18")
+                        .end("2021-11-19")
+                        .pageSize(1)
+                        .after("bad")
+                        .build();
+
+        // When
+        mockMvc.perform(
+                        post("/case-note/list")
+                                .header("Authorization", "Bearer dummy")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(asJsonString(request)))
+
+                // Then
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.message", is("Invalid cursor bad")));
+    }
+
     @SneakyThrows
     @Test
     @DisplayName("PUT /update case note success")
@@ -15,12 +15,16 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.onedoorway.project.dto.ClientAllowancesRequest;
 import com.onedoorway.project.dto.UpdateClientAllowancesRequest;
 import com.onedoorway.project.filters.JwtRequestFilter;
+import com.onedoorway.project.filters.TokenCache;
 import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.ClientAllowancesRepository;
 import com.onedoorway.project.repository.ClientRepository;
 import com.onedoorway.project.repository.UserRepository;
 import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
 import java.util.Collections;
 import java.util.HashSet;
 import lombok.SneakyThrows;
@@ -48,6 +52,12 @@ class ClientAllowancesControllerTest {
 
     @Mock private ODWUserDetailsService mockUserDetailsService;
 
+    @Autowired private TokenCache tokenCache;
+
+    @Autowired private SecurityStampService securityStampService;
+
+    @Autowired private TokenRevocationService tokenRevocationService;
+
     @Autowired private ClientAllowancesRepository clientAllowancesRepository;
 
     @Autowired private UserRepository userRepository;
@@ -68,11 +78,20 @@ class ClientAllowancesControllerTest {
 
         ODWUserDetails basicUser = new ODWUserDetails(user);
         when(mockJwtUtil.extractUsername(anyString())).thenReturn("test@test.com");
+        when(mockJwtUtil.extractAllClaims(anyString()))
+                .thenReturn(new DefaultClaims().setSubject("test@test.com"));
         when(mockJwtUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
         when(mockUserDetailsService.loadUserByUsername(anyString())).thenReturn(basicUser);
+        tokenCache.clear();
         this.mockMvc =
                 webAppContextSetup(this.wac)
-                        .addFilters(new JwtRequestFilter(mockUserDetailsService, mockJwtUtil))
+                        .addFilters(
+                                new JwtRequestFilter(
+                                        mockUserDetailsService,
+                                        mockJwtUtil,
+                                        tokenCache,
+                                        securityStampService,
+                                        tokenRevocationService))
                         .build();
     }
 
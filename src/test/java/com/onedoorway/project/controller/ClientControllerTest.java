@@ -1,6 +1,7 @@
 package com.onedoorway.project.controller;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mockStatic;
@@ -14,10 +15,15 @@ import com.microsoft.azure.storage.CloudStorageAccount;
 import com.microsoft.azure.storage.blob.*;
 import com.onedoorway.project.dto.*;
 import com.onedoorway.project.filters.JwtRequestFilter;
+import com.onedoorway.project.filters.TokenCache;
 import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.*;
 import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SearchIndex;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
@@ -48,12 +54,20 @@ class ClientControllerTest {
 
     @Mock private ODWUserDetailsService mockUserDetailsService;
 
+    @Autowired private TokenCache tokenCache;
+
+    @Autowired private SecurityStampService securityStampService;
+
+    @Autowired private TokenRevocationService tokenRevocationService;
+
     @Autowired private UserRepository userRepository;
 
     @Autowired private RoleRepository roleRepository;
 
     @Autowired private ClientRepository clientRepository;
 
+    @Autowired private SearchIndex searchIndex;
+
     @Autowired private HouseRepository houseRepository;
 
     @Autowired private ClientContactRepository contactRepository;
@@ -75,11 +89,20 @@ class ClientControllerTest {
 
         ODWUserDetails basicUser = new ODWUserDetails(user);
         when(mockJwtUtil.extractUsername(anyString())).thenReturn("test@test.com");
+        when(mockJwtUtil.extractAllClaims(anyString()))
+                .thenReturn(new DefaultClaims().setSubject("test@test.com"));
         when(mockJwtUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
         when(mockUserDetailsService.loadUserByUsername(anyString())).thenReturn(basicUser);
+        tokenCache.clear();
         this.mockMvc =
                 webAppContextSetup(this.wac)
-                        .addFilters(new JwtRequestFilter(mockUserDetailsService, mockJwtUtil))
+                        .addFilters(
+                                new JwtRequestFilter(
+                                        mockUserDetailsService,
+                                        mockJwtUtil,
+                                        tokenCache,
+                                        securityStampService,
+                                        tokenRevocationService))
                         .build();
     }
 
@@ -188,6 +211,8 @@ class ClientControllerTest {
                         .deleted(false)
                         .build();
         testClient = clientRepository.save(testClient);
+        // written straight through the repositories, so the index is reloaded
+        searchIndex.rebuild();
 
         ListClientRequest request =
                 ListClientRequest.builder()
@@ -1255,6 +1280,48 @@ class ClientControllerTest {
                 .andExpect(jsonPath("$.success", is(true)));
     }
 
+    @SneakyThrows
+    @Test
+    @DisplayName("PUT/ update client additional field with the version read")
+    void testUpdateClient_AdditionalField_WithVersion() {
+        // Given
+        testClient =
+                clientRepository.save(
+                        Client.builder()
+                                .name("client")
+                                .email("test-client@email.com")
+                                .deleted(false)
+                                .identity("")
+                                .culture("culture")
+                                .build());
+        UpdateClientRequest request =
+                UpdateClientRequest.builder().identity("identity").version(0L).build();
+
+        // When
+        mockMvc.perform(
+                        put("/client/update-additional/{id}", testClient.getId())
+                                .header("Authorization", "Bearer dummy")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(asJsonString(request)))
+                // Then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)));
+        Client updated = clientRepository.findById(testClient.getId()).orElseThrow();
+        assertEquals("identity", updated.getIdentity());
+        assertEquals("culture", updated.getCulture());
+        assertEquals(1L, updated.getVersion());
+
+        // a second write from the same read is stale
+        mockMvc.perform(
+                        put("/client/update-additional/{id}", testClient.getId())
+                                .header("Authorization", "Bearer dummy")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(asJsonString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @SneakyThrows
     @Test
     @DisplayName("PUT/ update client Additional field failure")
@@ -13,13 +13,17 @@ import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppC
 import com.microsoft.azure.storage.CloudStorageAccount;
 import com.microsoft.azure.storage.blob.*;
 import com.onedoorway.project.filters.JwtRequestFilter;
+import com.onedoorway.project.filters.TokenCache;
 import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.ClientDocumentRepository;
 import com.onedoorway.project.repository.ClientRepository;
 import com.onedoorway.project.repository.FolderRepository;
 import com.onedoorway.project.repository.UserRepository;
 import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
@@ -48,6 +52,12 @@ class ClientDocumentControllerTest {
 
     @Mock private ODWUserDetailsService mockUserDetailsService;
 
+    @Autowired private TokenCache tokenCache;
+
+    @Autowired private SecurityStampService securityStampService;
+
+    @Autowired private TokenRevocationService tokenRevocationService;
+
     @Autowired private UserRepository userRepository;
 
     @Autowired private ClientRepository clientRepository;
@@ -69,11 +79,20 @@ class ClientDocumentControllerTest {
 
         ODWUserDetails basicUser = new ODWUserDetails(user);
         when(mockJwtUtil.extractUsername(anyString())).thenReturn("test@test.com");
+        when(mockJwtUtil.extractAllClaims(anyString()))
+                .thenReturn(new DefaultClaims().setSubject("test@test.com"));
         when(mockJwtUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
         when(mockUserDetailsService.loadUserByUsername(anyString())).thenReturn(basicUser);
+        tokenCache.clear();
         this.mockMvc =
                 webAppContextSetup(this.wac)
-                        .addFilters(new JwtRequestFilter(mockUserDetailsService, mockJwtUtil))
+                        .addFilters(
+                                new JwtRequestFilter(
+                                        mockUserDetailsService,
+                                        mockJwtUtil,
+                                        tokenCache,
+                                        securityStampService,
+                                        tokenRevocationService))
                         .build();
     }
 
@@ -15,10 +15,14 @@ import com.onedoorway.project.dto.DailyNoteRequest;
 import com.onedoorway.project.dto.SearchDailyNoteRequest;
 import com.onedoorway.project.dto.UpdateDailyNoteRequest;
 import com.onedoorway.project.filters.JwtRequestFilter;
+import com.onedoorway.project.filters.TokenCache;
 import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.*;
 import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -51,6 +55,12 @@ class DailyNoteControllerTest {
 
     @Mock private ODWUserDetailsService mockUserDetailsService;
 
+    @Autowired private TokenCache tokenCache;
+
+    @Autowired private SecurityStampService securityStampService;
+
+    @Autowired private TokenRevocationService tokenRevocationService;
+
     @Autowired private UserRepository userRepository;
 
     @Autowired private RoleRepository roleRepository;
@@ -75,7 +85,7 @@ class DailyNoteControllerTest {
                                         Collections.singletonList(
                                                 Role.builder().id(1).name("USER").build())))
                         .build();
-        userRepository.save(user);
+        user = userRepository.save(user);
 
         House house = House.builder().houseCode("501").build();
         houseRepository.save(house);
@@ -99,12 +109,21 @@ class DailyNoteControllerTest {
 
         ODWUserDetails basicUser = new ODWUserDetails(user);
         when(mockJwtUtil.extractUsername(anyString())).thenReturn("test@test.com");
+        when(mockJwtUtil.extractAllClaims(anyString()))
+                .thenReturn(new DefaultClaims().setSubject("test@test.com"));
         when(mockJwtUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
         when(mockUserDetailsService.loadUserByUsername(anyString())).thenReturn(basicUser);
 
+        tokenCache.clear();
         this.mockMvc =
                 webAppContextSetup(this.wac)
-                        .addFilters(new JwtRequestFilter(mockUserDetailsService, mockJwtUtil))
+                        .addFilters(
+                                new JwtRequestFilter(
+                                        mockUserDetailsService,
+                                        mockJwtUtil,
+                                        tokenCache,
+                                        securityStampService,
+                                        tokenRevocationService))
                         .build();
     }
 
@@ -303,6 +322,34 @@ class DailyNoteControllerTest {
                 .andExpect(jsonPath("$.[0].createdAt").value(localCreatedAt.format(formatter)));
     }
 
+    @SneakyThrows
+    @Test
+    @DisplayName("POST /search invalid cursor")
+    void testSearch_InvalidCursor() {
+        // Given
+        SearchDailyNoteRequest request =
+                SearchDailyNoteRequest.builder()
+                        .houseCode("503")
+                        .start(Instant.now().minus(5, ChronoUnit.MINUTES))
+                        .end(Instant.now())
+                        .pageSize(1)
+                        .after("bad")
+                        .build();
+
+        // When
+        mockMvc.perform(
+                        post("/dailynote/search")
+                                .header("Authorization", "Bearer dummy")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(asJsonString(request)))
+
+                // Then
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.message", is("Invalid cursor bad")));
+    }
+
     @SneakyThrows
     @Test
     @DisplayName("DELETE /delete note")
@@ -16,12 +16,16 @@ import com.onedoorway.project.dto.ListHandoverSummaryRequest;
 import com.onedoorway.project.dto.UpdateHandoverSummaryRequest;
 import com.onedoorway.project.dto.UserDTO;
 import com.onedoorway.project.filters.JwtRequestFilter;
+import com.onedoorway.project.filters.TokenCache;
 import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.HandoverSummaryRepository;
 import com.onedoorway.project.repository.HouseRepository;
 import com.onedoorway.project.repository.UserRepository;
 import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -54,6 +58,12 @@ class HandoverSummaryControllerTest {
 
     @Mock private ODWUserDetailsService mockUserDetailsService;
 
+    @Autowired private TokenCache tokenCache;
+
+    @Autowired private SecurityStampService securityStampService;
+
+    @Autowired private TokenRevocationService tokenRevocationService;
+
     @Autowired private HandoverSummaryRepository handoverSummaryRepository;
 
     @Autowired private UserRepository userRepository;
@@ -72,15 +82,24 @@ class HandoverSummaryControllerTest {
                                         Collections.singletonList(
                                                 Role.builder().id(1).name("USER").build())))
                         .build();
-        userRepository.save(user);
+        user = userRepository.save(user);
 
         ODWUserDetails basicUser = new ODWUserDetails(user);
         when(mockJwtUtil.extractUsername(anyString())).thenReturn("test@test.com");
+        when(mockJwtUtil.extractAllClaims(anyString()))
+                .thenReturn(new DefaultClaims().setSubject("test@test.com"));
         when(mockJwtUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
         when(mockUserDetailsService.loadUserByUsername(anyString())).thenReturn(basicUser);
+        tokenCache.clear();
         this.mockMvc =
                 webAppContextSetup(this.wac)
-                        .addFilters(new JwtRequestFilter(mockUserDetailsService, mockJwtUtil))
+                        .addFilters(
+                                new JwtRequestFilter(
+                                        mockUserDetailsService,
+                                        mockJwtUtil,
+                                        tokenCache,
+                                        securityStampService,
+                                        tokenRevocationService))
                         .build();
     }
 
@@ -331,6 +350,34 @@ class HandoverSummaryControllerTest {
                                                                 "yyyy-MM-dd'T'HH:mm:ss.SSSXXX"))));
     }
 
+    @SneakyThrows
+    @Test
+    @DisplayName("POST /list invalid cursor")
+    void testListHandoverSummary_InvalidCursor() {
+        // Given
+        ListHandoverSummaryRequest request =
+                ListHandoverSummaryRequest.builder()
+                        .houseCode("103")
+                        .start("2021-11-18")
+                        .end("2021-11-19")
+                        .pageSize(1)
+                        .after("bad")
+                        .build();
+
+        // When
+        mockMvc.perform(
+                        post("/handover/list")
+                                .header("Authorization", "Bearer dummy")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(asJsonString(request)))
+
+                // Then
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.message", is("Invalid cursor bad")));
+    }
+
     @SneakyThrows
     @Test
     @DisplayName("PUT /update handover summary success")
@@ -0,0 +1,272 @@
+package com.onedoorway.project.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onedoorway.project.StatementBudget;
+import com.onedoorway.project.dto.ListIncidentRequest;
+import com.onedoorway.project.dto.ListNoticeRequest;
+import com.onedoorway.project.dto.ListUsersByPageRequest;
+import com.onedoorway.project.filters.JwtRequestFilter;
+import com.onedoorway.project.filters.TokenCache;
+import com.onedoorway.project.model.*;
+import com.onedoorway.project.repository.*;
+import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
+import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Set;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Counts the SQL statements behind the list endpoints. The count must not grow with the number of
+ * rows on the page, which is what the eager associations used to cause.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListQueryCountTest {
+    private static final int INCIDENT_LIST_BUDGET = 8;
+    private static final int USER_LIST_BUDGET = 6;
+    private static final int NOTICE_LIST_BUDGET = 6;
+
+    private MockMvc mockMvc;
+
+    @Autowired private WebApplicationContext wac;
+
+    @Mock private JwtUtil mockJwtUtil;
+
+    @Mock private ODWUserDetailsService mockUserDetailsService;
+
+    @Autowired private TokenCache tokenCache;
+
+    @Autowired private SecurityStampService securityStampService;
+
+    @Autowired private TokenRevocationService tokenRevocationService;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private HouseRepository houseRepository;
+
+    @Autowired private ClientRepository clientRepository;
+
+    @Autowired private LookupRepository lookupRepository;
+
+    @Autowired private IncidentRepository incidentRepository;
+
+    @Autowired private NoticeRepository noticeRepository;
+
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private int sequence;
+
+    @BeforeAll
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        User user =
+                userRepository.save(
+                        User.builder()
+                                .email("test@test.com")
+                                .password("password")
+                                .deleted(false)
+                                .roles(Set.of(Role.builder().name("ADMIN").build()))
+                                .build());
+
+        ODWUserDetails basicUser = new ODWUserDetails(user);
+        when(mockJwtUtil.extractUsername(anyString())).thenReturn("test@test.com");
+        when(mockJwtUtil.extractAllClaims(anyString()))
+                .thenReturn(new DefaultClaims().setSubject("test@test.com"));
+        when(mockJwtUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
+        when(mockUserDetailsService.loadUserByUsername(anyString())).thenReturn(basicUser);
+        tokenCache.clear();
+        this.mockMvc =
+                webAppContextSetup(this.wac)
+                        .addFilters(
+                                new JwtRequestFilter(
+                                        mockUserDetailsService,
+                                        mockJwtUtil,
+                                        tokenCache,
+                                        securityStampService,
+                                        tokenRevocationService))
+                        .build();
+    }
+
+    @AfterAll
+    public void teardown() {
+        incidentRepository.deleteAll();
+        noticeRepository.deleteAll();
+        clientRepository.deleteAll();
+        userRepository.deleteAll();
+        houseRepository.deleteAll();
+        lookupRepository.deleteAll();
+    }
+
+    @Test
+    void testIncidentList_StatementsDoNotGrowWithRows() {
+        // Given
+        ListIncidentRequest request =
+                ListIncidentRequest.builder().pageNumber(0).pageSize(50).build();
+        addIncidents(2);
+        int few = statementsFor("/incident/list", request);
+
+        // When
+        addIncidents(8);
+        int many = statementsFor("/incident/list", request);
+
+        // Then
+        assertEquals(few, many);
+        assertTrue(many <= INCIDENT_LIST_BUDGET, "incident list ran " + many + " statements");
+    }
+
+    @Test
+    void testUserList_StatementsDoNotGrowWithRows() {
+        // Given
+        ListUsersByPageRequest request =
+                ListUsersByPageRequest.builder().pageNumber(0).pageSize(50).build();
+        for (int i = 0; i < 2; i++) {
+            addUser();
+        }
+        int few = statementsFor("/user/list-page", request);
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            addUser();
+        }
+        int many = statementsFor("/user/list-page", request);
+
+        // Then
+        assertEquals(few, many);
+        assertTrue(many <= USER_LIST_BUDGET, "user list ran " + many + " statements");
+    }
+
+    @Test
+    void testNoticeList_StatementsDoNotGrowWithRows() {
+        // Given
+        ListNoticeRequest request = ListNoticeRequest.builder().pageNumber(0).pageSize(50).build();
+        addNotices(2);
+        int few = statementsFor("/notice/list", request);
+
+        // When
+        addNotices(8);
+        int many = statementsFor("/notice/list", request);
+
+        // Then
+        assertEquals(few, many);
+        assertTrue(many <= NOTICE_LIST_BUDGET, "notice list ran " + many + " statements");
+    }
+
+    @SneakyThrows
+    private int statementsFor(String path, Object request) {
+        MvcResult result =
+                mockMvc.perform(
+                                post(path)
+                                        .header("Authorization", "Bearer dummy")
+                                        .accept(MediaType.APPLICATION_JSON)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(new ObjectMapper().writeValueAsString(request)))
+                        .andExpect(status().isOk())
+                        .andReturn();
+        return StatementBudget.statements(result);
+    }
+
+    // each fixture is saved in one transaction, so the houses it cascades to are still managed
+    private void addIncidents(int count) {
+        for (int i = 0; i < count; i++) {
+            transactionTemplate.executeWithoutResult(status -> addIncident());
+        }
+    }
+
+    private void addIncident() {
+        User reporter = addUser();
+        House house = houseRepository.save(House.builder().houseCode(nextCode()).build());
+        Client client =
+                clientRepository.save(
+                        Client.builder().name("client" + nextCode()).house(house).build());
+        incidentRepository.save(
+                Incident.builder()
+                        .category(addLookup(LookupType.INCIDENT_CATEGORY))
+                        .classification(addLookup(LookupType.INCIDENT_CLASSIFICATION))
+                        .type(addLookup(LookupType.INCIDENT_TYPE))
+                        .house(house)
+                        .client(client)
+                        .status(Status.RAISED)
+                        .raisedFor(RaisedFor.STAFF)
+                        .dateOccurred(LocalDateTime.now())
+                        .reportedBy(reporter)
+                        .escalated(true)
+                        .escalatedTo(reporter)
+                        .createdAt(Instant.now())
+                        .build());
+    }
+
+    private void addNotices(int count) {
+        for (int i = 0; i < count; i++) {
+            transactionTemplate.executeWithoutResult(status -> addNotice());
+        }
+    }
+
+    private void addNotice() {
+        User author = addUser();
+        House house = houseRepository.save(House.builder().houseCode(nextCode()).build());
+        noticeRepository.save(
+                Notice.builder()
+                        .noticeStatus(NoticeStatus.ACTIVE)
+                        .houses(Set.of(house))
+                        .createdBy(author)
+                        .notice("notice")
+                        .createdAt(Instant.now())
+                        .build());
+    }
+
+    private User addUser() {
+        return transactionTemplate.execute(
+                status -> {
+                    House house =
+                            houseRepository.save(House.builder().houseCode(nextCode()).build());
+                    return userRepository.save(
+                            User.builder()
+                                    .email("user" + nextCode() + "@test.com")
+                                    .password("password")
+                                    .deleted(false)
+                                    .roles(Set.of(Role.builder().name("USER").build()))
+                                    .houses(Set.of(house))
+                                    .build());
+                });
+    }
+
+    private Lookup addLookup(LookupType lookupType) {
+        return lookupRepository.save(
+                Lookup.builder().name("lookup" + nextCode()).lookupType(lookupType).build());
+    }
+
+    private String nextCode() {
+        return "qc" + sequence++;
+    }
+}
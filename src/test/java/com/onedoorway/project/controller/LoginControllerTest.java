@@ -3,17 +3,23 @@ package com.onedoorway.project.controller;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.onedoorway.project.dto.LoginRequest;
+import com.onedoorway.project.exception.LoginServiceException;
 import com.onedoorway.project.model.ODWUserDetails;
-import com.onedoorway.project.services.HouseService;
-import com.onedoorway.project.services.ODWUserDetailsService;
-import com.onedoorway.project.services.UserService;
+import com.onedoorway.project.services.LoginService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
 import java.util.List;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.DisplayName;
@@ -24,10 +30,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -39,16 +42,12 @@ import org.springframework.test.web.servlet.MockMvc;
 class LoginControllerTest {
     @Autowired private MockMvc mockMvc;
 
-    @MockBean private AuthenticationManager mockAuthenticationManager;
-
-    @MockBean private ODWUserDetailsService mockUserDetailsService;
-
-    @MockBean private HouseService mockHouseService;
-
-    @MockBean private UserService mockUserService;
+    @MockBean private LoginService mockLoginService;
 
     @MockBean private JwtUtil mockJwtUtil;
 
+    @MockBean private TokenRevocationService mockTokenRevocationService;
+
     @SneakyThrows
     @Test
     @DisplayName("Success POST /login")
@@ -58,15 +57,11 @@ class LoginControllerTest {
 
         LoginRequest loginRequest = LoginRequest.builder().email(email).password(password).build();
 
-        when(mockAuthenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(mock(Authentication.class));
         ODWUserDetails mockUserDetails = mock(ODWUserDetails.class);
         when(mockUserDetails.getFirstName()).thenReturn("firstName");
         when(mockUserDetails.getLastName()).thenReturn("lastName");
         when(mockUserDetails.getUsername()).thenReturn(email);
-        when(mockUserService.isUserDeleted(mockUserDetails.getUsername())).thenReturn(false);
-        when(mockUserDetailsService.loadUserByUsername("test@test.com"))
-                .thenReturn(mockUserDetails);
+        when(mockLoginService.login(email, password)).thenReturn(mockUserDetails);
         when(mockJwtUtil.generateToken(any(UserDetails.class))).thenReturn("token");
         mockMvc.perform(
                         post("/login")
@@ -87,14 +82,10 @@ class LoginControllerTest {
     void testLoginFailure_WrongPass() {
         String email = "test@test.com";
         String password = "wrongPass";
-        String houseCode = "101";
 
         LoginRequest loginRequest = LoginRequest.builder().email(email).password(password).build();
 
-        when(mockAuthenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(BadCredentialsException.class);
-        when(mockHouseService.isUserInHouse(email, houseCode)).thenReturn(true);
-        when(mockUserService.isUserDeleted(email)).thenReturn(true);
+        when(mockLoginService.login(email, password)).thenThrow(BadCredentialsException.class);
         mockMvc.perform(
                         post("/login")
                                 .contentType(MediaType.APPLICATION_JSON)
@@ -104,6 +95,42 @@ class LoginControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    @SneakyThrows
+    @Test
+    @DisplayName("Failure login queue full POST /login")
+    void testLoginFailure_Busy() {
+        String email = "busy@test.com";
+        String password = "secret";
+
+        LoginRequest loginRequest = LoginRequest.builder().email(email).password(password).build();
+
+        when(mockLoginService.login(email, password))
+                .thenThrow(new LoginServiceException("Too many logins in progress"));
+        mockMvc.perform(
+                        post("/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(asJsonString(loginRequest)))
+                // Then
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.success", is(false)));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Success POST /logout")
+    void testLogoutSuccess() {
+        // claims keep the expiration in whole seconds
+        Date expiration = Date.from(Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.SECONDS));
+        Claims claims = new DefaultClaims().setSubject("test@test.com").setExpiration(expiration);
+        when(mockJwtUtil.extractAllClaims("token")).thenReturn(claims);
+
+        mockMvc.perform(post("/logout").header("Authorization", "Bearer token"))
+                // Then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)));
+        verify(mockTokenRevocationService).revokeToken("token", "test@test.com", expiration);
+    }
+
     static String asJsonString(final Object obj) {
         try {
             return new ObjectMapper().writeValueAsString(obj);
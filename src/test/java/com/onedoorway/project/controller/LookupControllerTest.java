@@ -9,7 +9,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
 
+import com.onedoorway.project.StatementBudget;
 import com.onedoorway.project.filters.JwtRequestFilter;
+import com.onedoorway.project.filters.TokenCache;
 import com.onedoorway.project.model.Lookup;
 import com.onedoorway.project.model.ODWUserDetails;
 import com.onedoorway.project.model.Role;
@@ -17,7 +19,10 @@ import com.onedoorway.project.model.User;
 import com.onedoorway.project.repository.LookupRepository;
 import com.onedoorway.project.repository.UserRepository;
 import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
 import java.util.Collections;
 import java.util.HashSet;
 import lombok.SneakyThrows;
@@ -46,6 +51,12 @@ class LookupControllerTest {
 
     @Mock private ODWUserDetailsService mockUserDetailsService;
 
+    @Autowired private TokenCache tokenCache;
+
+    @Autowired private SecurityStampService securityStampService;
+
+    @Autowired private TokenRevocationService tokenRevocationService;
+
     @Autowired private LookupRepository lookupRepository;
 
     @Autowired private UserRepository userRepository;
@@ -67,11 +78,20 @@ class LookupControllerTest {
 
         ODWUserDetails basicUser = new ODWUserDetails(user);
         when(mockJwtUtil.extractUsername(anyString())).thenReturn("test@test.com");
+        when(mockJwtUtil.extractAllClaims(anyString()))
+                .thenReturn(new DefaultClaims().setSubject("test@test.com"));
         when(mockJwtUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
         when(mockUserDetailsService.loadUserByUsername(anyString())).thenReturn(basicUser);
+        tokenCache.clear();
         this.mockMvc =
                 webAppContextSetup(this.wac)
-                        .addFilters(new JwtRequestFilter(mockUserDetailsService, mockJwtUtil))
+                        .addFilters(
+                                new JwtRequestFilter(
+                                        mockUserDetailsService,
+                                        mockJwtUtil,
+                                        tokenCache,
+                                        securityStampService,
+                                        tokenRevocationService))
                         .build();
     }
 
@@ -273,4 +293,31 @@ class LookupControllerTest {
                 .andExpect(jsonPath("$.[0].id").value(lookup.getId()))
                 .andExpect(jsonPath("$.[0].name").value(lookup.getName()));
     }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("GET / lookups are served from the cache after the first request")
+    void testListMiscellaneousNotes_Cached() {
+        // Given
+        Lookup lookup = Lookup.builder().name("test").lookupType(MISCELLANEOUS_NOTES).build();
+        lookup = lookupRepository.save(lookup);
+        mockMvc.perform(
+                        get("/lookup/list-note-categories")
+                                .header("Authorization", "Bearer dummy")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(
+                        get("/lookup/list-note-categories")
+                                .header("Authorization", "Bearer dummy")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON))
+
+                // Then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id").value(lookup.getId()))
+                .andExpect(StatementBudget.atMost(0));
+    }
 }
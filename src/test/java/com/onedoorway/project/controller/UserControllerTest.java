@@ -12,13 +12,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.onedoorway.project.FrozenContext;
 import com.onedoorway.project.dto.*;
 import com.onedoorway.project.filters.JwtRequestFilter;
+import com.onedoorway.project.filters.TokenCache;
 import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.HouseRepository;
 import com.onedoorway.project.repository.PasswordTokenRepository;
 import com.onedoorway.project.repository.RoleRepository;
 import com.onedoorway.project.repository.UserRepository;
 import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SearchIndex;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
 import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
 import java.time.LocalDateTime;
 import java.util.*;
 import lombok.SneakyThrows;
@@ -47,6 +52,12 @@ class UserControllerTest {
 
     @Mock private ODWUserDetailsService mockUserDetailsService;
 
+    @Autowired private TokenCache tokenCache;
+
+    @Autowired private SecurityStampService securityStampService;
+
+    @Autowired private TokenRevocationService tokenRevocationService;
+
     @Autowired private UserRepository userRepository;
 
     @Autowired private HouseRepository houseRepository;
@@ -61,6 +72,8 @@ class UserControllerTest {
 
     @Autowired private PasswordEncoder passwordEncoder;
 
+    @Autowired private SearchIndex searchIndex;
+
     @BeforeAll
     public void setup() {
         testUser =
@@ -84,11 +97,20 @@ class UserControllerTest {
         testUser = userRepository.save(testUser);
         ODWUserDetails basicUser = new ODWUserDetails(testUser);
         when(mockJwtUtil.extractUsername(anyString())).thenReturn("test910@test.com");
+        when(mockJwtUtil.extractAllClaims(anyString()))
+                .thenReturn(new DefaultClaims().setSubject("test910@test.com"));
         when(mockJwtUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
         when(mockUserDetailsService.loadUserByUsername(anyString())).thenReturn(basicUser);
+        tokenCache.clear();
         this.mockMvc =
                 webAppContextSetup(this.wac)
-                        .addFilters(new JwtRequestFilter(mockUserDetailsService, mockJwtUtil))
+                        .addFilters(
+                                new JwtRequestFilter(
+                                        mockUserDetailsService,
+                                        mockJwtUtil,
+                                        tokenCache,
+                                        securityStampService,
+                                        tokenRevocationService))
                         .build();
     }
 
@@ -136,6 +158,8 @@ class UserControllerTest {
         house = houseRepository.save(house);
         testUser.setHouses(Set.of(house));
         userRepository.save(testUser);
+        // written straight through the repositories, so the index is reloaded
+        searchIndex.rebuild();
 
         ListUsersByPageRequest request =
                 ListUsersByPageRequest.builder()
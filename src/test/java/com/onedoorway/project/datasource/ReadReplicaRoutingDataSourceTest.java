@@ -0,0 +1,79 @@
+package com.onedoorway.project.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReadReplicaRoutingDataSourceTest {
+    private final DataSource primary = mock(DataSource.class);
+
+    private final DataSource replica = mock(DataSource.class);
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private final ReadReplicaRoutingDataSource routingDataSource =
+            new ReadReplicaRoutingDataSource(primary, replica);
+
+    @BeforeEach
+    void init() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testGetConnection_OutsideTransaction() throws SQLException {
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_ReadOnlyTransaction() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Connection connection = routingDataSource.getConnection();
+
+        // Then
+        assertSame(replicaConnection, connection);
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void testGetConnection_LazyProxyRoutesOnFirstStatement() throws SQLException {
+        // Given
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.setTargetDataSource(routingDataSource);
+        dataSource.afterPropertiesSet();
+
+        // When
+        Connection connection = dataSource.getConnection();
+        connection.setReadOnly(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        connection.createStatement();
+
+        // Then
+        verify(replicaConnection).setReadOnly(true);
+        verify(replicaConnection).createStatement();
+        verify(primary, never()).getConnection();
+    }
+}
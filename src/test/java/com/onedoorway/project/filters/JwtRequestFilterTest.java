@@ -0,0 +1,123 @@
+package com.onedoorway.project.filters;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.onedoorway.project.Context;
+import com.onedoorway.project.model.ODWUserDetails;
+import com.onedoorway.project.model.User;
+import com.onedoorway.project.services.ODWUserDetailsService;
+import com.onedoorway.project.services.SecurityStampService;
+import com.onedoorway.project.services.TokenRevocationService;
+import com.onedoorway.project.util.JwtUtil;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+class JwtRequestFilterTest {
+    @Mock ODWUserDetailsService mockUserDetailsService;
+    @Mock JwtUtil mockJwtUtil;
+    @Mock SecurityStampService mockSecurityStampService;
+    @Mock TokenRevocationService mockTokenRevocationService;
+
+    private final Date issuedAt = new Date();
+
+    private TokenCache tokenCache;
+
+    private JwtRequestFilter jwtRequestFilter;
+
+    @BeforeEach
+    void init() {
+        tokenCache = new TokenCache(10, new SimpleMeterRegistry());
+        tokenCache.put(
+                "token",
+                "test@test.com",
+                issuedAt,
+                new Date(System.currentTimeMillis() + 1000 * 60 * 60),
+                new UsernamePasswordAuthenticationToken("test@test.com", null, List.of()));
+        jwtRequestFilter =
+                new JwtRequestFilter(
+                        mockUserDetailsService,
+                        mockJwtUtil,
+                        tokenCache,
+                        mockSecurityStampService,
+                        mockTokenRevocationService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testCachedToken_Authenticates() {
+        // Given
+        when(mockTokenRevocationService.isRevoked("token", "test@test.com", issuedAt))
+                .thenReturn(false);
+
+        // When
+        perform("token");
+
+        // Then
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(mockJwtUtil);
+    }
+
+    @Test
+    void testCachedToken_UserCutoffRejects() {
+        // Given
+        when(mockTokenRevocationService.isRevoked("token", "test@test.com", issuedAt))
+                .thenReturn(true);
+
+        // When
+        perform("token");
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testOlderToken_PublishesLoadedUser() {
+        // Given
+        User user = User.builder().id(5).email("old@test.com").roles(Set.of()).build();
+        ODWUserDetails userDetails = new ODWUserDetails(user);
+        when(mockJwtUtil.extractAllClaims("old"))
+                .thenReturn(new DefaultClaims().setSubject("old@test.com").setIssuedAt(issuedAt));
+        when(mockJwtUtil.extractUsername("old")).thenReturn("old@test.com");
+        when(mockUserDetailsService.loadUserByUsername("old@test.com")).thenReturn(userDetails);
+        when(mockJwtUtil.validateToken("old", userDetails)).thenReturn(true);
+
+        // When
+        MockHttpServletRequest request = perform("old");
+
+        // Then
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertSame(user, request.getAttribute(Context.USER_ATTRIBUTE));
+    }
+
+    @SneakyThrows
+    private MockHttpServletRequest perform(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/clients/list");
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return request;
+    }
+}
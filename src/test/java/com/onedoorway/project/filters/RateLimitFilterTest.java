@@ -0,0 +1,165 @@
+package com.onedoorway.project.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void init() {
+        rateLimitFilter =
+                new RateLimitFilter(
+                        new RateLimiter(3, 1, 100),
+                        new RateLimiter(1, 1, 100),
+                        4096,
+                        meterRegistry);
+    }
+
+    @SneakyThrows
+    @Test
+    void testAccountLimit_Returns429() {
+        // Given
+        MockHttpServletResponse first = perform(login("10.0.0.1", "test@test.com"));
+
+        // When
+        MockHttpServletResponse second = perform(login("10.0.0.2", "TEST@test.com"));
+
+        // Then
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals("60", second.getHeader("Retry-After"));
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("odw.rate.limit.rejected", "path", "/login", "key", "account")
+                        .count());
+    }
+
+    @SneakyThrows
+    @Test
+    void testIpLimit_Returns429() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            perform(login("10.0.0.1", "user" + i + "@test.com"));
+        }
+
+        // When
+        MockHttpServletResponse response = perform(login("10.0.0.1", "other@test.com"));
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+    }
+
+    @SneakyThrows
+    @Test
+    void testBodyIsReplayed() {
+        // Given
+        MockHttpServletRequest request = login("10.0.0.1", "test@test.com");
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        rateLimitFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        String body = new String(chain.getRequest().getInputStream().readAllBytes());
+        assertEquals("{\"email\":\"test@test.com\",\"password\":\"secret\"}", body);
+    }
+
+    @Test
+    void testOversizedBody_Returns413() {
+        // Given
+        MockHttpServletRequest request = login("10.0.0.1", "test@test.com");
+        request.setContent(
+                ("{\"email\":\"test@test.com\",\"padding\":\"" + "x".repeat(5000) + "\"}")
+                        .getBytes(StandardCharsets.UTF_8));
+
+        // When
+        MockHttpServletResponse response = perform(request);
+
+        // Then
+        assertEquals(413, response.getStatus());
+    }
+
+    @Test
+    void testChunkedBody_StillLimitedByAccount() {
+        // Given
+        MockHttpServletRequest first = chunked(login("10.0.0.1", "test@test.com"));
+        MockHttpServletRequest second = chunked(login("10.0.0.2", "test@test.com"));
+
+        // When
+        perform(first);
+        MockHttpServletResponse response = perform(second);
+
+        // Then
+        assertEquals(429, response.getStatus());
+    }
+
+    @SneakyThrows
+    @Test
+    void testOtherPaths_NotLimited() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/house/create");
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            rateLimitFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        }
+        rateLimitFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(request, chain.getRequest());
+        assertNull(meterRegistry.find("odw.rate.limit.rejected").counter());
+    }
+
+    @SneakyThrows
+    private MockHttpServletResponse perform(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    // no Content-Length, as with Transfer-Encoding: chunked
+    private static MockHttpServletRequest chunked(MockHttpServletRequest request) {
+        byte[] body = request.getContentAsByteArray();
+        MockHttpServletRequest chunked =
+                new MockHttpServletRequest("POST", request.getRequestURI()) {
+                    @Override
+                    public int getContentLength() {
+                        return -1;
+                    }
+
+                    @Override
+                    public long getContentLengthLong() {
+                        return -1;
+                    }
+                };
+        chunked.setRemoteAddr(request.getRemoteAddr());
+        chunked.setContent(body);
+        return chunked;
+    }
+
+    private static MockHttpServletRequest login(String remoteAddr, String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr(remoteAddr);
+        request.setContentType("application/json");
+        request.setContent(
+                ("{\"email\":\"" + email + "\",\"password\":\"secret\"}")
+                        .getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,64 @@
+package com.onedoorway.project.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testTryAcquire_BurstThenRefill() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(3, 60, 100, clock::get);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("key"));
+        }
+        long wait = rateLimiter.tryAcquire("key");
+
+        // Then
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+        clock.addAndGet(wait);
+        assertEquals(0, rateLimiter.tryAcquire("key"));
+        assertTrue(rateLimiter.tryAcquire("key") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("other"));
+    }
+
+    @Test
+    void testRemoveIdle_DropsFullBuckets() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(2, 60, 100, clock::get);
+        rateLimiter.tryAcquire("idle");
+        rateLimiter.tryAcquire("busy");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        rateLimiter.tryAcquire("busy");
+
+        // When
+        int removed = rateLimiter.removeIdle();
+
+        // Then
+        assertEquals(1, removed);
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void testTryAcquire_OverflowKeysShareABucket() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(1, 60, 1, clock::get);
+        rateLimiter.tryAcquire("first");
+
+        // When
+        long second = rateLimiter.tryAcquire("second");
+        long third = rateLimiter.tryAcquire("third");
+
+        // Then
+        assertEquals(0, second);
+        assertTrue(third > 0);
+        assertEquals(2, rateLimiter.size());
+    }
+}
@@ -0,0 +1,116 @@
+package com.onedoorway.project.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+class TokenCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+
+    private TokenCache tokenCache;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenCache = new TokenCache(2, meterRegistry);
+    }
+
+    @Test
+    void testGet_Hit() {
+        // Given
+        UsernamePasswordAuthenticationToken authentication = authentication("test@test.com");
+        Date issuedAt = new Date();
+        tokenCache.put("token", "test@test.com", issuedAt, inOneHour(), authentication);
+
+        // When
+        TokenCache.Entry actual = tokenCache.get("token");
+
+        // Then
+        assertEquals(authentication, actual.getAuthentication());
+        assertEquals("test@test.com", actual.getUsername());
+        assertEquals(issuedAt, actual.getIssuedAt());
+        assertEquals(1.0, meterRegistry.counter("odw.token.cache", "result", "hit").count());
+    }
+
+    @Test
+    void testGet_Miss() {
+        // When
+        TokenCache.Entry actual = tokenCache.get("token");
+
+        // Then
+        assertNull(actual);
+        assertEquals(1.0, meterRegistry.counter("odw.token.cache", "result", "miss").count());
+    }
+
+    @Test
+    void testGet_Expired() {
+        // Given
+        tokenCache.put(
+                "token",
+                "test@test.com",
+                null,
+                new Date(System.currentTimeMillis() - 1000),
+                authentication("test@test.com"));
+
+        // When
+        TokenCache.Entry actual = tokenCache.get("token");
+
+        // Then
+        assertNull(actual);
+        assertEquals(0, tokenCache.size());
+    }
+
+    @Test
+    void testPut_WithoutExpiration() {
+        // When
+        tokenCache.put("token", "test@test.com", null, null, authentication("test@test.com"));
+
+        // Then
+        assertEquals(0, tokenCache.size());
+    }
+
+    @Test
+    void testPut_Full() {
+        // Given
+        tokenCache.put("token1", "one@test.com", null, inOneHour(), authentication("one@test.com"));
+        tokenCache.put("token2", "two@test.com", null, inOneHour(), authentication("two@test.com"));
+
+        // When
+        tokenCache.put(
+                "token3", "three@test.com", null, inOneHour(), authentication("three@test.com"));
+
+        // Then
+        assertEquals(2, tokenCache.size());
+        assertNull(tokenCache.get("token3"));
+    }
+
+    @Test
+    void testEvictUser() {
+        // Given
+        tokenCache.put("token1", "one@test.com", null, inOneHour(), authentication("one@test.com"));
+        tokenCache.put("token2", "two@test.com", null, inOneHour(), authentication("two@test.com"));
+
+        // When
+        tokenCache.evictUser("ONE@test.com");
+
+        // Then
+        assertNull(tokenCache.get("token1"));
+        assertNotNull(tokenCache.get("token2"));
+        assertEquals(1.0, meterRegistry.counter("odw.token.cache.evictions").count());
+    }
+
+    private static Date inOneHour() {
+        return new Date(System.currentTimeMillis() + 1000 * 60 * 60);
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(String username) {
+        return new UsernamePasswordAuthenticationToken(username, null, List.of());
+    }
+}
@@ -0,0 +1,89 @@
+package com.onedoorway.project.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.onedoorway.project.dto.EndpointDbStatsDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DbStatsRegistryTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final DbStatsRegistry dbStatsRegistry = new DbStatsRegistry(meterRegistry);
+
+    private final DbStatsStatementInspector inspector = new DbStatsStatementInspector();
+
+    @AfterEach
+    void tearDown() {
+        DbStats.stop();
+    }
+
+    @Test
+    void testRecord_AggregatesPerEndpoint() {
+        // Given
+        runRequest("IncidentController.listIncidents", 3);
+        runRequest("IncidentController.listIncidents", 20);
+        runRequest("HouseController.listAllHouses", 1);
+
+        // When
+        List<EndpointDbStatsDTO> summary = dbStatsRegistry.summary();
+
+        // Then
+        assertEquals(2, summary.size());
+        EndpointDbStatsDTO incidents = summary.get(0);
+        assertEquals("IncidentController.listIncidents", incidents.getEndpoint());
+        assertEquals(2, incidents.getRequests());
+        assertEquals(23, incidents.getStatements());
+        assertEquals(11.5, incidents.getMeanStatements());
+        assertEquals(20, incidents.getMaxStatements());
+        assertEquals(1, incidents.getStatementHistogram().get("4"));
+        assertEquals(1, incidents.getStatementHistogram().get("32"));
+        assertEquals(2, incidents.getTimeHistogramMs().values().stream().mapToLong(l -> l).sum());
+        assertEquals(
+                2,
+                meterRegistry
+                        .get("odw.db.statements")
+                        .tag("endpoint", "IncidentController.listIncidents")
+                        .summary()
+                        .count());
+    }
+
+    @Test
+    void testInspector_CountsOnlyInsideRequest() {
+        // Given
+        inspector.inspect("select 1");
+        assertNull(DbStats.current());
+
+        // When
+        DbStats stats = DbStats.start("endpoint");
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+
+        // Then
+        assertEquals(2, stats.getStatements());
+        assertSame(stats, DbStats.stop());
+        assertNull(DbStats.current());
+    }
+
+    @Test
+    void testBucketOf_Bounds() {
+        assertEquals(0, DbStatsRegistry.bucketOf(DbStatsRegistry.STATEMENT_BUCKETS, 0));
+        assertEquals(3, DbStatsRegistry.bucketOf(DbStatsRegistry.STATEMENT_BUCKETS, 8));
+        assertEquals(4, DbStatsRegistry.bucketOf(DbStatsRegistry.STATEMENT_BUCKETS, 9));
+        assertEquals(
+                DbStatsRegistry.STATEMENT_BUCKETS.length,
+                DbStatsRegistry.bucketOf(DbStatsRegistry.STATEMENT_BUCKETS, 1000));
+    }
+
+    private void runRequest(String endpoint, int statements) {
+        DbStats.start(endpoint);
+        for (int i = 0; i < statements; i++) {
+            inspector.inspect("select " + i);
+        }
+        dbStatsRegistry.record(DbStats.stop());
+    }
+}
@@ -0,0 +1,519 @@
+package com.onedoorway.project.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+import com.onedoorway.project.model.ArchiveRecordType;
+import com.onedoorway.project.model.LookupType;
+import com.onedoorway.project.model.MealType;
+import com.onedoorway.project.model.NoticeStatus;
+import com.onedoorway.project.model.RaisedFor;
+import com.onedoorway.project.model.Status;
+import com.onedoorway.project.model.YesNo;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs EXPLAIN on the SQL behind each repository query against a Postgres migrated by Flyway, and
+ * fails on a sequential scan. The plans are the generic ones, so they do not depend on the bind
+ * values or the size of the seed, and sequential scans are priced out, so one shows up only where
+ * no index applies. Needs Docker and is skipped without it.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "postgres"})
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:13-alpine");
+
+    // queries that read the whole table on purpose
+    private static final Set<String> FULL_SCANS =
+            Set.of(
+                    // every user's stamp, loaded into the in-memory stamp cache
+                    "UserRepository.findAllSecurityStamps");
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    private static final LocalDate START = LocalDate.of(2021, 1, 1);
+    private static final LocalDate END = LocalDate.of(2021, 12, 31);
+    private static final Instant NOW = Instant.parse("2021-07-01T00:00:00Z");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add(
+                "spring.jpa.properties.hibernate.dialect",
+                () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ArchiveTombstoneRepository archiveTombstoneRepository;
+    @Autowired private BowelNoteRepository bowelNoteRepository;
+    @Autowired private CaseNoteRepository caseNoteRepository;
+    @Autowired private ClientAllowancesRepository clientAllowancesRepository;
+    @Autowired private ClientContactRepository clientContactRepository;
+    @Autowired private ClientDocumentRepository clientDocumentRepository;
+    @Autowired private ClientNDISPlanRepository clientNDISPlanRepository;
+    @Autowired private ClientReportRepository clientReportRepository;
+    @Autowired private ClientRepository clientRepository;
+    @Autowired private ClientTransportRepository clientTransportRepository;
+    @Autowired private DailyNoteRepository dailyNoteRepository;
+    @Autowired private EmergencyPlanRepository emergencyPlanRepository;
+    @Autowired private FolderRepository folderRepository;
+    @Autowired private FoodDiaryNoteRepository foodDiaryNoteRepository;
+    @Autowired private HandoverSummaryRepository handoverSummaryRepository;
+    @Autowired private HouseContactRepository houseContactRepository;
+    @Autowired private HouseImageRepository houseImageRepository;
+    @Autowired private HouseRepository houseRepository;
+    @Autowired private IncidentRepository incidentRepository;
+    @Autowired private IncidentReviewRepository incidentReviewRepository;
+    @Autowired private LookupRepository lookupRepository;
+    @Autowired private MiscellaneousNoteRepository miscellaneousNoteRepository;
+    @Autowired private NightReportRepository nightReportRepository;
+    @Autowired private NoticeRepository noticeRepository;
+    @Autowired private PasswordTokenRepository passwordTokenRepository;
+    @Autowired private PowerOFAttorneyRepository powerOFAttorneyRepository;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private ServiceProviderRepository serviceProviderRepository;
+    @Autowired private SleepTrackerNotesRepository sleepTrackerNotesRepository;
+    @Autowired private TokenRevocationRepository tokenRevocationRepository;
+    @Autowired private UserRepository userRepository;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.batchUpdate(
+                "insert into houses (house_id, house_code, deleted) values (1, 'H1', false)",
+                "insert into roles (role_id, name) values (1, 'ADMIN')",
+                "insert into users (user_id, email, first_name, last_name, password, deleted,"
+                        + " security_stamp) values (1, 'staff@example.com', 'Staff', 'One', 'x',"
+                        + " false, 0)",
+                "insert into users_roles (user_id, role_id) values (1, 1)",
+                "insert into users_houses (user_id, house_id) values (1, 1)",
+                "insert into clients (client_id, name, deleted, medicare_no, house_id)"
+                        + " values (1, 'Client One', false, 0, 1)",
+                "insert into lookup (lookup_id, name, lookup_type) values (1, 'General', 0)");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        Pageable byDate = PageRequest.of(0, 10, Sort.by("noteDate", "id").descending());
+        Pageable byId = PageRequest.of(0, 10, Sort.by("id").descending());
+
+        Pageable batch = PageRequest.of(0, 10, Sort.by("id"));
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put(
+                "ArchiveTombstoneRepository.findByRecordTypeAndRecordKey",
+                () ->
+                        archiveTombstoneRepository.findByRecordTypeAndRecordKey(
+                                ArchiveRecordType.INCIDENT, "1"));
+        queries.put(
+                "ArchiveTombstoneRepository.existsByRecordTypeAndRecordKey",
+                () ->
+                        archiveTombstoneRepository.existsByRecordTypeAndRecordKey(
+                                ArchiveRecordType.NIGHT_REPORT, "1/2021-01-01"));
+        queries.put(
+                "BowelNoteRepository.findAllByClient_IdAndStartDateBetween",
+                () ->
+                        bowelNoteRepository.findAllByClient_IdAndStartDateBetween(
+                                1L,
+                                START,
+                                END,
+                                PageRequest.of(0, 10, Sort.by("startDate").descending())));
+        queries.put(
+                "CaseNoteRepository.findAllByCategory_NameAndClient_IdAndNoteDateBetween",
+                () ->
+                        caseNoteRepository.findAllByCategory_NameAndClient_IdAndNoteDateBetween(
+                                "General", 1L, START, END, byDate));
+        queries.put(
+                "CaseNoteRepository.findAllByCategory_NameAndClient_Id",
+                () -> caseNoteRepository.findAllByCategory_NameAndClient_Id("General", 1L, byDate));
+        queries.put(
+                "CaseNoteRepository.findAllByCategoryAndClientAndNoteDateBetweenAfter",
+                () ->
+                        caseNoteRepository.findAllByCategoryAndClientAndNoteDateBetweenAfter(
+                                "General", 1L, START, END, END, Long.MAX_VALUE, byDate));
+        queries.put(
+                "CaseNoteRepository.findAllByCategoryAndClientAfter",
+                () ->
+                        caseNoteRepository.findAllByCategoryAndClientAfter(
+                                "General", 1L, END, Long.MAX_VALUE, byDate));
+        queries.put(
+                "CaseNoteRepository.findByNoteDateBefore",
+                () -> caseNoteRepository.findByNoteDateBefore(START, batch));
+        queries.put(
+                "ClientAllowancesRepository.findByClient_IdAndDeleted",
+                () -> clientAllowancesRepository.findByClient_IdAndDeleted(1L, false));
+        queries.put(
+                "ClientContactRepository.findAllByClient_Id",
+                () -> clientContactRepository.findAllByClient_Id(1L));
+        queries.put(
+                "ClientDocumentRepository.findByClient_IdAndFolder_IdAndDocName",
+                () -> clientDocumentRepository.findByClient_IdAndFolder_IdAndDocName(1, 1, "doc"));
+        queries.put(
+                "ClientDocumentRepository.findAllByClient_IdAndFolder_Id",
+                () -> clientDocumentRepository.findAllByClient_IdAndFolder_Id(1, 1));
+        queries.put(
+                "ClientNDISPlanRepository.findByClientId",
+                () -> clientNDISPlanRepository.findByClientId(1L));
+        queries.put(
+                "ClientReportRepository.updateToggle",
+                () -> clientReportRepository.updateToggle(1L, 1L, true));
+        queries.put(
+                "ClientReportRepository.findAllByClient_Id",
+                () -> clientReportRepository.findAllByClient_Id(1L));
+        queries.put(
+                "ClientRepository.findByHouse_HouseCode",
+                () -> clientRepository.findByHouse_HouseCode("H1"));
+        queries.put(
+                "ClientRepository.findListByDeleted",
+                () -> clientRepository.findListByDeleted(false, PageRequest.of(0, 10)));
+        queries.put(
+                "ClientRepository.findListByIdIn",
+                () -> clientRepository.findListByIdIn(List.of(1L)));
+        queries.put("ClientRepository.findSearchRows", () -> clientRepository.findSearchRows());
+        queries.put(
+                "ClientRepository.findSearchRowById", () -> clientRepository.findSearchRowById(1L));
+        queries.put("ClientRepository.getByName", () -> clientRepository.getByName("Client One"));
+        queries.put(
+                "ClientRepository.countByDeleted", () -> clientRepository.countByDeleted(false));
+        queries.put(
+                "ClientRepository.findHouseIdById", () -> clientRepository.findHouseIdById(1L));
+        queries.put(
+                "ClientTransportRepository.findByClient_IdAndOdCarAndCarRegistrationAndDeleted",
+                () ->
+                        clientTransportRepository
+                                .findByClient_IdAndOdCarAndCarRegistrationAndDeleted(
+                                        1L, YesNo.Yes, "ABC123", false));
+        queries.put(
+                "ClientTransportRepository.findByClient_Id",
+                () -> clientTransportRepository.findByClient_Id(1L));
+        queries.put(
+                "DailyNoteRepository.findListByHouseCode",
+                () ->
+                        dailyNoteRepository.findListByHouseCode(
+                                "H1", Sort.by("createdAt").descending()));
+        queries.put(
+                "DailyNoteRepository.findListByHouseCodeAndUserId",
+                () -> dailyNoteRepository.findListByHouseCodeAndUserId("H1", 1L));
+        queries.put(
+                "DailyNoteRepository.findListByHouseCodeAndClientIdAndCreatedAtBetween",
+                () ->
+                        dailyNoteRepository.findListByHouseCodeAndClientIdAndCreatedAtBetween(
+                                "H1",
+                                1L,
+                                Instant.EPOCH,
+                                NOW,
+                                PageRequest.of(0, 10, Sort.by("createdAt", "id").descending())));
+        queries.put(
+                "DailyNoteRepository.findListByHouseCodeAndClientIdAndCreatedAtBetweenAfter",
+                () ->
+                        dailyNoteRepository.findListByHouseCodeAndClientIdAndCreatedAtBetweenAfter(
+                                "H1",
+                                1L,
+                                Instant.EPOCH,
+                                NOW,
+                                NOW,
+                                Long.MAX_VALUE,
+                                PageRequest.of(0, 10, Sort.by("createdAt", "id").descending())));
+        queries.put(
+                "EmergencyPlanRepository.findByHouseCode",
+                () -> emergencyPlanRepository.findByHouseCode("H1"));
+        queries.put(
+                "FolderRepository.getByStatusAndClientId",
+                () -> folderRepository.getByStatusAndClientId(NoticeStatus.ACTIVE, 1L));
+        queries.put(
+                "FolderRepository.findAllByClient_Id",
+                () -> folderRepository.findAllByClient_Id(1L));
+        queries.put(
+                "FoodDiaryNoteRepository.findByClient_IdAndMealTypeAndReportDate",
+                () ->
+                        foodDiaryNoteRepository.findByClient_IdAndMealTypeAndReportDate(
+                                1L, MealType.LUNCH, START));
+        queries.put(
+                "FoodDiaryNoteRepository.findByReportDateBefore",
+                () -> foodDiaryNoteRepository.findByReportDateBefore(START, batch));
+        queries.put(
+                "HandoverSummaryRepository.findAllByHouse_HouseCodeAndHandoverDateBetween",
+                () ->
+                        handoverSummaryRepository.findAllByHouse_HouseCodeAndHandoverDateBetween(
+                                "H1",
+                                START,
+                                END,
+                                PageRequest.of(0, 10, Sort.by("handoverDate", "id").descending())));
+        queries.put(
+                "HandoverSummaryRepository.findAllByHouseCodeAndHandoverDateBetweenAfter",
+                () ->
+                        handoverSummaryRepository.findAllByHouseCodeAndHandoverDateBetweenAfter(
+                                "H1",
+                                START,
+                                END,
+                                END,
+                                Long.MAX_VALUE,
+                                PageRequest.of(0, 10, Sort.by("handoverDate", "id").descending())));
+        queries.put(
+                "HouseContactRepository.findAllByHouses_HouseCode",
+                () -> houseContactRepository.findAllByHouses_HouseCode(byId, "H1"));
+        queries.put(
+                "HouseContactRepository.findAllByHouses_HouseCodeIn",
+                () -> houseContactRepository.findAllByHouses_HouseCodeIn(List.of("H1")));
+        queries.put(
+                "HouseImageRepository.findByHouseCode",
+                () -> houseImageRepository.findByHouseCode("H1"));
+        queries.put("HouseRepository.getByHouseCode", () -> houseRepository.getByHouseCode("H1"));
+        queries.put(
+                "HouseRepository.findAllByDeleted", () -> houseRepository.findAllByDeleted(false));
+        queries.put(
+                "HouseRepository.findSummariesByDeleted",
+                () -> houseRepository.findSummariesByDeleted(false));
+        queries.put(
+                "HouseRepository.findIdByHouseCode", () -> houseRepository.findIdByHouseCode("H1"));
+        queries.put("IncidentRepository.getById", () -> incidentRepository.getById(1L));
+        queries.put(
+                "IncidentRepository.findListByHouseCodeAndClientName",
+                () ->
+                        incidentRepository.findListByHouseCodeAndClientName(
+                                "H1", "Client One", Long.MAX_VALUE, byId));
+        queries.put(
+                "IncidentRepository.findListByHouseCode",
+                () -> incidentRepository.findListByHouseCode("H1", Long.MAX_VALUE, byId));
+        queries.put(
+                "IncidentRepository.findListByClientName",
+                () -> incidentRepository.findListByClientName("Client One", Long.MAX_VALUE, byId));
+        queries.put(
+                "IncidentRepository.findListByReportedById",
+                () -> incidentRepository.findListByReportedById(1L, Long.MAX_VALUE, byId));
+        queries.put(
+                "IncidentRepository.findList",
+                () -> incidentRepository.findList(Long.MAX_VALUE, byId));
+        queries.put(
+                "IncidentRepository.findAllByRaisedForAndCreatedAtBetweenAndStatusNot",
+                () ->
+                        incidentRepository.findAllByRaisedForAndCreatedAtBetweenAndStatusNot(
+                                RaisedFor.CLIENT, Instant.EPOCH, NOW, Status.CLOSED));
+        queries.put(
+                "IncidentRepository.findByStatusAndCreatedAtBefore",
+                () ->
+                        incidentRepository.findByStatusAndCreatedAtBefore(
+                                Status.CLOSED, NOW, batch));
+        queries.put(
+                "IncidentReviewRepository.findByIncident_Id",
+                () -> incidentReviewRepository.findByIncident_Id(1L));
+        queries.put(
+                "IncidentReviewRepository.getByIncident_Id",
+                () -> incidentReviewRepository.getByIncident_Id(1L));
+        queries.put(
+                "IncidentReviewRepository.findByIncident_IdIn",
+                () -> incidentReviewRepository.findByIncident_IdIn(List.of(1L)));
+        queries.put(
+                "LookupRepository.findAllByLookupType",
+                () -> lookupRepository.findAllByLookupType(LookupType.INCIDENT_CATEGORY));
+        queries.put(
+                "MiscellaneousNoteRepository.findAllByCategory_NameAndNoteDateBetween",
+                () ->
+                        miscellaneousNoteRepository.findAllByCategory_NameAndNoteDateBetween(
+                                "General", START, END, byDate));
+        queries.put(
+                "NightReportRepository.findByClient_IdAndReportDate",
+                () -> nightReportRepository.findByClient_IdAndReportDate(1L, START));
+        queries.put(
+                "NightReportRepository.findByReportDateBefore",
+                () -> nightReportRepository.findByReportDateBefore(START, batch));
+        queries.put(
+                "NoticeRepository.findNotices",
+                () ->
+                        noticeRepository.findNotices(
+                                byId,
+                                NoticeStatus.ACTIVE,
+                                houseRepository.getByHouseCode("H1"),
+                                NOW));
+        queries.put("NoticeRepository.findAll", () -> noticeRepository.findAll(byId));
+        queries.put(
+                "PasswordTokenRepository.getByToken",
+                () -> passwordTokenRepository.getByToken("token"));
+        queries.put(
+                "PowerOFAttorneyRepository.findByClient_IdAndDeleted",
+                () -> powerOFAttorneyRepository.findByClient_IdAndDeleted(1L, false));
+        queries.put("RoleRepository.getByName", () -> roleRepository.getByName("ADMIN"));
+        queries.put(
+                "ServiceProviderRepository.findByClient_IdAndDeleted",
+                () -> serviceProviderRepository.findByClient_IdAndDeleted(1L, false));
+        queries.put(
+                "SleepTrackerNotesRepository.findByClient_IdAndReportDate",
+                () -> sleepTrackerNotesRepository.findByClient_IdAndReportDate(1L, START));
+        queries.put(
+                "SleepTrackerNotesRepository.findByReportDateBefore",
+                () -> sleepTrackerNotesRepository.findByReportDateBefore(START, batch));
+        queries.put(
+                "TokenRevocationRepository.findByRevokedAtAfterOrderByRevokedAtAsc",
+                () -> tokenRevocationRepository.findByRevokedAtAfterOrderByRevokedAtAsc(NOW));
+        queries.put(
+                "TokenRevocationRepository.deleteExpired",
+                () -> tokenRevocationRepository.deleteExpired(NOW));
+        queries.put(
+                "UserRepository.getByEmail", () -> userRepository.getByEmail("staff@example.com"));
+        queries.put(
+                "UserRepository.findForLogin",
+                () -> userRepository.findForLogin("staff@example.com"));
+        queries.put("UserRepository.updatePassword", () -> userRepository.updatePassword(1L, "y"));
+        queries.put(
+                "UserRepository.findByEmailIgnoreCase",
+                () -> userRepository.findByEmailIgnoreCase("Staff@Example.com"));
+        queries.put(
+                "UserRepository.findAllByDeleted",
+                () -> userRepository.findAllByDeleted(false, PageRequest.of(0, 10)));
+        queries.put(
+                "UserRepository.findShortListByDeleted",
+                () -> userRepository.findShortListByDeleted(false));
+        queries.put(
+                "UserRepository.findShortListByHouseCodeAndDeleted",
+                () -> userRepository.findShortListByHouseCodeAndDeleted("H1", false));
+        queries.put("UserRepository.countByDeleted", () -> userRepository.countByDeleted(false));
+        queries.put("UserRepository.getById", () -> userRepository.getById(1L));
+        queries.put("UserRepository.findSearchRows", () -> userRepository.findSearchRows());
+        queries.put(
+                "UserRepository.existsByEmailAndHouses_Id",
+                () -> userRepository.existsByEmailAndHouses_Id("staff@example.com", 1L));
+        queries.put(
+                "UserRepository.findAllSecurityStamps",
+                () -> userRepository.findAllSecurityStamps());
+
+        return queries.entrySet().stream()
+                .filter(query -> !FULL_SCANS.contains(query.getKey()))
+                .map(query -> dynamicTest(query.getKey(), () -> assertIndexed(query.getValue())));
+    }
+
+    private void assertIndexed(Runnable query) {
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            query.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        for (String sql : statements) {
+            String plan = String.join("\n", jdbcTemplate.execute(explain(sql)));
+            assertFalse(plan.contains("Seq Scan"), () -> sql + "\n" + plan);
+        }
+    }
+
+    /** The generic plan of a statement with ? placeholders, prepared and explained unexecuted. */
+    private static ConnectionCallback<List<String>> explain(String sql) {
+        int[] parameters = {0};
+        String numbered = PARAMETER.matcher(sql).replaceAll(match -> "\\$" + ++parameters[0]);
+        String arguments =
+                parameters[0] == 0
+                        ? ""
+                        : "(" + String.join(", ", Collections.nCopies(parameters[0], "null")) + ")";
+        return connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set enable_seqscan = off");
+                statement.execute("set plan_cache_mode = force_generic_plan");
+                statement.execute("prepare plan_query as " + numbered);
+                String explain = "explain execute plan_query" + arguments;
+                try (ResultSet plan = statement.executeQuery(explain)) {
+                    List<String> lines = new ArrayList<>();
+                    while (plan.next()) {
+                        lines.add(plan.getString(1));
+                    }
+                    return lines;
+                } finally {
+                    statement.execute("deallocate plan_query");
+                    statement.execute("reset enable_seqscan");
+                    statement.execute("reset plan_cache_mode");
+                }
+            }
+        };
+    }
+
+    @TestConfiguration
+    static class CaptureStatements {
+        // records the SQL Hibernate prepares on the test thread, whatever inspector is configured
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? capturing((DataSource) bean) : bean;
+                }
+            };
+        }
+
+        private static DataSource capturing(DataSource target) {
+            return new DelegatingDataSource(target) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return capturing(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password)
+                        throws SQLException {
+                    return capturing(super.getConnection(username, password));
+                }
+            };
+        }
+
+        private static Connection capturing(Connection target) {
+            return (Connection)
+                    Proxy.newProxyInstance(
+                            QueryPlanTest.class.getClassLoader(),
+                            new Class<?>[] {Connection.class},
+                            (proxy, method, args) -> {
+                                List<String> statements = CAPTURED.get();
+                                if (statements != null
+                                        && method.getName().equals("prepareStatement")) {
+                                    statements.add((String) args[0]);
+                                }
+                                try {
+                                    return method.invoke(target, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                            });
+        }
+    }
+}
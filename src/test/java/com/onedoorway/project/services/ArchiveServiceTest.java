@@ -0,0 +1,138 @@
+package com.onedoorway.project.services;
+
+import static com.onedoorway.project.model.LookupType.CASE_NOTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onedoorway.project.archive.LocalArchiveStore;
+import com.onedoorway.project.dto.CaseNoteDTO;
+import com.onedoorway.project.model.ArchiveRecordType;
+import com.onedoorway.project.model.ArchiveTombstone;
+import com.onedoorway.project.model.CaseNote;
+import com.onedoorway.project.model.Client;
+import com.onedoorway.project.model.Lookup;
+import com.onedoorway.project.model.MealType;
+import com.onedoorway.project.repository.ArchiveTombstoneRepository;
+import com.onedoorway.project.repository.CaseNoteRepository;
+import com.onedoorway.project.repository.FoodDiaryNoteRepository;
+import com.onedoorway.project.repository.IncidentRepository;
+import com.onedoorway.project.repository.IncidentReviewRepository;
+import com.onedoorway.project.repository.NightReportRepository;
+import com.onedoorway.project.repository.SleepTrackerNotesRepository;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ArchiveServiceTest {
+    @Mock ArchiveTombstoneRepository mockArchiveTombstoneRepository;
+    @Mock IncidentRepository mockIncidentRepository;
+    @Mock IncidentReviewRepository mockIncidentReviewRepository;
+    @Mock CaseNoteRepository mockCaseNoteRepository;
+    @Mock NightReportRepository mockNightReportRepository;
+    @Mock SleepTrackerNotesRepository mockSleepTrackerNotesRepository;
+    @Mock FoodDiaryNoteRepository mockFoodDiaryNoteRepository;
+    @Mock PlatformTransactionManager mockTransactionManager;
+
+    @TempDir Path dir;
+
+    private ArchiveService archiveService;
+
+    @BeforeEach
+    void init() {
+        archiveService =
+                new ArchiveService(
+                        new LocalArchiveStore(dir.toString()),
+                        mockArchiveTombstoneRepository,
+                        mockIncidentRepository,
+                        mockIncidentReviewRepository,
+                        mockCaseNoteRepository,
+                        mockNightReportRepository,
+                        mockSleepTrackerNotesRepository,
+                        mockFoodDiaryNoteRepository,
+                        new DtoMapper(),
+                        new ObjectMapper().findAndRegisterModules(),
+                        mockTransactionManager,
+                        365,
+                        365,
+                        10);
+    }
+
+    @Test
+    void testArchive_CaseNote_ReadBack() {
+        // Given
+        CaseNote caseNote =
+                CaseNote.builder()
+                        .id(7L)
+                        .client(Client.builder().id(1L).name("client").build())
+                        .category(
+                                Lookup.builder().id(2L).name("test").lookupType(CASE_NOTES).build())
+                        .subject("sub")
+                        .content("content")
+                        .deleted(false)
+                        .noteDate(LocalDate.of(2020, 1, 1))
+                        .startTime(LocalDateTime.of(2020, 1, 1, 9, 0))
+                        .endTime(LocalDateTime.of(2020, 1, 1, 10, 0))
+                        .lastUploadedBy("tina")
+                        .lastUpdatedAt(Instant.parse("2020-01-01T10:00:00Z"))
+                        .build();
+        when(mockCaseNoteRepository.findByNoteDateBefore(any(), any()))
+                .thenReturn(List.of(caseNote));
+        CaseNoteDTO expected = new DtoMapper().map(caseNote, CaseNoteDTO.class);
+
+        // When
+        archiveService.archive();
+
+        // Then
+        ArgumentCaptor<List<ArchiveTombstone>> tombstones = ArgumentCaptor.forClass(List.class);
+        verify(mockArchiveTombstoneRepository).saveAll(tombstones.capture());
+        assertEquals(1, tombstones.getValue().size());
+        ArchiveTombstone tombstone = tombstones.getValue().get(0);
+        assertEquals(ArchiveRecordType.CASE_NOTE, tombstone.getRecordType());
+        assertEquals("7", tombstone.getRecordKey());
+        verify(mockCaseNoteRepository).deleteAllInBatch(List.of(caseNote));
+        verify(mockIncidentRepository, never()).deleteAllInBatch(anyIterable());
+
+        when(mockArchiveTombstoneRepository.findByRecordTypeAndRecordKey(
+                        ArchiveRecordType.CASE_NOTE, "7"))
+                .thenReturn(Optional.of(tombstone));
+        Optional<CaseNoteDTO> actual =
+                archiveService.read(ArchiveRecordType.CASE_NOTE, "7", CaseNoteDTO.class);
+        assertTrue(actual.isPresent());
+        assertEquals(expected, actual.get());
+    }
+
+    @Test
+    void testRead_NotArchived() {
+        // When
+        Optional<CaseNoteDTO> actual =
+                archiveService.read(ArchiveRecordType.CASE_NOTE, "7", CaseNoteDTO.class);
+
+        // Then
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void testKey() {
+        assertEquals(
+                "1/2021-10-09/LUNCH",
+                ArchiveService.key(1L, LocalDate.of(2021, 10, 9), MealType.LUNCH));
+    }
+}
@@ -54,7 +54,8 @@ class BowelNoteServiceTest {
     @BeforeEach
     void init() {
         bowelNoteService =
-                new BowelNoteService(mockBowelNoteRepository, mockClientRepository, context);
+                new BowelNoteService(
+                        mockBowelNoteRepository, mockClientRepository, context, new DtoMapper());
     }
 
     @SneakyThrows
@@ -16,6 +16,7 @@ import static org.mockito.Mockito.when;
 import com.onedoorway.project.FrozenContext;
 import com.onedoorway.project.dto.*;
 import com.onedoorway.project.exception.CaseNoteServiceException;
+import com.onedoorway.project.model.ArchiveRecordType;
 import com.onedoorway.project.model.CaseNote;
 import com.onedoorway.project.model.Client;
 import com.onedoorway.project.model.Lookup;
@@ -48,6 +49,8 @@ class CaseNoteServiceTest {
     @Mock CaseNoteRepository mockCaseNoteRepository;
     @Mock ClientRepository mockClientRepository;
     @Mock LookupRepository mockLookupRepository;
+    @Mock NoteSearchService mockNoteSearchService;
+    @Mock ArchiveService mockArchiveService;
     private CaseNoteService caseNoteService;
     private final FrozenContext context = new FrozenContext();
 
@@ -58,7 +61,10 @@ class CaseNoteServiceTest {
                         mockCaseNoteRepository,
                         mockClientRepository,
                         mockLookupRepository,
-                        context);
+                        context,
+                        new DtoMapper(),
+                        mockNoteSearchService,
+                        mockArchiveService);
     }
 
     @SneakyThrows
@@ -251,6 +257,24 @@ class CaseNoteServiceTest {
                 });
     }
 
+    @SneakyThrows
+    @Test
+    void testGetCaseNote_Success_FromArchive() {
+        // Given
+        long id = 1;
+        CaseNoteDTO expected = new CaseNoteDTO();
+        expected.setId(id);
+        expected.setSubject("sub");
+        when(mockArchiveService.read(ArchiveRecordType.CASE_NOTE, "1", CaseNoteDTO.class))
+                .thenReturn(Optional.of(expected));
+
+        // When
+        CaseNoteDTO actual = caseNoteService.getCaseNote(id);
+
+        // Then
+        assertEquals(expected, actual);
+    }
+
     @SneakyThrows
     @Test
     @WithMockUser
@@ -286,7 +310,7 @@ class CaseNoteServiceTest {
                         .pageSize(1)
                         .build();
         // When
-        List<CaseNoteDTO> caseNoteDTOS = caseNoteService.listCaseNotes(request);
+        List<CaseNoteDTO> caseNoteDTOS = caseNoteService.listCaseNotes(request).getItems();
 
         // Then
         assertEquals(caseNoteDTOS.size(), 1);
@@ -331,6 +355,7 @@ class CaseNoteServiceTest {
                                         "lastUpdatedAt", AnyOf.anyOf(equalTo(context.now())))))));
     }
 
+    @SneakyThrows
     @Test
     void testListAllCaseNotes_Success_Empty() {
         // Given
@@ -347,7 +372,7 @@ class CaseNoteServiceTest {
                         .build();
 
         // When
-        List<CaseNoteDTO> caseNoteDTOS = caseNoteService.listCaseNotes(request);
+        List<CaseNoteDTO> caseNoteDTOS = caseNoteService.listCaseNotes(request).getItems();
 
         // Then
         assertEquals(caseNoteDTOS.size(), 0);
@@ -40,7 +40,8 @@ class ClientAllowancesServiceTest {
     @BeforeEach
     void init() {
         clientAllowancesService =
-                new ClientAllowancesService(mockClientAllowancesRepository, mockClientRepository);
+                new ClientAllowancesService(
+                        mockClientAllowancesRepository, mockClientRepository, new DtoMapper());
     }
 
     @SneakyThrows
@@ -65,7 +65,8 @@ class ClientDocumentServiceTest {
                         mockBlobServiceClientBuilder,
                         "a-mock-connection-string",
                         "test-container",
-                        context);
+                        context,
+                        new DtoMapper());
     }
 
     @SneakyThrows
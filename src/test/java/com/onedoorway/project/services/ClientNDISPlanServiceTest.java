@@ -64,7 +64,8 @@ class ClientNDISPlanServiceTest {
                         mockBlobServiceClientBuilder,
                         "a-mock-connection-string",
                         "test-container",
-                        context);
+                        context,
+                        new DtoMapper());
     }
 
     @SneakyThrows
@@ -167,6 +168,8 @@ class ClientNDISPlanServiceTest {
         Client client = Client.builder().id(1L).build();
         when(mockClientRepository.findById(client.getId())).thenReturn(Optional.of(client));
 
+        when(mockClientNDISPlanRepository.insertIfAbsent(any())).thenReturn(true);
+
         // When
         clientNDISPlanService.createClientNDISPlan(request);
 
@@ -185,7 +188,7 @@ class ClientNDISPlanServiceTest {
                         .build();
         ArgumentCaptor<ClientNDISPlan> clientNDISPlanArgumentCaptor =
                 ArgumentCaptor.forClass(ClientNDISPlan.class);
-        verify(mockClientNDISPlanRepository).save(clientNDISPlanArgumentCaptor.capture());
+        verify(mockClientNDISPlanRepository).insertIfAbsent(clientNDISPlanArgumentCaptor.capture());
         assertThat(
                 expected,
                 (allOf(
@@ -225,6 +228,8 @@ class ClientNDISPlanServiceTest {
 
         when(mockClientRepository.findById(client.getId())).thenReturn(Optional.of(client));
 
+        when(mockClientNDISPlanRepository.insertIfAbsent(any())).thenReturn(true);
+
         // When
         clientNDISPlanService.createClientNDISPlan(request);
         // Then
@@ -239,7 +244,7 @@ class ClientNDISPlanServiceTest {
 
         ArgumentCaptor<ClientNDISPlan> clientNDISPlanArgumentCaptor =
                 ArgumentCaptor.forClass(ClientNDISPlan.class);
-        verify(mockClientNDISPlanRepository).save(clientNDISPlanArgumentCaptor.capture());
+        verify(mockClientNDISPlanRepository).insertIfAbsent(clientNDISPlanArgumentCaptor.capture());
 
         assertThat(
                 expected,
@@ -7,6 +7,8 @@ import static org.hamcrest.beans.HasPropertyWithValue.hasProperty;
 import static org.hamcrest.core.AnyOf.anyOf;
 import static org.hamcrest.core.Every.everyItem;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -44,7 +46,10 @@ class ClientReportServiceTest {
     void init() {
         clientReportService =
                 new ClientReportService(
-                        mockClientRepository, mockClientReportRepository, mockLookupRepository);
+                        mockClientRepository,
+                        mockClientReportRepository,
+                        mockLookupRepository,
+                        new DtoMapper());
     }
 
     @SneakyThrows
@@ -89,6 +94,8 @@ class ClientReportServiceTest {
         when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
         when(mockLookupRepository.findById(2L)).thenReturn(Optional.of(lookup));
 
+        when(mockClientReportRepository.insertIfAbsent(any())).thenReturn(true);
+
         // When
         clientReportService.toggleReport(request);
 
@@ -97,7 +104,7 @@ class ClientReportServiceTest {
                 ClientReport.builder().client(client).lookup(lookup).toggle(true).build();
         ArgumentCaptor<ClientReport> clientReportArgumentCaptor =
                 ArgumentCaptor.forClass(ClientReport.class);
-        verify(mockClientReportRepository).save(clientReportArgumentCaptor.capture());
+        verify(mockClientReportRepository).insertIfAbsent(clientReportArgumentCaptor.capture());
         ClientReport actual = clientReportArgumentCaptor.getValue();
         assertEquals(expected, actual);
     }
@@ -115,6 +122,8 @@ class ClientReportServiceTest {
         when(mockClientRepository.findById(3L)).thenReturn(Optional.of(client));
         when(mockLookupRepository.findById(4L)).thenReturn(Optional.of(lookup));
 
+        when(mockClientReportRepository.insertIfAbsent(any())).thenReturn(true);
+
         // When
         clientReportService.toggleReport(request);
 
@@ -123,8 +132,25 @@ class ClientReportServiceTest {
                 ClientReport.builder().client(client).lookup(lookup).toggle(false).build();
         ArgumentCaptor<ClientReport> clientReportArgumentCaptor =
                 ArgumentCaptor.forClass(ClientReport.class);
-        verify(mockClientReportRepository).save(clientReportArgumentCaptor.capture());
+        verify(mockClientReportRepository).insertIfAbsent(clientReportArgumentCaptor.capture());
         ClientReport actual = clientReportArgumentCaptor.getValue();
         assertEquals(expected, actual);
     }
+
+    @SneakyThrows
+    @Test
+    void testWhenToggle_ExistingReport_Success() {
+        // Given
+        Client client = Client.builder().id(1L).name("name").build();
+        ToggleReportRequest request =
+                ToggleReportRequest.builder().clientId(1L).lookupId(2L).toggle(false).build();
+        when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(mockClientReportRepository.updateToggle(1L, 2L, false)).thenReturn(1);
+
+        // When
+        clientReportService.toggleReport(request);
+
+        // Then
+        verify(mockClientReportRepository, never()).insertIfAbsent(any());
+    }
 }
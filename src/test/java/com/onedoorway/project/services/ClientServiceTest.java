@@ -24,6 +24,9 @@ import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.ClientContactRepository;
 import com.onedoorway.project.repository.ClientRepository;
 import com.onedoorway.project.repository.FolderRepository;
+import com.onedoorway.project.repository.HouseRepository;
+import com.onedoorway.project.repository.UserRepository;
+import com.onedoorway.project.repository.VersionedUpdate;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.time.Instant;
@@ -54,12 +57,19 @@ class ClientServiceTest {
 
     @Mock BlobServiceClientBuilder mockBlobServiceClientBuilder;
 
+    @Mock UserRepository mockUserRepository;
+
+    @Mock HouseRepository mockHouseRepository;
+
     private final FrozenContext context = new FrozenContext();
 
     private ClientService clientService;
+    private SearchIndex searchIndex;
 
     @BeforeEach
     void init() {
+        searchIndex =
+                new SearchIndex(mockClientRepository, mockUserRepository, mockHouseRepository);
         clientService =
                 new ClientService(
                         mockClientRepository,
@@ -68,7 +78,10 @@ class ClientServiceTest {
                         mockBlobServiceClientBuilder,
                         "a-mock-connection-string",
                         "test-container",
-                        context);
+                        context,
+                        new DtoMapper(),
+                        new ListCountCache(0),
+                        searchIndex);
     }
 
     @SneakyThrows
@@ -281,8 +294,8 @@ class ClientServiceTest {
                         .deleted(false)
                         .build();
 
-        when(mockClientRepository.findAllByDeleted(eq(false), any(Pageable.class)))
-                .thenReturn(List.of(client1, client2));
+        when(mockClientRepository.findListByDeleted(eq(false), any(Pageable.class)))
+                .thenReturn(List.of(toListDTO(client1), toListDTO(client2)));
         ListClientRequest request = ListClientRequest.builder().pageNumber(0).pageSize(1).build();
         // when
         List<ClientListDTO> clients = clientService.listAllClients(request);
@@ -400,10 +413,10 @@ class ClientServiceTest {
                         .deleted(false)
                         .build();
 
-        when(mockClientRepository
-                        .findByNameContainingIgnoreCaseAndDeletedOrHouse_HouseCodeContainingIgnoreCaseAndDeleted(
-                                any(), eq(false), any(), eq(false), any(Pageable.class)))
-                .thenReturn(List.of(client1));
+        searchIndex.putClient(client1);
+        searchIndex.putClient(client2);
+        when(mockClientRepository.findListByIdIn(List.of(1L)))
+                .thenReturn(List.of(toListDTO(client1)));
 
         ListClientRequest request =
                 ListClientRequest.builder()
@@ -502,6 +515,58 @@ class ClientServiceTest {
         assertEquals(clientDTOS.size(), 0);
     }
 
+    @SneakyThrows
+    @Test
+    void testListClientPage_ShortPage_NoCount() {
+        // Given
+        Client client = Client.builder().id(1).name("Client 1").deleted(false).build();
+        when(mockClientRepository.findListByDeleted(eq(false), any(Pageable.class)))
+                .thenReturn(List.of(toListDTO(client)));
+        ListClientRequest request = ListClientRequest.builder().pageNumber(2).pageSize(10).build();
+
+        // When
+        ListClientResponse actual = clientService.listClientPage(request);
+
+        // Then
+        assertEquals(1, actual.getClients().size());
+        assertEquals(21L, actual.getTotalClients());
+        verify(mockClientRepository, never()).countByDeleted(anyBoolean());
+    }
+
+    @SneakyThrows
+    @Test
+    void testListClientPage_FullPage_CountCachedUntilInvalidated() {
+        // Given
+        ListCountCache listCountCache = new ListCountCache(60000);
+        clientService =
+                new ClientService(
+                        mockClientRepository,
+                        mockContactRepository,
+                        mockFolderRepository,
+                        mockBlobServiceClientBuilder,
+                        "a-mock-connection-string",
+                        "test-container",
+                        context,
+                        new DtoMapper(),
+                        listCountCache,
+                        searchIndex);
+        Client client = Client.builder().id(1).name("Client 1").deleted(false).build();
+        when(mockClientRepository.findListByDeleted(eq(false), any(Pageable.class)))
+                .thenReturn(List.of(toListDTO(client)));
+        when(mockClientRepository.countByDeleted(false)).thenReturn(5L);
+        ListClientRequest request = ListClientRequest.builder().pageNumber(0).pageSize(1).build();
+
+        // When
+        clientService.listClientPage(request);
+        ListClientResponse actual = clientService.listClientPage(request);
+        listCountCache.invalidate(ListCountCache.CLIENTS);
+        clientService.listClientPage(request);
+
+        // Then
+        assertEquals(5L, actual.getTotalClients());
+        verify(mockClientRepository, times(2)).countByDeleted(false);
+    }
+
     @SneakyThrows
     @Test
     @WithMockUser
@@ -576,6 +641,39 @@ class ClientServiceTest {
         verify(mockClientRepository).save(eq(expected));
     }
 
+    @SneakyThrows
+    @Test
+    @WithMockUser
+    void testUpdateClient_NullField_KeepsExistingValue() {
+        // Given
+        Client client =
+                Client.builder()
+                        .id(1L)
+                        .name("james")
+                        .dob(LocalDate.of(1957, 1, 1))
+                        .email("captainamerica@marvel.com")
+                        .phone("7777777777")
+                        .deleted(false)
+                        .build();
+        ClientRequest request = ClientRequest.builder().name("test-client").build();
+        when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
+
+        // When
+        clientService.updateClient(1L, request);
+
+        // Then
+        Client expected =
+                Client.builder()
+                        .id(1L)
+                        .name("test-client")
+                        .dob(LocalDate.of(1957, 1, 1))
+                        .email("captainamerica@marvel.com")
+                        .phone("7777777777")
+                        .deleted(false)
+                        .build();
+        verify(mockClientRepository).save(eq(expected));
+    }
+
     @SneakyThrows
     @Test
     @WithMockUser
@@ -1384,6 +1482,22 @@ class ClientServiceTest {
                 });
     }
 
+    @SneakyThrows
+    @Test
+    void testUpdateClientById_WithVersion_RefreshesSearchIndex() {
+        // Given
+        UpdateClientRequest request =
+                UpdateClientRequest.builder().centerLinkNo("1A").version(3L).build();
+        when(mockClientRepository.updateIfVersion(any())).thenReturn(true);
+
+        // When
+        clientService.updateClientById(2L, request);
+
+        // Then
+        verify(mockClientRepository, never()).findById(anyLong());
+        verify(mockClientRepository).findSearchRowById(2L);
+    }
+
     @SneakyThrows
     @Test
     @WithMockUser
@@ -1520,6 +1634,136 @@ class ClientServiceTest {
                 });
     }
 
+    @SneakyThrows
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateClientAdditional_WithVersion_Success() {
+        // Given
+        UpdateClientRequest request =
+                UpdateClientRequest.builder()
+                        .identity("identity")
+                        .diagnosis("diagnosis")
+                        .shiftTimes("shift times")
+                        .version(3L)
+                        .build();
+        when(mockClientRepository.updateIfVersion(any())).thenReturn(true);
+
+        // When
+        clientService.updateClientAdditional(2L, request);
+
+        // Then
+        ArgumentCaptor<VersionedUpdate<Client>> captor =
+                ArgumentCaptor.forClass(VersionedUpdate.class);
+        verify(mockClientRepository).updateIfVersion(captor.capture());
+        verify(mockClientRepository, never()).findById(anyLong());
+        VersionedUpdate<Client> actual = captor.getValue();
+        assertEquals(2L, actual.getId());
+        assertEquals(3L, actual.getVersion());
+        assertEquals(
+                Map.of(
+                        Client.Fields.identity, "identity",
+                        Client.Fields.diagnosis, "diagnosis",
+                        Client.Fields.shiftTimes, "shift times"),
+                actual.getChanges());
+    }
+
+    @SneakyThrows
+    @Test
+    void testUpdateClientAdditional_WithVersion_Failure_StaleVersion() {
+        // Given
+        UpdateClientRequest request =
+                UpdateClientRequest.builder().identity("identity").version(3L).build();
+        when(mockClientRepository.updateIfVersion(any())).thenReturn(false);
+
+        assertThrows(
+                ClientServiceException.class,
+                () -> {
+                    // When
+                    clientService.updateClientAdditional(2L, request);
+                });
+    }
+
+    @SneakyThrows
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateClient_WithVersion_Success() {
+        // Given
+        ClientRequest request =
+                ClientRequest.builder()
+                        .name("Client 1")
+                        .dob("1987-09-12")
+                        .email("client1@client.com")
+                        .deleted(false)
+                        .version(0L)
+                        .build();
+        when(mockClientRepository.updateIfVersion(any())).thenReturn(true);
+
+        // When
+        clientService.updateClient(1L, request);
+
+        // Then
+        ArgumentCaptor<VersionedUpdate<Client>> captor =
+                ArgumentCaptor.forClass(VersionedUpdate.class);
+        verify(mockClientRepository).updateIfVersion(captor.capture());
+        verify(mockClientRepository).findSearchRowById(1L);
+        verify(mockClientRepository, never()).findById(anyLong());
+        assertEquals(
+                Map.of(
+                        Client.Fields.email, "client1@client.com",
+                        Client.Fields.name, "Client 1",
+                        Client.Fields.dob, LocalDate.of(1987, 9, 12),
+                        Client.Fields.deleted, false),
+                captor.getValue().getChanges());
+    }
+
+    @SneakyThrows
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateClient_WithVersion_NullField_LeftOut() {
+        // Given
+        ClientRequest request = ClientRequest.builder().name("Client 1").version(0L).build();
+        when(mockClientRepository.updateIfVersion(any())).thenReturn(true);
+
+        // When
+        clientService.updateClient(1L, request);
+
+        // Then
+        ArgumentCaptor<VersionedUpdate<Client>> captor =
+                ArgumentCaptor.forClass(VersionedUpdate.class);
+        verify(mockClientRepository).updateIfVersion(captor.capture());
+        assertEquals(Map.of(Client.Fields.name, "Client 1"), captor.getValue().getChanges());
+    }
+
+    @SneakyThrows
+    @Test
+    void testUpdateClientAdditional_NullField_KeepsExistingValue() {
+        // Given
+        Client client =
+                Client.builder()
+                        .id(1L)
+                        .name("client")
+                        .identity("identity")
+                        .culture("culture")
+                        .shiftTimes("shift times")
+                        .build();
+        UpdateClientRequest request = UpdateClientRequest.builder().culture("new culture").build();
+        when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
+
+        // When
+        clientService.updateClientAdditional(1L, request);
+
+        // Then
+        Client expected =
+                Client.builder()
+                        .id(1L)
+                        .name("client")
+                        .identity("identity")
+                        .culture("new culture")
+                        .shiftTimes("shift times")
+                        .build();
+        verify(mockClientRepository).save(eq(expected));
+    }
+
     @SneakyThrows
     @Test
     void testStorePhoto() {
@@ -1552,4 +1796,21 @@ class ClientServiceTest {
         Client actual = clientArgumentCaptor.getValue();
         assertEquals(expected, actual);
     }
+
+    private static ClientListDTO toListDTO(Client client) {
+        return new ClientListDTO(
+                client.getId(),
+                client.getEmail(),
+                client.getName(),
+                client.getGender(),
+                client.getDob(),
+                client.getPhone(),
+                client.getAddrLine1(),
+                client.getAddrLine2(),
+                client.getCity(),
+                client.getState(),
+                client.getPostCode(),
+                client.getHouse() == null ? null : client.getHouse().getHouseCode(),
+                client.getDeleted());
+    }
 }
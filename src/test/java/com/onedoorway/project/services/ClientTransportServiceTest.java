@@ -43,7 +43,8 @@ class ClientTransportServiceTest {
     @BeforeEach
     void init() {
         clientTransportService =
-                new ClientTransportService(mockClientTransportRepository, mockClientRepository);
+                new ClientTransportService(
+                        mockClientTransportRepository, mockClientRepository, new DtoMapper());
     }
 
     @SneakyThrows
@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.onedoorway.project.FrozenContext;
 import com.onedoorway.project.dto.DailyNoteDTO;
 import com.onedoorway.project.dto.DailyNoteRequest;
 import com.onedoorway.project.dto.SearchDailyNoteRequest;
@@ -59,16 +60,22 @@ class DailyNoteServiceTest {
 
     @Mock ClientRepository mockClientRepository;
 
+    @Mock NoteSearchService mockNoteSearchService;
+
+    private final FrozenContext context = new FrozenContext();
+
     private DailyNoteService dailyNoteService;
 
     @BeforeEach
     void init() {
+        context.setUserRepository(mockUserRepository);
         dailyNoteService =
                 new DailyNoteService(
                         mockDailyNoteRepository,
                         mockHouseRepository,
-                        mockUserRepository,
-                        mockClientRepository);
+                        context,
+                        mockClientRepository,
+                        mockNoteSearchService);
     }
 
     @SneakyThrows
@@ -106,7 +113,7 @@ class DailyNoteServiceTest {
                         .postCode("postCode")
                         .build();
 
-        when(mockUserRepository.getByEmail("user")).thenReturn(user);
+        when(mockUserRepository.getByEmail(context.currentUser())).thenReturn(user);
         when(mockHouseRepository.getByHouseCode(houseCode)).thenReturn(house);
         when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
         dailyNoteService.createDailyNote(request);
@@ -134,6 +141,7 @@ class DailyNoteServiceTest {
                 ArgumentCaptor.forClass(DailyNote.class);
         verify(mockDailyNoteRepository).save(dailyNoteArgumentCaptor.capture());
         DailyNote actual = dailyNoteArgumentCaptor.getValue();
+        verify(mockNoteSearchService).indexDailyNote(actual);
 
         assertThat(
                 Date.from(expected.getCreatedAt()),
@@ -223,7 +231,7 @@ class DailyNoteServiceTest {
                         .build();
 
         User user = User.builder().email("test@test.com").id(1).build();
-        when(mockUserRepository.getByEmail("user")).thenReturn(user);
+        when(mockUserRepository.getByEmail(context.currentUser())).thenReturn(user);
 
         // When
         assertThrows(
@@ -273,30 +281,32 @@ class DailyNoteServiceTest {
                         .postCode("postCode")
                         .build();
 
-        when(mockDailyNoteRepository.findByHouse_HouseCodeAndCreateBy_Id(
+        when(mockDailyNoteRepository.findListByHouseCodeAndUserId(
                         any(String.class), any(Long.class)))
                 .thenReturn(
                         List.of(
-                                DailyNote.builder()
-                                        .house(house)
-                                        .note(note)
-                                        .client(client)
-                                        .id(1)
-                                        .startTime(startTime1)
-                                        .endTime(endTime1)
-                                        .createBy(user)
-                                        .createdAt(now)
-                                        .build(),
-                                DailyNote.builder()
-                                        .house(house)
-                                        .note(note)
-                                        .client(client)
-                                        .id(2)
-                                        .startTime(startTime2)
-                                        .endTime(endTime2)
-                                        .createBy(user)
-                                        .createdAt(now)
-                                        .build()));
+                                toListDTO(
+                                        DailyNote.builder()
+                                                .house(house)
+                                                .note(note)
+                                                .client(client)
+                                                .id(1)
+                                                .startTime(startTime1)
+                                                .endTime(endTime1)
+                                                .createBy(user)
+                                                .createdAt(now)
+                                                .build()),
+                                toListDTO(
+                                        DailyNote.builder()
+                                                .house(house)
+                                                .note(note)
+                                                .client(client)
+                                                .id(2)
+                                                .startTime(startTime2)
+                                                .endTime(endTime2)
+                                                .createBy(user)
+                                                .createdAt(now)
+                                                .build())));
 
         List<DailyNoteDTO> dailyNotes = dailyNoteService.getDailyNotes(houseCode, 1);
 
@@ -379,7 +389,7 @@ class DailyNoteServiceTest {
                         .postCode("postCode")
                         .build();
 
-        when(mockDailyNoteRepository.findAllByHouse_HouseCodeAndClient_IdAndCreatedAtBetween(
+        when(mockDailyNoteRepository.findListByHouseCodeAndClientIdAndCreatedAtBetween(
                         any(String.class),
                         any(Long.class),
                         any(Instant.class),
@@ -387,26 +397,28 @@ class DailyNoteServiceTest {
                         any(Pageable.class)))
                 .thenReturn(
                         List.of(
-                                DailyNote.builder()
-                                        .house(house)
-                                        .note(note)
-                                        .id(1)
-                                        .client(client)
-                                        .startTime(startTime1)
-                                        .endTime(endTime1)
-                                        .createBy(user)
-                                        .createdAt(now)
-                                        .build(),
-                                DailyNote.builder()
-                                        .house(house)
-                                        .note(note)
-                                        .id(2)
-                                        .client(client)
-                                        .createBy(user)
-                                        .startTime(startTime1)
-                                        .endTime(endTime1)
-                                        .createdAt(now)
-                                        .build()));
+                                toListDTO(
+                                        DailyNote.builder()
+                                                .house(house)
+                                                .note(note)
+                                                .id(1)
+                                                .client(client)
+                                                .startTime(startTime1)
+                                                .endTime(endTime1)
+                                                .createBy(user)
+                                                .createdAt(now)
+                                                .build()),
+                                toListDTO(
+                                        DailyNote.builder()
+                                                .house(house)
+                                                .note(note)
+                                                .id(2)
+                                                .client(client)
+                                                .createBy(user)
+                                                .startTime(startTime1)
+                                                .endTime(endTime1)
+                                                .createdAt(now)
+                                                .build())));
 
         SearchDailyNoteRequest request =
                 SearchDailyNoteRequest.builder()
@@ -417,7 +429,7 @@ class DailyNoteServiceTest {
                         .pageNumber(0)
                         .pageSize(2)
                         .build();
-        List<DailyNoteDTO> dailyNotes = dailyNoteService.search(request);
+        List<DailyNoteDTO> dailyNotes = dailyNoteService.search(request).getItems();
 
         assertEquals(dailyNotes.size(), 2);
         assertThat(
@@ -473,6 +485,7 @@ class DailyNoteServiceTest {
         verify(mockDailyNoteRepository).delete(dailyNoteArgumentCaptor.capture());
         DailyNote actual = dailyNoteArgumentCaptor.getValue();
         assertEquals(dailyNote, actual);
+        verify(mockNoteSearchService).removeDailyNote(dailyNote.getId());
     }
 
     @SneakyThrows
@@ -573,4 +586,18 @@ class DailyNoteServiceTest {
                     dailyNoteService.updateDailyNote(request);
                 });
     }
+
+    private static DailyNoteDTO toListDTO(DailyNote dailyNote) {
+        return new DailyNoteDTO(
+                dailyNote.getId(),
+                dailyNote.getNote(),
+                dailyNote.getCreatedAt(),
+                dailyNote.getStartTime(),
+                dailyNote.getEndTime(),
+                dailyNote.getCreateBy().getId(),
+                dailyNote.getCreateBy().getEmail(),
+                dailyNote.getCreateBy().getFirstName(),
+                dailyNote.getCreateBy().getLastName(),
+                dailyNote.getClient().getId());
+    }
 }
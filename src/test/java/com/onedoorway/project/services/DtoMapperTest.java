@@ -0,0 +1,130 @@
+package com.onedoorway.project.services;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.onedoorway.project.dto.ClientDetailDTO;
+import com.onedoorway.project.dto.IncidentReviewDTO;
+import com.onedoorway.project.dto.UpdateClientNDISPlanRequest;
+import com.onedoorway.project.dto.UpdateClientRequest;
+import com.onedoorway.project.dto.UserDTO;
+import com.onedoorway.project.model.Client;
+import com.onedoorway.project.model.ClientNDISPlan;
+import com.onedoorway.project.model.Incident;
+import com.onedoorway.project.model.IncidentReview;
+import com.onedoorway.project.model.Role;
+import com.onedoorway.project.model.User;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class DtoMapperTest {
+    private final DtoMapper dtoMapper = new DtoMapper();
+
+    @Test
+    void testMap_ClientDetail() {
+        // Given
+        Client client =
+                Client.builder()
+                        .id(2)
+                        .name("client")
+                        .individualReferenceNumber("irn")
+                        .medicareCardName("card name")
+                        .build();
+
+        // When
+        ClientDetailDTO actual = dtoMapper.map(client, ClientDetailDTO.class);
+
+        // Then
+        assertEquals(2, actual.getId());
+        assertEquals("client", actual.getName());
+        assertEquals("irn", actual.getIndividualReferenceNumber());
+        assertEquals("card name", actual.getMedicareCardName());
+    }
+
+    @Test
+    void testMap_UserRoleNames() {
+        // Given
+        User user =
+                User.builder()
+                        .id(1)
+                        .email("test@test.com")
+                        .roles(Set.of(Role.builder().id(1).name("ADMIN").build()))
+                        .houses(Set.of())
+                        .build();
+
+        // When
+        UserDTO listed = dtoMapper.map(user, UserDTO.class, DtoMapper.USER_LIST);
+
+        // Then
+        assertEquals(List.of("ADMIN"), listed.getRoleNames());
+        assertEquals("test@test.com", listed.getEmail());
+    }
+
+    @Test
+    void testPatch_KeepsNullProperties() {
+        // Given
+        Client existing = Client.builder().id(1).identity("identity").culture("culture").build();
+        UpdateClientRequest request = UpdateClientRequest.builder().culture("updated").build();
+
+        // When
+        dtoMapper.patch(request, existing);
+
+        // Then
+        assertEquals("identity", existing.getIdentity());
+        assertEquals("updated", existing.getCulture());
+    }
+
+    @Test
+    void testNew_ValidatesEveryTypeMap() {
+        // When, Then: an unmapped destination property fails the constructor
+        assertDoesNotThrow(DtoMapper::new);
+    }
+
+    @Test
+    void testPatch_MedicareCardNameKeepsName() {
+        // Given
+        Client existing = Client.builder().id(1).name("client").build();
+        UpdateClientRequest request =
+                UpdateClientRequest.builder().medicareCardName("card name").build();
+
+        // When
+        dtoMapper.patch(request, existing);
+
+        // Then
+        assertEquals("client", existing.getName());
+        assertEquals("card name", existing.getMedicareCardName());
+    }
+
+    @Test
+    void testPatch_NDISPlanKeepsClient() {
+        // Given
+        Client client = Client.builder().id(1).deleted(false).build();
+        ClientNDISPlan existing = ClientNDISPlan.builder().id(2).client(client).build();
+        UpdateClientNDISPlanRequest request =
+                UpdateClientNDISPlanRequest.builder().deleted(true).build();
+
+        // When
+        dtoMapper.patch(request, existing);
+
+        // Then
+        assertTrue(existing.getDeleted());
+        assertFalse(client.getDeleted());
+    }
+
+    @Test
+    void testMap_IncidentReviewReviewedBy() {
+        // Given
+        Incident incident = Incident.builder().id(3).reviewedBy("reviewer").build();
+        IncidentReview review = IncidentReview.builder().id(4).incident(incident).build();
+
+        // When
+        IncidentReviewDTO actual = dtoMapper.map(review, IncidentReviewDTO.class);
+
+        // Then
+        assertEquals(3, actual.getIncidentId());
+        assertEquals("reviewer", actual.getReviewedBy());
+    }
+}
@@ -5,7 +5,9 @@ import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,6 +16,7 @@ import com.onedoorway.project.dto.FoodDiaryNoteDTO;
 import com.onedoorway.project.dto.FoodDiaryNoteRequest;
 import com.onedoorway.project.dto.ParticularFoodDiaryNoteRequest;
 import com.onedoorway.project.exception.FoodDiaryNoteServiceException;
+import com.onedoorway.project.model.ArchiveRecordType;
 import com.onedoorway.project.model.Client;
 import com.onedoorway.project.model.FoodDiaryNote;
 import com.onedoorway.project.model.MealType;
@@ -42,6 +45,8 @@ class FoodDiaryNoteServiceTest {
 
     @Mock ClientRepository mockClientRepository;
 
+    @Mock ArchiveService mockArchiveService;
+
     private FoodDiaryNoteService foodDiaryNoteService;
 
     private final FrozenContext context = new FrozenContext();
@@ -50,7 +55,11 @@ class FoodDiaryNoteServiceTest {
     void init() {
         foodDiaryNoteService =
                 new FoodDiaryNoteService(
-                        mockFoodDiaryNoteRepository, mockClientRepository, context);
+                        mockFoodDiaryNoteRepository,
+                        mockClientRepository,
+                        context,
+                        new DtoMapper(),
+                        mockArchiveService);
     }
 
     @SneakyThrows
@@ -82,6 +91,8 @@ class FoodDiaryNoteServiceTest {
         Client client = Client.builder().id(1L).build();
         when(mockClientRepository.findById(client.getId())).thenReturn(Optional.of(client));
 
+        when(mockFoodDiaryNoteRepository.insertIfAbsent(any())).thenReturn(true);
+
         // When
         foodDiaryNoteService.createFoodReport(request);
 
@@ -105,7 +116,7 @@ class FoodDiaryNoteServiceTest {
 
         ArgumentCaptor<FoodDiaryNote> foodReportArgumentCaptor =
                 ArgumentCaptor.forClass(FoodDiaryNote.class);
-        verify(mockFoodDiaryNoteRepository).save(foodReportArgumentCaptor.capture());
+        verify(mockFoodDiaryNoteRepository).insertIfAbsent(foodReportArgumentCaptor.capture());
 
         assertThat(
                 expected,
@@ -159,6 +170,35 @@ class FoodDiaryNoteServiceTest {
                 });
     }
 
+    @Test
+    void testCreateFoodReport_Failure_Archived() {
+        // Given
+        FoodDiaryNoteRequest request =
+                FoodDiaryNoteRequest.builder()
+                        .clientId(1L)
+                        .mealType("BREAKFAST")
+                        .mealTime("2021-10-13 08:00:00")
+                        .mealFood("bread")
+                        .reportDate(LocalDate.of(2021, 10, 14))
+                        .mealUpdatedBy("tom")
+                        .build();
+        Client client = Client.builder().id(1L).name("client").build();
+        when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(mockArchiveService.isArchived(
+                        ArchiveRecordType.FOOD_DIARY_NOTE, "1/2021-10-14/BREAKFAST"))
+                .thenReturn(true);
+
+        assertThrows(
+                FoodDiaryNoteServiceException.class,
+                () -> {
+                    // When
+                    foodDiaryNoteService.createFoodReport(request);
+                });
+
+        // Then
+        verify(mockFoodDiaryNoteRepository, never()).insertIfAbsent(any());
+    }
+
     @SneakyThrows
     @Test
     void testGetFoodDiaryNote_Success() {
@@ -46,17 +46,21 @@ class HandoverSummaryServiceTest {
     @Mock HandoverSummaryRepository mockHandoverSummaryRepository;
     @Mock HouseRepository mockHouseRepository;
     @Mock UserRepository mockUserRepository;
+    @Mock NoteSearchService mockNoteSearchService;
     private HandoverSummaryService handoverSummaryService;
     private final FrozenContext context = new FrozenContext();
 
     @BeforeEach
     void init() {
+        context.setUserRepository(mockUserRepository);
         handoverSummaryService =
                 new HandoverSummaryService(
                         mockHandoverSummaryRepository,
                         mockHouseRepository,
                         mockUserRepository,
-                        context);
+                        context,
+                        new DtoMapper(),
+                        mockNoteSearchService);
     }
 
     @SneakyThrows
@@ -235,7 +239,7 @@ class HandoverSummaryServiceTest {
                         .build();
         // When
         List<HandoverSummaryDTO> handoverSummaryDTOS =
-                handoverSummaryService.listHandoverSummary(request);
+                handoverSummaryService.listHandoverSummary(request).getItems();
 
         // Then
         assertEquals(handoverSummaryDTOS.size(), 1);
@@ -334,6 +338,7 @@ class HandoverSummaryServiceTest {
                                         "lastUpdatedAt", AnyOf.anyOf(equalTo(context.now())))))));
     }
 
+    @SneakyThrows
     @Test
     void testListAllHandoverSummary_Success_Empty() {
         // Given
@@ -349,7 +354,7 @@ class HandoverSummaryServiceTest {
 
         // When
         List<HandoverSummaryDTO> handoverSummaryDTOS =
-                handoverSummaryService.listHandoverSummary(request);
+                handoverSummaryService.listHandoverSummary(request).getItems();
 
         // Then
         assertEquals(handoverSummaryDTOS.size(), 0);
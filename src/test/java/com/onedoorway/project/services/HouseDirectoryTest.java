@@ -0,0 +1,90 @@
+package com.onedoorway.project.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.onedoorway.project.repository.ClientRepository;
+import com.onedoorway.project.repository.HouseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class HouseDirectoryTest {
+    @Mock HouseRepository mockHouseRepository;
+    @Mock ClientRepository mockClientRepository;
+
+    @Test
+    void testHouseIdOf_CachesFoundAndMissing() {
+        // Given
+        HouseDirectory houseDirectory = houseDirectory(60000);
+        when(mockHouseRepository.findIdByHouseCode("101")).thenReturn(1L);
+        when(mockHouseRepository.findIdByHouseCode("999")).thenReturn(null);
+
+        // When
+        houseDirectory.houseIdOf("101");
+        houseDirectory.houseIdOf("999");
+        Long found = houseDirectory.houseIdOf("101");
+        Long missing = houseDirectory.houseIdOf("999");
+
+        // Then
+        assertEquals(1L, found);
+        assertNull(missing);
+        verify(mockHouseRepository).findIdByHouseCode("101");
+        verify(mockHouseRepository).findIdByHouseCode("999");
+    }
+
+    @Test
+    void testHouseIdOf_ReloadsAfterTtl() {
+        // Given
+        HouseDirectory houseDirectory = houseDirectory(0);
+        when(mockHouseRepository.findIdByHouseCode("101")).thenReturn(null).thenReturn(1L);
+
+        // When
+        Long before = houseDirectory.houseIdOf("101");
+        Long after = houseDirectory.houseIdOf("101");
+
+        // Then
+        assertNull(before);
+        assertEquals(1L, after);
+    }
+
+    @Test
+    void testEvictHouseCode_ForgetsMissingCode() {
+        // Given
+        HouseDirectory houseDirectory = houseDirectory(60000);
+        when(mockHouseRepository.findIdByHouseCode("101")).thenReturn(null).thenReturn(1L);
+        houseDirectory.houseIdOf("101");
+
+        // When
+        houseDirectory.evictHouseCode("101");
+        Long actual = houseDirectory.houseIdOf("101");
+
+        // Then
+        assertEquals(1L, actual);
+        verify(mockHouseRepository, times(2)).findIdByHouseCode("101");
+    }
+
+    @Test
+    void testHouseIdOfClient_EvictClient() {
+        // Given
+        HouseDirectory houseDirectory = houseDirectory(60000);
+        when(mockClientRepository.findHouseIdById(1L)).thenReturn(3L).thenReturn(4L);
+        houseDirectory.houseIdOfClient(1L);
+
+        // When
+        houseDirectory.evictClient(1L);
+        Long actual = houseDirectory.houseIdOfClient(1L);
+
+        // Then
+        assertEquals(4L, actual);
+    }
+
+    private HouseDirectory houseDirectory(long ttlMillis) {
+        return new HouseDirectory(mockHouseRepository, mockClientRepository, ttlMillis, 100);
+    }
+}
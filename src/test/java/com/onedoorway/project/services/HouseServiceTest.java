@@ -8,8 +8,10 @@ import static org.hamcrest.core.AnyOf.anyOf;
 import static org.hamcrest.core.Every.everyItem;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,19 +48,32 @@ class HouseServiceTest {
 
     @Mock HouseContactRepository mockHouseContactRepository;
 
+    @Mock SecurityStampService mockSecurityStampService;
+
+    @Mock HouseDirectory mockHouseDirectory;
+
     private final FrozenContext context = new FrozenContext();
 
     private HouseService houseService;
+    private SearchIndex searchIndex;
 
     @BeforeEach
     void init() {
+        context.setUserRepository(mockUserRepository);
+        searchIndex =
+                new SearchIndex(mockClientRepository, mockUserRepository, mockHouseRepository);
         houseService =
                 new HouseService(
                         mockHouseRepository,
                         mockClientRepository,
                         mockUserRepository,
                         mockHouseContactRepository,
-                        context);
+                        context,
+                        mockSecurityStampService,
+                        mockHouseDirectory,
+                        new HouseSummaryCache(mockHouseRepository, 60000),
+                        new DtoMapper(),
+                        searchIndex);
     }
 
     @SneakyThrows
@@ -178,6 +193,7 @@ class HouseServiceTest {
         // Then
         Client expected = Client.builder().name(clientName).id(1).house(house).build();
         verify(mockClientRepository).save(eq(expected));
+        verify(mockHouseDirectory).evictClient(1L);
     }
 
     @Test
@@ -303,6 +319,7 @@ class HouseServiceTest {
         User expected =
                 User.builder().id(userId).email("test@test.com").houses(Set.of(house)).build();
         verify(mockUserRepository).save(eq(expected));
+        verify(mockSecurityStampService).bump(any(User.class));
     }
 
     @Test
@@ -365,6 +382,34 @@ class HouseServiceTest {
         verify(mockClientRepository).save(clientArgumentCaptor.capture());
         Client actualWithoutHouse = clientArgumentCaptor.getValue();
         assertEquals(clientWithoutHouse, actualWithoutHouse);
+        verify(mockHouseDirectory).evictClient(clientId);
+    }
+
+    @SneakyThrows
+    @Test
+    void testIsUserInHouse_Success() {
+        // Given
+        when(mockHouseDirectory.houseIdOf("101")).thenReturn(1L);
+        when(mockUserRepository.existsByEmailAndHouses_Id("test@test.com", 1L)).thenReturn(true);
+
+        // When
+        boolean result = houseService.isUserInHouse("test@test.com", "101");
+
+        // Then
+        assertTrue(result);
+    }
+
+    @Test
+    void testIsUserInHouse_Failure_HouseNotFound() {
+        // Given
+        when(mockHouseDirectory.houseIdOf("101")).thenReturn(null);
+
+        assertThrows(
+                HouseServiceException.class,
+                () -> {
+                    // When
+                    houseService.isUserInHouse("test@test.com", "101");
+                });
     }
 
     @Test
@@ -384,8 +429,8 @@ class HouseServiceTest {
     @Test
     void testListAllHouses_Success() {
         // Given
-        House house1 =
-                House.builder()
+        HouseDTO house1 =
+                HouseDTO.builder()
                         .id(1)
                         .houseCode("100")
                         .phone("0412345678")
@@ -395,10 +440,12 @@ class HouseServiceTest {
                         .state("Australia")
                         .deleted(false)
                         .postCode("2000")
+                        .totalClients(3)
+                        .totalUsers(2)
                         .build();
 
-        House house2 =
-                House.builder()
+        HouseDTO house2 =
+                HouseDTO.builder()
                         .id(2)
                         .houseCode("200")
                         .phone("0412345687")
@@ -408,8 +455,11 @@ class HouseServiceTest {
                         .state("Australia")
                         .deleted(false)
                         .postCode("3000")
+                        .totalClients(0)
+                        .totalUsers(1)
                         .build();
-        when(mockHouseRepository.findAllByDeleted(false)).thenReturn(List.of(house1, house2));
+        when(mockHouseRepository.findSummariesByDeleted(false))
+                .thenReturn(List.of(house1, house2));
         List<HouseDTO> houses = houseService.listAllHouses();
 
         // Then
@@ -467,6 +517,53 @@ class HouseServiceTest {
                                         anyOf(
                                                 equalTo(house1.getPostCode()),
                                                 equalTo(house2.getPostCode())))))));
+        assertEquals(3, houses.get(0).getTotalClients());
+        assertEquals(2, houses.get(0).getTotalUsers());
+        assertEquals(1, houses.get(1).getTotalUsers());
+    }
+
+    @SneakyThrows
+    @Test
+    void testListAllHouses_CachedUntilMembershipChanges() {
+        // Given
+        HouseDTO house = HouseDTO.builder().id(1).houseCode("100").totalClients(1).build();
+        when(mockHouseRepository.findSummariesByDeleted(false)).thenReturn(List.of(house));
+        when(mockHouseRepository.getByHouseCode("100"))
+                .thenReturn(House.builder().id(1).houseCode("100").build());
+        when(mockClientRepository.findById(5L))
+                .thenReturn(Optional.of(Client.builder().id(5).build()));
+
+        // When
+        houseService.listAllHouses();
+        houseService.listAllHouses();
+        houseService.addClient(5L, "100");
+        houseService.listAllHouses();
+
+        // Then
+        verify(mockHouseRepository, times(2)).findSummariesByDeleted(false);
+    }
+
+    @Test
+    void testSearchHouses_RankedByMatch() {
+        // Given
+        HouseDTO house1 = HouseDTO.builder().id(1).houseCode("A100").build();
+        HouseDTO house2 = HouseDTO.builder().id(2).houseCode("100").build();
+        HouseDTO house3 = HouseDTO.builder().id(3).houseCode("200").build();
+        when(mockHouseRepository.findAll())
+                .thenReturn(
+                        List.of(
+                                House.builder().id(1).houseCode("A100").build(),
+                                House.builder().id(2).houseCode("100").build(),
+                                House.builder().id(3).houseCode("200").build()));
+        when(mockHouseRepository.findSummariesByDeleted(false))
+                .thenReturn(List.of(house1, house2, house3));
+        searchIndex.rebuild();
+
+        // When
+        List<HouseDTO> houses = houseService.searchHouses("100");
+
+        // Then
+        assertEquals(List.of(house2, house1), houses);
     }
 
     @Test
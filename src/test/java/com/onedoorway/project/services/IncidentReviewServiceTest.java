@@ -9,8 +9,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.onedoorway.project.dto.ArchivedIncident;
+import com.onedoorway.project.dto.IncidentDTO;
 import com.onedoorway.project.dto.IncidentReviewDTO;
 import com.onedoorway.project.exception.ReviewServiceException;
+import com.onedoorway.project.model.ArchiveRecordType;
 import com.onedoorway.project.model.Incident;
 import com.onedoorway.project.model.IncidentReview;
 import com.onedoorway.project.model.YesNo;
@@ -34,13 +37,20 @@ class IncidentReviewServiceTest {
     @Mock IncidentReviewRepository mockIncidentReviewRepository;
 
     @Mock IncidentRepository mockIncidentRepository;
+    @Mock NoteSearchService mockNoteSearchService;
+    @Mock ArchiveService mockArchiveService;
 
     private IncidentReviewService incidentReviewService;
 
     @BeforeEach
     void init() {
         incidentReviewService =
-                new IncidentReviewService(mockIncidentReviewRepository, mockIncidentRepository);
+                new IncidentReviewService(
+                        mockIncidentReviewRepository,
+                        mockIncidentRepository,
+                        new DtoMapper(),
+                        mockNoteSearchService,
+                        mockArchiveService);
     }
 
     @SneakyThrows
@@ -181,6 +191,26 @@ class IncidentReviewServiceTest {
         assertEquals(expected, actual);
     }
 
+    @SneakyThrows
+    @Test
+    void testGetReview_Success_FromArchive() {
+        // Given
+        IncidentReviewDTO review = IncidentReviewDTO.builder().id(1L).incidentId(1L).build();
+        when(mockArchiveService.read(ArchiveRecordType.INCIDENT, "1", ArchivedIncident.class))
+                .thenReturn(
+                        Optional.of(
+                                ArchivedIncident.builder()
+                                        .incident(new IncidentDTO())
+                                        .reviews(List.of(review))
+                                        .build()));
+
+        // When
+        List<IncidentReviewDTO> actual = incidentReviewService.getReviewById(1L);
+
+        // Then
+        assertEquals(List.of(review), actual);
+    }
+
     @SneakyThrows
     @Test
     void testGetReview_Success() {
@@ -603,6 +633,7 @@ class IncidentReviewServiceTest {
         // Then
         ArgumentCaptor<IncidentReview> incidentArgumentCaptor =
                 ArgumentCaptor.forClass(IncidentReview.class);
+        verify(mockIncidentRepository).save(incident);
         verify(mockIncidentReviewRepository).save(incidentArgumentCaptor.capture());
 
         IncidentReview actual = incidentArgumentCaptor.getValue();
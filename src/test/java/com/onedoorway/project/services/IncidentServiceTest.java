@@ -6,7 +6,9 @@ import static org.hamcrest.core.Every.everyItem;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,10 +17,13 @@ import com.onedoorway.project.dto.*;
 import com.onedoorway.project.exception.IncidentServiceException;
 import com.onedoorway.project.model.*;
 import com.onedoorway.project.repository.*;
+import com.onedoorway.project.util.Cursor;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.SneakyThrows;
 import org.hamcrest.beans.HasPropertyWithValue;
@@ -32,6 +37,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.test.context.support.WithMockUser;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +51,8 @@ class IncidentServiceTest {
     @Mock HouseRepository mockHouseRepository;
 
     @Mock UserRepository mockUserRepository;
+    @Mock NoteSearchService mockNoteSearchService;
+    @Mock ArchiveService mockArchiveService;
 
     private IncidentService incidentService;
 
@@ -52,6 +60,7 @@ class IncidentServiceTest {
 
     @BeforeEach
     void init() {
+        context.setUserRepository(mockUserRepository);
         incidentService =
                 new IncidentService(
                         mockIncidentRepository,
@@ -59,7 +68,10 @@ class IncidentServiceTest {
                         mockHouseRepository,
                         mockLookupRepository,
                         mockUserRepository,
-                        context);
+                        context,
+                        new DtoMapper(),
+                        mockNoteSearchService,
+                        mockArchiveService);
     }
 
     @SneakyThrows
@@ -317,6 +329,27 @@ class IncidentServiceTest {
                 });
     }
 
+    @SneakyThrows
+    @Test
+    void testGetIncident_Success_FromArchive() {
+        // Given
+        long id = 1;
+        IncidentDTO expected = new ModelMapper().map(createAnIncident(), IncidentDTO.class);
+        when(mockArchiveService.read(ArchiveRecordType.INCIDENT, "1", ArchivedIncident.class))
+                .thenReturn(
+                        Optional.of(
+                                ArchivedIncident.builder()
+                                        .incident(expected)
+                                        .reviews(List.of())
+                                        .build()));
+
+        // When
+        IncidentDTO actual = incidentService.getIncidentById(id);
+
+        // Then
+        assertEquals(expected, actual);
+    }
+
     @Test
     @SneakyThrows
     void testListIncidents() {
@@ -329,9 +362,9 @@ class IncidentServiceTest {
         User user = User.builder().email(context.currentUser()).id(1).build();
 
         when(mockUserRepository.getByEmail(context.currentUser())).thenReturn(user);
-        when(mockIncidentRepository.findAllByHouse_HouseCodeAndClient_Name(
-                        any(String.class), any(String.class), any(Pageable.class)))
-                .thenReturn(List.of(incident1, incident2));
+        when(mockIncidentRepository.findListByHouseCodeAndClientName(
+                        any(String.class), any(String.class), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(toListView(incident1), toListView(incident2)));
         ListIncidentRequest request =
                 ListIncidentRequest.builder()
                         .clientName(clientName)
@@ -340,7 +373,7 @@ class IncidentServiceTest {
                         .pageSize(2)
                         .build();
 
-        List<IncidentDTO> incidents = incidentService.listIncident(request);
+        List<IncidentDTO> incidents = incidentService.listIncident(request).getItems();
 
         assertEquals(2, incidents.size());
         assertThat(
@@ -368,9 +401,14 @@ class IncidentServiceTest {
                                                 UserDTO.builder()
                                                         .id(1)
                                                         .email("test@test.com")
+                                                        .houses(List.of())
                                                         .build()))),
                         everyItem(HasPropertyWithValue.hasProperty("status", equalTo("RAISED"))),
                         everyItem(HasPropertyWithValue.hasProperty("raisedFor", equalTo("STAFF"))),
+                        everyItem(
+                                HasPropertyWithValue.hasProperty(
+                                        "injuredGivenName",
+                                        equalTo(incident1.getInjuredGivenName()))),
                         everyItem(
                                 HasPropertyWithValue.hasProperty(
                                         "witnessName", equalTo(incident1.getWitnessName()))),
@@ -392,13 +430,6 @@ class IncidentServiceTest {
                         everyItem(
                                 HasPropertyWithValue.hasProperty(
                                         "policeNumber", equalTo(incident1.getPoliceNumber()))),
-                        everyItem(
-                                HasPropertyWithValue.hasProperty(
-                                        "beforeIncident", equalTo(incident1.getBeforeIncident()))),
-                        everyItem(
-                                HasPropertyWithValue.hasProperty(
-                                        "immediateAction",
-                                        equalTo(incident1.getImmediateAction()))),
                         everyItem(
                                 HasPropertyWithValue.hasProperty(
                                         "reportableToNDIS",
@@ -407,6 +438,9 @@ class IncidentServiceTest {
                                 HasPropertyWithValue.hasProperty(
                                         "reportableToWorksafe",
                                         equalTo(incident1.getReportableToWorksafe().name()))),
+                        everyItem(HasPropertyWithValue.hasProperty("description", nullValue())),
+                        everyItem(
+                                HasPropertyWithValue.hasProperty("beforeIncident", nullValue())),
                         everyItem(
                                 HasPropertyWithValue.hasProperty(
                                         "category",
@@ -427,6 +461,7 @@ class IncidentServiceTest {
                                                 UserDTO.builder()
                                                         .id(1)
                                                         .email("test@test.com")
+                                                        .houses(List.of())
                                                         .build()))))));
     }
 
@@ -446,12 +481,58 @@ class IncidentServiceTest {
                         .build();
 
         // When
-        List<IncidentDTO> incidentListDTOS = incidentService.listIncident(request);
+        List<IncidentDTO> incidentListDTOS = incidentService.listIncident(request).getItems();
 
         // Then
         assertEquals(incidentListDTOS.size(), 0);
     }
 
+    @SneakyThrows
+    @Test
+    void testListIncidents_Cursor() {
+        // Given
+        User user = User.builder().email(context.currentUser()).id(1).build();
+        when(mockUserRepository.getByEmail(context.currentUser())).thenReturn(user);
+        Incident incident = createAnIncident();
+        incident.setId(7);
+        when(mockIncidentRepository.findListByHouseCode(eq("100"), eq(8L), any(Pageable.class)))
+                .thenReturn(List.of(toListView(incident)));
+
+        ListIncidentRequest request =
+                ListIncidentRequest.builder()
+                        .houseCode("100")
+                        .after(Cursor.encode(8L, 8L))
+                        .pageNumber(5)
+                        .pageSize(1)
+                        .build();
+
+        // When
+        CursorPage<IncidentDTO> page = incidentService.listIncident(request);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(mockIncidentRepository).findListByHouseCode(eq("100"), eq(8L), pageable.capture());
+        assertEquals(0, pageable.getValue().getOffset());
+        assertEquals(1, page.getItems().size());
+        assertEquals(Cursor.encode(7L, 7L), page.getNextCursor());
+    }
+
+    @Test
+    void testListIncidents_Failure_InvalidCursor() {
+        // Given
+        User user = User.builder().email(context.currentUser()).id(1).build();
+        when(mockUserRepository.getByEmail(context.currentUser())).thenReturn(user);
+        ListIncidentRequest request =
+                ListIncidentRequest.builder()
+                        .after("not a cursor")
+                        .pageNumber(0)
+                        .pageSize(1)
+                        .build();
+
+        // When
+        assertThrows(IncidentServiceException.class, () -> incidentService.listIncident(request));
+    }
+
     @SneakyThrows
     @Test
     void testCloseIncident_Success() {
@@ -488,6 +569,43 @@ class IncidentServiceTest {
         verify(mockIncidentRepository).save(eq(expected));
     }
 
+    private static IncidentListView toListView(Incident incident) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", incident.getId());
+        row.put("status", incident.getStatus());
+        row.put("raisedFor", incident.getRaisedFor());
+        row.put("escalated", incident.isEscalated());
+        row.put("dateOccurred", incident.getDateOccurred());
+        row.put("location", incident.getLocation());
+        row.put("exactLocation", incident.getExactLocation());
+        row.put("injuredGivenName", incident.getInjuredGivenName());
+        row.put("injuredFamilyName", incident.getInjuredFamilyName());
+        row.put("witnessName", incident.getWitnessName());
+        row.put("witnessDesignation", incident.getWitnessDesignation());
+        row.put("followUpResponsibility", incident.getFollowUpResponsibility());
+        row.put("policeReport", incident.getPoliceReport());
+        row.put("policeName", incident.getPoliceName());
+        row.put("policeNumber", incident.getPoliceNumber());
+        row.put("policeStation", incident.getPoliceStation());
+        row.put("reportableToNDIS", incident.getReportableToNDIS());
+        row.put("reportableToWorksafe", incident.getReportableToWorksafe());
+        row.put("categoryId", incident.getCategory().getId());
+        row.put("categoryName", incident.getCategory().getName());
+        row.put("typeId", incident.getType().getId());
+        row.put("typeName", incident.getType().getName());
+        row.put("classificationId", incident.getClassification().getId());
+        row.put("classificationName", incident.getClassification().getName());
+        row.put("houseId", incident.getHouse().getId());
+        row.put("houseCode", incident.getHouse().getHouseCode());
+        row.put("clientId", incident.getClient().getId());
+        row.put("clientName", incident.getClient().getName());
+        row.put("reportedById", incident.getReportedBy().getId());
+        row.put("reportedByEmail", incident.getReportedBy().getEmail());
+        row.put("escalatedToId", incident.getEscalatedTo().getId());
+        row.put("escalatedToEmail", incident.getEscalatedTo().getEmail());
+        return new SpelAwareProxyProjectionFactory().createProjection(IncidentListView.class, row);
+    }
+
     private Incident createAnIncident() {
         User user = User.builder().email(context.currentUser()).id(1).build();
 
@@ -861,6 +979,144 @@ class IncidentServiceTest {
                 });
     }
 
+    @SneakyThrows
+    @Test
+    void testUpdateIncident_NullField_KeepsExistingValue() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(1900, 7, 8, 10, 23, 33);
+        Incident incident =
+                Incident.builder()
+                        .id(1L)
+                        .status(Status.RAISED)
+                        .raisedFor(RaisedFor.STAFF)
+                        .dateOccurred(date)
+                        .description("desc")
+                        .location("loc")
+                        .policeReport(YesNo.Yes)
+                        .policeName("LAPD")
+                        .build();
+        IncidentRequest request =
+                IncidentRequest.builder()
+                        .raisedFor(RaisedFor.STAFF.name())
+                        .description("new desc")
+                        .build();
+        when(mockIncidentRepository.findById(1L)).thenReturn(Optional.of(incident));
+
+        // When
+        incidentService.updateIncident(1L, request);
+
+        // Then
+        Incident expected =
+                Incident.builder()
+                        .id(1L)
+                        .status(Status.RAISED)
+                        .raisedFor(RaisedFor.STAFF)
+                        .dateOccurred(date)
+                        .description("new desc")
+                        .location("loc")
+                        .policeReport(YesNo.Yes)
+                        .policeName("LAPD")
+                        .build();
+        verify(mockIncidentRepository).save(eq(expected));
+        verify(mockLookupRepository, never()).getById(anyLong());
+    }
+
+    @SneakyThrows
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateIncident_WithVersion_NullField_LeftOut() {
+        // Given
+        IncidentRequest request =
+                IncidentRequest.builder()
+                        .raisedFor(RaisedFor.STAFF.name())
+                        .description("new desc")
+                        .version(4L)
+                        .build();
+        when(mockIncidentRepository.updateIfVersion(any())).thenReturn(true);
+
+        // When
+        incidentService.updateIncident(1L, request);
+
+        // Then
+        ArgumentCaptor<VersionedUpdate<Incident>> captor =
+                ArgumentCaptor.forClass(VersionedUpdate.class);
+        verify(mockIncidentRepository).updateIfVersion(captor.capture());
+        assertEquals(
+                Map.of(
+                        Incident.Fields.raisedFor, RaisedFor.STAFF,
+                        Incident.Fields.description, "new desc"),
+                captor.getValue().getChanges());
+    }
+
+    @SneakyThrows
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateIncident_WithVersion_Success() {
+        // Given
+        IncidentRequest request =
+                IncidentRequest.builder()
+                        .status(Status.CLOSED.name())
+                        .raisedFor(RaisedFor.STAFF.name())
+                        .description("description")
+                        .dateOccurred("1900-07-08 10:23:33")
+                        .location("location")
+                        .exactLocation("exactLocation")
+                        .policeReport(YesNo.No.name())
+                        .policeName("LAPD")
+                        .version(4L)
+                        .build();
+        Incident incident = Incident.builder().id(1L).version(5L).build();
+        when(mockIncidentRepository.updateIfVersion(any())).thenReturn(true);
+        when(mockIncidentRepository.findById(1L)).thenReturn(Optional.of(incident));
+
+        // When
+        incidentService.updateIncident(1L, request);
+
+        // Then
+        ArgumentCaptor<VersionedUpdate<Incident>> captor =
+                ArgumentCaptor.forClass(VersionedUpdate.class);
+        verify(mockIncidentRepository).updateIfVersion(captor.capture());
+        verify(mockNoteSearchService).indexIncident(incident);
+        VersionedUpdate<Incident> actual = captor.getValue();
+        assertEquals(1L, actual.getId());
+        assertEquals(4L, actual.getVersion());
+        assertEquals(
+                Map.of(
+                        Incident.Fields.status, Status.CLOSED,
+                        Incident.Fields.raisedFor, RaisedFor.STAFF,
+                        Incident.Fields.description, "description",
+                        Incident.Fields.dateOccurred, LocalDateTime.of(1900, 7, 8, 10, 23, 33),
+                        Incident.Fields.location, "location",
+                        Incident.Fields.exactLocation, "exactLocation",
+                        Incident.Fields.policeReport, YesNo.No),
+                actual.getChanges());
+        verify(mockLookupRepository, never()).getById(anyLong());
+    }
+
+    @Test
+    void testUpdateIncident_WithVersion_Failure_StaleVersion() {
+        // Given
+        IncidentRequest request =
+                IncidentRequest.builder()
+                        .status(Status.CLOSED.name())
+                        .raisedFor(RaisedFor.CLIENT.name())
+                        .description("description")
+                        .dateOccurred("1900-07-08 10:23:33")
+                        .location("location")
+                        .exactLocation("exactLocation")
+                        .version(4L)
+                        .build();
+        when(mockIncidentRepository.updateIfVersion(any())).thenReturn(false);
+
+        assertThrows(
+                IncidentServiceException.class,
+                () -> {
+                    // When
+                    incidentService.updateIncident(1L, request);
+                });
+        verify(mockNoteSearchService, never()).indexIncident(any());
+    }
+
     @SneakyThrows
     @Test
     void testListForGraph_Success() {
@@ -0,0 +1,143 @@
+package com.onedoorway.project.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.onedoorway.project.model.House;
+import com.onedoorway.project.model.ODWUserDetails;
+import com.onedoorway.project.model.Role;
+import com.onedoorway.project.model.User;
+import com.onedoorway.project.repository.UserRepository;
+import java.util.Set;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+@ExtendWith(MockitoExtension.class)
+class LoginServiceTest {
+    @Mock UserRepository mockUserRepository;
+
+    @Mock SecurityStampService mockSecurityStampService;
+
+    private final BCryptPasswordEncoder passwordEncoder = spy(new BCryptPasswordEncoder(5));
+
+    private LoginService loginService;
+
+    @BeforeEach
+    void init() {
+        loginService =
+                new LoginService(
+                        mockUserRepository, passwordEncoder, mockSecurityStampService, 1, 4, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginService.shutdown();
+    }
+
+    @SneakyThrows
+    @Test
+    void testLogin_Success() {
+        // Given
+        String email = "test@test.com";
+        User user =
+                User.builder()
+                        .id(1)
+                        .email(email)
+                        .password(passwordEncoder.encode("secret"))
+                        .deleted(false)
+                        .securityStamp(2)
+                        .roles(Set.of(Role.builder().id(1).name("USER").build()))
+                        .houses(Set.of(House.builder().id(3).houseCode("100").build()))
+                        .build();
+        when(mockUserRepository.findForLogin(email)).thenReturn(user);
+
+        // When
+        ODWUserDetails userDetails = loginService.login(email, "secret");
+
+        // Then
+        assertEquals(email, userDetails.getUsername());
+        assertEquals(1, userDetails.getHouses().size());
+        verify(mockSecurityStampService).record(email, 2);
+        verify(mockUserRepository, never()).updatePassword(anyLong(), anyString());
+    }
+
+    @Test
+    void testLogin_Failure_WrongPassword() {
+        // Given
+        String email = "test@test.com";
+        User user =
+                User.builder()
+                        .id(1)
+                        .email(email)
+                        .password(passwordEncoder.encode("secret"))
+                        .deleted(false)
+                        .build();
+        when(mockUserRepository.findForLogin(email)).thenReturn(user);
+
+        // When
+        assertThrows(BadCredentialsException.class, () -> loginService.login(email, "wrong"));
+    }
+
+    @Test
+    void testLogin_Failure_UserDeleted() {
+        // Given
+        String email = "test@test.com";
+        User user = User.builder().id(1).email(email).password("hash").deleted(true).build();
+        when(mockUserRepository.findForLogin(email)).thenReturn(user);
+
+        // When
+        assertThrows(BadCredentialsException.class, () -> loginService.login(email, "secret"));
+    }
+
+    @Test
+    void testLogin_Failure_UserNotFound() {
+        // When
+        assertThrows(
+                BadCredentialsException.class, () -> loginService.login("none@test.com", "secret"));
+
+        // Then
+        verify(passwordEncoder).matches(eq("secret"), anyString());
+    }
+
+    @SneakyThrows
+    @Test
+    void testLogin_RehashesWeakerPassword() {
+        // Given
+        String email = "test@test.com";
+        User user =
+                User.builder()
+                        .id(1)
+                        .email(email)
+                        .password(new BCryptPasswordEncoder(4).encode("secret"))
+                        .deleted(false)
+                        .roles(Set.of())
+                        .houses(Set.of())
+                        .build();
+        when(mockUserRepository.findForLogin(email)).thenReturn(user);
+
+        // When
+        loginService.login(email, "secret");
+
+        // Then
+        ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mockUserRepository).updatePassword(eq(1L), hashCaptor.capture());
+        assertTrue(hashCaptor.getValue().startsWith("$2a$05$"));
+        assertTrue(passwordEncoder.matches("secret", hashCaptor.getValue()));
+    }
+}
@@ -29,7 +29,7 @@ class LookupServiceTest {
 
     @BeforeEach
     void init() {
-        lookupService = new LookupService(mockLookupRepository);
+        lookupService = new LookupService(mockLookupRepository, new DtoMapper());
     }
 
     @Test
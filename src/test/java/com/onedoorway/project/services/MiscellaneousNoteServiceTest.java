@@ -46,6 +46,7 @@ import org.springframework.test.context.ActiveProfiles;
 class MiscellaneousNoteServiceTest {
     @Mock MiscellaneousNoteRepository mockMiscellaneousNoteRepository;
     @Mock LookupRepository mockLookupRepository;
+    @Mock NoteSearchService mockNoteSearchService;
     private MiscellaneousNoteService miscellaneousNoteService;
     private final FrozenContext context = new FrozenContext();
 
@@ -53,7 +54,11 @@ class MiscellaneousNoteServiceTest {
     void init() {
         miscellaneousNoteService =
                 new MiscellaneousNoteService(
-                        mockMiscellaneousNoteRepository, mockLookupRepository, context);
+                        mockMiscellaneousNoteRepository,
+                        mockLookupRepository,
+                        context,
+                        new DtoMapper(),
+                        mockNoteSearchService);
     }
 
     @SneakyThrows
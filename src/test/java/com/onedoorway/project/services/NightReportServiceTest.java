@@ -5,7 +5,9 @@ import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,6 +16,7 @@ import com.onedoorway.project.dto.NightReportDTO;
 import com.onedoorway.project.dto.NightReportRequest;
 import com.onedoorway.project.dto.ParticularNightReportRequest;
 import com.onedoorway.project.exception.NightReportServiceException;
+import com.onedoorway.project.model.ArchiveRecordType;
 import com.onedoorway.project.model.Client;
 import com.onedoorway.project.model.NightReport;
 import com.onedoorway.project.repository.ClientRepository;
@@ -44,6 +47,8 @@ class NightReportServiceTest {
 
     @Mock ClientRepository mockClientRepository;
 
+    @Mock ArchiveService mockArchiveService;
+
     private NightReportService nightReportService;
 
     private final FrozenContext context = new FrozenContext();
@@ -51,7 +56,12 @@ class NightReportServiceTest {
     @BeforeEach
     void init() {
         nightReportService =
-                new NightReportService(mockNightReportRepository, mockClientRepository, context);
+                new NightReportService(
+                        mockNightReportRepository,
+                        mockClientRepository,
+                        context,
+                        new DtoMapper(),
+                        mockArchiveService);
     }
 
     @SneakyThrows
@@ -147,6 +157,8 @@ class NightReportServiceTest {
                         .build();
         when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
 
+        when(mockNightReportRepository.insertIfAbsent(any())).thenReturn(true);
+
         // When
         nightReportService.createNightReport(request);
 
@@ -203,7 +215,7 @@ class NightReportServiceTest {
 
         ArgumentCaptor<NightReport> nightReportArgumentCaptor =
                 ArgumentCaptor.forClass(NightReport.class);
-        verify(mockNightReportRepository).save(nightReportArgumentCaptor.capture());
+        verify(mockNightReportRepository).insertIfAbsent(nightReportArgumentCaptor.capture());
 
         assertThat(
                 expected,
@@ -270,6 +282,52 @@ class NightReportServiceTest {
                                 "childLockVehicleBy", equalTo(childLockVehicleBy)))));
     }
 
+    @Test
+    void testCreateNightReport_Failure_AlreadyExists() {
+        // Given
+        NightReportRequest request =
+                NightReportRequest.builder()
+                        .clientId(1L)
+                        .cleanToilet(true)
+                        .reportDate(LocalDate.of(2021, 10, 14))
+                        .build();
+        Client client = Client.builder().id(1L).name("client").build();
+        when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(mockNightReportRepository.insertIfAbsent(any())).thenReturn(false);
+
+        assertThrows(
+                NightReportServiceException.class,
+                () -> {
+                    // When
+                    nightReportService.createNightReport(request);
+                });
+    }
+
+    @Test
+    void testCreateNightReport_Failure_Archived() {
+        // Given
+        NightReportRequest request =
+                NightReportRequest.builder()
+                        .clientId(1L)
+                        .cleanToilet(true)
+                        .reportDate(LocalDate.of(2021, 10, 14))
+                        .build();
+        Client client = Client.builder().id(1L).name("client").build();
+        when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(mockArchiveService.isArchived(ArchiveRecordType.NIGHT_REPORT, "1/2021-10-14"))
+                .thenReturn(true);
+
+        assertThrows(
+                NightReportServiceException.class,
+                () -> {
+                    // When
+                    nightReportService.createNightReport(request);
+                });
+
+        // Then
+        verify(mockNightReportRepository, never()).insertIfAbsent(any());
+    }
+
     @SneakyThrows
     @Test
     @WithMockUser
@@ -710,4 +768,29 @@ class NightReportServiceTest {
                     nightReportService.getParticularNightReport(request);
                 });
     }
+
+    @SneakyThrows
+    @Test
+    void testGetParticularNightReport_Success_FromArchive() {
+        // Given
+        long id = 1;
+        Client client = Client.builder().name("clientName").id(id).build();
+        when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
+        NightReportDTO expected = new NightReportDTO();
+        expected.setCleanToilet(true);
+        when(mockArchiveService.read(
+                        ArchiveRecordType.NIGHT_REPORT, "1/2021-10-09", NightReportDTO.class))
+                .thenReturn(Optional.of(expected));
+        ParticularNightReportRequest request =
+                ParticularNightReportRequest.builder()
+                        .clientId(id)
+                        .reportDate("2021-10-09")
+                        .build();
+
+        // When
+        NightReportDTO actual = nightReportService.getParticularNightReport(request);
+
+        // Then
+        assertEquals(expected, actual);
+    }
 }
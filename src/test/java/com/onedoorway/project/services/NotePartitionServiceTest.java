@@ -0,0 +1,55 @@
+package com.onedoorway.project.services;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class NotePartitionServiceTest {
+    private static final String SQL = "select create_month_partition(?, ?, ?)";
+
+    @Mock JdbcTemplate mockJdbcTemplate;
+
+    private NotePartitionService notePartitionService;
+
+    @BeforeEach
+    void init() {
+        notePartitionService = new NotePartitionService(mockJdbcTemplate, 1);
+    }
+
+    @Test
+    void testCreateUpcomingPartitions() {
+        // Given
+        when(mockJdbcTemplate.queryForObject(
+                        eq(SQL), eq(Boolean.class), anyString(), anyString(), any(Date.class)))
+                .thenReturn(false);
+        Date thisMonth = Date.valueOf(YearMonth.now().atDay(1));
+        Date nextMonth = Date.valueOf(YearMonth.now().plusMonths(1).atDay(1));
+
+        // When
+        notePartitionService.createUpcomingPartitions();
+
+        // Then
+        for (String[] table : NotePartitionService.PARTITIONED_TABLES) {
+            verify(mockJdbcTemplate)
+                    .queryForObject(SQL, Boolean.class, table[0], table[1], thisMonth);
+            verify(mockJdbcTemplate)
+                    .queryForObject(SQL, Boolean.class, table[0], table[1], nextMonth);
+        }
+        verify(mockJdbcTemplate, times(12))
+                .queryForObject(
+                        eq(SQL), eq(Boolean.class), anyString(), anyString(), any(Date.class));
+    }
+}
@@ -0,0 +1,233 @@
+package com.onedoorway.project.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.onedoorway.project.dto.CursorPage;
+import com.onedoorway.project.dto.NoteSearchHit;
+import com.onedoorway.project.dto.NoteSearchRequest;
+import com.onedoorway.project.exception.NoteSearchServiceException;
+import com.onedoorway.project.model.CaseNote;
+import com.onedoorway.project.model.Client;
+import com.onedoorway.project.model.DailyNote;
+import com.onedoorway.project.model.House;
+import com.onedoorway.project.model.Incident;
+import com.onedoorway.project.repository.CaseNoteRepository;
+import com.onedoorway.project.repository.DailyNoteRepository;
+import com.onedoorway.project.repository.HandoverSummaryRepository;
+import com.onedoorway.project.repository.IncidentRepository;
+import com.onedoorway.project.repository.IncidentReviewRepository;
+import com.onedoorway.project.repository.MiscellaneousNoteRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class NoteSearchServiceTest {
+    @Mock DailyNoteRepository mockDailyNoteRepository;
+    @Mock CaseNoteRepository mockCaseNoteRepository;
+    @Mock MiscellaneousNoteRepository mockMiscellaneousNoteRepository;
+    @Mock HandoverSummaryRepository mockHandoverSummaryRepository;
+    @Mock IncidentRepository mockIncidentRepository;
+    @Mock IncidentReviewRepository mockIncidentReviewRepository;
+    @Mock PlatformTransactionManager mockTransactionManager;
+
+    private final House house = House.builder().id(1).houseCode("101").build();
+    private final Client client = Client.builder().id(5).name("client").house(house).build();
+
+    private NoteSearchService noteSearchService;
+
+    @SneakyThrows
+    @BeforeEach
+    void init() {
+        noteSearchService =
+                new NoteSearchService(
+                        mockDailyNoteRepository,
+                        mockCaseNoteRepository,
+                        mockMiscellaneousNoteRepository,
+                        mockHandoverSummaryRepository,
+                        mockIncidentRepository,
+                        mockIncidentReviewRepository,
+                        mockTransactionManager,
+                        "");
+        noteSearchService.open();
+    }
+
+    @SneakyThrows
+    @AfterEach
+    void close() {
+        noteSearchService.close();
+    }
+
+    @SneakyThrows
+    @Test
+    void testSearch_FilteredByHouseWithHighlights() {
+        // Given
+        House other = House.builder().id(2).houseCode("102").build();
+        noteSearchService.indexDailyNote(dailyNote(1, "Fell over in the garden", 100));
+        noteSearchService.indexIncident(
+                Incident.builder()
+                        .id(1)
+                        .house(other)
+                        .description("Fell down the stairs")
+                        .createdAt(Instant.ofEpochSecond(200))
+                        .build());
+        noteSearchService.awaitUpdates();
+
+        // When
+        CursorPage<NoteSearchHit> actual =
+                noteSearchService.search(
+                        NoteSearchRequest.builder().query("fell").houseCode("101").build());
+
+        // Then
+        assertEquals(1, actual.getItems().size());
+        NoteSearchHit hit = actual.getItems().get(0);
+        assertEquals(NoteSearchHit.Type.DAILY_NOTE, hit.getType());
+        assertEquals(1, hit.getId());
+        assertEquals(5L, hit.getClientId());
+        assertEquals(Instant.ofEpochSecond(100), hit.getDate());
+        assertTrue(hit.getSnippet().contains("<b>Fell</b>"));
+        assertNull(actual.getNextCursor());
+    }
+
+    @SneakyThrows
+    @Test
+    void testSearch_CursorPagesNewestFirst() {
+        // Given
+        noteSearchService.indexDailyNote(dailyNote(1, "medication given", 100));
+        noteSearchService.indexDailyNote(dailyNote(2, "medication refused", 300));
+        noteSearchService.indexDailyNote(dailyNote(3, "medication given late", 200));
+        noteSearchService.awaitUpdates();
+
+        // When
+        CursorPage<NoteSearchHit> first =
+                noteSearchService.search(
+                        NoteSearchRequest.builder()
+                                .query("medication")
+                                .houseCode("101")
+                                .pageSize(2)
+                                .build());
+        CursorPage<NoteSearchHit> second =
+                noteSearchService.search(
+                        NoteSearchRequest.builder()
+                                .query("medication")
+                                .houseCode("101")
+                                .pageSize(2)
+                                .after(first.getNextCursor())
+                                .build());
+
+        // Then
+        assertEquals(List.of(2L, 3L), ids(first));
+        assertNotNull(first.getNextCursor());
+        assertEquals(List.of(1L), ids(second));
+        assertNull(second.getNextCursor());
+    }
+
+    @SneakyThrows
+    @Test
+    void testSearch_RemovedAndDeletedNotesAreNotFound() {
+        // Given
+        noteSearchService.indexDailyNote(dailyNote(1, "visited the park", 100));
+        noteSearchService.indexCaseNote(
+                CaseNote.builder()
+                        .id(1)
+                        .client(client)
+                        .subject("park")
+                        .content("went to the park")
+                        .noteDate(LocalDate.of(2021, 7, 1))
+                        .deleted(false)
+                        .build());
+        noteSearchService.removeDailyNote(1);
+        noteSearchService.indexCaseNote(
+                CaseNote.builder()
+                        .id(1)
+                        .client(client)
+                        .subject("park")
+                        .content("went to the park")
+                        .deleted(true)
+                        .build());
+        noteSearchService.awaitUpdates();
+
+        // When
+        CursorPage<NoteSearchHit> actual =
+                noteSearchService.search(
+                        NoteSearchRequest.builder().query("park").houseCode("101").build());
+
+        // Then
+        assertTrue(actual.getItems().isEmpty());
+    }
+
+    @SneakyThrows
+    @Test
+    void testRebuild_FromRepositories() {
+        // Given
+        when(mockDailyNoteRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(dailyNote(7, "slept well", 100))));
+        when(mockCaseNoteRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+        when(mockMiscellaneousNoteRepository.findAll(any(Pageable.class)))
+                .thenReturn(Page.empty());
+        when(mockHandoverSummaryRepository.findAll(any(Pageable.class)))
+                .thenReturn(Page.empty());
+        when(mockIncidentRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+        when(mockIncidentReviewRepository.findAll(any(Pageable.class)))
+                .thenReturn(Page.empty());
+        noteSearchService.indexDailyNote(dailyNote(8, "slept badly", 200));
+        noteSearchService.awaitUpdates();
+
+        // When
+        noteSearchService.rebuild();
+        noteSearchService.awaitUpdates();
+
+        // Then
+        CursorPage<NoteSearchHit> actual =
+                noteSearchService.search(NoteSearchRequest.builder().query("slept").build());
+        assertEquals(List.of(7L), ids(actual));
+    }
+
+    @Test
+    void testSearch_Failure_InvalidCursor() {
+        // Given
+        NoteSearchRequest request =
+                NoteSearchRequest.builder().query("note").after("not a cursor").build();
+
+        // When
+        NoteSearchServiceException exception =
+                assertThrows(
+                        NoteSearchServiceException.class,
+                        () -> noteSearchService.search(request));
+
+        // Then
+        assertEquals("Invalid cursor not a cursor", exception.getMessage());
+    }
+
+    private DailyNote dailyNote(long id, String note, long createdAt) {
+        return DailyNote.builder()
+                .id(id)
+                .house(house)
+                .client(client)
+                .note(note)
+                .createdAt(Instant.ofEpochSecond(createdAt))
+                .build();
+    }
+
+    private static List<Long> ids(CursorPage<NoteSearchHit> page) {
+        return page.getItems().stream().map(NoteSearchHit::getId).collect(Collectors.toList());
+    }
+}
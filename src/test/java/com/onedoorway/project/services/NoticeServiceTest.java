@@ -63,9 +63,13 @@ class NoticeServiceTest {
 
     @BeforeEach
     void init() {
+        context.setUserRepository(mockUserRepository);
         noticeService =
                 new NoticeService(
-                        mockNoticeRepository, mockUserRepository, mockHouseRepository, context);
+                        mockNoticeRepository,
+                        mockHouseRepository,
+                        context,
+                        new DtoMapper());
     }
 
     @SneakyThrows
@@ -44,7 +44,8 @@ public class PowerOfAttorneyServiceTest {
     @BeforeEach
     void init() {
         powerOfAttorneyService =
-                new PowerOfAttorneyService(mockClientRepository, mockPowerOFAttorneyRepository);
+                new PowerOfAttorneyService(
+                        mockClientRepository, mockPowerOFAttorneyRepository, new DtoMapper());
     }
 
     @SneakyThrows
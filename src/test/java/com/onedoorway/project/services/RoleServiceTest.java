@@ -21,7 +21,7 @@ class RoleServiceTest {
 
     @BeforeEach
     void init() {
-        roleService = new RoleService(mockRoleRepository);
+        roleService = new RoleService(mockRoleRepository, new DtoMapper());
     }
 
     @Test
@@ -0,0 +1,150 @@
+package com.onedoorway.project.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.onedoorway.project.filters.TokenCache;
+import com.onedoorway.project.model.JwtPrincipal;
+import com.onedoorway.project.model.User;
+import com.onedoorway.project.repository.UserRepository;
+import com.onedoorway.project.repository.UserStamp;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityStampServiceTest {
+    @Mock UserRepository mockUserRepository;
+
+    @Mock TokenCache mockTokenCache;
+
+    private SecurityStampService securityStampService;
+
+    @BeforeEach
+    void init() {
+        securityStampService = new SecurityStampService(mockUserRepository, mockTokenCache);
+    }
+
+    @Test
+    void testRefresh_Success() {
+        // Given
+        when(mockUserRepository.findAllSecurityStamps())
+                .thenReturn(
+                        List.of(
+                                stamp("Active@test.com", 3, false),
+                                stamp("new@test.com", null, null),
+                                stamp("deleted@test.com", 2, true)));
+
+        // When
+        securityStampService.refresh();
+
+        // Then
+        assertEquals(3, (int) securityStampService.getStamp("active@test.com"));
+        assertEquals(0, (int) securityStampService.getStamp("new@test.com"));
+        assertEquals(
+                JwtPrincipal.REVOKED_STAMP,
+                (int) securityStampService.getStamp("deleted@test.com"));
+        assertNull(securityStampService.getStamp("unknown@test.com"));
+    }
+
+    @Test
+    void testBump_Success() {
+        // Given
+        User user = User.builder().email("test@test.com").securityStamp(4).build();
+        securityStampService.record("test@test.com", 4);
+        JwtPrincipal issuedBefore = principal("test@test.com", 4);
+
+        // When
+        securityStampService.bump(user);
+
+        // Then
+        assertEquals(5, (int) user.getSecurityStamp());
+        assertFalse(securityStampService.isCurrent(issuedBefore));
+        assertTrue(securityStampService.isCurrent(principal("test@test.com", 5)));
+        verify(mockTokenCache).evictUser("test@test.com");
+    }
+
+    @Test
+    void testBump_DeletedUser() {
+        // Given
+        User user = User.builder().email("test@test.com").deleted(true).build();
+
+        // When
+        securityStampService.bump(user);
+
+        // Then
+        assertEquals(1, (int) user.getSecurityStamp());
+        assertFalse(securityStampService.isCurrent(principal("test@test.com", 1)));
+    }
+
+    @Test
+    void testBump_InTransaction_WaitsForCommit() {
+        // Given
+        User user = User.builder().email("test@test.com").securityStamp(4).build();
+        securityStampService.record("test@test.com", 4);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            securityStampService.bump(user);
+
+            // Then
+            assertEquals(5, (int) user.getSecurityStamp());
+            assertTrue(securityStampService.isCurrent(principal("test@test.com", 4)));
+            verify(mockTokenCache, never()).evictUser(anyString());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+            assertTrue(securityStampService.isCurrent(principal("test@test.com", 5)));
+            verify(mockTokenCache).evictUser("test@test.com");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRevoke_Success() {
+        // Given
+        securityStampService.record("test@test.com", 0);
+
+        // When
+        securityStampService.revoke("test@test.com");
+
+        // Then
+        assertFalse(securityStampService.isCurrent(principal("test@test.com", 0)));
+        verify(mockTokenCache).evictUser("test@test.com");
+    }
+
+    private static JwtPrincipal principal(String name, int stamp) {
+        return new JwtPrincipal(name, List.of("USER"), List.of(1L), stamp);
+    }
+
+    private static UserStamp stamp(String email, Integer securityStamp, Boolean deleted) {
+        return new UserStamp() {
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public Integer getSecurityStamp() {
+                return securityStamp;
+            }
+
+            @Override
+            public Boolean getDeleted() {
+                return deleted;
+            }
+        };
+    }
+}
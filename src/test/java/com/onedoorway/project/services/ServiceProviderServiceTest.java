@@ -47,7 +47,10 @@ public class ServiceProviderServiceTest {
     void init() {
         serviceProviderService =
                 new ServiceProviderService(
-                        mockServiceProviderRepository, mockClientRepository, context);
+                        mockServiceProviderRepository,
+                        mockClientRepository,
+                        context,
+                        new DtoMapper());
     }
 
     @SneakyThrows
@@ -5,7 +5,9 @@ import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,6 +16,7 @@ import com.onedoorway.project.dto.SleepTrackerNotesDTO;
 import com.onedoorway.project.dto.SleepTrackerNotesRequest;
 import com.onedoorway.project.dto.UpdateSleepTrackerRequest;
 import com.onedoorway.project.exception.SleepTrackerNotesServiceException;
+import com.onedoorway.project.model.ArchiveRecordType;
 import com.onedoorway.project.model.Client;
 import com.onedoorway.project.model.SleepTrackerNotes;
 import com.onedoorway.project.repository.ClientRepository;
@@ -44,6 +47,8 @@ class SleepTrackerNotesServiceTest {
 
     @Mock ClientRepository mockClientRepository;
 
+    @Mock ArchiveService mockArchiveService;
+
     private SleepTrackerNotesService sleepTrackerNotesService;
 
     private final FrozenContext context = new FrozenContext();
@@ -52,7 +57,11 @@ class SleepTrackerNotesServiceTest {
     void init() {
         sleepTrackerNotesService =
                 new SleepTrackerNotesService(
-                        mockSleepTrackerNotesRepository, mockClientRepository, context);
+                        mockSleepTrackerNotesRepository,
+                        mockClientRepository,
+                        context,
+                        new DtoMapper(),
+                        mockArchiveService);
     }
 
     @SneakyThrows
@@ -117,6 +126,8 @@ class SleepTrackerNotesServiceTest {
                         .build();
         when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
 
+        when(mockSleepTrackerNotesRepository.insertIfAbsent(any())).thenReturn(true);
+
         // When
         sleepTrackerNotesService.createSleepTrackerNotes(request);
 
@@ -147,7 +158,8 @@ class SleepTrackerNotesServiceTest {
 
         ArgumentCaptor<SleepTrackerNotes> sleepTrackerNotesArgumentCaptor =
                 ArgumentCaptor.forClass(SleepTrackerNotes.class);
-        verify(mockSleepTrackerNotesRepository).save(sleepTrackerNotesArgumentCaptor.capture());
+        verify(mockSleepTrackerNotesRepository)
+                .insertIfAbsent(sleepTrackerNotesArgumentCaptor.capture());
 
         assertThat(
                 expected,
@@ -178,6 +190,33 @@ class SleepTrackerNotesServiceTest {
                                 "reportDate", equalTo(LocalDate.of(2021, 10, 14))))));
     }
 
+    @Test
+    void testCreateSleepTrackerNotes_Failure_Archived() {
+        // Given
+        SleepTrackerNotesRequest request =
+                SleepTrackerNotesRequest.builder()
+                        .clientId(1L)
+                        .firstSlot("Awake at 11:00pm")
+                        .firstUpdatedBy("Helen")
+                        .reportDate(LocalDate.of(2021, 10, 14))
+                        .build();
+        Client client = Client.builder().id(1L).name("client").build();
+        when(mockClientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(mockArchiveService.isArchived(
+                        ArchiveRecordType.SLEEP_TRACKER_NOTE, "1/2021-10-14"))
+                .thenReturn(true);
+
+        assertThrows(
+                SleepTrackerNotesServiceException.class,
+                () -> {
+                    // When
+                    sleepTrackerNotesService.createSleepTrackerNotes(request);
+                });
+
+        // Then
+        verify(mockSleepTrackerNotesRepository, never()).insertIfAbsent(any());
+    }
+
     @SneakyThrows
     @Test
     void testGetSleepTrackerNote_Success() {
@@ -0,0 +1,100 @@
+package com.onedoorway.project.services;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.onedoorway.project.util.TextCompression;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the backfill against a Postgres migrated by Flyway, so its select is checked on real bytea
+ * columns: octet_length picks the values long enough to compress and get_byte skips the ones that
+ * already are. Needs Docker and is skipped without it.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "postgres"})
+@Testcontainers(disabledWithoutDocker = true)
+class TextCompressionBackfillPostgresTest {
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:13-alpine");
+
+    private static final String LONG_TEXT =
+            "Client went for a walk to the park with staff after lunch. ".repeat(10);
+    private static final String SHORT_TEXT = "Slept well.";
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add(
+                "spring.jpa.properties.hibernate.dialect",
+                () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TextCompressionBackfillService textCompressionBackfillService;
+
+    private byte[] alreadyCompressed;
+
+    @BeforeEach
+    void seed() {
+        alreadyCompressed = TextCompression.encode(LONG_TEXT);
+        jdbcTemplate.update("delete from clients");
+        insertClient(1, LONG_TEXT.getBytes(UTF_8));
+        insertClient(2, SHORT_TEXT.getBytes(UTF_8));
+        insertClient(3, alreadyCompressed);
+        insertClient(4, null);
+    }
+
+    @Test
+    void testBackfill_CompressesLongPlainValuesOnly() {
+        // When
+        int compressed =
+                textCompressionBackfillService.backfill("clients", "client_id", "diagnosis");
+        int again = textCompressionBackfillService.backfill("clients", "client_id", "diagnosis");
+
+        // Then
+        assertEquals(1, compressed);
+        assertEquals(0, again);
+        byte[] first = diagnosis(1);
+        assertTrue(TextCompression.isCompressed(first));
+        assertEquals(LONG_TEXT, TextCompression.decode(first));
+        byte[] second = diagnosis(2);
+        assertFalse(TextCompression.isCompressed(second));
+        assertEquals(SHORT_TEXT, TextCompression.decode(second));
+        assertArrayEquals(alreadyCompressed, diagnosis(3));
+        assertNull(diagnosis(4));
+    }
+
+    private void insertClient(long id, byte[] diagnosis) {
+        jdbcTemplate.update(
+                "insert into clients (client_id, name, deleted, medicare_no, diagnosis)"
+                        + " values (?, ?, false, 0, ?)",
+                id,
+                "Client " + id,
+                diagnosis);
+    }
+
+    private byte[] diagnosis(long id) {
+        return jdbcTemplate.queryForObject(
+                "select diagnosis from clients where client_id = ?", byte[].class, id);
+    }
+}
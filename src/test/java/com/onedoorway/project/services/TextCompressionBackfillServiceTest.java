@@ -0,0 +1,79 @@
+package com.onedoorway.project.services;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.onedoorway.project.util.TextCompression;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+class TextCompressionBackfillServiceTest {
+    private static final String UPDATE =
+            "update daily_notes set note = ? where daily_note_id = ? and note = ?";
+
+    @Mock JdbcTemplate mockJdbcTemplate;
+
+    private TextCompressionBackfillService textCompressionBackfillService;
+
+    @BeforeEach
+    void init() {
+        textCompressionBackfillService = new TextCompressionBackfillService(mockJdbcTemplate, 2);
+    }
+
+    @Test
+    void testBackfill_CompressesPlainValue() {
+        // Given
+        String note = "Client went for a walk to the park with staff after lunch. ".repeat(10);
+        byte[] plain = note.getBytes(UTF_8);
+        when(mockJdbcTemplate.query(
+                        anyString(),
+                        any(RowMapper.class),
+                        eq(0L),
+                        eq(TextCompression.THRESHOLD),
+                        eq(2)))
+                .thenReturn(List.<Object[]>of(new Object[] {7L, plain}));
+        when(mockJdbcTemplate.batchUpdate(eq(UPDATE), anyList())).thenReturn(new int[] {1});
+
+        // When
+        int compressed =
+                textCompressionBackfillService.backfill("daily_notes", "daily_note_id", "note");
+
+        // Then
+        assertEquals(1, compressed);
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(mockJdbcTemplate).batchUpdate(eq(UPDATE), updates.capture());
+        Object[] update = updates.getValue().get(0);
+        assertTrue(TextCompression.isCompressed((byte[]) update[0]));
+        assertEquals(note, TextCompression.decode((byte[]) update[0]));
+        assertEquals(7L, update[1]);
+        assertArrayEquals(plain, (byte[]) update[2]);
+    }
+
+    @Test
+    void testBackfill_NothingToCompress() {
+        // When
+        int compressed =
+                textCompressionBackfillService.backfill("daily_notes", "daily_note_id", "note");
+
+        // Then
+        assertEquals(0, compressed);
+        verify(mockJdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,145 @@
+package com.onedoorway.project.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.onedoorway.project.filters.TokenCache;
+import com.onedoorway.project.model.TokenRevocation;
+import com.onedoorway.project.repository.TokenRevocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+    @Mock TokenRevocationRepository mockTokenRevocationRepository;
+
+    @Mock TokenCache mockTokenCache;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void init() {
+        tokenRevocationService =
+                new TokenRevocationService(
+                        mockTokenRevocationRepository,
+                        mockTokenCache,
+                        new SimpleMeterRegistry(),
+                        100,
+                        60000);
+    }
+
+    @Test
+    void testRevokeToken_Success() {
+        // Given
+        Date expiration = new Date(System.currentTimeMillis() + 60000);
+
+        // When
+        tokenRevocationService.revokeToken("token", "Test@test.com", expiration);
+
+        // Then
+        ArgumentCaptor<TokenRevocation> captor = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(mockTokenRevocationRepository).save(captor.capture());
+        assertEquals(TokenCache.digest("token"), captor.getValue().getTokenDigest());
+        assertEquals("test@test.com", captor.getValue().getUsername());
+        assertEquals(expiration.toInstant(), captor.getValue().getExpiresAt());
+        verify(mockTokenCache).evictDigest(TokenCache.digest("token"));
+        assertTrue(tokenRevocationService.isRevoked("token", null, null));
+        assertFalse(tokenRevocationService.isRevoked("other", null, null));
+    }
+
+    @Test
+    void testRevokeAllForUser_Success() {
+        // Given
+        Date issuedBefore = new Date(System.currentTimeMillis() - 1000);
+
+        // When
+        tokenRevocationService.revokeAllForUser("test@test.com");
+
+        // Then
+        ArgumentCaptor<TokenRevocation> captor = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(mockTokenRevocationRepository).save(captor.capture());
+        assertNull(captor.getValue().getTokenDigest());
+        verify(mockTokenCache).evictUser("test@test.com");
+        assertTrue(tokenRevocationService.isRevoked("token", "test@test.com", issuedBefore));
+        assertFalse(tokenRevocationService.isRevoked("token", "other@test.com", issuedBefore));
+        Date issuedAfter = new Date(System.currentTimeMillis() + 1000);
+        assertFalse(tokenRevocationService.isRevoked("token", "test@test.com", issuedAfter));
+    }
+
+    @Test
+    void testRefresh_AppliesNewRowsOnce() {
+        // Given
+        Instant now = Instant.now();
+        TokenRevocation tokenRow =
+                TokenRevocation.builder()
+                        .id(1)
+                        .tokenDigest(TokenCache.digest("token"))
+                        .username("test@test.com")
+                        .revokedAt(now)
+                        .expiresAt(now.plusSeconds(60))
+                        .build();
+        TokenRevocation userRow =
+                TokenRevocation.builder()
+                        .id(2)
+                        .username("user@test.com")
+                        .revokedAt(now)
+                        .expiresAt(now.plusSeconds(60))
+                        .build();
+        when(mockTokenRevocationRepository.findByRevokedAtAfterOrderByRevokedAtAsc(
+                        any(Instant.class)))
+                .thenReturn(List.of(tokenRow, userRow));
+
+        // When
+        tokenRevocationService.refresh();
+        tokenRevocationService.refresh();
+
+        // Then
+        assertTrue(tokenRevocationService.isRevoked("token", null, null));
+        assertTrue(
+                tokenRevocationService.isRevoked(
+                        "another", "user@test.com", Date.from(now.minusSeconds(1))));
+        verify(mockTokenCache, times(1)).evictDigest(TokenCache.digest("token"));
+        verify(mockTokenCache, times(1)).evictUser("user@test.com");
+        ArgumentCaptor<Instant> sinceCaptor = ArgumentCaptor.forClass(Instant.class);
+        verify(mockTokenRevocationRepository, times(2))
+                .findByRevokedAtAfterOrderByRevokedAtAsc(sinceCaptor.capture());
+        assertEquals(now.minusMillis(60000), sinceCaptor.getAllValues().get(1));
+    }
+
+    @Test
+    void testPurgeExpired_Success() {
+        // Given
+        Instant now = Instant.now();
+        when(mockTokenRevocationRepository.findByRevokedAtAfterOrderByRevokedAtAsc(
+                        any(Instant.class)))
+                .thenReturn(
+                        List.of(
+                                TokenRevocation.builder()
+                                        .tokenDigest(TokenCache.digest("expired"))
+                                        .revokedAt(now.minusSeconds(120))
+                                        .expiresAt(now.minusSeconds(60))
+                                        .build()));
+
+        // When
+        tokenRevocationService.refresh();
+        tokenRevocationService.purgeExpired();
+
+        // Then
+        assertFalse(tokenRevocationService.isRevoked("expired", null, null));
+        verify(mockTokenRevocationRepository).deleteExpired(any(Instant.class));
+    }
+}
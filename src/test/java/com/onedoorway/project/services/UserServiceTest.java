@@ -9,7 +9,9 @@ import static org.hamcrest.core.Every.everyItem;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -20,12 +22,15 @@ import com.onedoorway.project.model.House;
 import com.onedoorway.project.model.PasswordResetToken;
 import com.onedoorway.project.model.Role;
 import com.onedoorway.project.model.User;
+import com.onedoorway.project.repository.ClientRepository;
 import com.onedoorway.project.repository.HouseRepository;
 import com.onedoorway.project.repository.PasswordTokenRepository;
 import com.onedoorway.project.repository.RoleRepository;
+import com.onedoorway.project.repository.UserListView;
 import com.onedoorway.project.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +43,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 
@@ -51,13 +57,21 @@ class UserServiceTest {
     @Mock HouseRepository mockHouseRepository;
     @Mock PasswordTokenRepository mockPasswordTokenRepository;
     @Mock EmailSenderService mockEmailSenderService;
+    @Mock SecurityStampService mockSecurityStampService;
+    @Mock TokenRevocationService mockTokenRevocationService;
+    @Mock HouseSummaryCache mockHouseSummaryCache;
+    @Mock ClientRepository mockClientRepository;
 
     FrozenContext context = new FrozenContext();
 
     private UserService userService;
+    private SearchIndex searchIndex;
 
     @BeforeEach
     void init() {
+        context.setUserRepository(mockUserRepository);
+        searchIndex =
+                new SearchIndex(mockClientRepository, mockUserRepository, mockHouseRepository);
         userService =
                 new UserService(
                         mockUserRepository,
@@ -67,7 +81,13 @@ class UserServiceTest {
                         mockPasswordTokenRepository,
                         mockEmailSenderService,
                         "a-mock-url",
-                        context);
+                        context,
+                        mockSecurityStampService,
+                        mockTokenRevocationService,
+                        mockHouseSummaryCache,
+                        new DtoMapper(),
+                        new ListCountCache(0),
+                        searchIndex);
     }
 
     @Test
@@ -173,8 +193,8 @@ class UserServiceTest {
                         .houses(Set.of(house2))
                         .build();
 
-        when(mockUserRepository.findAllByDeleted(false, Pageable.unpaged()))
-                .thenReturn(List.of(user1, user2));
+        when(mockUserRepository.findShortListByDeleted(false))
+                .thenReturn(toListRows(user1, user2));
         // When
         List<UserShortDTO> users = userService.listAllUsers();
 
@@ -183,6 +203,7 @@ class UserServiceTest {
         assertThat(
                 users,
                 (allOf(
+                        everyItem(hasProperty("roleNames", equalTo(List.of("USER")))),
                         everyItem(hasProperty("id", anyOf(equalTo(1L), equalTo(2L)))),
                         everyItem(
                                 hasProperty(
@@ -260,10 +281,9 @@ class UserServiceTest {
                         .deleted(false)
                         .houses(Set.of(house3))
                         .build();
-        when(mockUserRepository
-                        .findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCaseAndDeleted(
-                                any(), any(), any(), eq(false), any(Pageable.class)))
-                .thenReturn(List.of(user1));
+        Stream.of(house1, house2, house3).forEach(searchIndex::putHouse);
+        Stream.of(user1, user2, user3).forEach(searchIndex::putUser);
+        when(mockUserRepository.findAllById(List.of(1L))).thenReturn(List.of(user1));
 
         ListUsersByPageRequest request =
                 ListUsersByPageRequest.builder()
@@ -371,9 +391,9 @@ class UserServiceTest {
                         .deleted(false)
                         .houses(Set.of(house3))
                         .build();
-        when(mockUserRepository.findByHouses_HouseCodeContainingIgnoreCaseAndDeleted(
-                        any(), eq(false), any(Pageable.class)))
-                .thenReturn(List.of(user2));
+        Stream.of(house1, house2, house3).forEach(searchIndex::putHouse);
+        Stream.of(user1, user2, user3).forEach(searchIndex::putUser);
+        when(mockUserRepository.findAllById(List.of(2L))).thenReturn(List.of(user2));
 
         ListUsersByPageRequest request =
                 ListUsersByPageRequest.builder()
@@ -480,19 +500,9 @@ class UserServiceTest {
                         .deleted(false)
                         .houses(Set.of(house3))
                         .build();
-        when(mockUserRepository
-                        .findByFirstNameContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeletedOrLastNameContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeletedOrEmailContainingIgnoreCaseAndHouses_HouseCodeContainingIgnoreCaseAndDeleted(
-                                any(),
-                                any(),
-                                eq(false),
-                                any(),
-                                any(),
-                                eq(false),
-                                any(),
-                                any(),
-                                eq(false),
-                                any(Pageable.class)))
-                .thenReturn(List.of(user3));
+        Stream.of(house1, house2, house3).forEach(searchIndex::putHouse);
+        Stream.of(user1, user2, user3).forEach(searchIndex::putUser);
+        when(mockUserRepository.findAllById(List.of(3L))).thenReturn(List.of(user3));
 
         ListUsersByPageRequest request =
                 ListUsersByPageRequest.builder()
@@ -693,9 +703,8 @@ class UserServiceTest {
                         .deleted(false)
                         .houses(Set.of(house))
                         .build();
-        when(mockUserRepository.findByHouses_HouseCodeAndDeleted(
-                        houseCode, false, Pageable.unpaged()))
-                .thenReturn(List.of(user1, user2));
+        when(mockUserRepository.findShortListByHouseCodeAndDeleted(houseCode, false))
+                .thenReturn(toListRows(user1, user2));
         ListUserRequest request = ListUserRequest.builder().houseCode(house.getHouseCode()).build();
         // When
         List<UserShortDTO> users = userService.listUsersByHouseCode(request);
@@ -756,6 +765,7 @@ class UserServiceTest {
         User expected =
                 User.builder().id(userId).email("test@test.com").roles(Set.of(role)).build();
         verify(mockUserRepository).save(eq(expected));
+        verify(mockSecurityStampService).bump(any(User.class));
     }
 
     @Test
@@ -870,8 +880,10 @@ class UserServiceTest {
 
         ArgumentCaptor<User> userArgumentCaptor = ArgumentCaptor.forClass(User.class);
         verify(mockUserRepository).save(userArgumentCaptor.capture());
+        verify(mockHouseSummaryCache).invalidate();
         User actualWithoutHouse = userArgumentCaptor.getValue();
         assertEquals(userWithoutHouse, actualWithoutHouse);
+        verify(mockSecurityStampService).bump(any(User.class));
     }
 
     @SneakyThrows
@@ -1077,6 +1089,80 @@ class UserServiceTest {
                         .build();
         // then
         verify(mockUserRepository).save(eq(expected));
+        verify(mockSecurityStampService).bump(any(User.class));
+        verify(mockSecurityStampService).revoke("test910@test.com");
+        verify(mockTokenRevocationService, never()).revokeAllForUser(anyString());
+    }
+
+    @SneakyThrows
+    @Test
+    void testUpdateUser_Deleted() {
+        // Given
+        User user = User.builder().id(1).email("test@test.com").deleted(false).build();
+        UpdateUserRequest request =
+                UpdateUserRequest.builder().email("test@test.com").deleted(true).build();
+        when(mockUserRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        userService.updateUser(1L, request);
+
+        // Then
+        verify(mockSecurityStampService).bump(user);
+        verify(mockTokenRevocationService).revokeAllForUser("test@test.com");
+    }
+
+    @SneakyThrows
+    @Test
+    void testUpdateUser_DeletedUnchanged_KeepsStamp() {
+        // Given
+        User user =
+                User.builder()
+                        .id(1)
+                        .email("test@test.com")
+                        .firstName("First")
+                        .deleted(false)
+                        .build();
+        UpdateUserRequest request =
+                UpdateUserRequest.builder()
+                        .email("test@test.com")
+                        .firstName("Tom")
+                        .deleted(false)
+                        .build();
+        when(mockUserRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        userService.updateUser(1L, request);
+
+        // Then
+        verify(mockUserRepository).save(user);
+        verify(mockSecurityStampService, never()).bump(any(User.class));
+        verify(mockSecurityStampService, never()).revoke(anyString());
+    }
+
+    @SneakyThrows
+    @Test
+    void testRevokeAllTokens_Success() {
+        // Given
+        User user = User.builder().id(1).email("test@test.com").securityStamp(2).build();
+        when(mockUserRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        userService.revokeAllTokens(1L);
+
+        // Then
+        verify(mockSecurityStampService).bump(user);
+        verify(mockUserRepository).save(user);
+        verify(mockTokenRevocationService).revokeAllForUser("test@test.com");
+    }
+
+    @Test
+    void testRevokeAllTokens_Failure_UserNotFound() {
+        assertThrows(
+                UserServiceException.class,
+                () -> {
+                    // When
+                    userService.revokeAllTokens(1L);
+                });
     }
 
     @SneakyThrows
@@ -1146,4 +1232,21 @@ class UserServiceTest {
                     userService.getUserById(id);
                 });
     }
+
+    private static List<UserListView> toListRows(User... users) {
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        List<UserListView> rows = new ArrayList<>();
+        for (User user : users) {
+            for (Role role : user.getRoles()) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("id", user.getId());
+                row.put("email", user.getEmail());
+                row.put("firstName", user.getFirstName());
+                row.put("lastName", user.getLastName());
+                row.put("roleName", role.getName());
+                rows.add(projectionFactory.createProjection(UserListView.class, row));
+            }
+        }
+        return rows;
+    }
 }
@@ -0,0 +1,75 @@
+package com.onedoorway.project.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TextCompressionTest {
+    private static final String NARRATIVE =
+            "Client was settled after dinner and watched television with staff. ".repeat(10);
+
+    @Test
+    void testEncode_LongText_Compressed() {
+        // When
+        byte[] value = TextCompression.encode(NARRATIVE);
+
+        // Then
+        assertTrue(TextCompression.isCompressed(value));
+        assertTrue(value.length < NARRATIVE.length());
+        assertEquals(NARRATIVE, TextCompression.decode(value));
+    }
+
+    @Test
+    void testEncode_ShortText_Plain() {
+        // When
+        byte[] value = TextCompression.encode("Slept well");
+
+        // Then
+        assertFalse(TextCompression.isCompressed(value));
+        assertArrayEquals("Slept well".getBytes(UTF_8), value);
+    }
+
+    @Test
+    void testDecode_LegacyText() {
+        // Given
+        byte[] legacy = NARRATIVE.getBytes(UTF_8);
+
+        // When
+        String actual = TextCompression.decode(legacy);
+
+        // Then
+        assertEquals(NARRATIVE, actual);
+    }
+
+    @Test
+    void testEncode_TextStartingWithNul_RoundTrip() {
+        // When
+        byte[] value = TextCompression.encode("\u0000x");
+
+        // Then
+        assertTrue(TextCompression.isCompressed(value));
+        assertEquals("\u0000x", TextCompression.decode(value));
+    }
+
+    @Test
+    void testEncode_Null() {
+        assertNull(TextCompression.encode(null));
+        assertNull(TextCompression.decode(null));
+    }
+
+    @Test
+    void testDecode_Failure_UnknownFormat() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> {
+                    // When
+                    TextCompression.decode(new byte[] {0, 9, 1, 2});
+                });
+    }
+}